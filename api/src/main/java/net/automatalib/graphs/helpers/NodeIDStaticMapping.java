@@ -0,0 +1,56 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.graphs.helpers;
+
+import net.automatalib.commons.util.mappings.MutableMapping;
+import net.automatalib.graphs.concepts.NodeIDs;
+
+/**
+ * A static (i.e. non-growing) {@link MutableMapping} for the nodes of a graph, which stores its values in an array
+ * indexed by the {@link NodeIDs node ids} of the graph.
+ *
+ * @param <N>
+ *         node type
+ * @param <V>
+ *         value type
+ *
+ * @author frohme
+ */
+public class NodeIDStaticMapping<N, V> implements MutableMapping<N, V> {
+
+    private final NodeIDs<N> nodeIds;
+    private final V[] storage;
+
+    @SuppressWarnings("unchecked")
+    public NodeIDStaticMapping(NodeIDs<N> nodeIds, int size) {
+        this.nodeIds = nodeIds;
+        this.storage = (V[]) new Object[size];
+    }
+
+    @Override
+    public V get(N elem) {
+        return storage[nodeIds.getNodeId(elem)];
+    }
+
+    @Override
+    public V put(N key, V value) {
+        final int id = nodeIds.getNodeId(key);
+        final V old = storage[id];
+        storage[id] = value;
+        return old;
+    }
+
+}
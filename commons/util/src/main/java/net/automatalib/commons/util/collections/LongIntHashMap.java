@@ -0,0 +1,229 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.commons.util.collections;
+
+import java.util.Arrays;
+
+/**
+ * A hash map from primitive {@code long} keys to primitive {@code int} values. The map uses open addressing with
+ * linear probing and therefore does not allocate any objects for entries, which makes it suitable for keys that pack
+ * several integers (e.g. pairs of state ids) into a single {@code long}.
+ * <p>
+ * This class does not support removal of entries and is not thread-safe.
+ *
+ * @author frohme
+ */
+public class LongIntHashMap {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private long[] keys;
+    private int[] values;
+    private boolean[] used;
+    private int size;
+    private int threshold;
+
+    /**
+     * Default constructor.
+     */
+    public LongIntHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param expectedSize
+     *         the number of entries the map is expected to hold
+     */
+    public LongIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(DEFAULT_CAPACITY, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    /**
+     * Packs two integers into a single {@code long} key.
+     *
+     * @param high
+     *         the integer stored in the upper 32 bits
+     * @param low
+     *         the integer stored in the lower 32 bits
+     *
+     * @return the packed key
+     */
+    public static long pack(int high, int low) {
+        return ((long) high << Integer.SIZE) | (low & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Extracts the integer stored in the upper 32 bits of a key created by {@link #pack(int, int)}.
+     *
+     * @param key
+     *         the packed key
+     *
+     * @return the integer stored in the upper 32 bits
+     */
+    public static int high(long key) {
+        return (int) (key >>> Integer.SIZE);
+    }
+
+    /**
+     * Extracts the integer stored in the lower 32 bits of a key created by {@link #pack(int, int)}.
+     *
+     * @param key
+     *         the packed key
+     *
+     * @return the integer stored in the lower 32 bits
+     */
+    public static int low(long key) {
+        return (int) key;
+    }
+
+    /**
+     * Returns the number of entries in this map.
+     *
+     * @return the number of entries in this map
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether this map contains an entry for the given key.
+     *
+     * @param key
+     *         the key
+     *
+     * @return {@code true} if this map contains an entry for {@code key}, {@code false} otherwise
+     */
+    public boolean containsKey(long key) {
+        return used[indexOf(key)];
+    }
+
+    /**
+     * Returns the value associated with the given key.
+     *
+     * @param key
+     *         the key
+     * @param defaultValue
+     *         the value to return if there is no entry for {@code key}
+     *
+     * @return the value associated with {@code key}, or {@code defaultValue} if there is no such entry
+     */
+    public int get(long key, int defaultValue) {
+        final int idx = indexOf(key);
+        return used[idx] ? values[idx] : defaultValue;
+    }
+
+    /**
+     * Associates the given value with the given key, overriding any previous association.
+     *
+     * @param key
+     *         the key
+     * @param value
+     *         the value
+     */
+    public void put(long key, int value) {
+        final int idx = indexOf(key);
+        values[idx] = value;
+        if (!used[idx]) {
+            insertAt(idx, key);
+        }
+    }
+
+    /**
+     * Returns the value associated with the given key. If there exists no entry for the given key, the given value is
+     * associated with the key and returned. Callers may compare {@link #size()} before and after the invocation to
+     * determine whether a new entry has been created.
+     *
+     * @param key
+     *         the key
+     * @param value
+     *         the value to associate with {@code key}, if there exists no entry for {@code key}
+     *
+     * @return the value associated with {@code key} after the invocation of this method
+     */
+    public int getOrPut(long key, int value) {
+        final int idx = indexOf(key);
+        if (used[idx]) {
+            return values[idx];
+        }
+        values[idx] = value;
+        insertAt(idx, key);
+        return value;
+    }
+
+    /**
+     * Removes all entries from this map.
+     */
+    public void clear() {
+        Arrays.fill(used, false);
+        size = 0;
+    }
+
+    private int indexOf(long key) {
+        final int mask = keys.length - 1;
+        int idx = mix(key) & mask;
+        while (used[idx] && keys[idx] != key) {
+            idx = (idx + 1) & mask;
+        }
+        return idx;
+    }
+
+    private void insertAt(int idx, long key) {
+        keys[idx] = key;
+        used[idx] = true;
+        if (++size > threshold) {
+            rehash();
+        }
+    }
+
+    private void rehash() {
+        final long[] oldKeys = keys;
+        final int[] oldValues = values;
+        final boolean[] oldUsed = used;
+
+        allocate(oldKeys.length << 1);
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                final int idx = indexOf(oldKeys[i]);
+                keys[idx] = oldKeys[i];
+                values[idx] = oldValues[i];
+                used[idx] = true;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        this.keys = new long[capacity];
+        this.values = new int[capacity];
+        this.used = new boolean[capacity];
+        this.threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    static int mix(long key) {
+        // finalization step of MurmurHash3
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+}
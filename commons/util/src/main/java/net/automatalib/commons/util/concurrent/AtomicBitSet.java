@@ -0,0 +1,102 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.commons.util.concurrent;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed-size bit set, whose bits can be set concurrently without locking. Each bit can only be set (but not cleared)
+ * and {@link #set(int)} reports whether the calling thread was the one that set the bit. This makes the bit set
+ * suitable as a concurrent "visited" set for integer-identified objects (e.g. states or nodes) during parallel
+ * traversals.
+ *
+ * @author frohme
+ */
+public final class AtomicBitSet {
+
+    private static final int ADDRESS_BITS_PER_WORD = 6;
+
+    private final AtomicLongArray words;
+    private final int size;
+
+    /**
+     * Constructor.
+     *
+     * @param size
+     *         the number of bits of this bit set
+     */
+    public AtomicBitSet(int size) {
+        this.words = new AtomicLongArray(((size - 1) >> ADDRESS_BITS_PER_WORD) + 1);
+        this.size = size;
+    }
+
+    /**
+     * Returns the value of the bit with the given index.
+     *
+     * @param index
+     *         the index of the bit
+     *
+     * @return {@code true} if the bit has been set, {@code false} otherwise
+     */
+    public boolean get(int index) {
+        return (words.get(index >> ADDRESS_BITS_PER_WORD) & (1L << index)) != 0;
+    }
+
+    /**
+     * Atomically sets the bit with the given index.
+     *
+     * @param index
+     *         the index of the bit
+     *
+     * @return {@code true} if the bit has been set by this call, {@code false} if it has already been set before
+     */
+    public boolean set(int index) {
+        final int wordIndex = index >> ADDRESS_BITS_PER_WORD;
+        final long mask = 1L << index;
+
+        long word = words.get(wordIndex);
+        while ((word & mask) == 0) {
+            if (words.compareAndSet(wordIndex, word, word | mask)) {
+                return true;
+            }
+            word = words.get(wordIndex);
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns the number of bits of this bit set.
+     *
+     * @return the number of bits
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of bits that have been set.
+     *
+     * @return the number of set bits
+     */
+    public int cardinality() {
+        int result = 0;
+        for (int i = 0; i < words.length(); i++) {
+            result += Long.bitCount(words.get(i));
+        }
+        return result;
+    }
+}
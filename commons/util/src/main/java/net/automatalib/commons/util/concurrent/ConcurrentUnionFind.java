@@ -0,0 +1,150 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.commons.util.concurrent;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import net.automatalib.commons.util.IntDisjointSets;
+
+/**
+ * A disjoint-set forest that supports concurrent {@link #find(int) find} and {@link #union(int, int) union} operations
+ * without locking.
+ * <p>
+ * Similar to {@link net.automatalib.commons.util.UnionFindRemSP}, sets are linked by index, i.e. the root with the
+ * smaller index is linked below the root with the larger index. Hence, the parent of an element always has a larger (or
+ * equal) index than the element itself, which guarantees that the forest remains acyclic under concurrent
+ * modifications. Roots are linked via compare-and-set, and paths are compressed by (compare-and-set based) path
+ * halving during {@link #find(int) find} operations.
+ *
+ * @author frohme
+ */
+public class ConcurrentUnionFind implements IntDisjointSets {
+
+    private final AtomicIntegerArray p;
+
+    /**
+     * Initializes the disjoint-set data structure.
+     *
+     * @param n
+     *         the overall size of the domain
+     */
+    public ConcurrentUnionFind(int n) {
+        p = new AtomicIntegerArray(n);
+
+        for (int i = 0; i < n; i++) {
+            p.set(i, i);
+        }
+    }
+
+    @Override
+    public int size() {
+        return p.length();
+    }
+
+    @Override
+    public boolean equivalent(int x, int y) {
+        int rx = find(x);
+        int ry = find(y);
+
+        while (rx != ry) {
+            // the sets are only disjoint if rx has not been linked concurrently
+            if (p.get(rx) == rx) {
+                return false;
+            }
+            rx = find(rx);
+            ry = find(ry);
+        }
+
+        return true;
+    }
+
+    /**
+     * Finds the set of a given element, and compresses the path to the root node via path halving.
+     *
+     * @param x
+     *         the element
+     *
+     * @return the identifier of the set which contains the given element
+     */
+    @Override
+    public int find(int x) {
+        int curr = x;
+        int parent = p.get(curr);
+
+        while (curr != parent) {
+            final int grandParent = p.get(parent);
+            if (parent != grandParent) {
+                // a failed CAS only means that another thread has already compressed the path
+                p.compareAndSet(curr, parent, grandParent);
+            }
+            curr = grandParent;
+            parent = p.get(curr);
+        }
+
+        return curr;
+    }
+
+    /**
+     * Unites the sets containing the two given elements.
+     *
+     * @param x
+     *         the first element
+     * @param y
+     *         the second element
+     *
+     * @return {@code true} if two disjoint sets have been united by this call, {@code false} if the elements already
+     * were in the same set
+     */
+    @Override
+    public boolean union(int x, int y) {
+        int rx = find(x);
+        int ry = find(y);
+
+        while (rx != ry) {
+            final boolean linked = rx < ry ? p.compareAndSet(rx, rx, ry) : p.compareAndSet(ry, ry, rx);
+            if (linked) {
+                return true;
+            }
+            // one of the roots has been linked concurrently, retry from the new roots
+            rx = find(rx);
+            ry = find(ry);
+        }
+
+        return false;
+    }
+
+    /**
+     * Unites two given sets. Note that the behavior of this method is not specified if the given parameters are normal
+     * elements and no set identifiers. In case of concurrent modifications, {@link #union(int, int)} should be used
+     * instead.
+     *
+     * @param x
+     *         the first set
+     * @param y
+     *         the second set
+     *
+     * @return the identifier of the resulting set (either {@code x} or {@code y})
+     */
+    @Override
+    public int link(int x, int y) {
+        if (x < y) {
+            p.set(x, y);
+            return y;
+        }
+        p.set(y, x);
+        return x;
+    }
+}
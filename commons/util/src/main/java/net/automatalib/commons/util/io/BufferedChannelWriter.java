@@ -0,0 +1,297 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.commons.util.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A {@link Writer} that encodes characters as UTF-8 directly into a reusable {@link ByteBuffer}, which is flushed to a
+ * {@link WritableByteChannel} whenever it runs full. Compared to a {@link java.io.PrintWriter} stacked on top of an
+ * {@link java.io.OutputStreamWriter}, this class skips the intermediate char buffers and charset encoders and offers
+ * methods for writing numbers without creating temporary {@link String}s (see {@link #writeInt(int)} and {@link
+ * #writeLong(long)}).
+ * <p>
+ * Closing this writer closes the underlying channel. This class is not thread-safe.
+ *
+ * @author frohme
+ */
+public final class BufferedChannelWriter extends Writer {
+
+    /**
+     * The default size (in bytes) of the internal buffer.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    // maximum number of bytes of an encoded long (including sign) and of an encoded char
+    private static final int MAX_LONG_BYTES = 20;
+    private static final int MAX_CHAR_BYTES = 4;
+
+    private static final byte[] MIN_LONG_BYTES = Long.toString(Long.MIN_VALUE).getBytes();
+
+    private final WritableByteChannel channel;
+    private final byte[] bytes;
+    private final ByteBuffer buffer;
+    private int position;
+    private char pendingHighSurrogate;
+
+    /**
+     * Constructor. Uses a buffer of {@link #DEFAULT_BUFFER_SIZE} bytes.
+     *
+     * @param channel
+     *         the channel to write to
+     */
+    public BufferedChannelWriter(WritableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param channel
+     *         the channel to write to
+     * @param bufferSize
+     *         the size (in bytes) of the internal buffer
+     */
+    public BufferedChannelWriter(WritableByteChannel channel, int bufferSize) {
+        this.channel = channel;
+        this.bytes = new byte[Math.max(MAX_LONG_BYTES, bufferSize)];
+        this.buffer = ByteBuffer.wrap(bytes);
+    }
+
+    /**
+     * Convenience constructor for writing to an {@link OutputStream}.
+     *
+     * @param os
+     *         the output stream to write to
+     */
+    public BufferedChannelWriter(OutputStream os) {
+        this(Channels.newChannel(os));
+    }
+
+    /**
+     * Convenience constructor for (over-)writing the given file through a {@link FileChannel}.
+     *
+     * @param file
+     *         the file to write to
+     *
+     * @throws IOException
+     *         if the file cannot be opened for writing
+     */
+    public BufferedChannelWriter(File file) throws IOException {
+        this(FileChannel.open(file.toPath(),
+                              StandardOpenOption.CREATE,
+                              StandardOpenOption.WRITE,
+                              StandardOpenOption.TRUNCATE_EXISTING));
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        ensureCapacity(MAX_CHAR_BYTES);
+        encode((char) c);
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        for (int i = off; i < off + len; i++) {
+            ensureCapacity(MAX_CHAR_BYTES);
+            encode(cbuf[i]);
+        }
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        for (int i = off; i < off + len; i++) {
+            ensureCapacity(MAX_CHAR_BYTES);
+            encode(str.charAt(i));
+        }
+    }
+
+    @Override
+    public void write(String str) throws IOException {
+        write(str, 0, str.length());
+    }
+
+    @Override
+    public BufferedChannelWriter append(CharSequence csq) throws IOException {
+        final CharSequence seq = csq == null ? "null" : csq;
+        return append(seq, 0, seq.length());
+    }
+
+    @Override
+    public BufferedChannelWriter append(CharSequence csq, int start, int end) throws IOException {
+        final CharSequence seq = csq == null ? "null" : csq;
+        for (int i = start; i < end; i++) {
+            ensureCapacity(MAX_CHAR_BYTES);
+            encode(seq.charAt(i));
+        }
+        return this;
+    }
+
+    @Override
+    public BufferedChannelWriter append(char c) throws IOException {
+        write(c);
+        return this;
+    }
+
+    /**
+     * Writes the decimal representation of the given integer.
+     *
+     * @param i
+     *         the integer to write
+     *
+     * @throws IOException
+     *         if writing to the underlying channel fails
+     */
+    public void writeInt(int i) throws IOException {
+        writeLong(i);
+    }
+
+    /**
+     * Writes the decimal representation of the given long.
+     *
+     * @param l
+     *         the long to write
+     *
+     * @throws IOException
+     *         if writing to the underlying channel fails
+     */
+    public void writeLong(long l) throws IOException {
+        ensureCapacity(MAX_LONG_BYTES);
+
+        if (l == Long.MIN_VALUE) {
+            System.arraycopy(MIN_LONG_BYTES, 0, bytes, position, MIN_LONG_BYTES.length);
+            position += MIN_LONG_BYTES.length;
+            return;
+        }
+
+        long value = l;
+        if (value < 0) {
+            bytes[position++] = '-';
+            value = -value;
+        }
+
+        // determine number of digits, then fill from the back
+        int digits = 1;
+        for (long v = value / 10; v > 0; v /= 10) {
+            digits++;
+        }
+
+        int idx = position + digits;
+        position = idx;
+        do {
+            bytes[--idx] = (byte) ('0' + (value % 10));
+            value /= 10;
+        } while (value > 0);
+    }
+
+    /**
+     * Writes the decimal representation of the given integer to the given {@link Appendable}. If the appendable is a
+     * {@link BufferedChannelWriter}, the number is encoded directly into its buffer (see {@link #writeInt(int)}).
+     * Otherwise, this method falls back to {@link Integer#toString(int)}.
+     *
+     * @param a
+     *         the appendable to write to
+     * @param i
+     *         the integer to write
+     *
+     * @throws IOException
+     *         if writing to the appendable fails
+     */
+    public static void appendInt(Appendable a, int i) throws IOException {
+        if (a instanceof BufferedChannelWriter) {
+            ((BufferedChannelWriter) a).writeInt(i);
+        } else {
+            a.append(Integer.toString(i));
+        }
+    }
+
+    /**
+     * Writes the platform-dependent line separator.
+     *
+     * @throws IOException
+     *         if writing to the underlying channel fails
+     */
+    public void newLine() throws IOException {
+        write(LINE_SEPARATOR);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        buffer.clear();
+        buffer.limit(position);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        position = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void ensureCapacity(int required) throws IOException {
+        if (position + required > bytes.length) {
+            flush();
+        }
+    }
+
+    private void encode(char c) {
+        if (pendingHighSurrogate != 0) {
+            final char high = pendingHighSurrogate;
+            pendingHighSurrogate = 0;
+            if (Character.isLowSurrogate(c)) {
+                final int cp = Character.toCodePoint(high, c);
+                bytes[position++] = (byte) (0xF0 | (cp >> 18));
+                bytes[position++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                bytes[position++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                bytes[position++] = (byte) (0x80 | (cp & 0x3F));
+                return;
+            }
+            // unpaired surrogate, same replacement as the JDK encoders
+            bytes[position++] = '?';
+        }
+
+        if (c < 0x80) {
+            bytes[position++] = (byte) c;
+        } else if (c < 0x800) {
+            bytes[position++] = (byte) (0xC0 | (c >> 6));
+            bytes[position++] = (byte) (0x80 | (c & 0x3F));
+        } else if (Character.isHighSurrogate(c)) {
+            pendingHighSurrogate = c;
+        } else if (Character.isLowSurrogate(c)) {
+            bytes[position++] = '?';
+        } else {
+            bytes[position++] = (byte) (0xE0 | (c >> 12));
+            bytes[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+            bytes[position++] = (byte) (0x80 | (c & 0x3F));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.commons.util.process;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * A {@link Future} for the exit value of a running {@link Process}. The future completes, once the process has
+ * terminated and its output has been fully consumed. Cancelling the future forcibly destroys the process.
+ *
+ * @author frohme
+ */
+final class ProcessFuture implements Future<Integer> {
+
+    private final Process process;
+    private final Future<?> outputConsumer;
+    private volatile boolean cancelled;
+
+    ProcessFuture(Process process, Future<?> outputConsumer) {
+        this.process = process;
+        this.outputConsumer = outputConsumer;
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        if (isDone()) {
+            return false;
+        }
+
+        cancelled = true;
+        process.destroyForcibly();
+        outputConsumer.cancel(mayInterruptIfRunning);
+        return true;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public boolean isDone() {
+        return cancelled || (!process.isAlive() && outputConsumer.isDone());
+    }
+
+    @Override
+    public Integer get() throws InterruptedException, ExecutionException {
+        checkCancelled();
+        final int exitValue = process.waitFor();
+        outputConsumer.get();
+        checkCancelled();
+        return exitValue;
+    }
+
+    @Override
+    public Integer get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+        checkCancelled();
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+
+        if (!process.waitFor(timeout, unit)) {
+            throw new TimeoutException("Process did not terminate within " + timeout + ' ' + unit);
+        }
+
+        outputConsumer.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        checkCancelled();
+        return process.exitValue();
+    }
+
+    private void checkCancelled() {
+        if (cancelled) {
+            throw new CancellationException();
+        }
+    }
+}
@@ -19,6 +19,12 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.io.Reader;
 import java.io.Writer;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
 
 import net.automatalib.commons.util.IOUtil;
@@ -28,11 +34,21 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * Utility class for invoking system processes.
+ * <p>
+ * Outputs of processes that are consumed asynchronously (see {@link #buildProcess(String[], Reader, Consumer,
+ * Consumer)} and {@link #invokeProcessAsync(String[], Reader, Consumer)}) are read by the threads of a shared (daemon)
+ * thread pool, so that repeated invocations do not need to spawn new threads.
  *
  * @author frohme
  */
 public final class ProcessUtil {
 
+    private static final ExecutorService STREAM_CONSUMERS = Executors.newCachedThreadPool(r -> {
+        final Thread t = new Thread(r, "ProcessUtil-stream-consumer");
+        t.setDaemon(true);
+        return t;
+    });
+
     private ProcessUtil() {
         throw new AssertionError();
     }
@@ -121,6 +137,101 @@ public final class ProcessUtil {
         return invokeProcess(commandLine, input, new DelegatingConsumer(consumer));
     }
 
+    /**
+     * Runs the given set of command line arguments as a system process and returns the exit value of the spawned
+     * process. Additionally allows to supply an input stream to the invoked program. Outputs of the process (both
+     * normal and error) are passed to the {@code consumer}. If the process does not terminate within the given time,
+     * it is forcibly destroyed.
+     *
+     * @param commandLine
+     *         the list of command line arguments to run
+     * @param input
+     *         the input passed to the program, maybe be {@code null} if the process expects no input
+     * @param consumer
+     *         the consumer for the program's output, may be {@code null} if the output should be discarded
+     * @param timeout
+     *         the maximum time to wait for the process to terminate
+     * @param unit
+     *         the time unit of the {@code timeout} argument
+     *
+     * @return the exit code of the process
+     *
+     * @throws IOException
+     *         if an exception occurred while reading the process' outputs, or writing the process' inputs
+     * @throws InterruptedException
+     *         if the current thread was interrupted while waiting for the process. In this case, the process is
+     *         destroyed as well
+     * @throws TimeoutException
+     *         if the process did not terminate within the given time
+     */
+    public static int invokeProcess(String[] commandLine,
+                                    @Nullable Reader input,
+                                    @Nullable Consumer<String> consumer,
+                                    long timeout,
+                                    TimeUnit unit) throws IOException, InterruptedException, TimeoutException {
+
+        final Future<Integer> future = invokeProcessAsync(commandLine, input, consumer);
+
+        try {
+            return future.get(timeout, unit);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException(cause);
+        } finally {
+            // no-op if the process has terminated regularly
+            future.cancel(true);
+        }
+    }
+
+    /**
+     * Starts the given set of command line arguments as a system process and returns a {@link Future} for its exit
+     * value. Additionally allows to supply an input stream to the invoked program. Outputs of the process (both normal
+     * and error) are passed to the {@code consumer} by a thread of a shared thread pool.
+     * <p>
+     * The returned future completes once the process has terminated and its output has been consumed. Waiting with a
+     * timeout (see {@link Future#get(long, TimeUnit)}) allows to bound the execution time of the process, and
+     * {@link Future#cancel(boolean) cancelling} the future forcibly destroys the process.
+     *
+     * @param commandLine
+     *         the list of command line arguments to run
+     * @param input
+     *         the input passed to the program, maybe be {@code null} if the process expects no input
+     * @param consumer
+     *         the consumer for the program's output, may be {@code null} if the output should be discarded
+     *
+     * @return a future for the exit code of the process
+     *
+     * @throws IOException
+     *         if an exception occurred while starting the process, or writing the process' inputs
+     */
+    public static Future<Integer> invokeProcessAsync(String[] commandLine,
+                                                     @Nullable Reader input,
+                                                     @Nullable Consumer<String> consumer) throws IOException {
+
+        final ProcessBuilder processBuilder = new ProcessBuilder(commandLine);
+        processBuilder.redirectErrorStream(true);
+        final Process process = processBuilder.start();
+
+        final InputStreamConsumer outputConsumer =
+                consumer == null ? new NOPConsumer() : new DelegatingConsumer(consumer);
+        final Future<?> outputFuture = STREAM_CONSUMERS.submit(() -> {
+            outputConsumer.consume(process.getInputStream());
+            return null;
+        });
+
+        try {
+            writeProcessInput(process, input);
+        } catch (IOException e) {
+            process.destroyForcibly();
+            throw e;
+        }
+
+        return new ProcessFuture(process, outputFuture);
+    }
+
     private static int invokeProcess(String[] commandLine, @Nullable Reader input, InputStreamConsumer consumer)
             throws IOException, InterruptedException {
 
@@ -145,9 +256,9 @@ public final class ProcessUtil {
      * Builds and starts a system process for the given set of command line arguments. Additionally allows to supply an
      * input stream to the invoked program, as well as independent consumers for the process' standard and error output.
      * <p>
-     * The consumers for the process' outputs run in separate threads, preventing potential deadlock scenarios where
-     * client code waits for the process' termination (e.g. {@link Process#waitFor()}) which is blocked by full system
-     * buffers.
+     * The consumers for the process' outputs run in separate (pooled) threads, preventing potential deadlock scenarios
+     * where client code waits for the process' termination (e.g. {@link Process#waitFor()}) which is blocked by full
+     * system buffers.
      *
      * @param commandLine
      *         the list of command line arguments to run
@@ -174,15 +285,13 @@ public final class ProcessUtil {
         writeProcessInput(process, input);
 
         if (stdOutConsumer != null) {
-            final Thread stdOutThread =
-                    new StreamGobbler(process.getInputStream(), new DelegatingConsumer(stdOutConsumer));
-            stdOutThread.start();
+            STREAM_CONSUMERS.execute(new StreamGobbler(process.getInputStream(),
+                                                       new DelegatingConsumer(stdOutConsumer)));
         }
 
         if (stdErrConsumer != null) {
-            final Thread stdErrThread =
-                    new StreamGobbler(process.getErrorStream(), new DelegatingConsumer(stdErrConsumer));
-            stdErrThread.start();
+            STREAM_CONSUMERS.execute(new StreamGobbler(process.getErrorStream(),
+                                                       new DelegatingConsumer(stdErrConsumer)));
         }
 
         return process;
@@ -22,11 +22,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * A utility class to consume a given {@link InputStream} inside a standalone thread.
+ * A utility class to consume a given {@link InputStream} asynchronously, e.g. by submitting it to an {@link
+ * java.util.concurrent.ExecutorService}.
  *
  * @author frohme
  */
-final class StreamGobbler extends Thread {
+final class StreamGobbler implements Runnable {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(StreamGobbler.class);
 
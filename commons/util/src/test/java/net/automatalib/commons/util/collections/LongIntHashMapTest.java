@@ -0,0 +1,71 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.commons.util.collections;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class LongIntHashMapTest {
+
+    @Test
+    public void testPacking() {
+        final long key = LongIntHashMap.pack(-5, Integer.MIN_VALUE);
+        Assert.assertEquals(LongIntHashMap.high(key), -5);
+        Assert.assertEquals(LongIntHashMap.low(key), Integer.MIN_VALUE);
+
+        final long key2 = LongIntHashMap.pack(Integer.MAX_VALUE, -1);
+        Assert.assertEquals(LongIntHashMap.high(key2), Integer.MAX_VALUE);
+        Assert.assertEquals(LongIntHashMap.low(key2), -1);
+    }
+
+    @Test
+    public void testAgainstHashMap() {
+        final Random random = new Random(42);
+        final Map<Long, Integer> reference = new HashMap<>();
+        final LongIntHashMap map = new LongIntHashMap(2);
+
+        for (int i = 0; i < 10000; i++) {
+            final long key = LongIntHashMap.pack(random.nextInt(100), random.nextInt(100));
+            final int value = random.nextInt();
+
+            if (random.nextBoolean()) {
+                map.put(key, value);
+                reference.put(key, value);
+            } else {
+                final int expected = reference.computeIfAbsent(key, k -> value);
+                Assert.assertEquals(map.getOrPut(key, value), expected);
+            }
+
+            Assert.assertEquals(map.size(), reference.size());
+        }
+
+        for (int i = 0; i < 100; i++) {
+            for (int j = 0; j < 100; j++) {
+                final long key = LongIntHashMap.pack(i, j);
+                Assert.assertEquals(map.containsKey(key), reference.containsKey(key));
+                Assert.assertEquals(map.get(key, -1), reference.getOrDefault(key, -1).intValue());
+            }
+        }
+
+        map.clear();
+        Assert.assertEquals(map.size(), 0);
+        Assert.assertFalse(map.containsKey(LongIntHashMap.pack(0, 0)));
+    }
+}
@@ -0,0 +1,68 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.commons.util.concurrent;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author frohme
+ */
+public class AtomicBitSetTest {
+
+    @Test
+    public void testSequential() {
+        final AtomicBitSet bits = new AtomicBitSet(130);
+
+        Assert.assertEquals(bits.size(), 130);
+        Assert.assertEquals(bits.cardinality(), 0);
+
+        Assert.assertTrue(bits.set(0));
+        Assert.assertTrue(bits.set(63));
+        Assert.assertTrue(bits.set(64));
+        Assert.assertTrue(bits.set(129));
+        Assert.assertFalse(bits.set(63));
+
+        Assert.assertTrue(bits.get(0));
+        Assert.assertFalse(bits.get(1));
+        Assert.assertTrue(bits.get(63));
+        Assert.assertTrue(bits.get(64));
+        Assert.assertFalse(bits.get(128));
+        Assert.assertTrue(bits.get(129));
+        Assert.assertEquals(bits.cardinality(), 4);
+    }
+
+    @Test
+    public void testConcurrent() {
+        final int size = 10000;
+        final int rounds = 8;
+        final AtomicBitSet bits = new AtomicBitSet(size);
+        final AtomicInteger successes = new AtomicInteger();
+
+        // every bit is set concurrently by multiple threads, but only one of them may succeed
+        IntStream.range(0, size * rounds).parallel().forEach(i -> {
+            if (bits.set(i % size)) {
+                successes.incrementAndGet();
+            }
+        });
+
+        Assert.assertEquals(successes.get(), size);
+        Assert.assertEquals(bits.cardinality(), size);
+    }
+}
@@ -0,0 +1,77 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.commons.util.concurrent;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import net.automatalib.commons.util.IntDisjointSets;
+import net.automatalib.commons.util.UnionFindRemSP;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author frohme
+ */
+public class ConcurrentUnionFindTest {
+
+    private static final int SIZE = 10000;
+
+    @Test
+    public void testSequential() {
+        final Random random = new Random(42);
+        final IntDisjointSets expected = new UnionFindRemSP(SIZE);
+        final IntDisjointSets actual = new ConcurrentUnionFind(SIZE);
+
+        Assert.assertEquals(actual.size(), SIZE);
+
+        for (int i = 0; i < SIZE / 2; i++) {
+            final int x = random.nextInt(SIZE);
+            final int y = random.nextInt(SIZE);
+            Assert.assertEquals(actual.union(x, y), expected.union(x, y));
+        }
+
+        for (int i = 0; i < SIZE; i++) {
+            final int x = random.nextInt(SIZE);
+            final int y = random.nextInt(SIZE);
+            Assert.assertEquals(actual.equivalent(x, y), expected.equivalent(x, y));
+        }
+    }
+
+    @Test
+    public void testConcurrent() {
+        final ConcurrentUnionFind uf = new ConcurrentUnionFind(SIZE);
+        final AtomicInteger successes = new AtomicInteger();
+
+        // link all even and all odd elements (redundantly) in parallel
+        IntStream.range(0, 4 * SIZE).parallel().forEach(i -> {
+            final int x = i % SIZE;
+            final int y = (x + 2 * (1 + i / SIZE)) % SIZE;
+            if (uf.union(x, y)) {
+                successes.incrementAndGet();
+            }
+        });
+
+        // every successful union merges two sets, and exactly two sets remain
+        Assert.assertEquals(successes.get(), SIZE - 2);
+
+        for (int i = 0; i < SIZE; i++) {
+            Assert.assertTrue(uf.equivalent(i, i % 2));
+            Assert.assertFalse(uf.equivalent(i, 1 - i % 2));
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.commons.util.process;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Tests for {@link ProcessUtil}, which spawn new JVMs running the {@link Echo} class.
+ *
+ * @author frohme
+ */
+public class ProcessUtilTest {
+
+    private static final long TIMEOUT = 30;
+
+    @Test
+    public void testInvokeProcess() throws IOException, InterruptedException, TimeoutException {
+        final List<String> output = Collections.synchronizedList(new ArrayList<>());
+        final int exitValue = ProcessUtil.invokeProcess(buildCommandLine("0"),
+                                                        new StringReader("a\nb\n"),
+                                                        output::add,
+                                                        TIMEOUT,
+                                                        TimeUnit.SECONDS);
+
+        Assert.assertEquals(exitValue, 3);
+        Assert.assertEquals(output, Arrays.asList("a", "b"));
+    }
+
+    @Test
+    public void testTimeout() throws IOException, InterruptedException {
+        final long start = System.nanoTime();
+        try {
+            ProcessUtil.invokeProcess(buildCommandLine("60000"), null, null, 1, TimeUnit.SECONDS);
+            Assert.fail("Process should have timed out");
+        } catch (TimeoutException e) {
+            // expected
+        }
+        Assert.assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(TIMEOUT));
+    }
+
+    @Test
+    public void testCancellation() throws IOException, InterruptedException, ExecutionException {
+        final Future<Integer> future = ProcessUtil.invokeProcessAsync(buildCommandLine("60000"), null, null);
+
+        Assert.assertFalse(future.isDone());
+        Assert.assertTrue(future.cancel(true));
+        Assert.assertTrue(future.isCancelled());
+        Assert.assertTrue(future.isDone());
+        Assert.assertFalse(future.cancel(true));
+
+        try {
+            future.get();
+            Assert.fail("Future should have been cancelled");
+        } catch (CancellationException e) {
+            // expected
+        }
+    }
+
+    private static String[] buildCommandLine(String sleep) {
+        final String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        return new String[] {java, "-cp", System.getProperty("java.class.path"), Echo.class.getName(), sleep};
+    }
+
+    /**
+     * Echoes its standard input after sleeping for the number of milliseconds given as the first argument. Exits with
+     * the number of processed lines plus one.
+     */
+    public static final class Echo {
+
+        private Echo() {
+            // prevent instantiation
+        }
+
+        public static void main(String[] args) throws IOException, InterruptedException {
+            Thread.sleep(Long.parseLong(args[0]));
+
+            int lines = 1;
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))) {
+                String line = reader.readLine();
+                while (line != null) {
+                    System.out.println(line);
+                    lines++;
+                    line = reader.readLine();
+                }
+            }
+
+            System.exit(lines);
+        }
+    }
+}
@@ -73,6 +73,12 @@ public abstract class AbstractCompactSimpleDeterministic<I, SP>
         return toState(transitions[toMemoryIndex(state, input)]);
     }
 
+    @Override
+    // Overridden for performance reasons (to prevent autoboxing of default implementation)
+    public int getSuccessor(int state, int input) {
+        return transitions[toMemoryIndex(state, input)];
+    }
+
     @Override
     protected void updateTransitionStorage(Payload payload) {
         this.transitions = updateTransitionStorage(this.transitions, AbstractCompact.INVALID_STATE, payload);
@@ -138,4 +138,36 @@ public abstract class AbstractCompactGraph<E extends CompactEdge<EP>, NP, EP>
         return edge.getProperty();
     }
 
+    /**
+     * Creates an immutable snapshot of this graph in compressed sparse row representation. The nodes of the snapshot
+     * coincide with the nodes of this graph, and the outgoing edges of each node are stored in the order in which they
+     * have been {@link #connect(int, int, Object) connected}. Subsequent modifications of this graph do not affect the
+     * snapshot.
+     *
+     * @return the immutable snapshot of this graph
+     */
+    public CSRGraph<NP, EP> freeze() {
+        final int[] offsets = new int[size + 1];
+        final Object[] nodeProperties = new Object[size];
+
+        for (int i = 0; i < size; i++) {
+            offsets[i + 1] = offsets[i] + getOutEdgeList(i).size();
+            nodeProperties[i] = getNodeProperties(i);
+        }
+
+        final int[] targets = new int[offsets[size]];
+        final Object[] edgeProperties = new Object[offsets[size]];
+
+        for (int i = 0; i < size; i++) {
+            int idx = offsets[i];
+            for (E edge : getOutEdgeList(i)) {
+                targets[idx] = edge.getTarget();
+                edgeProperties[idx] = edge.getProperty();
+                idx++;
+            }
+        }
+
+        return new CSRGraph<>(offsets, targets, nodeProperties, edgeProperties);
+    }
+
 }
\ No newline at end of file
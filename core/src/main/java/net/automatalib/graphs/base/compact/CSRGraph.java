@@ -0,0 +1,371 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.graphs.base.compact;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import net.automatalib.automata.simple.SimpleDeterministicAutomaton.FullIntAbstraction;
+import net.automatalib.commons.util.collections.CollectionsUtil;
+import net.automatalib.commons.util.mappings.MutableMapping;
+import net.automatalib.graphs.UniversalGraph;
+import net.automatalib.graphs.concepts.NodeIDs;
+import net.automatalib.graphs.helpers.NodeIDStaticMapping;
+
+/**
+ * An immutable graph in compressed sparse row (CSR) representation.
+ * <p>
+ * Nodes are represented by the integers {@code 0, ..., size() - 1} and edges are represented by the integers {@code
+ * 0, ..., getNumEdges() - 1}. The outgoing edges of node {@code n} are the (consecutive) edges {@code
+ * getOutgoingEdgesBegin(n), ..., getOutgoingEdgesEnd(n) - 1}. Targets and properties of edges are stored in arrays
+ * parallel to the edge indices, so that (in contrast to the mutable {@link AbstractCompactGraph compact graphs}) no
+ * object is allocated per edge and iterating over the outgoing edges of a node accesses consecutive memory.
+ * <p>
+ * Instances can be obtained by {@link AbstractCompactGraph#freeze() freezing} a compact graph, by {@link
+ * #copyOf(UniversalGraph) copying} an arbitrary graph, or via a {@link #builder() builder}. Since instances are
+ * immutable, they may be accessed concurrently.
+ *
+ * @param <NP>
+ *         node property class
+ * @param <EP>
+ *         edge property class
+ *
+ * @author frohme
+ */
+public final class CSRGraph<NP, EP> implements UniversalGraph<Integer, Integer, NP, EP>, NodeIDs<Integer> {
+
+    private final int[] offsets;
+    private final int[] targets;
+    private final Object[] nodeProperties;
+    private final Object[] edgeProperties;
+
+    CSRGraph(int[] offsets, int[] targets, Object[] nodeProperties, Object[] edgeProperties) {
+        this.offsets = offsets;
+        this.targets = targets;
+        this.nodeProperties = nodeProperties;
+        this.edgeProperties = edgeProperties;
+    }
+
+    /**
+     * Creates a new builder for constructing a {@link CSRGraph}.
+     *
+     * @param <NP>
+     *         node property class
+     * @param <EP>
+     *         edge property class
+     *
+     * @return the builder
+     */
+    public static <NP, EP> Builder<NP, EP> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Creates an immutable copy of the given graph. The nodes of the copy are numbered according to the {@link
+     * UniversalGraph#nodeIDs() node ids} of the given graph and the outgoing edges of each node are stored in the
+     * iteration order of the given graph.
+     *
+     * @param graph
+     *         the graph to copy
+     * @param <N>
+     *         node type
+     * @param <E>
+     *         edge type
+     * @param <NP>
+     *         node property class
+     * @param <EP>
+     *         edge property class
+     *
+     * @return the immutable copy of the graph
+     */
+    public static <N, E, NP, EP> CSRGraph<NP, EP> copyOf(UniversalGraph<N, E, NP, EP> graph) {
+        final NodeIDs<N> ids = graph.nodeIDs();
+        final int size = graph.size();
+        final int[] offsets = new int[size + 1];
+        final Object[] nodeProperties = new Object[size];
+        int[] targets = new int[size];
+        Object[] edgeProperties = new Object[size];
+        int numEdges = 0;
+
+        for (int i = 0; i < size; i++) {
+            final N node = ids.getNode(i);
+            offsets[i] = numEdges;
+            nodeProperties[i] = graph.getNodeProperty(node);
+
+            for (E edge : graph.getOutgoingEdges(node)) {
+                if (numEdges == targets.length) {
+                    final int newLength = Math.max(targets.length * 2, 1);
+                    targets = Arrays.copyOf(targets, newLength);
+                    edgeProperties = Arrays.copyOf(edgeProperties, newLength);
+                }
+                targets[numEdges] = ids.getNodeId(graph.getTarget(edge));
+                edgeProperties[numEdges] = graph.getEdgeProperty(edge);
+                numEdges++;
+            }
+        }
+        offsets[size] = numEdges;
+
+        return new CSRGraph<>(offsets,
+                              Arrays.copyOf(targets, numEdges),
+                              nodeProperties,
+                              Arrays.copyOf(edgeProperties, numEdges));
+    }
+
+    @Override
+    public int size() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * Returns the total number of edges of this graph.
+     *
+     * @return the number of edges
+     */
+    public int getNumEdges() {
+        return targets.length;
+    }
+
+    @Override
+    public Collection<Integer> getNodes() {
+        return CollectionsUtil.intRange(0, size());
+    }
+
+    @Override
+    public NodeIDs<Integer> nodeIDs() {
+        return this;
+    }
+
+    @Override
+    public int getNodeId(Integer node) {
+        return (node < 0 || node >= size()) ? FullIntAbstraction.INVALID_STATE : node.intValue();
+    }
+
+    @Override
+    public Integer getNode(int id) {
+        return (id < 0 || id >= size()) ? null : Integer.valueOf(id);
+    }
+
+    @Override
+    public Collection<Integer> getOutgoingEdges(Integer node) {
+        return getOutgoingEdges(node.intValue());
+    }
+
+    public List<Integer> getOutgoingEdges(int node) {
+        return CollectionsUtil.intRange(offsets[node], offsets[node + 1]);
+    }
+
+    /**
+     * Returns the (inclusive) index of the first outgoing edge of the given node.
+     *
+     * @param node
+     *         the node
+     *
+     * @return the index of the first outgoing edge of {@code node}
+     */
+    public int getOutgoingEdgesBegin(int node) {
+        return offsets[node];
+    }
+
+    /**
+     * Returns the (exclusive) index of the last outgoing edge of the given node. If this index equals {@link
+     * #getOutgoingEdgesBegin(int)}, the node has no outgoing edges.
+     *
+     * @param node
+     *         the node
+     *
+     * @return the index after the last outgoing edge of {@code node}
+     */
+    public int getOutgoingEdgesEnd(int node) {
+        return offsets[node + 1];
+    }
+
+    @Override
+    public Integer getTarget(Integer edge) {
+        return Integer.valueOf(targets[edge]);
+    }
+
+    public int getIntTarget(int edge) {
+        return targets[edge];
+    }
+
+    @Override
+    public NP getNodeProperty(Integer node) {
+        return getNodeProperty(node.intValue());
+    }
+
+    @SuppressWarnings("unchecked")
+    public NP getNodeProperty(int node) {
+        return (NP) nodeProperties[node];
+    }
+
+    @Override
+    public EP getEdgeProperty(Integer edge) {
+        return getEdgeProperty(edge.intValue());
+    }
+
+    @SuppressWarnings("unchecked")
+    public EP getEdgeProperty(int edge) {
+        return (EP) edgeProperties[edge];
+    }
+
+    @Override
+    public <V> MutableMapping<Integer, V> createStaticNodeMapping() {
+        return new NodeIDStaticMapping<>(this, size());
+    }
+
+    @Override
+    public <V> MutableMapping<Integer, V> createDynamicNodeMapping() {
+        // the graph is immutable, hence a static mapping suffices
+        return createStaticNodeMapping();
+    }
+
+    /**
+     * A builder for {@link CSRGraph}s. Nodes and edges may be added in arbitrary order, the edges are grouped by their
+     * source nodes when {@link #build() building} the graph. The relative order of the outgoing edges of a node is
+     * preserved.
+     *
+     * @param <NP>
+     *         node property class
+     * @param <EP>
+     *         edge property class
+     */
+    public static final class Builder<NP, EP> {
+
+        private Object[] nodeProperties;
+        private int numNodes;
+
+        private int[] sources;
+        private int[] targets;
+        private Object[] edgeProperties;
+        private int numEdges;
+
+        Builder() {
+            this.nodeProperties = new Object[1];
+            this.sources = new int[1];
+            this.targets = new int[1];
+            this.edgeProperties = new Object[1];
+        }
+
+        /**
+         * Adds a node without a property to the graph.
+         *
+         * @return the id of the added node
+         */
+        public int addNode() {
+            return addNode(null);
+        }
+
+        /**
+         * Adds a node to the graph. Nodes are numbered consecutively (starting at {@code 0}) in the order in which they
+         * are added.
+         *
+         * @param property
+         *         the node property
+         *
+         * @return the id of the added node
+         */
+        public int addNode(NP property) {
+            if (numNodes == nodeProperties.length) {
+                nodeProperties = Arrays.copyOf(nodeProperties, numNodes * 2);
+            }
+            nodeProperties[numNodes] = property;
+            return numNodes++;
+        }
+
+        /**
+         * Adds an edge without a property to the graph.
+         *
+         * @param source
+         *         the source node
+         * @param target
+         *         the target node
+         *
+         * @see #connect(int, int, Object)
+         */
+        public void connect(int source, int target) {
+            connect(source, target, null);
+        }
+
+        /**
+         * Adds an edge to the graph. The given nodes do not need to be added before calling this method, but they have
+         * to be added before {@link #build() building} the graph.
+         *
+         * @param source
+         *         the source node
+         * @param target
+         *         the target node
+         * @param property
+         *         the edge property
+         */
+        public void connect(int source, int target, EP property) {
+            if (numEdges == targets.length) {
+                final int newLength = numEdges * 2;
+                sources = Arrays.copyOf(sources, newLength);
+                targets = Arrays.copyOf(targets, newLength);
+                edgeProperties = Arrays.copyOf(edgeProperties, newLength);
+            }
+            sources[numEdges] = source;
+            targets[numEdges] = target;
+            edgeProperties[numEdges] = property;
+            numEdges++;
+        }
+
+        /**
+         * Builds the graph. The builder may be used further afterwards, subsequent modifications do not affect
+         * previously built graphs.
+         *
+         * @return the immutable graph
+         *
+         * @throws IllegalStateException
+         *         if an edge refers to a node that has not been added
+         */
+        public CSRGraph<NP, EP> build() {
+            final int[] offsets = new int[numNodes + 1];
+
+            for (int e = 0; e < numEdges; e++) {
+                checkNode(sources[e]);
+                checkNode(targets[e]);
+                offsets[sources[e] + 1]++;
+            }
+            for (int i = 0; i < numNodes; i++) {
+                offsets[i + 1] += offsets[i];
+            }
+
+            // counting sort (stable) of the edges by their source nodes
+            final int[] fill = Arrays.copyOf(offsets, numNodes);
+            final int[] sortedTargets = new int[numEdges];
+            final Object[] sortedProperties = new Object[numEdges];
+
+            for (int e = 0; e < numEdges; e++) {
+                final int idx = fill[sources[e]]++;
+                sortedTargets[idx] = targets[e];
+                sortedProperties[idx] = edgeProperties[e];
+            }
+
+            return new CSRGraph<>(offsets,
+                                  sortedTargets,
+                                  Arrays.copyOf(nodeProperties, numNodes),
+                                  sortedProperties);
+        }
+
+        private void checkNode(int node) {
+            if (node < 0 || node >= numNodes) {
+                throw new IllegalStateException("Edge refers to unknown node " + node);
+            }
+        }
+    }
+}
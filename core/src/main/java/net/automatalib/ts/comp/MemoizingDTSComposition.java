@@ -0,0 +1,260 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.ts.comp;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import net.automatalib.automata.concepts.InputAlphabetHolder;
+import net.automatalib.automata.concepts.StateIDs;
+import net.automatalib.commons.util.Pair;
+import net.automatalib.ts.DeterministicTransitionSystem;
+import net.automatalib.words.Alphabet;
+
+/**
+ * A memoizing variant of {@link DTSComposition}. Instead of creating a new {@link Pair} of component states on every
+ * {@link #getSuccessor(Integer) successor} computation, the discovered product states are assigned dense integer ids
+ * (in the order of their discovery, starting with {@code 0} for the initial state) and the successor of each state and
+ * input is computed at most once and cached in a (lazily filled) successor table. Repeated traversals of this
+ * composition therefore neither query the component systems nor allocate any objects.
+ * <p>
+ * States of this composition are their ids, hence the composition also acts as its own {@link #stateIDs() state id
+ * mapping}. Transitions are represented by the index {@code state * |alphabet| + inputIndex} of the successor table.
+ * The component states of a product state can be retrieved via {@link #getFirstState(int)} and {@link
+ * #getSecondState(int)}.
+ * <p>
+ * Note that this class is not thread-safe, as successor computations modify the internal caches.
+ *
+ * @param <S1>
+ *         state type of the first transition system
+ * @param <S2>
+ *         state type of the second transition system
+ * @param <I>
+ *         input symbol type
+ * @param <T1>
+ *         transition type of the first transition system
+ * @param <T2>
+ *         transition type of the second transition system
+ * @param <TS1>
+ *         type of the first transition system
+ * @param <TS2>
+ *         type of the second transition system
+ *
+ * @author frohme
+ */
+public class MemoizingDTSComposition<S1, S2, I, T1, T2, TS1 extends DeterministicTransitionSystem<S1, I, T1>, TS2 extends DeterministicTransitionSystem<S2, I, T2>>
+        implements DeterministicTransitionSystem<Integer, I, Integer>, StateIDs<Integer>, InputAlphabetHolder<I> {
+
+    private static final int DEFAULT_INIT_CAPACITY = 16;
+    private static final int UNDEFINED = -1;
+    private static final int UNKNOWN = -2;
+
+    protected final TS1 ts1;
+    protected final TS2 ts2;
+    protected final Alphabet<I> alphabet;
+    protected final boolean allowPartial;
+    protected final int numInputs;
+
+    private final Map<Pair<S1, S2>, Integer> stateIds;
+    private Object[] firstStates;
+    private Object[] secondStates;
+    private int[] successors;
+    private int size;
+
+    public MemoizingDTSComposition(TS1 ts1, TS2 ts2, Alphabet<I> alphabet) {
+        this(ts1, ts2, alphabet, false);
+    }
+
+    public MemoizingDTSComposition(TS1 ts1, TS2 ts2, Alphabet<I> alphabet, boolean allowPartial) {
+        this.ts1 = ts1;
+        this.ts2 = ts2;
+        this.alphabet = alphabet;
+        this.allowPartial = allowPartial;
+        this.numInputs = alphabet.size();
+
+        this.stateIds = new HashMap<>();
+        this.firstStates = new Object[DEFAULT_INIT_CAPACITY];
+        this.secondStates = new Object[DEFAULT_INIT_CAPACITY];
+        this.successors = new int[DEFAULT_INIT_CAPACITY * numInputs];
+        Arrays.fill(this.successors, UNKNOWN);
+
+        getOrAddState(ts1.getInitialState(), ts2.getInitialState());
+    }
+
+    public TS1 getFirstTS() {
+        return ts1;
+    }
+
+    public TS2 getSecondTS() {
+        return ts2;
+    }
+
+    @Override
+    public Alphabet<I> getInputAlphabet() {
+        return alphabet;
+    }
+
+    /**
+     * Returns the number of product states that have been discovered so far.
+     *
+     * @return the number of discovered product states
+     */
+    public int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public S1 getFirstState(int state) {
+        return (S1) firstStates[state];
+    }
+
+    @SuppressWarnings("unchecked")
+    public S2 getSecondState(int state) {
+        return (S2) secondStates[state];
+    }
+
+    public int getIntInitialState() {
+        return 0;
+    }
+
+    @Override
+    public Integer getInitialState() {
+        return getIntInitialState();
+    }
+
+    @Override
+    public Integer getTransition(Integer state, I input) {
+        final int stateId = state.intValue();
+        final int inputIdx = alphabet.getSymbolIndex(input);
+        return getIntSuccessor(stateId, inputIdx) < 0 ? null : stateId * numInputs + inputIdx;
+    }
+
+    @Override
+    public Integer getSuccessor(Integer transition) {
+        return successors[transition];
+    }
+
+    /**
+     * Returns the id of the successor of the given product state for the input symbol with the given index. If the
+     * successor has not been computed yet, it is computed from the component transition systems and cached.
+     *
+     * @param state
+     *         the id of the product state
+     * @param input
+     *         the index of the input symbol
+     *
+     * @return the id of the successor state, or {@code -1} if the transition is undefined
+     */
+    public int getIntSuccessor(int state, int input) {
+        final int transition = state * numInputs + input;
+        int succ = successors[transition];
+
+        if (succ == UNKNOWN) {
+            succ = computeSuccessor(state, input, transition);
+            // the successor table may have been resized during the computation
+            successors[transition] = succ;
+        }
+
+        return succ;
+    }
+
+    /**
+     * Discovers all product states that are reachable from the initial state, i.e. fills the complete successor table.
+     *
+     * @return the number of reachable product states
+     */
+    public int explore() {
+        // newly discovered states are appended, hence this loop also processes them
+        for (int state = 0; state < size; state++) {
+            for (int input = 0; input < numInputs; input++) {
+                getIntSuccessor(state, input);
+            }
+        }
+        return size;
+    }
+
+    public StateIDs<Integer> stateIDs() {
+        return this;
+    }
+
+    @Override
+    public int getStateId(Integer state) {
+        return state;
+    }
+
+    @Override
+    public Integer getState(int id) {
+        return id;
+    }
+
+    /**
+     * Callback that is invoked whenever a (defined) product transition has been computed for the first time.
+     * Sub-classes may use it to cache additional transition information, e.g. outputs.
+     *
+     * @param transition
+     *         the index of the product transition
+     * @param t1
+     *         the transition of the first transition system (may be {@code null} for partial compositions)
+     * @param t2
+     *         the transition of the second transition system (may be {@code null} for partial compositions)
+     */
+    protected void transitionComputed(int transition, T1 t1, T2 t2) {}
+
+    private int computeSuccessor(int state, int input, int transition) {
+        final I sym = alphabet.getSymbol(input);
+
+        final S1 s1 = getFirstState(state);
+        final T1 t1 = (s1 == null) ? null : ts1.getTransition(s1, sym);
+        if (t1 == null && !allowPartial) {
+            return UNDEFINED;
+        }
+
+        final S2 s2 = getSecondState(state);
+        final T2 t2 = (s2 == null) ? null : ts2.getTransition(s2, sym);
+        if (t2 == null && !allowPartial) {
+            return UNDEFINED;
+        }
+
+        if (t1 == null && t2 == null) {
+            return UNDEFINED;
+        }
+
+        transitionComputed(transition, t1, t2);
+
+        return getOrAddState((t1 == null) ? null : ts1.getSuccessor(t1), (t2 == null) ? null : ts2.getSuccessor(t2));
+    }
+
+    private int getOrAddState(S1 s1, S2 s2) {
+        final Integer existing = stateIds.putIfAbsent(Pair.of(s1, s2), size);
+
+        if (existing != null) {
+            return existing;
+        }
+
+        if (size == firstStates.length) {
+            final int newCapacity = 2 * size;
+            firstStates = Arrays.copyOf(firstStates, newCapacity);
+            secondStates = Arrays.copyOf(secondStates, newCapacity);
+            successors = Arrays.copyOf(successors, newCapacity * numInputs);
+            Arrays.fill(successors, size * numInputs, successors.length, UNKNOWN);
+        }
+
+        firstStates[size] = s1;
+        secondStates[size] = s2;
+        return size++;
+    }
+}
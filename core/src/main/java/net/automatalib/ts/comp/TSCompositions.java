@@ -17,6 +17,7 @@ package net.automatalib.ts.comp;
 
 import net.automatalib.ts.DeterministicTransitionSystem;
 import net.automatalib.ts.TransitionSystem;
+import net.automatalib.words.Alphabet;
 
 public final class TSCompositions {
 
@@ -33,4 +34,11 @@ public final class TSCompositions {
             TS2 ts2) {
         return new DTSComposition<>(ts1, ts2);
     }
+
+    public static <S1, S2, I, T1, T2, TS1 extends DeterministicTransitionSystem<S1, I, T1>, TS2 extends DeterministicTransitionSystem<S2, I, T2>> MemoizingDTSComposition<S1, S2, I, T1, T2, TS1, TS2> composeMemoized(
+            TS1 ts1,
+            TS2 ts2,
+            Alphabet<I> alphabet) {
+        return new MemoizingDTSComposition<>(ts1, ts2, alphabet);
+    }
 }
@@ -0,0 +1,171 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.graphs.base.compact;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import net.automatalib.commons.util.mappings.MutableMapping;
+import net.automatalib.graphs.UniversalGraph;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author frohme
+ */
+public class CSRGraphTest {
+
+    @Test
+    public void testFreeze() {
+        final Random random = new Random(42);
+        final CompactGraph<String, Integer> graph = new CompactGraph<>();
+        final int size = 100;
+
+        for (int i = 0; i < size; i++) {
+            graph.addNode("n" + i);
+        }
+        for (int i = 0; i < 3 * size; i++) {
+            graph.connect(random.nextInt(size), random.nextInt(size), Integer.valueOf(i));
+        }
+
+        final CSRGraph<String, Integer> frozen = graph.freeze();
+        checkEquivalence(graph, frozen);
+        checkEquivalence(graph, CSRGraph.copyOf(graph));
+
+        // modifications of the original graph do not affect the frozen one
+        graph.connect(0, 1, Integer.valueOf(-1));
+        graph.addNode("new");
+        Assert.assertEquals(frozen.size(), size);
+        Assert.assertEquals(frozen.getNumEdges(), 3 * size);
+    }
+
+    @Test
+    public void testBuilder() {
+        final CSRGraph.Builder<String, Character> builder = CSRGraph.builder();
+        final int n0 = builder.addNode("a");
+        final int n1 = builder.addNode("b");
+        final int n2 = builder.addNode();
+
+        // edges are added in arbitrary order of their sources
+        builder.connect(n2, n0, 'x');
+        builder.connect(n0, n1, 'y');
+        builder.connect(n2, n1, 'z');
+        builder.connect(n0, n2);
+
+        final CSRGraph<String, Character> graph = builder.build();
+
+        Assert.assertEquals(graph.size(), 3);
+        Assert.assertEquals(graph.getNumEdges(), 4);
+        Assert.assertEquals(graph.getNodeProperty(n0), "a");
+        Assert.assertEquals(graph.getNodeProperty(n1), "b");
+        Assert.assertNull(graph.getNodeProperty(n2));
+
+        Assert.assertEquals(targets(graph, n0), Arrays.asList(n1, n2));
+        Assert.assertEquals(targets(graph, n1), Collections.emptyList());
+        Assert.assertEquals(targets(graph, n2), Arrays.asList(n0, n1));
+        Assert.assertEquals(edgeProperties(graph, n0), Arrays.asList('y', null));
+        Assert.assertEquals(edgeProperties(graph, n2), Arrays.asList('x', 'z'));
+
+        for (int n = 0; n < graph.size(); n++) {
+            Assert.assertEquals(graph.getOutgoingEdgesEnd(n) - graph.getOutgoingEdgesBegin(n),
+                                graph.getOutgoingEdges(n).size());
+        }
+
+        // the builder may be re-used
+        builder.connect(n1, n1);
+        Assert.assertEquals(builder.build().getNumEdges(), 5);
+        Assert.assertEquals(graph.getNumEdges(), 4);
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testBuilderUnknownNode() {
+        final CSRGraph.Builder<Void, Void> builder = CSRGraph.builder();
+        builder.addNode();
+        builder.connect(0, 1);
+        builder.build();
+    }
+
+    @Test
+    public void testNodeIDsAndMappings() {
+        final CompactSimpleGraph<Void> graph = new CompactSimpleGraph<>();
+        graph.addNode();
+        graph.addNode();
+        graph.connect(0, 1);
+
+        final CSRGraph<Void, Void> frozen = graph.freeze();
+
+        Assert.assertSame(frozen.nodeIDs(), frozen);
+        Assert.assertEquals(frozen.getNodeId(1), 1);
+        Assert.assertTrue(frozen.getNodeId(2) < 0);
+        Assert.assertNull(frozen.getNode(-1));
+
+        final MutableMapping<Integer, String> mapping = frozen.createStaticNodeMapping();
+        Assert.assertNull(mapping.put(1, "x"));
+        Assert.assertEquals(mapping.put(1, "y"), "x");
+        Assert.assertEquals(mapping.get(1), "y");
+        Assert.assertNull(mapping.get(0));
+    }
+
+    private static <N, E, NP, EP> void checkEquivalence(UniversalGraph<N, E, NP, EP> expected,
+                                                        CSRGraph<NP, EP> actual) {
+        Assert.assertEquals(actual.size(), expected.size());
+
+        int numEdges = 0;
+        for (int i = 0; i < expected.size(); i++) {
+            final N node = expected.nodeIDs().getNode(i);
+            Assert.assertEquals(actual.getNodeProperty(i), expected.getNodeProperty(node));
+
+            final List<Integer> actualTargets = new ArrayList<>();
+            final List<EP> actualProperties = new ArrayList<>();
+            for (Integer edge : actual.getOutgoingEdges(i)) {
+                actualTargets.add(actual.getTarget(edge));
+                actualProperties.add(actual.getEdgeProperty(edge));
+            }
+
+            final List<Integer> expectedTargets = new ArrayList<>();
+            final List<EP> expectedProperties = new ArrayList<>();
+            for (E edge : expected.getOutgoingEdges(node)) {
+                expectedTargets.add(expected.nodeIDs().getNodeId(expected.getTarget(edge)));
+                expectedProperties.add(expected.getEdgeProperty(edge));
+            }
+
+            Assert.assertEquals(actualTargets, expectedTargets);
+            Assert.assertEquals(actualProperties, expectedProperties);
+            numEdges += expectedTargets.size();
+        }
+
+        Assert.assertEquals(actual.getNumEdges(), numEdges);
+    }
+
+    private static List<Integer> targets(CSRGraph<?, ?> graph, int node) {
+        final List<Integer> result = new ArrayList<>();
+        for (int e = graph.getOutgoingEdgesBegin(node); e < graph.getOutgoingEdgesEnd(node); e++) {
+            result.add(graph.getIntTarget(e));
+        }
+        return result;
+    }
+
+    private static <EP> List<EP> edgeProperties(CSRGraph<?, EP> graph, int node) {
+        final List<EP> result = new ArrayList<>();
+        for (Integer edge : graph.getOutgoingEdges(node)) {
+            result.add(graph.getEdgeProperty(edge));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,102 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.examples.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * A serialization format (i.e. a combination of a serializer and deserializer) of a specific model that is subject to
+ * the {@link SerializationBenchmark}. Formats that only support one direction (e.g. ETF, which cannot be read, or FSM,
+ * which cannot be written) use a {@code null} reader or mark their writer as not measured. In the latter case, the
+ * writer is only used for generating the payload of the reader.
+ *
+ * @author frohme
+ */
+final class BenchmarkFormat {
+
+    private final String name;
+    private final String modelType;
+    private final int numTransitions;
+    private final Writer writer;
+    private final boolean measureWriter;
+    private final Reader reader;
+
+    BenchmarkFormat(String name, String modelType, int numTransitions, Writer writer, Reader reader) {
+        this(name, modelType, numTransitions, writer, true, reader);
+    }
+
+    BenchmarkFormat(String name,
+                    String modelType,
+                    int numTransitions,
+                    Writer writer,
+                    boolean measureWriter,
+                    Reader reader) {
+        this.name = name;
+        this.modelType = modelType;
+        this.numTransitions = numTransitions;
+        this.writer = writer;
+        this.measureWriter = measureWriter;
+        this.reader = reader;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    String getModelType() {
+        return modelType;
+    }
+
+    int getNumTransitions() {
+        return numTransitions;
+    }
+
+    Writer getWriter() {
+        return writer;
+    }
+
+    boolean isWriterMeasured() {
+        return measureWriter;
+    }
+
+    boolean isReadable() {
+        return reader != null;
+    }
+
+    Reader getReader() {
+        return reader;
+    }
+
+    /**
+     * Writes the (fixed) model of a format to the given output stream.
+     */
+    @FunctionalInterface
+    interface Writer {
+
+        void write(OutputStream os) throws IOException;
+    }
+
+    /**
+     * Reads a model from the given input stream.
+     */
+    @FunctionalInterface
+    interface Reader {
+
+        Object read(InputStream is) throws IOException;
+    }
+}
@@ -0,0 +1,234 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.examples.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.commons.util.io.BufferedChannelWriter;
+import net.automatalib.serialization.aut.AUTSerializationProvider;
+import net.automatalib.serialization.dot.DOTParsers;
+import net.automatalib.serialization.dot.GraphDOT;
+import net.automatalib.serialization.etf.writer.DFA2ETFWriter;
+import net.automatalib.serialization.etf.writer.Mealy2ETFWriterIO;
+import net.automatalib.serialization.fsm.parser.FSM2DFAParser;
+import net.automatalib.serialization.fsm.parser.FSM2MealyParserIO;
+import net.automatalib.serialization.learnlibv2.LearnLibV2Serialization;
+import net.automatalib.serialization.saf.SAFSerializationDFA;
+import net.automatalib.serialization.saf.SAFSerializationMealy;
+import net.automatalib.serialization.taf.TAFSerializationDFA;
+import net.automatalib.serialization.taf.TAFSerializationMealy;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.Alphabets;
+
+/**
+ * Factory for the {@link BenchmarkFormat}s of the {@link SerializationBenchmark}. Each format serializes a randomly
+ * generated (complete) model of the requested size.
+ * <p>
+ * Some formats (TAF, AUT) require string-based input symbols, whereas others (SAF, LearnLibV2) require integer-based
+ * input symbols. Therefore, each model is generated twice from the same seed, so that both versions share the same
+ * structure.
+ *
+ * @author frohme
+ */
+final class BenchmarkFormats {
+
+    private static final String DFA = "DFA";
+    private static final String MEALY = "Mealy";
+    private static final int NUM_OUTPUTS = 5;
+
+    private BenchmarkFormats() {
+        // prevent instantiation
+    }
+
+    static List<BenchmarkFormat> dfaFormats(int size, int numInputs, long seed) {
+        final Alphabet<Integer> intAlphabet = Alphabets.integers(0, numInputs - 1);
+        final Alphabet<String> stringAlphabet = stringAlphabet(numInputs);
+
+        final CompactDFA<Integer> intDFA = RandomAutomata.randomDFA(new Random(seed), size, intAlphabet, false);
+        final CompactDFA<String> stringDFA = RandomAutomata.randomDFA(new Random(seed), size, stringAlphabet, false);
+        final int numTransitions = size * numInputs;
+
+        final List<BenchmarkFormat> result = new ArrayList<>();
+
+        result.add(new BenchmarkFormat("SAF",
+                                       DFA,
+                                       numTransitions,
+                                       os -> SAFSerializationDFA.getInstance().writeModel(os, intDFA, intAlphabet),
+                                       is -> SAFSerializationDFA.getInstance().readModel(is)));
+        result.add(new BenchmarkFormat("TAF",
+                                       DFA,
+                                       numTransitions,
+                                       os -> TAFSerializationDFA.getInstance()
+                                                                .writeModel(os, stringDFA, stringAlphabet),
+                                       is -> TAFSerializationDFA.getInstance().readModel(is)));
+        result.add(new BenchmarkFormat("DOT",
+                                       DFA,
+                                       numTransitions,
+                                       os -> GraphDOT.write(intDFA, intAlphabet, Channels.newChannel(os)),
+                                       is -> DOTParsers.dfa().readModel(is)));
+        result.add(new BenchmarkFormat("DOT-stream",
+                                       DFA,
+                                       numTransitions,
+                                       os -> GraphDOT.write(intDFA, intAlphabet, Channels.newChannel(os)),
+                                       is -> DOTParsers.streamingDFA().readModel(is)));
+        result.add(new BenchmarkFormat("AUT",
+                                       DFA,
+                                       numTransitions,
+                                       os -> AUTSerializationProvider.getInstance()
+                                                                     .writeModel(os, stringDFA, stringAlphabet),
+                                       is -> AUTSerializationProvider.getInstance().readModel(is)));
+        result.add(new BenchmarkFormat("LearnLibV2",
+                                       DFA,
+                                       numTransitions,
+                                       os -> LearnLibV2Serialization.getInstance().writeModel(os, intDFA, intAlphabet),
+                                       is -> LearnLibV2Serialization.getInstance().readModel(is)));
+        result.add(new BenchmarkFormat("ETF",
+                                       DFA,
+                                       numTransitions,
+                                       os -> DFA2ETFWriter.<String>getInstance()
+                                                          .writeModel(os, stringDFA, stringAlphabet),
+                                       null));
+        result.add(new BenchmarkFormat("FSM",
+                                       DFA,
+                                       numTransitions,
+                                       os -> writeFSM(os, stringDFA, stringAlphabet),
+                                       false,
+                                       is -> FSM2DFAParser.getParser(Function.identity(), "label", "accept")
+                                                          .readModel(is)));
+
+        return result;
+    }
+
+    static List<BenchmarkFormat> mealyFormats(int size, int numInputs, long seed) {
+        final Alphabet<Integer> intAlphabet = Alphabets.integers(0, numInputs - 1);
+        final Alphabet<String> stringAlphabet = stringAlphabet(numInputs);
+        final Alphabet<String> outputs = stringAlphabet(NUM_OUTPUTS);
+
+        final CompactMealy<Integer, String> intMealy =
+                RandomAutomata.randomMealy(new Random(seed), size, intAlphabet, outputs, false);
+        final CompactMealy<String, String> stringMealy =
+                RandomAutomata.randomMealy(new Random(seed), size, stringAlphabet, outputs, false);
+        final int numTransitions = size * numInputs;
+
+        final List<BenchmarkFormat> result = new ArrayList<>();
+
+        result.add(new BenchmarkFormat("SAF",
+                                       MEALY,
+                                       numTransitions,
+                                       os -> SAFSerializationMealy.getInstance().writeModel(os, intMealy, intAlphabet),
+                                       is -> SAFSerializationMealy.getInstance().readModel(is)));
+        result.add(new BenchmarkFormat("TAF",
+                                       MEALY,
+                                       numTransitions,
+                                       os -> TAFSerializationMealy.getInstance()
+                                                                  .writeModel(os, stringMealy, stringAlphabet),
+                                       is -> TAFSerializationMealy.getInstance().readModel(is)));
+        result.add(new BenchmarkFormat("DOT",
+                                       MEALY,
+                                       numTransitions,
+                                       os -> GraphDOT.write(intMealy, intAlphabet, Channels.newChannel(os)),
+                                       is -> DOTParsers.mealy().readModel(is)));
+        result.add(new BenchmarkFormat("DOT-stream",
+                                       MEALY,
+                                       numTransitions,
+                                       os -> GraphDOT.write(intMealy, intAlphabet, Channels.newChannel(os)),
+                                       is -> DOTParsers.streamingMealy().readModel(is)));
+        result.add(new BenchmarkFormat("ETF",
+                                       MEALY,
+                                       numTransitions,
+                                       os -> Mealy2ETFWriterIO.<String, String>getInstance()
+                                                              .writeModel(os, stringMealy, stringAlphabet),
+                                       null));
+        result.add(new BenchmarkFormat("FSM",
+                                       MEALY,
+                                       numTransitions,
+                                       os -> writeFSM(os, stringMealy, stringAlphabet),
+                                       false,
+                                       is -> FSM2MealyParserIO.getParser(Function.identity()).readModel(is)));
+
+        return result;
+    }
+
+    private static Alphabet<String> stringAlphabet(int size) {
+        final String[] symbols = new String[size];
+        for (int i = 0; i < size; i++) {
+            symbols[i] = "s" + i;
+        }
+        return Alphabets.fromArray(symbols);
+    }
+
+    /**
+     * Writes the given DFA in the FSM format (for which no writer exists), so that it can be read by the {@link
+     * FSM2DFAParser}. The states of the DFA are expected to be numbered from 0 (the initial state) upwards.
+     */
+    private static void writeFSM(OutputStream os, CompactDFA<String> dfa, Alphabet<String> alphabet)
+            throws IOException {
+        final BufferedChannelWriter w = new BufferedChannelWriter(os);
+        w.write("label(2) label \"reject\" \"accept\"\n---\n");
+        for (int s = 0; s < dfa.size(); s++) {
+            w.write(dfa.isAccepting(s) ? "1\n" : "0\n");
+        }
+        w.write("---\n");
+        for (int s = 0; s < dfa.size(); s++) {
+            for (String i : alphabet) {
+                w.writeInt(s + 1);
+                w.write(' ');
+                w.writeInt(dfa.getSuccessor(s, i) + 1);
+                w.write(" \"");
+                w.write(i);
+                w.write("\"\n");
+            }
+        }
+        w.flush();
+    }
+
+    /**
+     * Writes the given Mealy machine in the (input/output) FSM format (for which no writer exists), so that it can be
+     * read by the {@link FSM2MealyParserIO}. The states of the Mealy machine are expected to be numbered from 0 (the
+     * initial state) upwards.
+     */
+    private static void writeFSM(OutputStream os, CompactMealy<String, String> mealy, Alphabet<String> alphabet)
+            throws IOException {
+        final BufferedChannelWriter w = new BufferedChannelWriter(os);
+        w.write("---\n");
+        for (int s = 0; s < mealy.size(); s++) {
+            w.write("0\n");
+        }
+        w.write("---\n");
+        for (int s = 0; s < mealy.size(); s++) {
+            for (String i : alphabet) {
+                w.writeInt(s + 1);
+                w.write(' ');
+                w.writeInt(mealy.getSuccessor(s, i) + 1);
+                w.write(" \"");
+                w.write(i);
+                w.write("\" \"");
+                w.write(mealy.getOutput(s, i));
+                w.write("\"\n");
+            }
+        }
+        w.flush();
+    }
+}
@@ -0,0 +1,285 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.examples.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A standalone benchmark that compares the different serialization formats of AutomataLib w.r.t. their write
+ * throughput, read throughput, file size and memory consumption. For each of the requested sizes, a random DFA and a
+ * random Mealy machine are generated (see {@link BenchmarkFormats}) and serialized with every available format.
+ * <p>
+ * Usage: {@code SerializationBenchmark [-w <warmup iterations>] [-i <iterations>] [-a <alphabet size>] [-s <seed>]
+ * [<size> ...]}
+ * <p>
+ * For every format, the benchmark reports
+ * <ul>
+ * <li>the size of the serialized model in bytes and in bytes per transition,</li>
+ * <li>the write and read throughput in MB/s (w.r.t. the serialized size),</li>
+ * <li>the allocation rate in MB/s during writing and reading (if supported by the JVM), and</li>
+ * <li>the peak heap usage in MB during reading (approximated by the sum of the peak usages of all heap pools).</li>
+ * </ul>
+ * The reported times are averaged over all measured iterations. Note that this benchmark is only a coarse yardstick
+ * which does not replace a proper micro-benchmark setup (e.g. forked JVMs, controlled GC). Formats that can only be
+ * written or read report {@code -} for the unsupported direction.
+ *
+ * @author frohme
+ */
+public final class SerializationBenchmark {
+
+    private static final int[] DEFAULT_SIZES = {1000, 10000, 100000};
+    private static final int DEFAULT_WARMUP = 3;
+    private static final int DEFAULT_ITERATIONS = 5;
+    private static final int DEFAULT_ALPHABET_SIZE = 10;
+    private static final long DEFAULT_SEED = 42;
+
+    private static final double MB = 1024 * 1024;
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private static final String HEADER_FORMAT = "%-6s %8s %-10s %12s %8s %10s %10s %10s %10s %10s%n";
+    private static final String ROW_FORMAT = "%-6s %8d %-10s %12d %8.2f %10s %10s %10s %10s %10s%n";
+
+    private final int warmup;
+    private final int iterations;
+    private final PrintStream out;
+    private final ByteArrayOutputStream buffer;
+
+    private SerializationBenchmark(int warmup, int iterations, PrintStream out) {
+        this.warmup = warmup;
+        this.iterations = iterations;
+        this.out = out;
+        this.buffer = new ByteArrayOutputStream();
+    }
+
+    public static void main(String[] args) throws IOException {
+        int warmup = DEFAULT_WARMUP;
+        int iterations = DEFAULT_ITERATIONS;
+        int alphabetSize = DEFAULT_ALPHABET_SIZE;
+        long seed = DEFAULT_SEED;
+        final List<Integer> sizes = new ArrayList<>();
+
+        int i = 0;
+        while (i < args.length) {
+            final String arg = args[i];
+            if (arg.startsWith("-")) {
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Missing value for option " + arg);
+                }
+                final String value = args[i + 1];
+                switch (arg) {
+                    case "-w":
+                        warmup = Integer.parseInt(value);
+                        break;
+                    case "-i":
+                        iterations = Integer.parseInt(value);
+                        break;
+                    case "-a":
+                        alphabetSize = Integer.parseInt(value);
+                        break;
+                    case "-s":
+                        seed = Long.parseLong(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option " + arg);
+                }
+                i += 2;
+            } else {
+                sizes.add(Integer.parseInt(arg));
+                i++;
+            }
+        }
+
+        if (sizes.isEmpty()) {
+            for (int size : DEFAULT_SIZES) {
+                sizes.add(size);
+            }
+        }
+
+        if (iterations <= 0 || alphabetSize <= 0) {
+            throw new IllegalArgumentException("Number of iterations and alphabet size must be positive");
+        }
+
+        final SerializationBenchmark benchmark = new SerializationBenchmark(warmup, iterations, System.out);
+        benchmark.printHeader();
+
+        for (int size : sizes) {
+            benchmark.run(BenchmarkFormats.dfaFormats(size, alphabetSize, seed), size);
+            benchmark.run(BenchmarkFormats.mealyFormats(size, alphabetSize, seed), size);
+        }
+    }
+
+    private void printHeader() {
+        out.printf(Locale.ROOT,
+                   HEADER_FORMAT,
+                   "model",
+                   "states",
+                   "format",
+                   "bytes",
+                   "B/trans",
+                   "write MB/s",
+                   "alloc MB/s",
+                   "read MB/s",
+                   "alloc MB/s",
+                   "heap MB");
+    }
+
+    private void run(List<BenchmarkFormat> formats, int size) throws IOException {
+        for (BenchmarkFormat format : formats) {
+            final Measurement write = measureWrite(format);
+            final byte[] payload = buffer.toByteArray();
+            final Measurement read = format.isReadable() ? measureRead(format, payload) : null;
+
+            out.printf(Locale.ROOT,
+                       ROW_FORMAT,
+                       format.getModelType(),
+                       size,
+                       format.getName(),
+                       payload.length,
+                       (double) payload.length / format.getNumTransitions(),
+                       format.isWriterMeasured() ? formatRate(payload.length, write.nanos) : "-",
+                       format.isWriterMeasured() ? formatRate(write.allocatedBytes, write.nanos) : "-",
+                       read == null ? "-" : formatRate(payload.length, read.nanos),
+                       read == null ? "-" : formatRate(read.allocatedBytes, read.nanos),
+                       read == null ? "-" : formatMB(read.peakHeap));
+        }
+    }
+
+    private Measurement measureWrite(BenchmarkFormat format) throws IOException {
+        final BenchmarkFormat.Writer writer = format.getWriter();
+        final int warmupIterations = format.isWriterMeasured() ? warmup : 0;
+        final int measuredIterations = format.isWriterMeasured() ? iterations : 1;
+
+        for (int i = 0; i < warmupIterations; i++) {
+            buffer.reset();
+            writer.write(buffer);
+        }
+
+        final Measurement result = new Measurement();
+        for (int i = 0; i < measuredIterations; i++) {
+            buffer.reset();
+            final long alloc = allocatedBytes();
+            final long start = System.nanoTime();
+            writer.write(buffer);
+            result.add(System.nanoTime() - start, allocatedBytesSince(alloc));
+        }
+
+        result.finish(measuredIterations);
+        return result;
+    }
+
+    private Measurement measureRead(BenchmarkFormat format, byte[] payload) throws IOException {
+        final BenchmarkFormat.Reader reader = format.getReader();
+        for (int i = 0; i < warmup; i++) {
+            reader.read(new ByteArrayInputStream(payload));
+        }
+
+        final List<MemoryPoolMXBean> heapPools = heapPools();
+        System.gc();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+
+        final Measurement result = new Measurement();
+        for (int i = 0; i < iterations; i++) {
+            final ByteArrayInputStream is = new ByteArrayInputStream(payload);
+            final long alloc = allocatedBytes();
+            final long start = System.nanoTime();
+            reader.read(is);
+            result.add(System.nanoTime() - start, allocatedBytesSince(alloc));
+        }
+
+        for (MemoryPoolMXBean pool : heapPools) {
+            result.peakHeap += pool.getPeakUsage().getUsed();
+        }
+
+        result.finish(iterations);
+        return result;
+    }
+
+    private static List<MemoryPoolMXBean> heapPools() {
+        final List<MemoryPoolMXBean> result = new ArrayList<>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.isValid()) {
+                result.add(pool);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of bytes allocated by the current thread, or {@code -1} if the JVM does not support
+     * measuring thread allocations.
+     */
+    private static long allocatedBytes() {
+        final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            final com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+            if (sunBean.isThreadAllocatedMemorySupported() && sunBean.isThreadAllocatedMemoryEnabled()) {
+                return sunBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the number of bytes allocated by the current thread since the given {@link #allocatedBytes() reading},
+     * or {@code -1} if the JVM does not support measuring thread allocations.
+     */
+    private static long allocatedBytesSince(long before) {
+        final long after = allocatedBytes();
+        return before < 0 || after < 0 ? -1 : after - before;
+    }
+
+    private static String formatRate(long bytes, long nanos) {
+        if (bytes < 0 || nanos <= 0) {
+            return "-";
+        }
+        return String.format(Locale.ROOT, "%.1f", bytes / MB / (nanos / NANOS_PER_SECOND));
+    }
+
+    private static String formatMB(long bytes) {
+        return String.format(Locale.ROOT, "%.1f", bytes / MB);
+    }
+
+    private static final class Measurement {
+
+        private long nanos;
+        private long allocatedBytes;
+        private long peakHeap;
+
+        void add(long nanos, long allocatedBytes) {
+            this.nanos += nanos;
+            this.allocatedBytes = this.allocatedBytes < 0 || allocatedBytes < 0 ? -1 :
+                    this.allocatedBytes + allocatedBytes;
+        }
+
+        void finish(int iterations) {
+            this.nanos /= iterations;
+            if (this.allocatedBytes > 0) {
+                this.allocatedBytes /= iterations;
+            }
+        }
+    }
+}
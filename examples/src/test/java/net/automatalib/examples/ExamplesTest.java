@@ -26,6 +26,7 @@ import javax.swing.SwingUtilities;
 
 import net.automatalib.commons.util.system.JVMUtil;
 import net.automatalib.examples.ads.ADSExample;
+import net.automatalib.examples.benchmark.SerializationBenchmark;
 import net.automatalib.examples.brics.SimpleBricsExample;
 import net.automatalib.examples.dot.DOTExample;
 import net.automatalib.examples.graph.DFSExample;
@@ -64,6 +65,11 @@ public class ExamplesTest {
         SwingUtilities.invokeAndWait(() -> ADSExample.main(new String[0]));
     }
 
+    @Test
+    public void testSerializationBenchmark() throws IOException {
+        SerializationBenchmark.main(new String[] {"-w", "0", "-i", "1", "-a", "3", "50"});
+    }
+
     @Test
     public void testSimpleBricsExample() throws InvocationTargetException, InterruptedException {
         checkJVMCompatibility();
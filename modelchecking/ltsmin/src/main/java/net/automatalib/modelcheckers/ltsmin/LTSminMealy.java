@@ -18,6 +18,7 @@ package net.automatalib.modelcheckers.ltsmin;
 import java.io.File;
 import java.io.IOException;
 import java.util.Collection;
+import java.util.Set;
 import java.util.function.Function;
 
 import net.automatalib.automata.transducers.MealyMachine;
@@ -25,6 +26,7 @@ import net.automatalib.automata.transducers.impl.compact.CompactMealy;
 import net.automatalib.modelchecking.ModelChecker;
 import net.automatalib.serialization.fsm.parser.FSMFormatException;
 import net.automatalib.util.automata.transducers.MealyFilter;
+import net.automatalib.util.automata.transducers.MealyReduction;
 import net.automatalib.words.Alphabet;
 import net.automatalib.words.impl.Alphabets;
 
@@ -94,6 +96,29 @@ public interface LTSminMealy<I, O, R>
         mealy2ETF(MealyFilter.pruneTransitionsWithOutput(mealyMachine, alphabet, getSkipOutputs()), inputs, etf);
     }
 
+    /**
+     * Reduces the given {@link MealyMachine} before it is handed to LTSmin. Inputs that are not referenced by the
+     * atomic propositions of the given {@code formula} and behave identically in every state are collapsed to a
+     * single representative, and bisimilar states are merged (see {@link MealyReduction}). Both reductions preserve
+     * the validity of the formula, and every counterexample of the reduced machine is a counterexample of the
+     * original machine.
+     *
+     * @param automaton
+     *         the {@link MealyMachine} to reduce
+     * @param inputs
+     *         the alphabet
+     * @param formula
+     *         the formula that is going to be checked
+     *
+     * @return the reduced {@link MealyMachine}, whose input alphabet contains the remaining inputs
+     */
+    default CompactMealy<I, O> reduce(MealyMachine<?, I, ?, O> automaton,
+                                      Collection<? extends I> inputs,
+                                      String formula) {
+        final Set<String> values = LTSminUtil.getPropositionValues(formula);
+        return MealyReduction.reduce(automaton, inputs, i -> values.contains(String.valueOf(i)));
+    }
+
     /**
      * Gets a function that transforms edges in the FSM file to actual output.
      *
@@ -18,6 +18,14 @@ package net.automatalib.modelcheckers.ltsmin;
 import java.io.IOException;
 import java.io.StringWriter;
 import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import net.automatalib.AutomataLibProperty;
 import net.automatalib.AutomataLibSettings;
@@ -60,6 +68,21 @@ public final class LTSminUtil {
      */
     private static final int VERSION_EXIT = 255;
 
+    /**
+     * The maximum time (in seconds) to wait for an LTSmin binary to report its version.
+     */
+    private static final long VERSION_TIMEOUT = 10;
+
+    /**
+     * Cached results of version checks, indexed by the checked binary.
+     */
+    private static final Map<String, LTSminVersion> VERSION_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * Matches the right-hand side of (in-)equality atoms, e.g. {@code == "a"} or {@code != b}.
+     */
+    private static final Pattern ATOM_VALUE = Pattern.compile("[=!]=\\s*(?:\"((?:[^\"\\\\]|\\\\.)*)\"|(\\w+))");
+
     /**
      * A flag for triggering verbose LTSmin output.
      */
@@ -86,7 +109,8 @@ public final class LTSminUtil {
     }
 
     /**
-     * Returns whether or not an LTSmin installation was detected.
+     * Returns whether or not an LTSmin installation was detected by the last check (see {@link #detectLTSmin()}). If
+     * the last check failed, the binaries are only checked again upon the next invocation of {@link #detectLTSmin()}.
      *
      * @return {@code true} if an LTSmin installation was detected, {@code false} otherwise.
      */
@@ -132,16 +156,61 @@ public final class LTSminUtil {
     }
 
     /**
-     * (Re-)Checks whether the required binaries for the {@link AbstractLTSmin LTSmin modelchecker} can be executed, by
+     * Returns the values that occur in the atomic propositions (e.g. {@code letter == "a"}) of the given LTL formula.
+     * Symbols whose string representation is not contained in the returned set cannot be distinguished by the formula.
+     *
+     * @param formula
+     *         the LTL formula
+     *
+     * @return the values that occur in the atomic propositions of the given formula
+     */
+    public static Set<String> getPropositionValues(String formula) {
+        final Set<String> result = new HashSet<>();
+        final Matcher matcher = ATOM_VALUE.matcher(formula);
+
+        while (matcher.find()) {
+            final String quoted = matcher.group(1);
+            result.add(quoted == null ? matcher.group(2) : quoted.replaceAll("\\\\(.)", "$1"));
+        }
+
+        return result;
+    }
+
+    /**
+     * Checks whether the required binaries for the {@link AbstractLTSmin LTSmin modelchecker} can be executed, by
      * performing a version check. The results to these checks can be accessed by {@link #isInstalled()} and {@link
      * #getVersion()}.
+     * <p>
+     * The results of successful version checks are cached, so that repeated invocations of this method do not spawn
+     * new processes. Failed checks (e.g. because a binary could not be found or timed out) are not cached and repeated
+     * on the next invocation. Use {@link #detectLTSmin(boolean)} to enforce a re-check of all binaries, e.g. after
+     * LTSmin has been updated.
      *
      * @see #ETF2LTS_MC
      * @see #LTSMIN_CONVERT
      */
     public static void detectLTSmin() {
-        final LTSminVersion etf2ltsVersion = detectLTSmin(ETF2LTS_MC);
-        final LTSminVersion ltsminConvertVersion = detectLTSmin(LTSMIN_CONVERT);
+        detectLTSmin(false);
+    }
+
+    /**
+     * (Re-)Checks whether the required binaries for the {@link AbstractLTSmin LTSmin modelchecker} can be executed, by
+     * performing a version check. The results to these checks can be accessed by {@link #isInstalled()} and {@link
+     * #getVersion()}.
+     *
+     * @param forceCheck
+     *         if {@code true}, cached results of previous checks are discarded and the binaries are invoked again
+     *
+     * @see #ETF2LTS_MC
+     * @see #LTSMIN_CONVERT
+     */
+    public static void detectLTSmin(boolean forceCheck) {
+        if (forceCheck) {
+            VERSION_CACHE.clear();
+        }
+
+        final LTSminVersion etf2ltsVersion = getVersion(ETF2LTS_MC);
+        final LTSminVersion ltsminConvertVersion = getVersion(LTSMIN_CONVERT);
 
         if (etf2ltsVersion == null) {
             LOGGER.info(CHECK, ETF2LTS_MC_BINARY);
@@ -158,9 +227,25 @@ public final class LTSminUtil {
                             ltsminConvertVersion);
             }
             detectedVersion = etf2ltsVersion;
+        } else {
+            detectedVersion = null;
         }
     }
 
+    private static LTSminVersion getVersion(String bin) {
+        final LTSminVersion cached = VERSION_CACHE.get(bin);
+        if (cached != null) {
+            return cached;
+        }
+
+        // only cache successful checks, so that failed checks (e.g. due to timeouts) are repeated
+        final LTSminVersion version = detectLTSmin(bin);
+        if (version != null) {
+            VERSION_CACHE.putIfAbsent(bin, version);
+        }
+        return version;
+    }
+
     private static LTSminVersion detectLTSmin(String bin) {
 
         // the command lines for the ProcessBuilder
@@ -172,7 +257,11 @@ public final class LTSminUtil {
         final StringWriter stringWriter = new StringWriter();
 
         try {
-            final int exitValue = ProcessUtil.invokeProcess(commandLine, stringWriter::append);
+            final int exitValue = ProcessUtil.invokeProcess(commandLine,
+                                                            null,
+                                                            stringWriter::append,
+                                                            VERSION_TIMEOUT,
+                                                            TimeUnit.SECONDS);
 
             if (exitValue != VERSION_EXIT) {
                 LOGGER.debug(String.format("Command '%s --version' did not exit with %d", bin, VERSION_EXIT));
@@ -180,9 +269,13 @@ public final class LTSminUtil {
             } else {
                 return LTSminVersion.parse(stringWriter.toString());
             }
-        } catch (IOException | InterruptedException e) {
+        } catch (IOException | TimeoutException e) {
             LOGGER.debug(String.format("Could not execute command '%s'", bin), e);
             return null;
+        } catch (InterruptedException e) {
+            LOGGER.debug(String.format("Interrupted while executing command '%s'", bin), e);
+            Thread.currentThread().interrupt();
+            return null;
         }
     }
 }
@@ -114,7 +114,8 @@ public abstract class AbstractLTSminLTLMealy<I, O>
     public MealyLasso<I, O> findCounterExample(MealyMachine<?, I, ?, O> automaton,
                                                Collection<? extends I> inputs,
                                                String property) {
-        final File fsm = findCounterExampleFSM(automaton, inputs, property);
+        final CompactMealy<I, O> reduced = reduce(automaton, inputs, property);
+        final File fsm = findCounterExampleFSM(reduced, reduced.getInputAlphabet(), property);
 
         if (fsm == null) {
             return null;
@@ -0,0 +1,227 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelcheckers.ltsmin.monitor;
+
+import java.util.Objects;
+
+/**
+ * An (immutable) LTL formula in negation normal form, as used by the {@link LTLMonitorCompiler}. Negations only occur
+ * in front of atomic propositions, and the derived operators ({@code ->}, {@code <->}, {@code []}, {@code <>}, {@code
+ * W}) are expressed in terms of the core operators. The static factory methods apply basic simplifications (constant
+ * propagation, {@code X true == true}, {@code p U false == false}, ...).
+ *
+ * @author frohme
+ */
+final class LTLFormula {
+
+    static final LTLFormula TRUE = new LTLFormula(Kind.TRUE, null, null, null, null);
+    static final LTLFormula FALSE = new LTLFormula(Kind.FALSE, null, null, null, null);
+
+    private final Kind kind;
+    private final String variable;
+    private final String value;
+    private final LTLFormula left;
+    private final LTLFormula right;
+    private final int hash;
+
+    private LTLFormula(Kind kind, String variable, String value, LTLFormula left, LTLFormula right) {
+        this.kind = kind;
+        this.variable = variable;
+        this.value = value;
+        this.left = left;
+        this.right = right;
+        this.hash = Objects.hash(kind, variable, value, left, right);
+    }
+
+    static LTLFormula atom(String variable, String value, boolean negated) {
+        return new LTLFormula(negated ? Kind.NOT_EQUALS : Kind.EQUALS, variable, value, null, null);
+    }
+
+    static LTLFormula and(LTLFormula left, LTLFormula right) {
+        if (left == FALSE || right == FALSE) {
+            return FALSE;
+        } else if (left == TRUE) {
+            return right;
+        } else if (right == TRUE || left.equals(right)) {
+            return left;
+        }
+        return new LTLFormula(Kind.AND, null, null, left, right);
+    }
+
+    static LTLFormula or(LTLFormula left, LTLFormula right) {
+        if (left == TRUE || right == TRUE) {
+            return TRUE;
+        } else if (left == FALSE) {
+            return right;
+        } else if (right == FALSE || left.equals(right)) {
+            return left;
+        }
+        return new LTLFormula(Kind.OR, null, null, left, right);
+    }
+
+    static LTLFormula next(LTLFormula formula) {
+        if (formula == TRUE || formula == FALSE) {
+            return formula;
+        }
+        return new LTLFormula(Kind.NEXT, null, null, formula, null);
+    }
+
+    static LTLFormula until(LTLFormula left, LTLFormula right) {
+        if (right == TRUE || right == FALSE || left == FALSE || left.equals(right)) {
+            return right;
+        }
+        return new LTLFormula(Kind.UNTIL, null, null, left, right);
+    }
+
+    static LTLFormula release(LTLFormula left, LTLFormula right) {
+        if (right == TRUE || right == FALSE || left == TRUE || left.equals(right)) {
+            return right;
+        }
+        return new LTLFormula(Kind.RELEASE, null, null, left, right);
+    }
+
+    static LTLFormula eventually(LTLFormula formula) {
+        return until(TRUE, formula);
+    }
+
+    static LTLFormula globally(LTLFormula formula) {
+        return release(FALSE, formula);
+    }
+
+    static LTLFormula weakUntil(LTLFormula left, LTLFormula right) {
+        return release(right, or(right, left));
+    }
+
+    static LTLFormula implies(LTLFormula left, LTLFormula right) {
+        return or(left.negate(), right);
+    }
+
+    static LTLFormula equivalent(LTLFormula left, LTLFormula right) {
+        return or(and(left, right), and(left.negate(), right.negate()));
+    }
+
+    /**
+     * Returns the negation of this formula in negation normal form.
+     *
+     * @return the negation of this formula
+     */
+    LTLFormula negate() {
+        switch (kind) {
+            case TRUE:
+                return FALSE;
+            case FALSE:
+                return TRUE;
+            case EQUALS:
+                return atom(variable, value, true);
+            case NOT_EQUALS:
+                return atom(variable, value, false);
+            case AND:
+                return or(left.negate(), right.negate());
+            case OR:
+                return and(left.negate(), right.negate());
+            case NEXT:
+                return next(left.negate());
+            case UNTIL:
+                return release(left.negate(), right.negate());
+            case RELEASE:
+                return until(left.negate(), right.negate());
+            default:
+                throw new IllegalStateException("Unknown kind " + kind);
+        }
+    }
+
+    Kind getKind() {
+        return kind;
+    }
+
+    String getVariable() {
+        return variable;
+    }
+
+    String getValue() {
+        return value;
+    }
+
+    LTLFormula getLeft() {
+        return left;
+    }
+
+    LTLFormula getRight() {
+        return right;
+    }
+
+    boolean isLiteral() {
+        return kind == Kind.EQUALS || kind == Kind.NOT_EQUALS;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof LTLFormula)) {
+            return false;
+        }
+
+        final LTLFormula that = (LTLFormula) o;
+        return hash == that.hash && kind == that.kind && Objects.equals(variable, that.variable) &&
+               Objects.equals(value, that.value) && Objects.equals(left, that.left) &&
+               Objects.equals(right, that.right);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        switch (kind) {
+            case TRUE:
+                return "true";
+            case FALSE:
+                return "false";
+            case EQUALS:
+                return variable + " == \"" + value + '"';
+            case NOT_EQUALS:
+                return variable + " != \"" + value + '"';
+            case AND:
+                return "(" + left + " && " + right + ')';
+            case OR:
+                return "(" + left + " || " + right + ')';
+            case NEXT:
+                return "(X " + left + ')';
+            case UNTIL:
+                return "(" + left + " U " + right + ')';
+            case RELEASE:
+                return "(" + left + " R " + right + ')';
+            default:
+                throw new IllegalStateException("Unknown kind " + kind);
+        }
+    }
+
+    enum Kind {
+        TRUE,
+        FALSE,
+        EQUALS,
+        NOT_EQUALS,
+        AND,
+        OR,
+        NEXT,
+        UNTIL,
+        RELEASE
+    }
+}
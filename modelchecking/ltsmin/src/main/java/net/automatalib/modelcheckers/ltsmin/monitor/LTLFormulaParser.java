@@ -0,0 +1,201 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelcheckers.ltsmin.monitor;
+
+/**
+ * A recursive-descent parser for the LTL syntax understood by LTSmin. The supported grammar (from lowest to highest
+ * precedence) is:
+ * <pre>
+ * formula := impl ('&lt;-&gt;' impl)*
+ * impl    := or ('-&gt;' impl)?
+ * or      := and ('||' and)*
+ * and     := binary ('&amp;&amp;' binary)*
+ * binary  := unary (('U' | 'R' | 'W') binary)?
+ * unary   := ('!' | 'X' | '[]' | '&lt;&gt;') unary | '(' formula ')' | 'true' | 'false' | atom
+ * atom    := identifier ('==' | '!=') (quoted-string | identifier)
+ * </pre>
+ *
+ * @author frohme
+ */
+final class LTLFormulaParser {
+
+    private final String input;
+    private int pos;
+
+    private LTLFormulaParser(String input) {
+        this.input = input;
+    }
+
+    static LTLFormula parse(String formula) {
+        final LTLFormulaParser parser = new LTLFormulaParser(formula);
+        final LTLFormula result = parser.parseEquivalence();
+        parser.skipWhitespace();
+        if (parser.pos != formula.length()) {
+            throw parser.error("Unexpected input");
+        }
+        return result;
+    }
+
+    private LTLFormula parseEquivalence() {
+        LTLFormula result = parseImplication();
+        while (consume("<->")) {
+            result = LTLFormula.equivalent(result, parseImplication());
+        }
+        return result;
+    }
+
+    private LTLFormula parseImplication() {
+        final LTLFormula left = parseOr();
+        if (consume("->")) {
+            return LTLFormula.implies(left, parseImplication());
+        }
+        return left;
+    }
+
+    private LTLFormula parseOr() {
+        LTLFormula result = parseAnd();
+        while (consume("||")) {
+            result = LTLFormula.or(result, parseAnd());
+        }
+        return result;
+    }
+
+    private LTLFormula parseAnd() {
+        LTLFormula result = parseBinaryTemporal();
+        while (consume("&&")) {
+            result = LTLFormula.and(result, parseBinaryTemporal());
+        }
+        return result;
+    }
+
+    private LTLFormula parseBinaryTemporal() {
+        final LTLFormula left = parseUnary();
+        if (consumeKeyword("U")) {
+            return LTLFormula.until(left, parseBinaryTemporal());
+        } else if (consumeKeyword("R")) {
+            return LTLFormula.release(left, parseBinaryTemporal());
+        } else if (consumeKeyword("W")) {
+            return LTLFormula.weakUntil(left, parseBinaryTemporal());
+        }
+        return left;
+    }
+
+    private LTLFormula parseUnary() {
+        if (consume("!")) {
+            return parseUnary().negate();
+        } else if (consume("[]")) {
+            return LTLFormula.globally(parseUnary());
+        } else if (consume("<>")) {
+            return LTLFormula.eventually(parseUnary());
+        } else if (consumeKeyword("X")) {
+            return LTLFormula.next(parseUnary());
+        } else if (consume("(")) {
+            final LTLFormula result = parseEquivalence();
+            if (!consume(")")) {
+                throw error("Expected ')'");
+            }
+            return result;
+        } else if (consumeKeyword("true")) {
+            return LTLFormula.TRUE;
+        } else if (consumeKeyword("false")) {
+            return LTLFormula.FALSE;
+        }
+
+        return parseAtom();
+    }
+
+    private LTLFormula parseAtom() {
+        final String variable = parseIdentifier();
+
+        final boolean negated;
+        if (consume("==")) {
+            negated = false;
+        } else if (consume("!=")) {
+            negated = true;
+        } else {
+            throw error("Expected '==' or '!='");
+        }
+
+        skipWhitespace();
+        final String value = peek() == '"' ? parseQuoted() : parseIdentifier();
+        return LTLFormula.atom(variable, value, negated);
+    }
+
+    private String parseIdentifier() {
+        skipWhitespace();
+        final int start = pos;
+        while (pos < input.length() && isIdentifierChar(input.charAt(pos))) {
+            pos++;
+        }
+        if (start == pos) {
+            throw error("Expected identifier");
+        }
+        return input.substring(start, pos);
+    }
+
+    private String parseQuoted() {
+        final StringBuilder sb = new StringBuilder();
+        pos++; // opening quote
+        while (pos < input.length()) {
+            final char c = input.charAt(pos++);
+            if (c == '"') {
+                return sb.toString();
+            } else if (c == '\\' && pos < input.length()) {
+                sb.append(input.charAt(pos++));
+            } else {
+                sb.append(c);
+            }
+        }
+        throw error("Unterminated string");
+    }
+
+    private boolean consume(String token) {
+        skipWhitespace();
+        if (input.startsWith(token, pos)) {
+            pos += token.length();
+            return true;
+        }
+        return false;
+    }
+
+    private boolean consumeKeyword(String keyword) {
+        skipWhitespace();
+        final int end = pos + keyword.length();
+        if (input.startsWith(keyword, pos) && (end == input.length() || !isIdentifierChar(input.charAt(end)))) {
+            pos = end;
+            return true;
+        }
+        return false;
+    }
+
+    private char peek() {
+        return pos < input.length() ? input.charAt(pos) : 0;
+    }
+
+    private void skipWhitespace() {
+        while (pos < input.length() && Character.isWhitespace(input.charAt(pos))) {
+            pos++;
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at position " + pos + " of '" + input + '\'');
+    }
+
+    private static boolean isIdentifierChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+}
@@ -0,0 +1,279 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelcheckers.ltsmin.monitor;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.words.Alphabet;
+
+/**
+ * A runtime monitor for an LTL property, compiled once (see {@link LTLMonitors}) into a (minimal) {@link CompactDFA}.
+ * The monitor rejects a trace as soon as the trace constitutes a bad prefix of the property, i.e. once no continuation
+ * of the trace can satisfy the property anymore. Once violated, a trace stays violated.
+ * <p>
+ * For checking traces, the transitions of the monitor are stored in a flat {@code int} array, so that checking a trace
+ * requires a single array lookup per symbol (plus the alphabet lookup of the symbol index). Traces can either be
+ * checked incrementally via a {@link Run} (e.g. for monitoring a system in production) or in bulk via {@link
+ * #findViolation(Iterable)} and {@link #findViolations(List)}.
+ * <p>
+ * Instances of this class are immutable and can be shared between threads. {@link Run}s are not thread-safe.
+ *
+ * @param <E>
+ *         symbol type
+ *
+ * @author frohme
+ */
+public final class LTLMonitor<E> {
+
+    private static final int PARALLEL_THRESHOLD = 1 << 12;
+
+    private final Alphabet<E> alphabet;
+    private final CompactDFA<E> dfa;
+    private final int numSymbols;
+    private final int[] transitions;
+    private final int initialState;
+    private final int violationState;
+
+    LTLMonitor(CompactDFA<E> dfa) {
+        this.alphabet = dfa.getInputAlphabet();
+        this.dfa = dfa;
+        this.numSymbols = alphabet.size();
+        this.initialState = dfa.getIntInitialState();
+
+        final int numStates = dfa.size();
+        int violation = -1;
+        this.transitions = new int[numStates * numSymbols];
+
+        for (int s = 0; s < numStates; s++) {
+            if (!dfa.isAccepting(s)) {
+                violation = s;
+            }
+            for (int i = 0; i < numSymbols; i++) {
+                transitions[s * numSymbols + i] = dfa.getTransition(s, i);
+            }
+        }
+
+        this.violationState = violation;
+    }
+
+    /**
+     * Returns the alphabet of this monitor.
+     *
+     * @return the alphabet
+     */
+    public Alphabet<E> getAlphabet() {
+        return alphabet;
+    }
+
+    /**
+     * Returns the monitor as a {@link CompactDFA}. The DFA accepts exactly those traces that do not violate the
+     * monitored property. The returned automaton is a copy and may be modified freely.
+     *
+     * @return the monitor as a {@link CompactDFA}
+     */
+    public CompactDFA<E> getDFA() {
+        return new CompactDFA<>(dfa);
+    }
+
+    /**
+     * Returns the number of states of this monitor.
+     *
+     * @return the number of states
+     */
+    public int size() {
+        return dfa.size();
+    }
+
+    /**
+     * Returns the initial state of this monitor.
+     *
+     * @return the initial state
+     */
+    public int getInitialState() {
+        return initialState;
+    }
+
+    /**
+     * Returns the successor of the given state for the symbol with the given index. This is the low-level counterpart
+     * of {@link Run#step(Object)} for users that maintain the monitor state themselves.
+     *
+     * @param state
+     *         the current state
+     * @param symbolIdx
+     *         the index of the symbol (w.r.t. {@link #getAlphabet()})
+     *
+     * @return the successor state
+     */
+    public int getSuccessor(int state, int symbolIdx) {
+        return transitions[state * numSymbols + symbolIdx];
+    }
+
+    /**
+     * Returns whether the given state indicates a violation of the monitored property.
+     *
+     * @param state
+     *         the state
+     *
+     * @return {@code true} if the given state indicates a violation, {@code false} otherwise
+     */
+    public boolean isViolation(int state) {
+        return state == violationState;
+    }
+
+    /**
+     * Returns a new {@link Run} of this monitor, starting in the initial state.
+     *
+     * @return a new run
+     */
+    public Run newRun() {
+        return new Run();
+    }
+
+    /**
+     * Checks whether the given trace satisfies the monitored property, i.e. whether no prefix of the trace is a bad
+     * prefix of the property.
+     *
+     * @param trace
+     *         the trace to check
+     *
+     * @return {@code true} if the trace does not violate the property, {@code false} otherwise
+     */
+    public boolean isSatisfied(Iterable<? extends E> trace) {
+        return findViolation(trace) < 0;
+    }
+
+    /**
+     * Returns the length of the shortest prefix of the given trace that is a bad prefix of the monitored property.
+     *
+     * @param trace
+     *         the trace to check
+     *
+     * @return the length of the shortest bad prefix of the given trace, i.e. {@code 0} if already the empty trace is a
+     * bad prefix and {@code i + 1} if the bad prefix is completed by the symbol at (zero-based) index {@code i}, or
+     * {@code -1} if the trace does not violate the property
+     */
+    public int findViolation(Iterable<? extends E> trace) {
+        int state = initialState;
+        if (state == violationState) {
+            return 0;
+        }
+
+        int length = 0;
+        for (E sym : trace) {
+            state = transitions[state * numSymbols + alphabet.getSymbolIndex(sym)];
+            length++;
+            if (state == violationState) {
+                return length;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Checks a batch of traces. Large batches are checked in parallel.
+     *
+     * @param traces
+     *         the traces to check
+     *
+     * @return a {@link BitSet} in which the bit {@code i} is set if and only if {@code traces.get(i)} violates the
+     * monitored property
+     */
+    public BitSet findViolations(List<? extends Iterable<? extends E>> traces) {
+        IntStream indices = IntStream.range(0, traces.size());
+        if (traces.size() >= PARALLEL_THRESHOLD) {
+            indices = indices.parallel();
+        }
+
+        final int[] violations = indices.filter(i -> findViolation(traces.get(i)) >= 0).toArray();
+        final BitSet result = new BitSet(traces.size());
+        for (int v : violations) {
+            result.set(v);
+        }
+        return result;
+    }
+
+    /**
+     * A (stateful) run of an {@link LTLMonitor}, allowing to feed the symbols of a trace one at a time.
+     */
+    public final class Run {
+
+        private int state;
+        private int length;
+
+        Run() {
+            reset();
+        }
+
+        /**
+         * Processes the next symbol of the trace.
+         *
+         * @param symbol
+         *         the symbol
+         *
+         * @return {@code true} if the trace read so far does not violate the property, {@code false} otherwise
+         */
+        public boolean step(E symbol) {
+            return stepIndex(alphabet.getSymbolIndex(symbol));
+        }
+
+        /**
+         * Processes the next symbol of the trace, given by its index.
+         *
+         * @param symbolIdx
+         *         the index of the symbol (w.r.t. {@link LTLMonitor#getAlphabet()})
+         *
+         * @return {@code true} if the trace read so far does not violate the property, {@code false} otherwise
+         */
+        public boolean stepIndex(int symbolIdx) {
+            if (state != violationState) {
+                state = transitions[state * numSymbols + symbolIdx];
+                length++;
+            }
+            return state != violationState;
+        }
+
+        /**
+         * Returns whether the trace read so far violates the property.
+         *
+         * @return {@code true} if the trace read so far violates the property, {@code false} otherwise
+         */
+        public boolean isViolated() {
+            return state == violationState;
+        }
+
+        /**
+         * Returns the number of symbols that have been processed by this run. Symbols passed after the property has
+         * been violated are not counted, i.e. for a violated run, this is the length of the shortest bad prefix.
+         *
+         * @return the number of processed symbols
+         */
+        public int getLength() {
+            return length;
+        }
+
+        /**
+         * Resets this run to the initial state of the monitor.
+         */
+        public void reset() {
+            this.state = initialState;
+            this.length = 0;
+        }
+    }
+}
@@ -0,0 +1,299 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelcheckers.ltsmin.monitor;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.util.automata.minimizer.hopcroft.HopcroftMinimization;
+import net.automatalib.words.Alphabet;
+
+/**
+ * Compiles an {@link LTLFormula} into a {@link CompactDFA} that detects bad prefixes of the formula.
+ * <p>
+ * The construction is based on formula progression: every state of the monitor corresponds to the obligation (in
+ * disjunctive normal form) that the remainder of the trace has to fulfill. Reading a symbol progresses the obligation,
+ * and a trace is rejected as soon as the obligation becomes {@code false}, i.e. once the trace can no longer be
+ * extended to a run that satisfies the formula. Literals that have to hold for the same (next) symbol are checked for
+ * consistency w.r.t. the given alphabet, so that unsatisfiable obligations over atomic propositions are detected
+ * immediately. Unsatisfiability of pure temporal obligations (e.g. {@code [](X false)}) is only detected by progression,
+ * i.e. the monitor reports <i>informative</i> bad prefixes. Finally, the monitor is minimized.
+ *
+ * @param <E>
+ *         symbol type
+ *
+ * @author frohme
+ */
+final class LTLMonitorCompiler<E> {
+
+    private static final Set<Set<LTLFormula>> TRUE = Collections.singleton(Collections.emptySet());
+    private static final Set<Set<LTLFormula>> FALSE = Collections.emptySet();
+
+    private final Alphabet<E> alphabet;
+    private final BiFunction<String, ? super E, String> valuation;
+    private final int maxStates;
+
+    private final Map<LTLFormula, BitSet> literalCache = new HashMap<>();
+    private final Map<LTLFormula, List<Set<Set<LTLFormula>>>> progressionCache = new HashMap<>();
+
+    private LTLMonitorCompiler(Alphabet<E> alphabet, BiFunction<String, ? super E, String> valuation, int maxStates) {
+        this.alphabet = alphabet;
+        this.valuation = valuation;
+        this.maxStates = maxStates;
+    }
+
+    static <E> CompactDFA<E> compile(LTLFormula formula,
+                                     Alphabet<E> alphabet,
+                                     BiFunction<String, ? super E, String> valuation,
+                                     int maxStates) {
+        return new LTLMonitorCompiler<>(alphabet, valuation, maxStates).compile(formula);
+    }
+
+    private CompactDFA<E> compile(LTLFormula formula) {
+        final int numSymbols = alphabet.size();
+        final CompactDFA<E> result = new CompactDFA<>(alphabet);
+        final Map<Set<Set<LTLFormula>>, Integer> ids = new HashMap<>();
+        final List<Set<Set<LTLFormula>>> obligations = new ArrayList<>();
+        final Deque<Integer> queue = new ArrayDeque<>();
+
+        final Set<Set<LTLFormula>> init = dnf(formula);
+        final int initId = result.addIntInitialState(!init.isEmpty());
+        ids.put(init, initId);
+        obligations.add(init);
+        queue.add(initId);
+
+        while (!queue.isEmpty()) {
+            final int state = queue.poll();
+            final Set<Set<LTLFormula>> obligation = obligations.get(state);
+
+            for (int i = 0; i < numSymbols; i++) {
+                final Set<Set<LTLFormula>> succ = progress(obligation, i);
+                Integer succId = ids.get(succ);
+                if (succId == null) {
+                    if (ids.size() >= maxStates) {
+                        throw new IllegalArgumentException(
+                                "Monitor exceeds the maximum number of " + maxStates + " states");
+                    }
+                    succId = result.addIntState(!succ.isEmpty());
+                    ids.put(succ, succId);
+                    obligations.add(succ);
+                    queue.add(succId);
+                }
+                result.setTransition(state, i, succId.intValue());
+            }
+        }
+
+        return HopcroftMinimization.minimizeDFA(result, alphabet);
+    }
+
+    private Set<Set<LTLFormula>> progress(Set<Set<LTLFormula>> obligation, int symbol) {
+        Set<Set<LTLFormula>> result = FALSE;
+        for (Set<LTLFormula> conjunct : obligation) {
+            Set<Set<LTLFormula>> conjunctResult = TRUE;
+            final Iterator<LTLFormula> iter = conjunct.iterator();
+            while (iter.hasNext() && !conjunctResult.isEmpty()) {
+                conjunctResult = and(conjunctResult, progressLeaf(iter.next(), symbol));
+            }
+            result = or(result, conjunctResult);
+        }
+        return result;
+    }
+
+    private Set<Set<LTLFormula>> progress(LTLFormula formula, int symbol) {
+        switch (formula.getKind()) {
+            case TRUE:
+                return TRUE;
+            case FALSE:
+                return FALSE;
+            case AND:
+                return and(progress(formula.getLeft(), symbol), progress(formula.getRight(), symbol));
+            case OR:
+                return or(progress(formula.getLeft(), symbol), progress(formula.getRight(), symbol));
+            default:
+                return progressLeaf(formula, symbol);
+        }
+    }
+
+    private Set<Set<LTLFormula>> progressLeaf(LTLFormula leaf, int symbol) {
+        List<Set<Set<LTLFormula>>> cached = progressionCache.get(leaf);
+        if (cached == null) {
+            cached = new ArrayList<>(Collections.nCopies(alphabet.size(), null));
+            progressionCache.put(leaf, cached);
+        }
+
+        Set<Set<LTLFormula>> result = cached.get(symbol);
+        if (result == null) {
+            result = computeProgressLeaf(leaf, symbol);
+            cached.set(symbol, result);
+        }
+
+        return result;
+    }
+
+    private Set<Set<LTLFormula>> computeProgressLeaf(LTLFormula leaf, int symbol) {
+        final Set<Set<LTLFormula>> self = Collections.singleton(Collections.singleton(leaf));
+
+        switch (leaf.getKind()) {
+            case EQUALS:
+            case NOT_EQUALS:
+                return getSymbols(leaf).get(symbol) ? TRUE : FALSE;
+            case NEXT:
+                return dnf(leaf.getLeft());
+            case UNTIL:
+                // a U b == b || (a && X(a U b))
+                return or(progress(leaf.getRight(), symbol), and(progress(leaf.getLeft(), symbol), self));
+            case RELEASE:
+                // a R b == b && (a || X(a R b))
+                return and(progress(leaf.getRight(), symbol), or(progress(leaf.getLeft(), symbol), self));
+            default:
+                throw new IllegalStateException("Unexpected formula " + leaf);
+        }
+    }
+
+    private Set<Set<LTLFormula>> dnf(LTLFormula formula) {
+        switch (formula.getKind()) {
+            case TRUE:
+                return TRUE;
+            case FALSE:
+                return FALSE;
+            case AND:
+                return and(dnf(formula.getLeft()), dnf(formula.getRight()));
+            case OR:
+                return or(dnf(formula.getLeft()), dnf(formula.getRight()));
+            default:
+                return Collections.singleton(Collections.singleton(formula));
+        }
+    }
+
+    private Set<Set<LTLFormula>> and(Set<Set<LTLFormula>> left, Set<Set<LTLFormula>> right) {
+        if (left.isEmpty() || right.isEmpty()) {
+            return FALSE;
+        } else if (left.equals(TRUE)) {
+            return right;
+        } else if (right.equals(TRUE)) {
+            return left;
+        }
+
+        final Set<Set<LTLFormula>> result = new HashSet<>();
+        for (Set<LTLFormula> l : left) {
+            for (Set<LTLFormula> r : right) {
+                final Set<LTLFormula> conjunct = new HashSet<>(l);
+                conjunct.addAll(r);
+                if (isConsistent(conjunct)) {
+                    result.add(conjunct);
+                }
+            }
+        }
+        return absorb(result);
+    }
+
+    private Set<Set<LTLFormula>> or(Set<Set<LTLFormula>> left, Set<Set<LTLFormula>> right) {
+        if (left.isEmpty()) {
+            return right;
+        } else if (right.isEmpty()) {
+            return left;
+        }
+
+        final Set<Set<LTLFormula>> result = new HashSet<>(left);
+        result.addAll(right);
+        return absorb(result);
+    }
+
+    /**
+     * Removes every conjunct that is a proper superset of another conjunct, since it is implied by the latter.
+     */
+    private static Set<Set<LTLFormula>> absorb(Set<Set<LTLFormula>> dnf) {
+        if (dnf.contains(Collections.<LTLFormula>emptySet())) {
+            return TRUE;
+        }
+
+        final List<Set<LTLFormula>> conjuncts = new ArrayList<>(dnf);
+        conjuncts.sort((c1, c2) -> Integer.compare(c1.size(), c2.size()));
+
+        final Set<Set<LTLFormula>> result = new HashSet<>();
+        final List<Set<LTLFormula>> kept = new ArrayList<>(conjuncts.size());
+
+        for (Set<LTLFormula> c : conjuncts) {
+            if (!isAbsorbed(c, kept)) {
+                kept.add(c);
+                result.add(c);
+            }
+        }
+
+        return result;
+    }
+
+    private static boolean isAbsorbed(Set<LTLFormula> conjunct, List<Set<LTLFormula>> smallerConjuncts) {
+        for (Set<LTLFormula> c : smallerConjuncts) {
+            if (c.size() < conjunct.size() && conjunct.containsAll(c)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether there exists a symbol that satisfies all literals of the given conjunct.
+     */
+    private boolean isConsistent(Set<LTLFormula> conjunct) {
+        BitSet symbols = null;
+        for (LTLFormula f : conjunct) {
+            if (f.isLiteral()) {
+                if (symbols == null) {
+                    symbols = (BitSet) getSymbols(f).clone();
+                } else {
+                    symbols.and(getSymbols(f));
+                }
+                if (symbols.isEmpty()) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private BitSet getSymbols(LTLFormula literal) {
+        BitSet result = literalCache.get(literal);
+
+        if (result == null) {
+            result = new BitSet(alphabet.size());
+            final boolean equals = literal.getKind() == LTLFormula.Kind.EQUALS;
+            for (int i = 0; i < alphabet.size(); i++) {
+                final String value = valuation.apply(literal.getVariable(), alphabet.getSymbol(i));
+                if (value == null) {
+                    throw new IllegalArgumentException("Unknown variable '" + literal.getVariable() + '\'');
+                }
+                if (value.equals(literal.getValue()) == equals) {
+                    result.set(i);
+                }
+            }
+            literalCache.put(literal, result);
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,264 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelcheckers.ltsmin.monitor;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.BiFunction;
+
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.commons.util.Pair;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.WordBuilder;
+import net.automatalib.words.abstractimpl.AbstractAlphabet;
+import net.automatalib.words.impl.ListAlphabet;
+
+/**
+ * Factory methods for compiling LTL properties into {@link LTLMonitor}s. The properties use the same syntax (and the
+ * same atomic propositions) as the LTSmin-based monitors of this package, i.e.
+ * <ul>
+ * <li>{@link #compile(String, Alphabet)} corresponds to {@link LTSminMonitorDFA} (atomic propositions of the form
+ * {@code letter == "a"}),</li>
+ * <li>{@link #compileIO(String, Alphabet, Alphabet)} corresponds to {@link LTSminMonitorIO} (atomic propositions of
+ * the form {@code input == "a"} and {@code output == "1"}, where each step of a trace consists of an input and the
+ * corresponding output), and</li>
+ * <li>{@link #compileAlternating(String, Alphabet, Alphabet)} corresponds to {@link LTSminMonitorAlternating} (atomic
+ * propositions of the form {@code letter == "a"}, where inputs and outputs alternate in a trace).</li>
+ * </ul>
+ * The value of a symbol is its {@link String#valueOf(Object) string representation}. Supported operators are {@code !},
+ * {@code &&}, {@code ||}, {@code ->}, {@code <->}, {@code X}, {@code U}, {@code R}, {@code W}, {@code []} and {@code
+ * <>}.
+ * <p>
+ * In contrast to the LTSmin-based monitors, the compilation happens in-process and only once per property and
+ * alphabet. The resulting monitor can then be used to check arbitrarily many traces.
+ *
+ * @author frohme
+ */
+public final class LTLMonitors {
+
+    /**
+     * The default maximum number of (intermediate) monitor states, before the compilation is aborted.
+     */
+    public static final int DEFAULT_MAX_STATES = 1 << 16;
+
+    private static final String LETTER = "letter";
+    private static final String INPUT = "input";
+    private static final String OUTPUT = "output";
+
+    private LTLMonitors() {
+        // prevent instantiation
+    }
+
+    /**
+     * Compiles a monitor for properties over atomic propositions of the form {@code letter == "a"}.
+     *
+     * @param property
+     *         the LTL property
+     * @param alphabet
+     *         the alphabet of the monitored traces
+     * @param <I>
+     *         symbol type
+     *
+     * @return the compiled monitor
+     *
+     * @throws IllegalArgumentException
+     *         if the property cannot be parsed or compiled
+     */
+    public static <I> LTLMonitor<I> compile(String property, Alphabet<I> alphabet) {
+        return compile(property, alphabet, LTLMonitors::letterValuation, DEFAULT_MAX_STATES);
+    }
+
+    /**
+     * Compiles a monitor for properties over Mealy machine traces with atomic propositions of the form {@code input ==
+     * "a"} and {@code output == "1"}. Each symbol of a monitored trace is a pair of an input and the corresponding
+     * output, see {@link #zip(Word, Word)}.
+     *
+     * @param property
+     *         the LTL property
+     * @param inputs
+     *         the input alphabet
+     * @param outputs
+     *         the output alphabet
+     * @param <I>
+     *         input symbol type
+     * @param <O>
+     *         output symbol type
+     *
+     * @return the compiled monitor
+     *
+     * @throws IllegalArgumentException
+     *         if the property cannot be parsed or compiled
+     */
+    public static <I, O> LTLMonitor<Pair<I, O>> compileIO(String property, Alphabet<I> inputs, Alphabet<O> outputs) {
+        return compile(property, new IOAlphabet<>(inputs, outputs), LTLMonitors::ioValuation, DEFAULT_MAX_STATES);
+    }
+
+    /**
+     * Compiles a monitor for properties over alternating Mealy machine traces, i.e. traces in which inputs and outputs
+     * alternate (see {@link #interleave(Word, Word)}). The atomic propositions are of the form {@code letter == "a"}.
+     *
+     * @param property
+     *         the LTL property
+     * @param inputs
+     *         the input alphabet
+     * @param outputs
+     *         the output alphabet
+     *
+     * @return the compiled monitor
+     *
+     * @throws IllegalArgumentException
+     *         if the property cannot be parsed or compiled
+     */
+    public static LTLMonitor<Object> compileAlternating(String property,
+                                                        Alphabet<?> inputs,
+                                                        Alphabet<?> outputs) {
+        final List<Object> symbols = new ArrayList<>(inputs.size() + outputs.size());
+        symbols.addAll(inputs);
+        symbols.addAll(outputs);
+        return compile(property, new ListAlphabet<>(symbols), LTLMonitors::letterValuation, DEFAULT_MAX_STATES);
+    }
+
+    /**
+     * Compiles a monitor for properties over arbitrary atomic propositions of the form {@code variable == "value"}.
+     *
+     * @param property
+     *         the LTL property
+     * @param alphabet
+     *         the alphabet of the monitored traces
+     * @param valuation
+     *         the valuation function, mapping a variable name and a symbol to the value of the variable when reading
+     *         the symbol. May return {@code null} to indicate an unknown variable.
+     * @param maxStates
+     *         the maximum number of (intermediate) monitor states, before the compilation is aborted
+     * @param <E>
+     *         symbol type
+     *
+     * @return the compiled monitor
+     *
+     * @throws IllegalArgumentException
+     *         if the property cannot be parsed or compiled
+     */
+    public static <E> LTLMonitor<E> compile(String property,
+                                            Alphabet<E> alphabet,
+                                            BiFunction<String, ? super E, String> valuation,
+                                            int maxStates) {
+        final LTLFormula formula = LTLFormulaParser.parse(property);
+        final CompactDFA<E> dfa = LTLMonitorCompiler.compile(formula, alphabet, valuation, maxStates);
+        return new LTLMonitor<>(dfa);
+    }
+
+    /**
+     * Combines the inputs and outputs of a Mealy machine trace into a single trace that can be checked by monitors
+     * created via {@link #compileIO(String, Alphabet, Alphabet)}.
+     *
+     * @param input
+     *         the input word
+     * @param output
+     *         the output word
+     * @param <I>
+     *         input symbol type
+     * @param <O>
+     *         output symbol type
+     *
+     * @return the combined trace
+     */
+    public static <I, O> Word<Pair<I, O>> zip(Word<? extends I> input, Word<? extends O> output) {
+        checkLengths(input, output);
+
+        final WordBuilder<Pair<I, O>> wb = new WordBuilder<>(input.length());
+        final Iterator<? extends O> outIter = output.iterator();
+        for (I i : input) {
+            wb.append(Pair.of(i, outIter.next()));
+        }
+        return wb.toWord();
+    }
+
+    /**
+     * Interleaves the inputs and outputs of a Mealy machine trace into a single trace that can be checked by monitors
+     * created via {@link #compileAlternating(String, Alphabet, Alphabet)}.
+     *
+     * @param input
+     *         the input word
+     * @param output
+     *         the output word
+     *
+     * @return the interleaved trace
+     */
+    public static Word<Object> interleave(Word<?> input, Word<?> output) {
+        checkLengths(input, output);
+
+        final WordBuilder<Object> wb = new WordBuilder<>(input.length() * 2);
+        final Iterator<?> outIter = output.iterator();
+        for (Object i : input) {
+            wb.append(i).append(outIter.next());
+        }
+        return wb.toWord();
+    }
+
+    private static void checkLengths(Word<?> input, Word<?> output) {
+        if (input.length() != output.length()) {
+            throw new IllegalArgumentException(
+                    "Input and output have different lengths (" + input.length() + " vs. " + output.length() + ')');
+        }
+    }
+
+    private static String letterValuation(String variable, Object symbol) {
+        return LETTER.equals(variable) ? String.valueOf(symbol) : null;
+    }
+
+    private static String ioValuation(String variable, Pair<?, ?> symbol) {
+        if (INPUT.equals(variable)) {
+            return String.valueOf(symbol.getFirst());
+        } else if (OUTPUT.equals(variable)) {
+            return String.valueOf(symbol.getSecond());
+        }
+        return null;
+    }
+
+    /**
+     * The alphabet of all input/output pairs, indexed in row-major order. Symbol indices are computed from the indices
+     * of the input and output alphabets, so no lookup structure over the pairs is required.
+     */
+    private static final class IOAlphabet<I, O> extends AbstractAlphabet<Pair<I, O>> {
+
+        private final Alphabet<I> inputs;
+        private final Alphabet<O> outputs;
+        private final int numOutputs;
+
+        IOAlphabet(Alphabet<I> inputs, Alphabet<O> outputs) {
+            this.inputs = inputs;
+            this.outputs = outputs;
+            this.numOutputs = outputs.size();
+        }
+
+        @Override
+        public Pair<I, O> getSymbol(int index) {
+            return Pair.of(inputs.getSymbol(index / numOutputs), outputs.getSymbol(index % numOutputs));
+        }
+
+        @Override
+        public int getSymbolIndex(Pair<I, O> symbol) {
+            return inputs.getSymbolIndex(symbol.getFirst()) * numOutputs + outputs.getSymbolIndex(symbol.getSecond());
+        }
+
+        @Override
+        public int size() {
+            return inputs.size() * numOutputs;
+        }
+    }
+}
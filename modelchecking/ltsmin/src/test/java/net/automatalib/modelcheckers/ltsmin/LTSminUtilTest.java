@@ -0,0 +1,37 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelcheckers.ltsmin;
+
+import com.google.common.collect.Sets;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Test cases for the {@link LTSminUtil} class.
+ *
+ * @author frohme
+ */
+public class LTSminUtilTest {
+
+    @Test
+    public void testPropositionValues() {
+        Assert.assertEquals(LTSminUtil.getPropositionValues("[](input == \"a\" -> X output != \"1\")"),
+                            Sets.newHashSet("a", "1"));
+        Assert.assertEquals(LTSminUtil.getPropositionValues("letter==\"a\\\"b\" U letter == c_2"),
+                            Sets.newHashSet("a\"b", "c_2"));
+        Assert.assertEquals(LTSminUtil.getPropositionValues("true"), Sets.newHashSet());
+    }
+}
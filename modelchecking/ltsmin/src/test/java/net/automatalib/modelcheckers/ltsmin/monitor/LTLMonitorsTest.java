@@ -0,0 +1,153 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.modelcheckers.ltsmin.monitor;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.commons.util.Pair;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author frohme
+ */
+public class LTLMonitorsTest {
+
+    private static final Alphabet<String> ALPHABET = Alphabets.fromArray("a", "b", "c");
+
+    @Test
+    public void testSafety() {
+        final LTLMonitor<String> monitor = LTLMonitors.compile("[](letter == \"a\" -> X letter == \"b\")", ALPHABET);
+
+        Assert.assertEquals(monitor.size(), 3);
+        Assert.assertTrue(monitor.isSatisfied(Word.fromSymbols("a", "b", "c", "a", "b")));
+        Assert.assertTrue(monitor.isSatisfied(Word.fromSymbols("c", "a")));
+        Assert.assertEquals(monitor.findViolation(Word.fromSymbols("c", "a", "b", "a", "c", "a")), 5);
+        Assert.assertEquals(monitor.findViolation(Word.fromSymbols("a", "a")), 2);
+
+        final LTLMonitor<String>.Run run = monitor.newRun();
+        Assert.assertTrue(run.step("a"));
+        Assert.assertTrue(run.step("b"));
+        Assert.assertTrue(run.step("a"));
+        Assert.assertFalse(run.step("c"));
+        Assert.assertFalse(run.step("b"));
+        Assert.assertTrue(run.isViolated());
+        Assert.assertEquals(run.getLength(), 4);
+
+        run.reset();
+        Assert.assertFalse(run.isViolated());
+        Assert.assertEquals(run.getLength(), 0);
+    }
+
+    @Test
+    public void testNonMonitorable() {
+        // liveness properties have no bad prefixes
+        final LTLMonitor<String> monitor = LTLMonitors.compile("<>[] letter == \"a\"", ALPHABET);
+
+        Assert.assertEquals(monitor.size(), 1);
+        Assert.assertTrue(monitor.isSatisfied(Word.fromSymbols("b", "c", "b")));
+    }
+
+    @Test
+    public void testInconsistentLiterals() {
+        // the violation is detected as soon as the obligation becomes unsatisfiable
+        final LTLMonitor<String> monitor = LTLMonitors.compile("X (letter == \"a\" && letter != \"a\")", ALPHABET);
+        Assert.assertEquals(monitor.findViolation(Word.fromSymbols("a", "a")), 1);
+
+        // an unsatisfiable property is already violated by the empty trace, unlike a violation at the first symbol
+        final LTLMonitor<String> unsatisfiable = LTLMonitors.compile("false", ALPHABET);
+        Assert.assertEquals(unsatisfiable.findViolation(Word.epsilon()), 0);
+        Assert.assertEquals(unsatisfiable.findViolation(Word.fromSymbols("a")), 0);
+        Assert.assertEquals(LTLMonitors.compile("letter == \"b\"", ALPHABET).findViolation(Word.fromSymbols("a")), 1);
+
+        final LTLMonitor<String> monitor2 = LTLMonitors.compile("letter == \"a\" U letter == \"b\"", ALPHABET);
+        Assert.assertTrue(monitor2.isSatisfied(Word.fromSymbols("a", "a", "b", "c")));
+        Assert.assertEquals(monitor2.findViolation(Word.fromSymbols("a", "a", "c", "b")), 3);
+    }
+
+    @Test
+    public void testIO() {
+        final Alphabet<String> inputs = Alphabets.fromArray("a", "b");
+        final Alphabet<Integer> outputs = Alphabets.integers(1, 2);
+
+        final LTLMonitor<Pair<String, Integer>> monitor =
+                LTLMonitors.compileIO("[](input == \"a\" -> output == \"1\") && !(input == \"b\")", inputs, outputs);
+
+        Assert.assertTrue(monitor.isSatisfied(LTLMonitors.zip(Word.fromSymbols("a", "b"), Word.fromSymbols(1, 2))));
+        Assert.assertEquals(monitor.findViolation(LTLMonitors.zip(Word.fromSymbols("b"), Word.fromSymbols(1))), 1);
+        Assert.assertEquals(monitor.findViolation(LTLMonitors.zip(Word.fromSymbols("a", "b", "a"),
+                                                                  Word.fromSymbols(1, 1, 2))), 3);
+    }
+
+    @Test
+    public void testAlternating() {
+        final Alphabet<String> inputs = Alphabets.fromArray("a", "b");
+        final Alphabet<Integer> outputs = Alphabets.integers(1, 2);
+
+        final LTLMonitor<Object> monitor =
+                LTLMonitors.compileAlternating("[](letter == \"a\" -> X letter == \"1\")", inputs, outputs);
+
+        Assert.assertTrue(monitor.isSatisfied(LTLMonitors.interleave(Word.fromSymbols("a", "b", "a"),
+                                                                     Word.fromSymbols(1, 2, 1))));
+        Assert.assertEquals(monitor.findViolation(LTLMonitors.interleave(Word.fromSymbols("b", "a"),
+                                                                         Word.fromSymbols(1, 2))), 4);
+    }
+
+    @Test
+    public void testDFAAndBatch() {
+        final LTLMonitor<String> monitor =
+                LTLMonitors.compile("[]((letter == \"a\" && X letter == \"b\") -> X X letter != \"c\")", ALPHABET);
+        final CompactDFA<String> dfa = monitor.getDFA();
+
+        final Random random = new Random(42);
+        final List<Word<String>> traces = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            final int length = random.nextInt(20);
+            final List<String> symbols = new ArrayList<>(length);
+            for (int j = 0; j < length; j++) {
+                symbols.add(ALPHABET.getSymbol(random.nextInt(ALPHABET.size())));
+            }
+            traces.add(Word.fromList(symbols));
+        }
+
+        final BitSet violations = monitor.findViolations(traces);
+        for (int i = 0; i < traces.size(); i++) {
+            final Word<String> trace = traces.get(i);
+            final boolean expected = !trace.toString().replace(" ", "").contains("abc");
+
+            Assert.assertEquals(monitor.isSatisfied(trace), expected, trace.toString());
+            Assert.assertEquals(dfa.accepts(trace), expected);
+            Assert.assertEquals(violations.get(i), !expected);
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testSyntaxError() {
+        LTLMonitors.compile("[](letter == \"a\"", ALPHABET);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testUnknownVariable() {
+        LTLMonitors.compile("input == \"a\"", ALPHABET);
+    }
+}
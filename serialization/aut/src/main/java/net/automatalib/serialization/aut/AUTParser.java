@@ -17,8 +17,11 @@ package net.automatalib.serialization.aut;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
 import net.automatalib.automata.simple.SimpleAutomaton;
 import net.automatalib.serialization.InputModelData;
 
@@ -44,4 +47,85 @@ public final class AUTParser {
         return new InternalAUTParser(is).parse(inputTransformer);
     }
 
+    public static InputModelData<String, CompactDFA<String>> readDeterministicAutomaton(InputStream is)
+            throws IOException {
+        return readDeterministicAutomaton(is, Function.identity());
+    }
+
+    /**
+     * Parses a deterministic LTS as a {@link CompactDFA} whose states are all accepting, i.e. whose language is the
+     * (prefix-closed) set of traces of the LTS. In contrast to {@link #readAutomaton(InputStream, Function)}, this
+     * avoids the overhead of storing a set of successors for every transition.
+     *
+     * @param is
+     *         the input stream to read from
+     * @param inputTransformer
+     *         the function for transforming the labels of the AUT file to input symbols
+     * @param <I>
+     *         input symbol type
+     *
+     * @return the parsed automaton
+     *
+     * @throws IOException
+     *         if reading from the stream fails
+     * @throws net.automatalib.serialization.FormatException
+     *         if the stream does not contain a (well-formed) deterministic LTS
+     */
+    public static <I> InputModelData<I, CompactDFA<I>> readDeterministicAutomaton(InputStream is,
+                                                                                 Function<String, I> inputTransformer)
+            throws IOException {
+        return new InternalAUTParser(is).parseDeterministic(inputTransformer);
+    }
+
+    /**
+     * Parses the given AUT file in parallel. The file is memory-mapped and split into chunks (at line boundaries),
+     * whose transitions are parsed concurrently by the tasks of the given pool.
+     *
+     * @param file
+     *         the AUT file
+     * @param inputTransformer
+     *         the function for transforming the labels of the AUT file to input symbols
+     * @param pool
+     *         the pool for parsing the chunks of the file
+     * @param <I>
+     *         input symbol type
+     *
+     * @return the parsed automaton
+     *
+     * @throws IOException
+     *         if reading from the file fails
+     * @see #readAutomaton(InputStream, Function)
+     */
+    public static <I> InputModelData<I, SimpleAutomaton<Integer, I>> readAutomaton(Path file,
+                                                                                   Function<String, I> inputTransformer,
+                                                                                   ForkJoinPool pool)
+            throws IOException {
+        return InternalAUTParser.parseParallel(file, inputTransformer, pool);
+    }
+
+    /**
+     * Parses the given AUT file (which has to describe a deterministic LTS) in parallel.
+     *
+     * @param file
+     *         the AUT file
+     * @param inputTransformer
+     *         the function for transforming the labels of the AUT file to input symbols
+     * @param pool
+     *         the pool for parsing the chunks of the file
+     * @param <I>
+     *         input symbol type
+     *
+     * @return the parsed automaton
+     *
+     * @throws IOException
+     *         if reading from the file fails
+     * @see #readAutomaton(Path, Function, ForkJoinPool)
+     * @see #readDeterministicAutomaton(InputStream, Function)
+     */
+    public static <I> InputModelData<I, CompactDFA<I>> readDeterministicAutomaton(Path file,
+                                                                                 Function<String, I> inputTransformer,
+                                                                                 ForkJoinPool pool)
+            throws IOException {
+        return InternalAUTParser.parseDeterministicParallel(file, inputTransformer, pool);
+    }
 }
@@ -0,0 +1,71 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.aut;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import net.automatalib.serialization.streaming.AbstractAutomatonStreamReader;
+import net.automatalib.serialization.streaming.AutomatonStreamEvent;
+
+/**
+ * A streaming reader for automata specified in the AUT format (see http://cadp.inria.fr/man/aut.html for further
+ * information). The reader reports the header information, the initial state and each transition (with the unquoted
+ * label) without storing previously read transitions. AUT files do not contain state properties, hence no {@link
+ * AutomatonStreamEvent#STATE} events are reported.
+ *
+ * @author frohme
+ */
+public class AUTStreamReader extends AbstractAutomatonStreamReader<Void, String> {
+
+    private final InputStream inputStream;
+    private final InternalAUTParser parser;
+    private AutomatonStreamEvent current;
+
+    public AUTStreamReader(InputStream is) {
+        this.inputStream = is;
+        this.parser = new InternalAUTParser(is);
+    }
+
+    @Override
+    public AutomatonStreamEvent next() throws IOException {
+        if (current == null) {
+            parser.parseHeader();
+            numStates = parser.getNumStates();
+            numTransitions = parser.getNumTransitions();
+            current = AutomatonStreamEvent.BEGIN;
+        } else if (current == AutomatonStreamEvent.BEGIN) {
+            state = parser.getInitialState();
+            current = AutomatonStreamEvent.INITIAL_STATE;
+        } else if (current != AutomatonStreamEvent.END) {
+            if (parser.parseTransition()) {
+                source = parser.getSource();
+                label = parser.getLabel();
+                target = parser.getTarget();
+                current = AutomatonStreamEvent.TRANSITION;
+            } else {
+                current = AutomatonStreamEvent.END;
+            }
+        }
+
+        return current;
+    }
+
+    @Override
+    public void close() throws IOException {
+        inputStream.close();
+    }
+}
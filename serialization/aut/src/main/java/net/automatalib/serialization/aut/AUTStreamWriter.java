@@ -0,0 +1,218 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.aut;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Function;
+
+import net.automatalib.commons.util.io.BufferedChannelWriter;
+import net.automatalib.serialization.streaming.AutomatonStreamVisitor;
+
+/**
+ * A streaming writer for automata in the AUT format (see http://cadp.inria.fr/man/aut.html for further information).
+ * Transitions are written as soon as they are visited. State properties are ignored.
+ * <p>
+ * As the AUT header contains the number of states and transitions, writers for {@link OutputStream}s require these
+ * numbers to be known at the {@link #begin(int, long) beginning} of the automaton. Writers for files ({@link
+ * #AUTStreamWriter(Path, Function)}) reserve space for the header and fill it in once the automaton has been
+ * written, so that the numbers may be unknown up-front.
+ *
+ * @param <L>
+ *         transition label type
+ *
+ * @author frohme
+ */
+public class AUTStreamWriter<L> implements AutomatonStreamVisitor<Object, L> {
+
+    private static final int HEADER_WIDTH = 64;
+
+    private final BufferedChannelWriter writer;
+    private final FileChannel channel;
+    private final Function<? super L, String> labelTransformer;
+
+    private int numStates = -1;
+    private long numTransitions = -1;
+    private int initialState = -1;
+    private boolean headerWritten;
+    private int maxState = -1;
+    private long transitionCount;
+
+    /**
+     * Constructor. Labels are written in quotes.
+     *
+     * @param os
+     *         the output stream to write to. The stream is not closed by this writer
+     */
+    public AUTStreamWriter(OutputStream os) {
+        this(os, AUTStreamWriter::quote);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param os
+     *         the output stream to write to. The stream is not closed by this writer
+     * @param labelTransformer
+     *         the function for transforming labels to their AUT representation
+     */
+    public AUTStreamWriter(OutputStream os, Function<? super L, String> labelTransformer) {
+        this.writer = new BufferedChannelWriter(os);
+        this.channel = null;
+        this.labelTransformer = labelTransformer;
+    }
+
+    /**
+     * Constructor. The file is (over-)written and closed at the {@link #end()} of the automaton. Labels are written in
+     * quotes.
+     *
+     * @param file
+     *         the file to write to
+     *
+     * @throws IOException
+     *         if the file cannot be opened
+     */
+    public AUTStreamWriter(Path file) throws IOException {
+        this(file, AUTStreamWriter::quote);
+    }
+
+    /**
+     * Constructor. The file is (over-)written and closed at the {@link #end()} of the automaton.
+     *
+     * @param file
+     *         the file to write to
+     * @param labelTransformer
+     *         the function for transforming labels to their AUT representation
+     *
+     * @throws IOException
+     *         if the file cannot be opened
+     */
+    public AUTStreamWriter(Path file, Function<? super L, String> labelTransformer) throws IOException {
+        this.channel = FileChannel.open(file,
+                                        StandardOpenOption.CREATE,
+                                        StandardOpenOption.WRITE,
+                                        StandardOpenOption.TRUNCATE_EXISTING);
+        this.writer = new BufferedChannelWriter(channel);
+        this.labelTransformer = labelTransformer;
+    }
+
+    private static String quote(Object label) {
+        return "\"" + label + "\"";
+    }
+
+    @Override
+    public void begin(int numStates, long numTransitions) {
+        this.numStates = numStates;
+        this.numTransitions = numTransitions;
+    }
+
+    @Override
+    public void visitInitialState(int state) {
+        if (initialState >= 0 && initialState != state) {
+            throw new IllegalArgumentException("Automaton needs to exactly specify a single initial state");
+        }
+        initialState = state;
+        maxState = Math.max(maxState, state);
+    }
+
+    @Override
+    public void visitState(int state, Object property) {
+        maxState = Math.max(maxState, state);
+    }
+
+    @Override
+    public void visitTransition(int source, L label, int target) throws IOException {
+        if (!headerWritten) {
+            writeInitialHeader();
+        }
+
+        writer.append('(');
+        writer.writeInt(source);
+        writer.append(", ");
+        writer.append(labelTransformer.apply(label));
+        writer.append(", ");
+        writer.writeInt(target);
+        writer.append(')');
+        writer.newLine();
+
+        transitionCount++;
+        maxState = Math.max(maxState, Math.max(source, target));
+    }
+
+    @Override
+    public void end() throws IOException {
+        if (!headerWritten) {
+            writeInitialHeader();
+        }
+
+        writer.flush();
+
+        if (channel == null) {
+            if (transitionCount != numTransitions) {
+                throw new IllegalStateException("Number of visited transitions (" + transitionCount +
+                                                ") does not match the announced number (" + numTransitions + ')');
+            }
+        } else {
+            final String header = buildHeader(numStates < 0 ? maxState + 1 : numStates, transitionCount);
+            channel.write(ByteBuffer.wrap(header.getBytes(StandardCharsets.UTF_8)), 0);
+            channel.close();
+        }
+    }
+
+    private void writeInitialHeader() throws IOException {
+        if (initialState < 0) {
+            throw new IllegalStateException("Automaton needs to exactly specify a single initial state");
+        }
+
+        if (channel == null) {
+            if (numStates < 0 || numTransitions < 0) {
+                throw new IllegalStateException(
+                        "Writing to streams requires the number of states and transitions to be known");
+            }
+            writer.append(buildHeader(numStates, numTransitions));
+        } else {
+            // reserve space for the actual header
+            writer.append(buildHeader(0, 0));
+        }
+
+        headerWritten = true;
+    }
+
+    private String buildHeader(int states, long transitions) {
+        final StringBuilder sb = new StringBuilder(HEADER_WIDTH + System.lineSeparator().length());
+        sb.append("des (")
+          .append(initialState)
+          .append(", ")
+          .append(transitions)
+          .append(", ")
+          .append(states)
+          .append(')');
+
+        if (channel != null) {
+            // pad the header to a fixed width, so that it can be overwritten with the actual numbers later on
+            while (sb.length() < HEADER_WIDTH) {
+                sb.append(' ');
+            }
+        }
+
+        return sb.append(System.lineSeparator()).toString();
+    }
+}
@@ -17,14 +17,13 @@ package net.automatalib.serialization.aut;
 
 import java.io.IOException;
 import java.io.OutputStream;
-import java.io.Writer;
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.Set;
 import java.util.function.Function;
 
 import net.automatalib.automata.concepts.StateIDs;
 import net.automatalib.automata.simple.SimpleAutomaton;
-import net.automatalib.commons.util.IOUtil;
+import net.automatalib.commons.util.io.BufferedChannelWriter;
 import net.automatalib.words.Alphabet;
 
 /**
@@ -35,6 +34,8 @@ import net.automatalib.words.Alphabet;
  */
 public final class AUTWriter {
 
+    private static final int INITIAL_CAPACITY = 1 << 10;
+
     private AUTWriter() {
         // prevent instantiation
     }
@@ -50,81 +51,63 @@ public final class AUTWriter {
                                              Function<I, String> inputTransformer,
                                              OutputStream os) throws IOException {
 
-        final Set<TransitionTriple<S, I>> transitions = new HashSet<>();
-
-        for (final S s : automaton.getStates()) {
-            for (final I i : alphabet) {
-                final Set<S> succs = automaton.getSuccessors(s, i);
-
-                if (succs != null && !succs.isEmpty()) {
-                    for (final S succ : succs) {
-                        transitions.add(new TransitionTriple<>(s, i, succ));
-                    }
-
-                }
-            }
-        }
-
-        try (Writer w = IOUtil.asBufferedUTF8Writer(os)) {
-            writeHeader(automaton, transitions, w);
-            writeTransitions(automaton, transitions, inputTransformer, w);
-        }
-    }
-
-    private static <S, I> void writeHeader(SimpleAutomaton<S, I> automaton,
-                                           Set<TransitionTriple<S, I>> transitions,
-                                           Appendable appendable) throws IOException {
-
         final Set<S> inits = automaton.getInitialStates();
 
         if (inits == null || inits.size() != 1) {
             throw new IllegalArgumentException("Automaton needs to exactly specify a single initial state");
         }
 
-        final S init = inits.iterator().next();
-
         final StateIDs<S> stateIds = automaton.stateIDs();
 
-        appendable.append("des (");
-        appendable.append(Integer.toString(stateIds.getStateId(init)));
-        appendable.append(", ");
-        appendable.append(Integer.toString(transitions.size()));
-        appendable.append(", ");
-        appendable.append(Integer.toString(automaton.size()));
-        appendable.append(')');
-        appendable.append(System.lineSeparator());
-    }
-
-    private static <S, I> void writeTransitions(SimpleAutomaton<S, I> automaton,
-                                                Set<TransitionTriple<S, I>> transitions,
-                                                Function<I, String> inputTransformer,
-                                                Appendable appendable) throws IOException {
+        // the header requires the number of transitions, so buffer them (integer-encoded) first
+        int[] transitions = new int[INITIAL_CAPACITY * 3];
+        int numTransitions = 0;
 
-        final StateIDs<S> stateIds = automaton.stateIDs();
+        for (final S s : automaton.getStates()) {
+            final int srcId = stateIds.getStateId(s);
+            for (int i = 0; i < alphabet.size(); i++) {
+                final Set<S> succs = automaton.getSuccessors(s, alphabet.getSymbol(i));
 
-        for (final TransitionTriple<S, I> trans : transitions) {
-            appendable.append('(');
-            appendable.append(Integer.toString(stateIds.getStateId(trans.src)));
-            appendable.append(", ");
-            appendable.append(inputTransformer.apply(trans.input));
-            appendable.append(", ");
-            appendable.append(Integer.toString(stateIds.getStateId(trans.dest)));
-            appendable.append(')');
-            appendable.append(System.lineSeparator());
+                if (succs != null) {
+                    for (final S succ : succs) {
+                        if (3 * numTransitions == transitions.length) {
+                            transitions = Arrays.copyOf(transitions, 2 * transitions.length);
+                        }
+                        transitions[3 * numTransitions] = srcId;
+                        transitions[3 * numTransitions + 1] = i;
+                        transitions[3 * numTransitions + 2] = stateIds.getStateId(succ);
+                        numTransitions++;
+                    }
+                }
+            }
         }
-    }
-
-    private static class TransitionTriple<S, I> {
 
-        final S src;
-        final I input;
-        final S dest;
+        // transform each input only once
+        final String[] labels = new String[alphabet.size()];
+        for (int i = 0; i < labels.length; i++) {
+            labels[i] = inputTransformer.apply(alphabet.getSymbol(i));
+        }
 
-        TransitionTriple(S src, I input, S dest) {
-            this.src = src;
-            this.input = input;
-            this.dest = dest;
+        try (BufferedChannelWriter w = new BufferedChannelWriter(os)) {
+            w.append("des (");
+            w.writeInt(stateIds.getStateId(inits.iterator().next()));
+            w.append(", ");
+            w.writeInt(numTransitions);
+            w.append(", ");
+            w.writeInt(automaton.size());
+            w.append(')');
+            w.newLine();
+
+            for (int t = 0; t < numTransitions; t++) {
+                w.append('(');
+                w.writeInt(transitions[3 * t]);
+                w.append(", ");
+                w.append(labels[transitions[3 * t + 1]]);
+                w.append(", ");
+                w.writeInt(transitions[3 * t + 2]);
+                w.append(')');
+                w.newLine();
+            }
         }
     }
-
 }
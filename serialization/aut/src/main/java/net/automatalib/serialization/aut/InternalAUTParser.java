@@ -15,38 +15,77 @@
  */
 package net.automatalib.serialization.aut;
 
-import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.Reader;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
 import net.automatalib.automata.fsa.impl.compact.CompactNFA;
 import net.automatalib.automata.simple.SimpleAutomaton;
-import net.automatalib.commons.util.IOUtil;
+import net.automatalib.serialization.FormatException;
 import net.automatalib.serialization.InputModelData;
 import net.automatalib.words.Alphabet;
 import net.automatalib.words.impl.Alphabets;
 
 /**
+ * A byte-level parser for the AUT format.
+ * <p>
+ * The parser scans the (UTF-8 encoded) input line by line directly on a byte buffer. Labels are interned, i.e. each
+ * distinct label is decoded into a {@link String} only once and is otherwise referred to by its index. When
+ * materializing an automaton, transitions are collected in primitive arrays and added to the resulting automaton in a
+ * single pass once all labels (and hence the alphabet) are known.
+ *
  * @author frohme
  */
 class InternalAUTParser {
 
-    private int initialState;
-    private final Set<String> alphabetSymbols = new HashSet<>();
-    private final Map<Integer, Map<String, Integer>> transitionMap = new HashMap<>();
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int INITIAL_CAPACITY = 1 << 10;
+    private static final int MAX_INITIAL_CAPACITY = 1 << 24;
 
     private final InputStream inputStream;
+    private final LabelTable labels = new LabelTable();
+
+    // the transitions of a chunk, if used by a ParallelParser
+    private TransitionBuffer chunk;
 
-    private char[] currentLineContent;
+    private int initialState;
+    private long numTransitions;
+    private int numStates;
+
+    private int source;
+    private int label;
+    private int target;
+
+    // the line buffer
+    private byte[] buffer = new byte[BUFFER_SIZE];
+    private int bufferEnd;
+    private boolean eof;
+
+    // the current line
+    private int nextLineStart;
+    private int lineStart;
+    private int lineEnd;
+    private int pos;
     private int currentLine;
-    private int currentPos;
 
     InternalAUTParser(InputStream is) {
         this.inputStream = is;
@@ -54,208 +93,666 @@ class InternalAUTParser {
 
     public <I> InputModelData<I, SimpleAutomaton<Integer, I>> parse(Function<String, I> inputTransformer)
             throws IOException {
-        try (Reader isr = IOUtil.asUTF8Reader(inputStream);
-             BufferedReader bisr = new BufferedReader(isr)) {
+        try {
+            final TransitionBuffer transitions = parseTransitions();
+            return buildNFA(Collections.singletonList(transitions), labels, getMinStates(), initialState,
+                            inputTransformer);
+        } finally {
+            inputStream.close();
+        }
+    }
+
+    public <I> InputModelData<I, CompactDFA<I>> parseDeterministic(Function<String, I> inputTransformer)
+            throws IOException {
+        try {
+            final TransitionBuffer transitions = parseTransitions();
+            return buildDFA(Collections.singletonList(transitions), labels, getMinStates(), initialState,
+                            inputTransformer);
+        } finally {
+            inputStream.close();
+        }
+    }
+
+    static <I> InputModelData<I, SimpleAutomaton<Integer, I>> parseParallel(Path file,
+                                                                          Function<String, I> inputTransformer,
+                                                                          ForkJoinPool pool) throws IOException {
+        final ParallelParser parser = new ParallelParser(file, pool);
+        parser.parse();
+        return buildNFA(parser.chunks, parser.labels, parser.minStates, parser.initialState, inputTransformer);
+    }
 
-            // parsing
-            parseHeader(bisr);
-            while (parseTransition(bisr)) {}
+    static <I> InputModelData<I, CompactDFA<I>> parseDeterministicParallel(Path file,
+                                                                         Function<String, I> inputTransformer,
+                                                                         ForkJoinPool pool) throws IOException {
+        final ParallelParser parser = new ParallelParser(file, pool);
+        parser.parse();
+        return buildDFA(parser.chunks, parser.labels, parser.minStates, parser.initialState, inputTransformer);
+    }
+
+    private static <I> InputModelData<I, SimpleAutomaton<Integer, I>> buildNFA(List<TransitionBuffer> chunks,
+                                                                             LabelTable labels,
+                                                                             int minStates,
+                                                                             int initialState,
+                                                                             Function<String, I> inputTransformer) {
+        final Alphabet<I> alphabet = buildAlphabet(labels, inputTransformer);
+        final int[] symbolIndices = buildSymbolIndices(labels, alphabet, inputTransformer);
 
-            // automaton construction
-            final Map<String, I> inputMap =
-                    alphabetSymbols.stream().collect(Collectors.toMap(Function.identity(), inputTransformer));
-            final Alphabet<I> alphabet = Alphabets.fromCollection(inputMap.values());
+        final int size = getNumStates(chunks, minStates);
+        final CompactNFA<I> result = new CompactNFA<>(alphabet, size);
 
-            final CompactNFA<I> result = new CompactNFA<>(alphabet, transitionMap.size());
+        for (int i = 0; i < size; i++) {
+            result.addIntState(false);
+        }
 
-            for (int i = 0; i < transitionMap.size(); i++) {
-                result.addState();
+        for (TransitionBuffer transitions : chunks) {
+            for (int i = 0; i < transitions.size; i++) {
+                result.addTransition(transitions.sources[i],
+                                     symbolIndices[transitions.labels[i]],
+                                     transitions.targets[i]);
             }
+        }
+        result.setInitial(initialState, true);
+
+        return new InputModelData<>(result, alphabet);
+    }
 
-            for (final Map.Entry<Integer, Map<String, Integer>> outgoing : transitionMap.entrySet()) {
-                final Integer src = outgoing.getKey();
-                for (final Map.Entry<String, Integer> targets : outgoing.getValue().entrySet()) {
-                    final String input = targets.getKey();
-                    final Integer dest = targets.getValue();
-                    result.addTransition(src, inputMap.get(input), dest);
+    private static <I> InputModelData<I, CompactDFA<I>> buildDFA(List<TransitionBuffer> chunks,
+                                                                 LabelTable labels,
+                                                                 int minStates,
+                                                                 int initialState,
+                                                                 Function<String, I> inputTransformer) {
+        final Alphabet<I> alphabet = buildAlphabet(labels, inputTransformer);
+        final int[] symbolIndices = buildSymbolIndices(labels, alphabet, inputTransformer);
+
+        final int size = getNumStates(chunks, minStates);
+        final CompactDFA<I> result = new CompactDFA<>(alphabet, size);
+
+        for (int i = 0; i < size; i++) {
+            result.addIntState(true);
+        }
+
+        for (TransitionBuffer transitions : chunks) {
+            for (int i = 0; i < transitions.size; i++) {
+                final int src = transitions.sources[i];
+                final int sym = symbolIndices[transitions.labels[i]];
+                final int tgt = transitions.targets[i];
+                final int succ = result.getSuccessor(src, sym);
+
+                if (succ >= 0 && succ != tgt) {
+                    throw new FormatException("Non-deterministic transitions for state " + src + " and label " +
+                                              labels.get(transitions.labels[i]));
                 }
-            }
-            result.setInitial(initialState, true);
 
-            return new InputModelData<>(result, alphabet);
+                result.setTransition(src, sym, tgt);
+            }
         }
+        result.setInitialState(initialState);
+
+        return new InputModelData<>(result, alphabet);
     }
 
-    private void parseHeader(BufferedReader reader) throws IOException {
-        final String line = reader.readLine();
+    private TransitionBuffer parseTransitions() throws IOException {
+        parseHeader();
+
+        // the header may be used as a hint for the number of transitions, but should not be trusted blindly
+        final long capacity = Math.max(INITIAL_CAPACITY, Math.min(numTransitions, MAX_INITIAL_CAPACITY));
+        final TransitionBuffer result = new TransitionBuffer((int) capacity);
+        parseBody(result);
 
-        if (line == null) {
-            throw new IllegalArgumentException(buildErrorMessage("Missing description"));
+        return result;
+    }
+
+    private void parseBody(TransitionBuffer buffer) throws IOException {
+        while (parseTransition()) {
+            buffer.add(source, label, target);
         }
+    }
 
-        currentLineContent = line.toCharArray();
-        currentPos = 0;
+    private int getMinStates() {
+        // states may be declared by the header only, i.e. without any transitions
+        return Math.max(numStates, initialState + 1);
+    }
 
-        shiftToNextNonWhitespace();
-        verifyDesAndShift();
-        verifyLBracketAndShift();
-        initialState = parseNumberAndShift();
-        verifyCommaAndShift();
-        parseNumberAndShift(); // ignore number of states
-        verifyCommaAndShift();
-        parseNumberAndShift(); // ignore number of transitions
-        verifyRBracketAndShift();
+    private static int getNumStates(List<TransitionBuffer> chunks, int minStates) {
+        int result = minStates;
+        for (TransitionBuffer c : chunks) {
+            result = Math.max(result, c.maxState + 1);
+        }
+        return result;
     }
 
-    private boolean parseTransition(BufferedReader reader) throws IOException {
-        final String line = reader.readLine();
+    private static <I> Alphabet<I> buildAlphabet(LabelTable labels, Function<String, I> inputTransformer) {
+        final List<I> symbols = new ArrayList<>(labels.size());
+        final Map<I, Boolean> seen = new HashMap<>();
 
-        if (line == null) {
-            return false;
+        for (int i = 0; i < labels.size(); i++) {
+            final I symbol = inputTransformer.apply(labels.get(i));
+            if (seen.put(symbol, Boolean.TRUE) == null) {
+                symbols.add(symbol);
+            }
         }
 
-        currentLineContent = line.toCharArray();
-        currentLine++;
-        currentPos = 0;
+        return Alphabets.fromList(symbols);
+    }
 
-        final int start;
-        final String label;
-        final int dest;
+    private static <I> int[] buildSymbolIndices(LabelTable labels,
+                                                Alphabet<I> alphabet,
+                                                Function<String, I> inputTransformer) {
+        final int[] result = new int[labels.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = alphabet.getSymbolIndex(inputTransformer.apply(labels.get(i)));
+        }
+        return result;
+    }
 
-        shiftToNextNonWhitespace();
-        verifyLBracketAndShift();
-        start = parseNumberAndShift();
-        verifyCommaAndShift();
-        label = parseLabelAndShift();
-        verifyCommaAndShift();
-        dest = parseNumberAndShift();
-        verifyRBracketAndShift();
+    int getInitialState() {
+        return initialState;
+    }
 
-        alphabetSymbols.add(label);
-        transitionMap.computeIfAbsent(start, k -> new HashMap<>()).put(label, dest);
+    long getNumTransitions() {
+        return numTransitions;
+    }
 
-        return true;
+    int getNumStates() {
+        return numStates;
     }
 
-    private void verifyDesAndShift() {
+    int getSource() {
+        return source;
+    }
 
-        if (currentLineContent[currentPos] != 'd' || currentLineContent[currentPos + 1] != 'e' ||
-            currentLineContent[currentPos + 2] != 's') {
-            throw new IllegalArgumentException(buildErrorMessage("Missing 'des' keyword"));
-        }
+    String getLabel() {
+        return labels.get(label);
+    }
 
-        currentPos += 3;
-        shiftToNextNonWhitespace();
+    int getTarget() {
+        return target;
     }
 
-    private void verifyLBracketAndShift() {
+    void parseHeader() throws IOException {
+        if (!nextLine()) {
+            throw new FormatException(buildErrorMessage("Missing description"));
+        }
+
+        shiftToNextNonWhitespace();
+        verifyDesAndShift();
         verifySymbolAndShift('(');
+        initialState = parseNumberAndShift();
+        verifySymbolAndShift(',');
+        numTransitions = parseNumberAndShift();
+        verifySymbolAndShift(',');
+        numStates = parseNumberAndShift();
+        verifySymbolAndShift(')');
     }
 
-    private void verifyRBracketAndShift() {
+    /**
+     * Parses the next transition. The parsed values are available via {@link #getSource()}, {@link #getLabel()} and
+     * {@link #getTarget()}.
+     *
+     * @return {@code true} if a transition has been parsed, {@code false} if the end of the input has been reached
+     */
+    boolean parseTransition() throws IOException {
+        do {
+            if (!nextLine()) {
+                return false;
+            }
+            shiftToNextNonWhitespace();
+        } while (pos == lineEnd); // skip blank lines
+
+        verifySymbolAndShift('(');
+        source = parseNumberAndShift();
+        verifySymbolAndShift(',');
+        label = parseLabelAndShift();
+        verifySymbolAndShift(',');
+        target = parseNumberAndShift();
         verifySymbolAndShift(')');
+
+        return true;
     }
 
-    private void verifyCommaAndShift() {
-        verifySymbolAndShift(',');
+    private void verifyDesAndShift() {
+        if (lineEnd - pos < 3 || buffer[pos] != 'd' || buffer[pos + 1] != 'e' || buffer[pos + 2] != 's') {
+            throw new FormatException(buildErrorMessage("Missing 'des' keyword"));
+        }
+
+        pos += 3;
+        shiftToNextNonWhitespace();
     }
 
     private void verifySymbolAndShift(char symbol) {
-
-        if (currentLineContent[currentPos] != symbol) {
-            throw new IllegalArgumentException(buildErrorMessage("Expected: " + symbol));
+        if (pos == lineEnd || buffer[pos] != symbol) {
+            throw new FormatException(buildErrorMessage("Expected: " + symbol));
         }
 
-        currentPos++;
+        pos++;
         shiftToNextNonWhitespace();
     }
 
     private void shiftToNextNonWhitespace() {
-        for (int i = currentPos; i < currentLineContent.length; i++) {
-            switch (currentLineContent[i]) {
-                case ' ':
-                case '\t':
-                case '\r': // probably already filtered by readline
-                case '\n': // probably already filtered by readline
-                    break;
-                default:
-                    currentPos = i;
-                    return;
-            }
+        while (pos < lineEnd && (buffer[pos] == ' ' || buffer[pos] == '\t')) {
+            pos++;
         }
     }
 
     private int parseNumberAndShift() {
+        final int start = pos;
+        long value = 0;
 
-        final StringBuilder sb = new StringBuilder();
-
-        char sym = currentLineContent[currentPos];
+        while (pos < lineEnd && buffer[pos] >= '0' && buffer[pos] <= '9') {
+            value = value * 10 + (buffer[pos] - '0');
+            if (value > Integer.MAX_VALUE) {
+                throw new FormatException(buildErrorMessage("Number too large"));
+            }
+            pos++;
+        }
 
-        while (Character.isDigit(sym)) {
-            sb.append(sym);
-            currentPos++;
-            sym = currentLineContent[currentPos];
+        if (pos == start) {
+            throw new FormatException(buildErrorMessage("Expected number"));
         }
 
-        // forward pointer
         shiftToNextNonWhitespace();
-        return Integer.parseInt(sb.toString());
+        return (int) value;
     }
 
-    private String parseLabelAndShift() {
+    private int parseLabelAndShift() {
+        if (pos == lineEnd) {
+            throw new FormatException(buildErrorMessage("Missing label"));
+        }
+
+        final int start;
+        final int end;
 
-        if (currentLineContent[currentPos] == '"') {
-            return parseQuotedLabelAndShift();
+        if (buffer[pos] == '"') {
+            // quoted labels may contain quotes themselves, so find the terminating (i.e. last) quote of the line
+            int closing = lineEnd - 1;
+            while (buffer[closing] != '"') {
+                closing--;
+            }
+
+            if (closing == pos) {
+                throw new FormatException(buildErrorMessage("Unterminated label"));
+            }
+
+            start = pos + 1;
+            end = closing;
+            pos = closing + 1;
+        } else if (buffer[pos] == '*') {
+            start = pos;
+            end = pos + 1;
+            pos++;
+        } else if (isLetter(buffer[pos])) {
+            start = pos;
+            while (pos < lineEnd && isIdentifierPart(buffer[pos])) {
+                pos++;
+            }
+            end = pos;
         } else {
-            return parseNormalLabelAndShift();
+            throw new FormatException(buildErrorMessage("Invalid unquoted label"));
         }
+
+        shiftToNextNonWhitespace();
+        return labels.intern(buffer, start, end);
     }
 
-    private String parseQuotedLabelAndShift() {
-        int openingIndex = currentPos;
-        int closingIndex = currentLineContent.length - 1;
+    private static boolean isLetter(byte b) {
+        // bytes of multi-byte UTF-8 sequences are negative
+        return (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z') || b < 0;
+    }
 
-        // find terminating "
-        while (currentLineContent[closingIndex--] != '"') {}
+    private static boolean isIdentifierPart(byte b) {
+        return isLetter(b) || (b >= '0' && b <= '9') || b == '_';
+    }
 
-        // skip terminating " as well
-        currentPos = closingIndex + 2;
-        shiftToNextNonWhitespace();
+    /**
+     * Advances to the next line of the input. Line terminators ("\n", "\r\n") are not part of the line.
+     *
+     * @return {@code true} if a line has been read, {@code false} if the end of the input has been reached
+     */
+    private boolean nextLine() throws IOException {
+        int start = nextLineStart;
+        int idx = start;
+
+        while (true) {
+            while (idx < bufferEnd && buffer[idx] != '\n') {
+                idx++;
+            }
 
-        return new String(currentLineContent, openingIndex + 1, closingIndex - openingIndex);
-    }
+            if (idx < bufferEnd || eof) {
+                break;
+            }
+
+            // the line is not complete, so move it to the front of the buffer (or grow the buffer) and read more data
+            final int length = bufferEnd - start;
+            if (length == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            } else {
+                System.arraycopy(buffer, start, buffer, 0, length);
+            }
+            idx -= start;
+            start = 0;
+            bufferEnd = length;
+
+            final int read = inputStream.read(buffer, bufferEnd, buffer.length - bufferEnd);
+            if (read < 0) {
+                eof = true;
+            } else {
+                bufferEnd += read;
+            }
+        }
 
-    private String parseNormalLabelAndShift() {
+        if (start == bufferEnd) {
+            nextLineStart = bufferEnd;
+            return false;
+        }
 
-        final char firstChar = currentLineContent[currentPos];
+        lineStart = start;
+        lineEnd = idx > start && buffer[idx - 1] == '\r' ? idx - 1 : idx;
+        nextLineStart = idx < bufferEnd ? idx + 1 : idx;
+        pos = start;
+        currentLine++;
 
-        if (currentLineContent[currentPos] == '*') {
-            currentPos++;
-            shiftToNextNonWhitespace();
-            return "*";
-        } else if (Character.isLetter(firstChar)) {
-            int startIdx = currentPos;
+        return true;
+    }
 
-            while (isValidIdentifier()) {
-                currentPos++;
+    private String buildErrorMessage(String desc) {
+        return "In line " + currentLine + ", col " + (pos - lineStart) + ": " + desc;
+    }
+
+    /**
+     * Growable primitive arrays for the parsed transitions.
+     */
+    private static final class TransitionBuffer {
+
+        private int[] sources;
+        private int[] labels;
+        private int[] targets;
+        private int size;
+        private int maxState = -1;
+
+        TransitionBuffer(int capacity) {
+            this.sources = new int[capacity];
+            this.labels = new int[capacity];
+            this.targets = new int[capacity];
+        }
+
+        void add(int source, int label, int target) {
+            if (size == sources.length) {
+                final int newCapacity = size * 2;
+                sources = Arrays.copyOf(sources, newCapacity);
+                labels = Arrays.copyOf(labels, newCapacity);
+                targets = Arrays.copyOf(targets, newCapacity);
             }
 
-            int endIdx = currentPos;
+            sources[size] = source;
+            labels[size] = label;
+            targets[size] = target;
+            size++;
 
-            shiftToNextNonWhitespace();
-            return new String(currentLineContent, startIdx, endIdx - startIdx);
-        } else {
-            throw new IllegalArgumentException(buildErrorMessage("Invalid unquoted label"));
+            maxState = Math.max(maxState, Math.max(source, target));
+        }
+
+        int getNumStates() {
+            return maxState + 1;
         }
     }
 
-    private boolean isValidIdentifier() {
-        final char currentChar = currentLineContent[currentPos];
-        return Character.isLetterOrDigit(currentChar) || currentChar == '_';
+    /**
+     * Parses the transitions of a (memory-mapped) AUT file in parallel. The file is split into chunks at line
+     * boundaries. Each chunk is parsed by a separate {@link InternalAUTParser} with its own label table, whose labels
+     * are merged into a global label table afterwards.
+     */
+    private static final class ParallelParser {
+
+        private static final int MIN_CHUNK_SIZE = 1 << 20;
+        private static final int MAX_CHUNK_SIZE = 1 << 30;
+        private static final int CHUNKS_PER_THREAD = 4;
+        private static final int SCAN_BUFFER_SIZE = 1 << 12;
+
+        private final Path file;
+        private final ForkJoinPool pool;
+
+        private final LabelTable labels = new LabelTable();
+        private final List<TransitionBuffer> chunks = new ArrayList<>();
+        private int minStates;
+        private int initialState;
+
+        ParallelParser(Path file, ForkJoinPool pool) {
+            this.file = file;
+            this.pool = pool;
+        }
+
+        void parse() throws IOException {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                final long size = channel.size();
+                final long bodyStart = findNextLine(channel, 0, size);
+
+                final ByteBuffer header = ByteBuffer.allocate((int) bodyStart);
+                while (header.hasRemaining()) {
+                    if (channel.read(header, header.position()) < 0) {
+                        throw new FormatException("Unexpected end of file");
+                    }
+                }
+
+                final InternalAUTParser headerParser = new InternalAUTParser(new ByteArrayInputStream(header.array()));
+                headerParser.parseHeader();
+                minStates = headerParser.getMinStates();
+                initialState = headerParser.initialState;
+
+                final long bodySize = size - bodyStart;
+                final long maxChunks = (long) pool.getParallelism() * CHUNKS_PER_THREAD;
+                final int numChunks = (int) Math.max(Math.min(bodySize / MIN_CHUNK_SIZE, maxChunks),
+                                                     (bodySize + MAX_CHUNK_SIZE - 1) / MAX_CHUNK_SIZE);
+
+                final long[] bounds = new long[Math.max(numChunks, 1) + 1];
+                bounds[0] = bodyStart;
+                for (int i = 1; i < bounds.length - 1; i++) {
+                    final long offset = bodyStart + bodySize * i / (bounds.length - 1);
+                    bounds[i] = findNextLine(channel, Math.max(offset, bounds[i - 1]), size);
+                }
+                bounds[bounds.length - 1] = size;
+
+                final List<Callable<InternalAUTParser>> tasks = new ArrayList<>(bounds.length - 1);
+                for (int i = 0; i < bounds.length - 1; i++) {
+                    final long start = bounds[i];
+                    final long length = bounds[i + 1] - start;
+                    tasks.add(() -> parseChunk(channel, start, length));
+                }
+
+                final List<Future<InternalAUTParser>> results = pool.invokeAll(tasks);
+                for (int i = 0; i < results.size(); i++) {
+                    merge(getResult(results.get(i), bounds[i]));
+                }
+            }
+        }
+
+        private static InternalAUTParser parseChunk(FileChannel channel, long start, long length)
+                throws IOException {
+            final InputStream is = length == 0 ?
+                    new ByteArrayInputStream(new byte[0]) :
+                    new ByteBufferInputStream(channel.map(MapMode.READ_ONLY, start, length));
+            final InternalAUTParser parser = new InternalAUTParser(is);
+            parser.chunk = new TransitionBuffer(INITIAL_CAPACITY);
+            parser.parseBody(parser.chunk);
+            return parser;
+        }
+
+        private static InternalAUTParser getResult(Future<InternalAUTParser> future, long offset)
+                throws IOException {
+            try {
+                return future.get();
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException(ie.getMessage());
+            } catch (ExecutionException ee) {
+                final Throwable cause = ee.getCause();
+                if (cause instanceof FormatException) {
+                    throw new FormatException("In chunk starting at byte " + offset + ": " + cause.getMessage(),
+                                              cause);
+                } else if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                } else if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new IllegalStateException(cause);
+            }
+        }
+
+        /**
+         * Maps the labels of the given chunk to the global label table and adds its transitions.
+         */
+        private void merge(InternalAUTParser chunkParser) {
+            final LabelTable localLabels = chunkParser.labels;
+            final int[] mapping = new int[localLabels.size()];
+            for (int i = 0; i < mapping.length; i++) {
+                final byte[] bytes = localLabels.getBytes(i);
+                mapping[i] = labels.intern(bytes, 0, bytes.length);
+            }
+
+            final TransitionBuffer chunk = chunkParser.chunk;
+            for (int i = 0; i < chunk.size; i++) {
+                chunk.labels[i] = mapping[chunk.labels[i]];
+            }
+
+            chunks.add(chunk);
+        }
+
+        /**
+         * Returns the offset of the line following the given offset, i.e. the offset after the next line terminator.
+         */
+        private static long findNextLine(FileChannel channel, long offset, long size) throws IOException {
+            final ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+            long pos = offset;
+
+            while (pos < size) {
+                buffer.clear();
+                final int read = channel.read(buffer, pos);
+                if (read <= 0) {
+                    break;
+                }
+                for (int i = 0; i < read; i++) {
+                    if (buffer.get(i) == '\n') {
+                        return pos + i + 1;
+                    }
+                }
+                pos += read;
+            }
+
+            return size;
+        }
     }
 
-    private String buildErrorMessage(String desc) {
-        return "In line " + currentLine + ", col " + currentPos + ": " + desc;
+    /**
+     * An {@link InputStream} view on a {@link ByteBuffer}.
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            final int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
     }
 
+    /**
+     * An open-addressing hash table that maps (UTF-8 encoded) label bytes to label indices.
+     */
+    private static final class LabelTable {
+
+        private static final int INITIAL_TABLE_SIZE = 1 << 8;
+        private static final int HASH_PRIME = 31;
+
+        private final List<byte[]> bytes = new ArrayList<>();
+        private final List<String> strings = new ArrayList<>();
+
+        // label index + 1, 0 denotes an empty slot
+        private int[] table = new int[INITIAL_TABLE_SIZE];
+
+        int intern(byte[] buf, int start, int end) {
+            final int hash = hash(buf, start, end);
+            final int mask = table.length - 1;
+
+            int slot = hash & mask;
+            while (table[slot] != 0) {
+                final int idx = table[slot] - 1;
+                if (matches(bytes.get(idx), buf, start, end)) {
+                    return idx;
+                }
+                slot = (slot + 1) & mask;
+            }
+
+            final int idx = strings.size();
+            bytes.add(Arrays.copyOfRange(buf, start, end));
+            strings.add(new String(buf, start, end - start, StandardCharsets.UTF_8));
+            table[slot] = idx + 1;
+
+            // keep the load factor below 0.5
+            if (2 * strings.size() > table.length) {
+                rehash();
+            }
+
+            return idx;
+        }
+
+        String get(int idx) {
+            return strings.get(idx);
+        }
+
+        byte[] getBytes(int idx) {
+            return bytes.get(idx);
+        }
+
+        int size() {
+            return strings.size();
+        }
+
+        private void rehash() {
+            table = new int[table.length * 2];
+            final int mask = table.length - 1;
+
+            for (int i = 0; i < bytes.size(); i++) {
+                final byte[] b = bytes.get(i);
+                int slot = hash(b, 0, b.length) & mask;
+                while (table[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = i + 1;
+            }
+        }
+
+        private static int hash(byte[] buf, int start, int end) {
+            int h = 0;
+            for (int i = start; i < end; i++) {
+                h = HASH_PRIME * h + buf[i];
+            }
+            // spread the higher bits, as the table size is a power of two
+            return h ^ (h >>> 16);
+        }
+
+        private static boolean matches(byte[] candidate, byte[] buf, int start, int end) {
+            if (candidate.length != end - start) {
+                return false;
+            }
+            for (int i = 0; i < candidate.length; i++) {
+                if (candidate[i] != buf[start + i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
 }
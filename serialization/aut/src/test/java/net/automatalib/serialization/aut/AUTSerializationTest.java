@@ -18,13 +18,24 @@ package net.automatalib.serialization.aut;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
 
 import net.automatalib.automata.fsa.DFA;
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
 import net.automatalib.automata.simple.SimpleAutomaton;
+import net.automatalib.serialization.FormatException;
+import net.automatalib.serialization.InputModelData;
 import net.automatalib.util.automata.random.RandomAutomata;
 import net.automatalib.words.Alphabet;
 import net.automatalib.words.impl.Alphabets;
@@ -78,6 +89,88 @@ public class AUTSerializationTest {
         is.close();
     }
 
+    @Test
+    public void deterministicSerializationTest() throws Exception {
+        // large enough to span several buffer fills of the parser
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 9);
+        final Random random = new Random(0);
+        final DFA<Integer, Integer> automaton = RandomAutomata.randomDFA(random, 5000, alphabet);
+
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        AUTWriter.writeAutomaton(automaton, alphabet, baos);
+
+        final CompactDFA<Integer> deserialized =
+                AUTParser.readDeterministicAutomaton(new ByteArrayInputStream(baos.toByteArray()), Integer::parseInt)
+                         .model;
+
+        Assert.assertEquals(deserialized.size(), automaton.size());
+        for (final Integer s : automaton.getStates()) {
+            for (final Integer i : alphabet) {
+                Assert.assertEquals(deserialized.getSuccessor(s, i), automaton.getSuccessor(s, i));
+            }
+        }
+    }
+
+    @Test
+    public void nondeterminismTest() throws Exception {
+        final String longLabel = String.join("", Collections.nCopies(100000, "x"));
+        final String aut = "des (0, 3, 3)\r\n(0, a, 0)\r\n\r\n(0, a, 1)\r\n(1, \"" + longLabel + "\", 0)";
+
+        final SimpleAutomaton<Integer, String> automaton =
+                AUTParser.readAutomaton(new ByteArrayInputStream(aut.getBytes(StandardCharsets.UTF_8))).model;
+
+        // state 2 has no transitions, but is declared by the header
+        Assert.assertEquals(automaton.size(), 3);
+        Assert.assertEquals(automaton.getSuccessors(0, "a"), new HashSet<>(Arrays.asList(0, 1)));
+        Assert.assertEquals(automaton.getSuccessors(1, longLabel), Collections.singleton(0));
+
+        Assert.assertThrows(FormatException.class,
+                            () -> AUTParser.readDeterministicAutomaton(new ByteArrayInputStream(aut.getBytes(
+                                    StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    public void parallelTest() throws Exception {
+        // large enough to be split into several chunks
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 9);
+        final Random random = new Random(0);
+        final DFA<Integer, Integer> automaton = RandomAutomata.randomDFA(random, 20000, alphabet);
+
+        final Path file = Files.createTempFile("automatalib", ".aut");
+        final ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            try (OutputStream os = Files.newOutputStream(file)) {
+                AUTWriter.writeAutomaton(automaton, alphabet, os);
+            }
+
+            final InputModelData<Integer, CompactDFA<Integer>> sequential;
+            try (InputStream is = Files.newInputStream(file)) {
+                sequential = AUTParser.readDeterministicAutomaton(is, Integer::parseInt);
+            }
+            final InputModelData<Integer, CompactDFA<Integer>> parallel =
+                    AUTParser.readDeterministicAutomaton(file, Integer::parseInt, pool);
+
+            Assert.assertEquals(parallel.alphabet, sequential.alphabet);
+            Assert.assertEquals(parallel.model.size(), automaton.size());
+            for (final Integer s : automaton.getStates()) {
+                for (final Integer i : alphabet) {
+                    Assert.assertEquals(parallel.model.getSuccessor(s, i), automaton.getSuccessor(s, i));
+                }
+            }
+
+            final SimpleAutomaton<Integer, Integer> nfa = AUTParser.readAutomaton(file, Integer::parseInt, pool).model;
+            equalityTest(automaton, nfa, alphabet);
+
+            // malformed lines are detected in any chunk
+            Files.write(file, "(0, a)\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+            Assert.assertThrows(FormatException.class, () -> AUTParser.readAutomaton(file, Function.identity(), pool));
+        } finally {
+            pool.shutdown();
+            Files.delete(file);
+        }
+    }
+
     private <S, I> void equalityTest(SimpleAutomaton<S, I> src, SimpleAutomaton<S, I> target, Alphabet<I> inputs) {
         for (final S s : src.getStates()) {
             for (final I i : inputs) {
@@ -0,0 +1,125 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.aut;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import net.automatalib.automata.fsa.DFA;
+import net.automatalib.automata.simple.SimpleAutomaton;
+import net.automatalib.serialization.streaming.AutomatonStreamEvent;
+import net.automatalib.serialization.streaming.AutomatonStreams;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author frohme
+ */
+public class AUTStreamTest {
+
+    @Test
+    public void testReader() throws IOException {
+        final List<String> labels = new ArrayList<>();
+
+        try (InputStream is = AUTStreamTest.class.getResourceAsStream("/quotationTest.aut");
+             AUTStreamReader reader = new AUTStreamReader(is)) {
+
+            Assert.assertEquals(reader.next(), AutomatonStreamEvent.BEGIN);
+            Assert.assertEquals(reader.getNumStates(), 4);
+            Assert.assertEquals(reader.getNumTransitions(), 5);
+
+            Assert.assertEquals(reader.next(), AutomatonStreamEvent.INITIAL_STATE);
+            Assert.assertEquals(reader.getState(), 0);
+
+            while (reader.next() == AutomatonStreamEvent.TRANSITION) {
+                labels.add(reader.getLabel());
+            }
+
+            Assert.assertEquals(reader.next(), AutomatonStreamEvent.END);
+        }
+
+        Assert.assertEquals(labels.size(), 7);
+        Assert.assertEquals(labels.subList(0, 3),
+                            Arrays.asList("PUT_\\6", "PUT_6", "GET !true !7 !CONS (A, CONS (B, NIL))"));
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 2);
+        final DFA<Integer, Integer> dfa = RandomAutomata.randomDFA(new Random(0), 20, alphabet);
+
+        // the number of transitions is not known up-front, so the header is filled in afterwards
+        final Path file = Files.createTempFile("automatalib", ".aut");
+        try {
+            AutomatonStreams.emit(dfa, alphabet, new AUTStreamWriter<>(file));
+
+            final SimpleAutomaton<Integer, Integer> fromFile;
+            try (InputStream is = Files.newInputStream(file)) {
+                fromFile = AUTParser.readAutomaton(is, Integer::parseInt).model;
+            }
+            checkEquality(dfa, fromFile, alphabet);
+
+            // stream the file to a stream-based writer
+            final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            try (InputStream is = Files.newInputStream(file);
+                 AUTStreamReader reader = new AUTStreamReader(is)) {
+                AutomatonStreams.transfer(reader, new AUTStreamWriter<>(baos));
+            }
+
+            final SimpleAutomaton<Integer, Integer> fromStream =
+                    AUTParser.readAutomaton(new ByteArrayInputStream(baos.toByteArray()), Integer::parseInt).model;
+            checkEquality(dfa, fromStream, alphabet);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testUnknownSizeOnStream() {
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 2);
+        final DFA<Integer, Integer> dfa = RandomAutomata.randomDFA(new Random(0), 5, alphabet);
+
+        Assert.assertThrows(IllegalStateException.class,
+                            () -> AutomatonStreams.emit(dfa,
+                                                        alphabet,
+                                                        new AUTStreamWriter<>(new ByteArrayOutputStream())));
+    }
+
+    private static <S, I> void checkEquality(DFA<S, I> src, SimpleAutomaton<Integer, I> target, Alphabet<I> inputs) {
+        Assert.assertEquals(target.size(), src.size());
+        for (final S s : src.getStates()) {
+            final Integer id = src.stateIDs().getStateId(s);
+            for (final I i : inputs) {
+                final S succ = src.getSuccessor(s, i);
+                Assert.assertEquals(target.getSuccessors(id, i).size(), succ == null ? 0 : 1);
+                if (succ != null) {
+                    Assert.assertTrue(target.getSuccessors(id, i).contains(src.stateIDs().getStateId(succ)));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.streaming;
+
+/**
+ * An abstract {@link AutomatonStreamReader} that stores the data of the current event in fields, which implementing
+ * classes set before reporting the respective event.
+ *
+ * @param <SP>
+ *         state property type
+ * @param <L>
+ *         transition label type
+ *
+ * @author frohme
+ */
+public abstract class AbstractAutomatonStreamReader<SP, L> implements AutomatonStreamReader<SP, L> {
+
+    protected int numStates = -1;
+    protected long numTransitions = -1;
+    protected int state;
+    protected SP stateProperty;
+    protected int source;
+    protected L label;
+    protected int target;
+
+    @Override
+    public int getNumStates() {
+        return numStates;
+    }
+
+    @Override
+    public long getNumTransitions() {
+        return numTransitions;
+    }
+
+    @Override
+    public int getState() {
+        return state;
+    }
+
+    @Override
+    public SP getStateProperty() {
+        return stateProperty;
+    }
+
+    @Override
+    public int getSource() {
+        return source;
+    }
+
+    @Override
+    public L getLabel() {
+        return label;
+    }
+
+    @Override
+    public int getTarget() {
+        return target;
+    }
+}
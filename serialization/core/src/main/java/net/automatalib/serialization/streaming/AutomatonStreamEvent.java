@@ -0,0 +1,44 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.streaming;
+
+/**
+ * The types of events reported by an {@link AutomatonStreamReader}.
+ *
+ * @author frohme
+ */
+public enum AutomatonStreamEvent {
+    /**
+     * The beginning of the automaton. The (possibly unknown) number of states and transitions are available.
+     */
+    BEGIN,
+    /**
+     * A state and its property.
+     */
+    STATE,
+    /**
+     * An initial state.
+     */
+    INITIAL_STATE,
+    /**
+     * A transition, consisting of a source state, a label and a target state.
+     */
+    TRANSITION,
+    /**
+     * The end of the automaton.
+     */
+    END
+}
@@ -0,0 +1,136 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.streaming;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * A pull-based (cursor-style) reader for the structural events of a serialized automaton. Each call to {@link #next()}
+ * advances the reader to the next event, whose data can then be queried via the respective getters. This allows to
+ * process automata without constructing the complete model in memory and without allocating objects for each event.
+ * <p>
+ * The events are reported in the order described in {@link AutomatonStreamVisitor}. The data of an event is only valid
+ * until the next call to {@link #next()}.
+ *
+ * @param <SP>
+ *         state property type
+ * @param <L>
+ *         transition label type
+ *
+ * @author frohme
+ */
+public interface AutomatonStreamReader<SP, L> extends Closeable {
+
+    /**
+     * Advances the reader to the next event.
+     *
+     * @return the type of the next event. Once {@link AutomatonStreamEvent#END} has been returned, subsequent calls
+     * return {@link AutomatonStreamEvent#END} as well.
+     *
+     * @throws IOException
+     *         if an I/O error occurs
+     * @throws net.automatalib.serialization.FormatException
+     *         if the underlying data is not in the expected format
+     */
+    AutomatonStreamEvent next() throws IOException;
+
+    /**
+     * Returns the number of states, if available after the {@link AutomatonStreamEvent#BEGIN} event.
+     *
+     * @return the number of states, or {@code -1} if unknown
+     */
+    int getNumStates();
+
+    /**
+     * Returns the number of transitions, if available after the {@link AutomatonStreamEvent#BEGIN} event.
+     *
+     * @return the number of transitions, or {@code -1} if unknown
+     */
+    long getNumTransitions();
+
+    /**
+     * Returns the state of the current {@link AutomatonStreamEvent#STATE} or {@link
+     * AutomatonStreamEvent#INITIAL_STATE} event.
+     *
+     * @return the state
+     */
+    int getState();
+
+    /**
+     * Returns the state property of the current {@link AutomatonStreamEvent#STATE} event.
+     *
+     * @return the state property
+     */
+    SP getStateProperty();
+
+    /**
+     * Returns the source state of the current {@link AutomatonStreamEvent#TRANSITION} event.
+     *
+     * @return the source state
+     */
+    int getSource();
+
+    /**
+     * Returns the label of the current {@link AutomatonStreamEvent#TRANSITION} event.
+     *
+     * @return the label
+     */
+    L getLabel();
+
+    /**
+     * Returns the target state of the current {@link AutomatonStreamEvent#TRANSITION} event.
+     *
+     * @return the target state
+     */
+    int getTarget();
+
+    /**
+     * Pushes all remaining events of this reader to the given visitor.
+     *
+     * @param visitor
+     *         the visitor
+     *
+     * @throws IOException
+     *         if an I/O error occurs while reading or visiting
+     */
+    default void accept(AutomatonStreamVisitor<? super SP, ? super L> visitor) throws IOException {
+        AutomatonStreamEvent event;
+
+        do {
+            event = next();
+            switch (event) {
+                case BEGIN:
+                    visitor.begin(getNumStates(), getNumTransitions());
+                    break;
+                case STATE:
+                    visitor.visitState(getState(), getStateProperty());
+                    break;
+                case INITIAL_STATE:
+                    visitor.visitInitialState(getState());
+                    break;
+                case TRANSITION:
+                    visitor.visitTransition(getSource(), getLabel(), getTarget());
+                    break;
+                case END:
+                    visitor.end();
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown event: " + event);
+            }
+        } while (event != AutomatonStreamEvent.END);
+    }
+}
@@ -0,0 +1,98 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.streaming;
+
+import java.io.IOException;
+
+/**
+ * A push-based consumer of the structural events of an automaton, e.g. for writing an automaton to a serialization
+ * format without constructing the complete model in memory.
+ * <p>
+ * States are identified by (non-negative, contiguous) integers. Events are delivered in the following order: {@link
+ * #begin(int, long)} is called first, followed by all state events ({@link #visitState(int, Object)}, {@link
+ * #visitInitialState(int)}) and all {@link #visitTransition(int, Object, int) transition} events. {@link #end()} is
+ * called last. Implementations may document further restrictions (e.g. regarding the order of transitions).
+ *
+ * @param <SP>
+ *         state property type
+ * @param <L>
+ *         transition label type
+ *
+ * @author frohme
+ * @see AutomatonStreamReader
+ */
+public interface AutomatonStreamVisitor<SP, L> {
+
+    /**
+     * Signals the beginning of an automaton.
+     *
+     * @param numStates
+     *         the number of states, or {@code -1} if unknown
+     * @param numTransitions
+     *         the number of transitions, or {@code -1} if unknown
+     *
+     * @throws IOException
+     *         if an I/O error occurs
+     */
+    default void begin(int numStates, long numTransitions) throws IOException {}
+
+    /**
+     * Visits a state and its property. Formats without state properties may not report state events.
+     *
+     * @param state
+     *         the state
+     * @param property
+     *         the state property
+     *
+     * @throws IOException
+     *         if an I/O error occurs
+     */
+    default void visitState(int state, SP property) throws IOException {}
+
+    /**
+     * Visits an initial state.
+     *
+     * @param state
+     *         the initial state
+     *
+     * @throws IOException
+     *         if an I/O error occurs
+     */
+    void visitInitialState(int state) throws IOException;
+
+    /**
+     * Visits a transition.
+     *
+     * @param source
+     *         the source state
+     * @param label
+     *         the transition label
+     * @param target
+     *         the target state
+     *
+     * @throws IOException
+     *         if an I/O error occurs
+     */
+    void visitTransition(int source, L label, int target) throws IOException;
+
+    /**
+     * Signals the end of an automaton.
+     *
+     * @throws IOException
+     *         if an I/O error occurs
+     */
+    default void end() throws IOException {}
+}
@@ -0,0 +1,247 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.streaming;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+import net.automatalib.automata.UniversalAutomaton;
+import net.automatalib.automata.concepts.StateIDs;
+
+/**
+ * Utility methods for streaming automata between {@link AutomatonStreamReader}s and {@link AutomatonStreamVisitor}s.
+ *
+ * @author frohme
+ */
+public final class AutomatonStreams {
+
+    private AutomatonStreams() {
+        throw new IllegalStateException("Constructor should never be invoked");
+    }
+
+    /**
+     * Transfers all (remaining) events of the given reader to the given visitor, e.g. for converting between two
+     * serialization formats.
+     *
+     * @param reader
+     *         the reader
+     * @param visitor
+     *         the visitor
+     * @param <SP>
+     *         state property type
+     * @param <L>
+     *         transition label type
+     *
+     * @throws IOException
+     *         if an I/O error occurs
+     */
+    public static <SP, L> void transfer(AutomatonStreamReader<? extends SP, ? extends L> reader,
+                                        AutomatonStreamVisitor<SP, L> visitor) throws IOException {
+        reader.accept(visitor);
+    }
+
+    /**
+     * Pushes the structure of the given automaton to the given visitor. States are numbered in the iteration order of
+     * {@link UniversalAutomaton#getStates()}.
+     *
+     * @param automaton
+     *         the automaton
+     * @param inputs
+     *         the inputs whose transitions should be visited
+     * @param visitor
+     *         the visitor
+     * @param <S>
+     *         state type
+     * @param <I>
+     *         input symbol type
+     * @param <T>
+     *         transition type
+     * @param <SP>
+     *         state property type
+     *
+     * @throws IOException
+     *         if an I/O error occurs
+     */
+    public static <S, I, T, SP> void emit(UniversalAutomaton<S, I, T, SP, ?> automaton,
+                                          Collection<? extends I> inputs,
+                                          AutomatonStreamVisitor<? super SP, ? super I> visitor) throws IOException {
+        final List<S> states = new ArrayList<>(automaton.getStates());
+        final StateIDs<S> stateIDs = automaton.stateIDs();
+
+        int maxId = -1;
+        for (S s : states) {
+            maxId = Math.max(maxId, stateIDs.getStateId(s));
+        }
+
+        final int[] positions = new int[maxId + 1];
+        for (int i = 0; i < states.size(); i++) {
+            positions[stateIDs.getStateId(states.get(i))] = i;
+        }
+
+        visitor.begin(states.size(), -1);
+
+        for (int i = 0; i < states.size(); i++) {
+            visitor.visitState(i, automaton.getStateProperty(states.get(i)));
+        }
+
+        for (S init : automaton.getInitialStates()) {
+            visitor.visitInitialState(positions[stateIDs.getStateId(init)]);
+        }
+
+        for (int i = 0; i < states.size(); i++) {
+            final S s = states.get(i);
+            for (I input : inputs) {
+                for (T t : automaton.getTransitions(s, input)) {
+                    visitor.visitTransition(i, input, positions[stateIDs.getStateId(automaton.getSuccessor(t))]);
+                }
+            }
+        }
+
+        visitor.end();
+    }
+
+    /**
+     * Returns a visitor that only forwards the transitions matching the given filter to the given visitor.
+     *
+     * @param visitor
+     *         the delegate visitor
+     * @param filter
+     *         the transition filter
+     * @param <SP>
+     *         state property type
+     * @param <L>
+     *         transition label type
+     *
+     * @return the filtering visitor
+     */
+    public static <SP, L> AutomatonStreamVisitor<SP, L> filterTransitions(AutomatonStreamVisitor<SP, L> visitor,
+                                                                          TransitionFilter<? super L> filter) {
+        return new ForwardingVisitor<SP, L, SP, L>(visitor, Function.identity(), Function.identity()) {
+
+            @Override
+            public void begin(int numStates, long numTransitions) throws IOException {
+                // the number of transitions is no longer known
+                delegate.begin(numStates, -1);
+            }
+
+            @Override
+            public void visitTransition(int source, L label, int target) throws IOException {
+                if (filter.test(source, label, target)) {
+                    delegate.visitTransition(source, label, target);
+                }
+            }
+        };
+    }
+
+    /**
+     * Returns a visitor that transforms transition labels before forwarding them to the given visitor.
+     *
+     * @param visitor
+     *         the delegate visitor
+     * @param labelMapping
+     *         the label transformation
+     * @param <SP>
+     *         state property type
+     * @param <L1>
+     *         transition label type of the returned visitor
+     * @param <L2>
+     *         transition label type of the delegate visitor
+     *
+     * @return the transforming visitor
+     */
+    public static <SP, L1, L2> AutomatonStreamVisitor<SP, L1> mapLabels(
+            AutomatonStreamVisitor<SP, L2> visitor,
+            Function<? super L1, ? extends L2> labelMapping) {
+        return new ForwardingVisitor<>(visitor, Function.identity(), labelMapping);
+    }
+
+    /**
+     * Returns a visitor that transforms state properties before forwarding them to the given visitor.
+     *
+     * @param visitor
+     *         the delegate visitor
+     * @param propertyMapping
+     *         the state property transformation
+     * @param <SP1>
+     *         state property type of the returned visitor
+     * @param <SP2>
+     *         state property type of the delegate visitor
+     * @param <L>
+     *         transition label type
+     *
+     * @return the transforming visitor
+     */
+    public static <SP1, SP2, L> AutomatonStreamVisitor<SP1, L> mapStateProperties(
+            AutomatonStreamVisitor<SP2, L> visitor,
+            Function<? super SP1, ? extends SP2> propertyMapping) {
+        return new ForwardingVisitor<>(visitor, propertyMapping, Function.identity());
+    }
+
+    /**
+     * A predicate on transitions.
+     *
+     * @param <L>
+     *         transition label type
+     */
+    @FunctionalInterface
+    public interface TransitionFilter<L> {
+
+        boolean test(int source, L label, int target);
+    }
+
+    private static class ForwardingVisitor<SP1, L1, SP2, L2> implements AutomatonStreamVisitor<SP1, L1> {
+
+        protected final AutomatonStreamVisitor<SP2, L2> delegate;
+        private final Function<? super SP1, ? extends SP2> propertyMapping;
+        private final Function<? super L1, ? extends L2> labelMapping;
+
+        ForwardingVisitor(AutomatonStreamVisitor<SP2, L2> delegate,
+                          Function<? super SP1, ? extends SP2> propertyMapping,
+                          Function<? super L1, ? extends L2> labelMapping) {
+            this.delegate = delegate;
+            this.propertyMapping = propertyMapping;
+            this.labelMapping = labelMapping;
+        }
+
+        @Override
+        public void begin(int numStates, long numTransitions) throws IOException {
+            delegate.begin(numStates, numTransitions);
+        }
+
+        @Override
+        public void visitState(int state, SP1 property) throws IOException {
+            delegate.visitState(state, propertyMapping.apply(property));
+        }
+
+        @Override
+        public void visitInitialState(int state) throws IOException {
+            delegate.visitInitialState(state);
+        }
+
+        @Override
+        public void visitTransition(int source, L1 label, int target) throws IOException {
+            delegate.visitTransition(source, labelMapping.apply(label), target);
+        }
+
+        @Override
+        public void end() throws IOException {
+            delegate.end();
+        }
+    }
+}
@@ -520,6 +520,70 @@ public final class DOTParsers {
                                                fakeInitialNodeId);
     }
 
+    /**
+     * Streaming parser for (large) {@link DFA}s serialized by AutomataLib. Uses the same attribute conventions as
+     * {@link #dfa()}.
+     *
+     * @return a streaming DOT {@link InputModelDeserializer} for {@link CompactDFA}s.
+     *
+     * @see DOTStreamAutomatonParser
+     */
+    public static InputModelDeserializer<String, CompactDFA<String>> streamingDFA() {
+        return new DOTStreamAutomatonParser<>(new CompactDFA.Creator<>(),
+                                              DEFAULT_FSA_NODE_PARSER,
+                                              edge -> Pair.of(DEFAULT_EDGE_PARSER.apply(edge), null),
+                                              Collections.singleton(GraphDOT.initialLabel(0)),
+                                              true);
+    }
+
+    /**
+     * Streaming parser for (large) {@link NFA}s serialized by AutomataLib. Uses the same attribute conventions as
+     * {@link #nfa()}.
+     *
+     * @return a streaming DOT {@link InputModelDeserializer} for {@link CompactNFA}s.
+     *
+     * @see DOTStreamAutomatonParser
+     */
+    public static InputModelDeserializer<String, CompactNFA<String>> streamingNFA() {
+        return new DOTStreamAutomatonParser<>(new CompactNFA.Creator<>(),
+                                              DEFAULT_FSA_NODE_PARSER,
+                                              edge -> Pair.of(DEFAULT_EDGE_PARSER.apply(edge), null),
+                                              Collections.singleton(GraphDOT.initialLabel(0)),
+                                              true);
+    }
+
+    /**
+     * Streaming parser for (large) {@link MealyMachine}s serialized by AutomataLib. Uses the same attribute conventions
+     * as {@link #mealy()}.
+     *
+     * @return a streaming DOT {@link InputModelDeserializer} for {@link CompactMealy}s.
+     *
+     * @see DOTStreamAutomatonParser
+     */
+    public static InputModelDeserializer<String, CompactMealy<String, String>> streamingMealy() {
+        return new DOTStreamAutomatonParser<>(new CompactMealy.Creator<>(),
+                                              node -> null,
+                                              DEFAULT_MEALY_EDGE_PARSER,
+                                              Collections.singleton(GraphDOT.initialLabel(0)),
+                                              true);
+    }
+
+    /**
+     * Streaming parser for (large) {@link MooreMachine}s serialized by AutomataLib. Uses the same attribute conventions
+     * as {@link #moore()}.
+     *
+     * @return a streaming DOT {@link InputModelDeserializer} for {@link CompactMoore}s.
+     *
+     * @see DOTStreamAutomatonParser
+     */
+    public static InputModelDeserializer<String, CompactMoore<String, String>> streamingMoore() {
+        return new DOTStreamAutomatonParser<>(new CompactMoore.Creator<>(),
+                                              DEFAULT_MOORE_NODE_PARSER,
+                                              edge -> Pair.of(DEFAULT_EDGE_PARSER.apply(edge), null),
+                                              Collections.singleton(GraphDOT.initialLabel(0)),
+                                              true);
+    }
+
     /**
      * Default parser for (directed) {@link Graph}s serialized by AutomataLib.
      * <p>
@@ -0,0 +1,458 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.dot;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.google.common.collect.Maps;
+import net.automatalib.automata.AutomatonCreator;
+import net.automatalib.automata.MutableAutomaton;
+import net.automatalib.commons.util.Pair;
+import net.automatalib.serialization.FormatException;
+import net.automatalib.serialization.InputModelData;
+import net.automatalib.serialization.InputModelDeserializer;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.Alphabets;
+
+/**
+ * A streaming DOT parser for {@link MutableAutomaton}s, that is tailored towards (large) generated files.
+ * <p>
+ * In contrast to the {@link DOTMutableAutomatonParser}, this parser does not construct a syntax tree of the whole
+ * file. Instead, it tokenizes the input on a byte level (interning all identifiers and attribute values) and only
+ * buffers the parsed state properties and the (integer-encoded) transitions until the input alphabet is known, so
+ * that the automaton can be constructed directly afterwards. Furthermore, parallel edges between the same nodes are
+ * preserved.
+ * <p>
+ * The parser supports the subset of the DOT language that is used for describing automata, i.e. node statements, edge
+ * statements (including edge chains), global {@code node}/{@code edge} attribute statements (which apply to all
+ * subsequently declared nodes/edges) and graph attributes (which are ignored). Subgraphs and ports are not supported.
+ * Nodes that are only referenced by edges are added with the currently active default node attributes.
+ *
+ * @param <I>
+ *         input symbol type
+ * @param <SP>
+ *         state property type
+ * @param <TP>
+ *         transition property type
+ * @param <A>
+ *         automaton type
+ *
+ * @author frohme
+ */
+public class DOTStreamAutomatonParser<I, SP, TP, A extends MutableAutomaton<?, I, ?, SP, TP>>
+        implements InputModelDeserializer<I, A> {
+
+    private static final String[] NO_ATTRIBUTES = new String[0];
+    private static final int INITIAL_CAPACITY = 1 << 10;
+
+    private final AutomatonCreator<A, I> creator;
+    private final Function<Map<String, Object>, SP> nodeParser;
+    private final Function<Map<String, Object>, Pair<I, TP>> edgeParser;
+    private final Collection<String> initialNodeIds;
+    private final boolean fakeInitialNodeIds;
+
+    /**
+     * Parser for arbitrary {@link MutableAutomaton}s with a custom automaton instance, custom node and edge attributes
+     * and custom labels for the initial nodes.
+     *
+     * @param creator
+     *         a creator that is used to instantiate the returned automaton
+     * @param nodeParser
+     *         a node parser that extracts from a property map of a node the state property
+     * @param edgeParser
+     *         an edge parser that extracts from a property map of an edge the input symbol and transition property
+     * @param initialNodeIds
+     *         the ids of the initial nodes
+     * @param fakeInitialNodeIds
+     *         a flag indicating whether or not the {@code initialNodeIds} are artificial or not. See {@link
+     *         DOTMutableAutomatonParser#DOTMutableAutomatonParser(AutomatonCreator, Function, Function, Collection,
+     *         boolean)}.
+     */
+    public DOTStreamAutomatonParser(AutomatonCreator<A, I> creator,
+                                    Function<Map<String, Object>, SP> nodeParser,
+                                    Function<Map<String, Object>, Pair<I, TP>> edgeParser,
+                                    Collection<String> initialNodeIds,
+                                    boolean fakeInitialNodeIds) {
+        this.creator = creator;
+        this.nodeParser = nodeParser;
+        this.edgeParser = edgeParser;
+        this.initialNodeIds = initialNodeIds;
+        this.fakeInitialNodeIds = fakeInitialNodeIds;
+    }
+
+    @Override
+    public InputModelData<I, A> readModel(InputStream is) throws IOException {
+        final GraphReader reader = new GraphReader(new DOTTokenizer(is));
+        reader.parseGraph();
+
+        final Alphabet<I> alphabet = Alphabets.fromList(new ArrayList<>(reader.inputs.keySet()));
+        final A automaton = creator.createAutomaton(alphabet, reader.nodeNames.size());
+
+        buildAutomaton(reader, alphabet, (MutableAutomaton<?, I, ?, SP, TP>) automaton);
+
+        return new InputModelData<>(automaton, alphabet);
+    }
+
+    private <S> void buildAutomaton(GraphReader reader,
+                                    Alphabet<I> alphabet,
+                                    MutableAutomaton<S, I, ?, SP, TP> automaton) {
+        final int numNodes = reader.nodeNames.size();
+        final List<S> states = new ArrayList<>(numNodes);
+
+        for (int i = 0; i < numNodes; i++) {
+            final String[] attributes = reader.nodeAttributes.get(i);
+            final Map<String, Object> map = Maps.newHashMapWithExpectedSize(attributes.length / 2);
+            for (int j = 0; j < attributes.length; j += 2) {
+                map.put(attributes[j], attributes[j + 1]);
+            }
+
+            final SP property = nodeParser.apply(map);
+
+            if (!fakeInitialNodeIds && initialNodeIds.contains(reader.nodeNames.get(i))) {
+                states.add(automaton.addInitialState(property));
+            } else {
+                states.add(automaton.addState(property));
+            }
+        }
+
+        for (int i = 0; i < reader.numInitials; i++) {
+            automaton.setInitial(states.get(reader.initials[i]), true);
+        }
+
+        @SuppressWarnings("unchecked")
+        final TP[] properties = (TP[]) reader.edgeProperties;
+
+        for (int i = 0; i < reader.numEdges; i++) {
+            automaton.addTransition(states.get(reader.edgeSources[i]),
+                                    alphabet.getSymbol(reader.edgeInputs[i]),
+                                    states.get(reader.edgeTargets[i]),
+                                    properties == null ? null : properties[i]);
+        }
+    }
+
+    private static String[] merge(String[] attributes, List<String> additional) {
+        if (additional.isEmpty()) {
+            return attributes;
+        }
+
+        final List<String> result = new ArrayList<>(attributes.length + additional.size());
+        result.addAll(Arrays.asList(attributes));
+
+        for (int i = 0; i < additional.size(); i += 2) {
+            final String key = additional.get(i);
+            final String value = additional.get(i + 1);
+            final int idx = indexOfKey(result, key);
+
+            if (idx < 0) {
+                result.add(key);
+                result.add(value);
+            } else {
+                result.set(idx + 1, value);
+            }
+        }
+
+        return result.toArray(NO_ATTRIBUTES);
+    }
+
+    private static int indexOfKey(List<String> attributes, String key) {
+        for (int i = 0; i < attributes.size(); i += 2) {
+            if (attributes.get(i).equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * The actual (single-use) parser, which collects the nodes and edges of a file.
+     */
+    private final class GraphReader {
+
+        private final DOTTokenizer tokenizer;
+
+        private final Map<String, Integer> nodeIds = new HashMap<>();
+        private final List<String> nodeNames = new ArrayList<>();
+        private final List<String[]> nodeAttributes = new ArrayList<>();
+
+        private final Map<I, Integer> inputs = new LinkedHashMap<>();
+
+        private int[] edgeSources = new int[INITIAL_CAPACITY];
+        private int[] edgeInputs = new int[INITIAL_CAPACITY];
+        private int[] edgeTargets = new int[INITIAL_CAPACITY];
+        private Object[] edgeProperties;
+        private int numEdges;
+
+        private int[] initials = new int[1];
+        private int numInitials;
+
+        private String[] nodeDefaults = NO_ATTRIBUTES;
+        private String[] edgeDefaults = NO_ATTRIBUTES;
+
+        private final List<String> attributeBuffer = new ArrayList<>();
+        private final List<String> chainBuffer = new ArrayList<>();
+
+        GraphReader(DOTTokenizer tokenizer) {
+            this.tokenizer = tokenizer;
+        }
+
+        void parseGraph() throws IOException {
+            int tok = tokenizer.next();
+
+            if (tok == DOTTokenizer.ID && tokenizer.isKeyword("strict")) {
+                tok = tokenizer.next();
+            }
+            if (tok != DOTTokenizer.ID || !(tokenizer.isKeyword("digraph") || tokenizer.isKeyword("graph"))) {
+                throw new FormatException(tokenizer.error("Expected 'graph' or 'digraph'"));
+            }
+
+            tok = tokenizer.next();
+            if (tok == DOTTokenizer.ID) {
+                tok = tokenizer.next();
+            }
+            expect(tok, DOTTokenizer.LBRACE);
+
+            tok = tokenizer.next();
+            while (tok != DOTTokenizer.RBRACE) {
+                tok = parseStatement(tok);
+                if (tok == DOTTokenizer.SEMICOLON) {
+                    tok = tokenizer.next();
+                }
+            }
+
+            expect(tokenizer.next(), DOTTokenizer.EOF);
+        }
+
+        private int parseStatement(int first) throws IOException {
+            if (first != DOTTokenizer.ID) {
+                throw new FormatException(tokenizer.error("Unexpected token " + describe(first)));
+            }
+
+            if (tokenizer.isKeyword("subgraph")) {
+                throw new FormatException(tokenizer.error("Subgraphs are not supported"));
+            } else if (tokenizer.isKeyword("node")) {
+                final int tok = parseAttributes(tokenizer.next());
+                nodeDefaults = merge(nodeDefaults, attributeBuffer);
+                return tok;
+            } else if (tokenizer.isKeyword("edge")) {
+                final int tok = parseAttributes(tokenizer.next());
+                edgeDefaults = merge(edgeDefaults, attributeBuffer);
+                return tok;
+            } else if (tokenizer.isKeyword("graph")) {
+                return parseAttributes(tokenizer.next());
+            }
+
+            final String id = tokenizer.value();
+            int tok = tokenizer.next();
+
+            switch (tok) {
+                case DOTTokenizer.EQUALS:
+                    // graph attribute, ignore
+                    expect(tokenizer.next(), DOTTokenizer.ID);
+                    return tokenizer.next();
+                case DOTTokenizer.COLON:
+                    throw new FormatException(tokenizer.error("Ports are not supported"));
+                case DOTTokenizer.EDGE_OP:
+                    chainBuffer.clear();
+                    chainBuffer.add(id);
+                    while (tok == DOTTokenizer.EDGE_OP) {
+                        expect(tokenizer.next(), DOTTokenizer.ID);
+                        chainBuffer.add(tokenizer.value());
+                        tok = tokenizer.next();
+                    }
+                    tok = parseAttributes(tok);
+                    addEdges();
+                    return tok;
+                default:
+                    tok = parseAttributes(tok);
+                    declareNode(id);
+                    return tok;
+            }
+        }
+
+        /**
+         * Parses a (possibly empty) sequence of attribute lists into the {@link #attributeBuffer} and returns the first
+         * token after them.
+         */
+        private int parseAttributes(int first) throws IOException {
+            attributeBuffer.clear();
+
+            int tok = first;
+            while (tok == DOTTokenizer.LBRACKET) {
+                tok = tokenizer.next();
+                while (tok != DOTTokenizer.RBRACKET) {
+                    expect(tok, DOTTokenizer.ID);
+                    final String key = tokenizer.value();
+
+                    tok = tokenizer.next();
+                    if (tok == DOTTokenizer.EQUALS) {
+                        expect(tokenizer.next(), DOTTokenizer.ID);
+                        attributeBuffer.add(key);
+                        attributeBuffer.add(tokenizer.value());
+                        tok = tokenizer.next();
+                    } else {
+                        attributeBuffer.add(key);
+                        attributeBuffer.add(Boolean.TRUE.toString());
+                    }
+
+                    if (tok == DOTTokenizer.COMMA || tok == DOTTokenizer.SEMICOLON) {
+                        tok = tokenizer.next();
+                    }
+                }
+                tok = tokenizer.next();
+            }
+
+            return tok;
+        }
+
+        private void declareNode(String id) {
+            if (isFakeInitial(id)) {
+                return;
+            }
+
+            final Integer idx = nodeIds.get(id);
+            if (idx == null) {
+                addNode(id, merge(nodeDefaults, attributeBuffer));
+            } else if (!attributeBuffer.isEmpty()) {
+                nodeAttributes.set(idx, merge(nodeAttributes.get(idx), attributeBuffer));
+            }
+        }
+
+        private int getOrAddNode(String id) {
+            final Integer idx = nodeIds.get(id);
+            if (idx != null) {
+                return idx;
+            }
+            return addNode(id, nodeDefaults);
+        }
+
+        private int addNode(String id, String[] attributes) {
+            final int idx = nodeNames.size();
+            nodeIds.put(id, idx);
+            nodeNames.add(id);
+            nodeAttributes.add(attributes);
+            return idx;
+        }
+
+        private void addEdges() {
+            Map<String, Object> attributes = null;
+            Pair<I, TP> property = null;
+
+            for (int i = 1; i < chainBuffer.size(); i++) {
+                final String source = chainBuffer.get(i - 1);
+                final String target = chainBuffer.get(i);
+
+                if (isFakeInitial(source)) {
+                    if (!isFakeInitial(target)) {
+                        addInitial(getOrAddNode(target));
+                    }
+                    continue;
+                }
+
+                final int src = getOrAddNode(source);
+                if (isFakeInitial(target)) {
+                    continue;
+                }
+                final int tgt = getOrAddNode(target);
+
+                // all edges of a chain share the same attributes
+                if (attributes == null) {
+                    attributes = Maps.newHashMapWithExpectedSize((edgeDefaults.length + attributeBuffer.size()) / 2);
+                    for (int j = 0; j < edgeDefaults.length; j += 2) {
+                        attributes.put(edgeDefaults[j], edgeDefaults[j + 1]);
+                    }
+                    for (int j = 0; j < attributeBuffer.size(); j += 2) {
+                        attributes.put(attributeBuffer.get(j), attributeBuffer.get(j + 1));
+                    }
+                    property = edgeParser.apply(attributes);
+
+                    if (property == null || property.getFirst() == null) {
+                        throw new FormatException(tokenizer.error("Cannot parse edge attributes " + attributes));
+                    }
+                }
+
+                addEdge(src, property.getFirst(), tgt, property.getSecond());
+            }
+        }
+
+        private void addEdge(int src, I input, int tgt, TP property) {
+            if (numEdges == edgeSources.length) {
+                final int newSize = 2 * numEdges;
+                edgeSources = Arrays.copyOf(edgeSources, newSize);
+                edgeInputs = Arrays.copyOf(edgeInputs, newSize);
+                edgeTargets = Arrays.copyOf(edgeTargets, newSize);
+                if (edgeProperties != null) {
+                    edgeProperties = Arrays.copyOf(edgeProperties, newSize);
+                }
+            }
+
+            final Integer inputIdx = inputs.computeIfAbsent(input, k -> inputs.size());
+
+            edgeSources[numEdges] = src;
+            edgeInputs[numEdges] = inputIdx;
+            edgeTargets[numEdges] = tgt;
+
+            // only allocate the property array if there are actual properties (e.g. Mealy outputs)
+            if (property != null) {
+                if (edgeProperties == null) {
+                    edgeProperties = new Object[edgeSources.length];
+                }
+                edgeProperties[numEdges] = property;
+            }
+
+            numEdges++;
+        }
+
+        private void addInitial(int node) {
+            if (numInitials == initials.length) {
+                initials = Arrays.copyOf(initials, 2 * numInitials);
+            }
+            initials[numInitials++] = node;
+        }
+
+        private boolean isFakeInitial(String id) {
+            return fakeInitialNodeIds && initialNodeIds.contains(id);
+        }
+
+        private void expect(int tok, int expected) {
+            if (tok != expected) {
+                throw new FormatException(tokenizer.error("Expected " + describe(expected) + " but found " +
+                                                          describe(tok)));
+            }
+        }
+
+        private String describe(int tok) {
+            switch (tok) {
+                case DOTTokenizer.EOF:
+                    return "end of file";
+                case DOTTokenizer.ID:
+                    return "identifier";
+                case DOTTokenizer.EDGE_OP:
+                    return "edge operator";
+                default:
+                    return "'" + (char) tok + '\'';
+            }
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.dot;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.function.Function;
+
+import net.automatalib.commons.util.io.BufferedChannelWriter;
+import net.automatalib.serialization.streaming.AutomatonStreamVisitor;
+import net.automatalib.visualization.VisualizationHelper.CommonAttrs;
+import net.automatalib.visualization.VisualizationHelper.NodeAttrs;
+import net.automatalib.visualization.VisualizationHelper.NodeShapes;
+
+/**
+ * A streaming writer for automata in the GraphVIZ DOT format. Nodes and edges are written as soon as they are visited,
+ * using the same conventions as {@link GraphDOT} (i.e. state {@code n} is written as node {@code sn} and initial states
+ * are marked by an incoming edge from an invisible node). No information about previously visited states or
+ * transitions is stored.
+ *
+ * @param <SP>
+ *         state property type
+ * @param <L>
+ *         transition label type
+ *
+ * @author frohme
+ */
+public class DOTStreamWriter<SP, L> implements AutomatonStreamVisitor<SP, L> {
+
+    private static final Map<String, String> ACCEPTING_PROPERTIES =
+            Collections.singletonMap(NodeAttrs.SHAPE, NodeShapes.DOUBLECIRCLE);
+
+    private final Appendable a;
+    private final Function<? super SP, Map<String, String>> nodeProperties;
+    private final Function<? super L, Map<String, String>> edgeProperties;
+
+    private int numInitialStates;
+
+    /**
+     * Constructor. Transitions are labeled with the string representation of their labels. States with a {@link
+     * Boolean} property of {@code true} are rendered as accepting states, other state properties are ignored.
+     *
+     * @param a
+     *         the appendable to write to. If it is {@link Closeable}, it is closed at the {@link #end()} of the
+     *         automaton
+     */
+    public DOTStreamWriter(Appendable a) {
+        this(a, DOTStreamWriter::defaultNodeProperties, DOTStreamWriter::defaultEdgeProperties);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param a
+     *         the appendable to write to. If it is {@link Closeable}, it is closed at the {@link #end()} of the
+     *         automaton
+     * @param nodeProperties
+     *         the function computing the DOT attributes of a state (given its property)
+     * @param edgeProperties
+     *         the function computing the DOT attributes of a transition (given its label)
+     */
+    public DOTStreamWriter(Appendable a,
+                           Function<? super SP, Map<String, String>> nodeProperties,
+                           Function<? super L, Map<String, String>> edgeProperties) {
+        this.a = a;
+        this.nodeProperties = nodeProperties;
+        this.edgeProperties = edgeProperties;
+    }
+
+    private static Map<String, String> defaultNodeProperties(Object property) {
+        if (Boolean.TRUE.equals(property)) {
+            return ACCEPTING_PROPERTIES;
+        }
+        return Collections.emptyMap();
+    }
+
+    private static Map<String, String> defaultEdgeProperties(Object label) {
+        return Collections.singletonMap(CommonAttrs.LABEL, String.valueOf(label));
+    }
+
+    @Override
+    public void begin(int numStates, long numTransitions) throws IOException {
+        a.append("digraph g {").append(System.lineSeparator());
+    }
+
+    @Override
+    public void visitState(int state, SP property) throws IOException {
+        a.append("\ts");
+        BufferedChannelWriter.appendInt(a, state);
+        GraphDOT.appendParams(nodeProperties.apply(property), a);
+        a.append(';').append(System.lineSeparator());
+    }
+
+    @Override
+    public void visitInitialState(int state) throws IOException {
+        final String initialLabel = GraphDOT.initialLabel(numInitialStates++);
+        a.append('\t')
+         .append(initialLabel)
+         .append(" [label=\"\" shape=\"none\" width=\"0\" height=\"0\"];")
+         .append(System.lineSeparator())
+         .append('\t')
+         .append(initialLabel)
+         .append(" -> s");
+        BufferedChannelWriter.appendInt(a, state);
+        a.append(';').append(System.lineSeparator());
+    }
+
+    @Override
+    public void visitTransition(int source, L label, int target) throws IOException {
+        a.append("\ts");
+        BufferedChannelWriter.appendInt(a, source);
+        a.append(" -> s");
+        BufferedChannelWriter.appendInt(a, target);
+        GraphDOT.appendParams(edgeProperties.apply(label), a);
+        a.append(';').append(System.lineSeparator());
+    }
+
+    @Override
+    public void end() throws IOException {
+        a.append('}').append(System.lineSeparator());
+        if (a instanceof Closeable) {
+            ((Closeable) a).close();
+        } else if (a instanceof Flushable) {
+            ((Flushable) a).flush();
+        }
+    }
+}
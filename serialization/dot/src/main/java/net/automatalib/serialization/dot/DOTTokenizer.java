@@ -0,0 +1,395 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.dot;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import net.automatalib.serialization.FormatException;
+
+/**
+ * A byte-level tokenizer for the DOT language. The tokenizer reads its input through a (re-used) byte buffer and
+ * returns identifiers (unquoted IDs, numerals, quoted strings and HTML strings) as interned strings, so that the
+ * attribute keys and values, which usually repeat many times in generated files, are only decoded once.
+ * <p>
+ * Comments (C- and C++-style) and lines starting with {@code #} are skipped. HTML strings are returned with a leading
+ * {@code <HTML>} tag (and without their enclosing angle brackets) in accordance with {@link GraphDOT}.
+ *
+ * @author frohme
+ */
+final class DOTTokenizer {
+
+    static final int EOF = -1;
+    static final int ID = 0;
+    static final int LBRACE = '{';
+    static final int RBRACE = '}';
+    static final int LBRACKET = '[';
+    static final int RBRACKET = ']';
+    static final int EQUALS = '=';
+    static final int SEMICOLON = ';';
+    static final int COMMA = ',';
+    static final int COLON = ':';
+    static final int EDGE_OP = '>';
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int INITIAL_TOKEN_SIZE = 1 << 8;
+    private static final int NON_ASCII = 0x80;
+    private static final String HTML_TAG = "<HTML>";
+
+    private final InputStream inputStream;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int pos;
+    private int limit;
+
+    private byte[] token = new byte[INITIAL_TOKEN_SIZE];
+    private int tokenLength;
+    private boolean lineStart = true;
+    private boolean plain;
+
+    private final StringTable strings = new StringTable();
+    private String value;
+    private int line = 1;
+
+    DOTTokenizer(InputStream inputStream) {
+        this.inputStream = inputStream;
+    }
+
+    /**
+     * Returns the type of the next token.
+     *
+     * @return the type of the next token, i.e. either {@link #ID}, {@link #EOF} or one of the (punctuation) constants
+     *
+     * @throws IOException
+     *         if reading from the underlying stream results in an I/O error
+     * @throws FormatException
+     *         if the input contains an invalid token
+     */
+    int next() throws IOException {
+        skipWhitespaceAndComments();
+        plain = false;
+
+        final int c = read();
+        switch (c) {
+            case EOF:
+                return EOF;
+            case '{':
+            case '}':
+            case '[':
+            case ']':
+            case '=':
+            case ';':
+            case ',':
+            case ':':
+                return c;
+            case '"':
+                readQuoted();
+                return ID;
+            case '<':
+                readHTML();
+                return ID;
+            default:
+                if (c == '-' && (peek() == '>' || peek() == '-')) {
+                    read();
+                    return EDGE_OP;
+                }
+                tokenLength = 0;
+                if (c == '-' || c == '.' || isDigit(c)) {
+                    append(c);
+                    readNumeral();
+                } else if (isIdentifierStart(c)) {
+                    append(c);
+                    readIdentifier();
+                    plain = true;
+                } else {
+                    throw new FormatException(error("Unexpected character '" + (char) c + '\''));
+                }
+                value = strings.intern(token, tokenLength);
+                return ID;
+        }
+    }
+
+    /**
+     * Returns the (interned) value of the last {@link #ID} token.
+     *
+     * @return the value of the last {@link #ID} token
+     */
+    String value() {
+        return value;
+    }
+
+    /**
+     * Checks whether the last token was the given (case-insensitive) keyword. Quoted strings are never keywords.
+     *
+     * @param keyword
+     *         the keyword
+     *
+     * @return {@code true} if the last token was an unquoted identifier matching the given keyword, {@code false}
+     * otherwise
+     */
+    boolean isKeyword(String keyword) {
+        return plain && keyword.equalsIgnoreCase(value);
+    }
+
+    String error(String msg) {
+        return "In line " + line + ": " + msg;
+    }
+
+    private void skipWhitespaceAndComments() throws IOException {
+        while (true) {
+            final int c = peek();
+            if (c == '\n') {
+                read();
+                lineStart = true;
+            } else if (c == ' ' || c == '\t' || c == '\r' || c == '\f') {
+                read();
+            } else if (c == '#' && lineStart) {
+                skipLine();
+            } else if (c == '/') {
+                read();
+                final int n = peek();
+                if (n == '/') {
+                    skipLine();
+                } else if (n == '*') {
+                    read();
+                    skipBlockComment();
+                } else {
+                    throw new FormatException(error("Unexpected character '/'"));
+                }
+            } else {
+                lineStart = false;
+                return;
+            }
+        }
+    }
+
+    private void skipLine() throws IOException {
+        int c = peek();
+        while (c != '\n' && c != EOF) {
+            read();
+            c = peek();
+        }
+    }
+
+    private void skipBlockComment() throws IOException {
+        int prev = 0;
+        int c = read();
+        while (!(prev == '*' && c == '/')) {
+            if (c == EOF) {
+                throw new FormatException(error("Unterminated comment"));
+            }
+            prev = c;
+            c = read();
+        }
+    }
+
+    private void readIdentifier() throws IOException {
+        int c = peek();
+        while (isIdentifierStart(c) || isDigit(c)) {
+            append(read());
+            c = peek();
+        }
+    }
+
+    private void readNumeral() throws IOException {
+        int c = peek();
+        while (isDigit(c) || c == '.') {
+            append(read());
+            c = peek();
+        }
+        if (tokenLength == 1 && (token[0] == '-' || token[0] == '.')) {
+            throw new FormatException(error("Invalid numeral"));
+        }
+    }
+
+    private void readQuoted() throws IOException {
+        tokenLength = 0;
+
+        int c = read();
+        while (c != '"') {
+            if (c == EOF) {
+                throw new FormatException(error("Unterminated string"));
+            } else if (c == '\\') {
+                final int n = read();
+                if (n == '\n') {
+                    // line continuation
+                } else if (n == '\r' && peek() == '\n') {
+                    read();
+                } else if (n == '"' || n == '\\') {
+                    append(n);
+                } else if (n == EOF) {
+                    throw new FormatException(error("Unterminated string"));
+                } else {
+                    // keep other escape sequences (such as \n or \l) as-is
+                    append(c);
+                    append(n);
+                }
+            } else {
+                append(c);
+            }
+            c = read();
+        }
+
+        value = strings.intern(token, tokenLength);
+    }
+
+    private void readHTML() throws IOException {
+        tokenLength = 0;
+        for (int i = 0; i < HTML_TAG.length(); i++) {
+            append(HTML_TAG.charAt(i));
+        }
+
+        int depth = 1;
+        int c = read();
+        while (true) {
+            if (c == EOF) {
+                throw new FormatException(error("Unterminated HTML string"));
+            } else if (c == '<') {
+                depth++;
+            } else if (c == '>' && --depth == 0) {
+                break;
+            }
+            append(c);
+            c = read();
+        }
+
+        value = strings.intern(token, tokenLength);
+    }
+
+    private void append(int c) {
+        if (tokenLength == token.length) {
+            token = Arrays.copyOf(token, 2 * token.length);
+        }
+        token[tokenLength++] = (byte) c;
+    }
+
+    private int peek() throws IOException {
+        if (pos == limit && !fill()) {
+            return EOF;
+        }
+        return buffer[pos] & 0xFF;
+    }
+
+    private int read() throws IOException {
+        if (pos == limit && !fill()) {
+            return EOF;
+        }
+        final int c = buffer[pos++] & 0xFF;
+        if (c == '\n') {
+            line++;
+        }
+        return c;
+    }
+
+    private boolean fill() throws IOException {
+        final int read = inputStream.read(buffer, 0, buffer.length);
+        if (read <= 0) {
+            return false;
+        }
+        pos = 0;
+        limit = read;
+        return true;
+    }
+
+    private static boolean isDigit(int c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isIdentifierStart(int c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_' || c >= NON_ASCII;
+    }
+
+    /**
+     * An open-addressing hash table over the UTF-8 bytes of the tokens, which returns the same {@link String} instance
+     * for equal tokens.
+     */
+    private static final class StringTable {
+
+        private static final int INITIAL_TABLE_SIZE = 1 << 8;
+        private static final int HASH_PRIME = 31;
+
+        private final List<byte[]> bytes = new ArrayList<>();
+        private final List<String> values = new ArrayList<>();
+
+        // value index + 1, 0 denotes an empty slot
+        private int[] table = new int[INITIAL_TABLE_SIZE];
+
+        String intern(byte[] buf, int length) {
+            final int hash = hash(buf, length);
+            final int mask = table.length - 1;
+
+            int slot = hash & mask;
+            while (table[slot] != 0) {
+                final int idx = table[slot] - 1;
+                if (matches(bytes.get(idx), buf, length)) {
+                    return values.get(idx);
+                }
+                slot = (slot + 1) & mask;
+            }
+
+            final String result = new String(buf, 0, length, StandardCharsets.UTF_8);
+
+            bytes.add(Arrays.copyOf(buf, length));
+            values.add(result);
+            table[slot] = values.size();
+
+            // keep the load factor below 0.5
+            if (2 * values.size() > table.length) {
+                rehash();
+            }
+
+            return result;
+        }
+
+        private void rehash() {
+            table = new int[table.length * 2];
+            final int mask = table.length - 1;
+
+            for (int i = 0; i < bytes.size(); i++) {
+                final byte[] b = bytes.get(i);
+                int slot = hash(b, b.length) & mask;
+                while (table[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = i + 1;
+            }
+        }
+
+        private static int hash(byte[] buf, int length) {
+            int h = 0;
+            for (int i = 0; i < length; i++) {
+                h = HASH_PRIME * h + buf[i];
+            }
+            // spread the higher bits, as the table size is a power of two
+            return h ^ (h >>> 16);
+        }
+
+        private static boolean matches(byte[] candidate, byte[] buf, int length) {
+            if (candidate.length != length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (candidate[i] != buf[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -17,18 +17,19 @@ package net.automatalib.serialization.dot;
 
 import java.io.Flushable;
 import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 
 import net.automatalib.automata.Automaton;
 import net.automatalib.automata.graphs.TransitionEdge;
+import net.automatalib.commons.util.io.BufferedChannelWriter;
 import net.automatalib.commons.util.mappings.MutableMapping;
 import net.automatalib.commons.util.strings.StringUtil;
 import net.automatalib.graphs.Graph;
@@ -119,6 +120,43 @@ public final class GraphDOT {
         write(automaton.transitionGraphView(inputAlphabet), a, additionalHelpers);
     }
 
+    /**
+     * Renders an {@link Automaton} in the GraphVIZ DOT format. The output is encoded directly into a reusable byte
+     * buffer (see {@link BufferedChannelWriter}), which makes this method suitable for (very) large automata.
+     *
+     * @param automaton
+     *         the automaton to render.
+     * @param inputAlphabet
+     *         the input alphabet to consider
+     * @param channel
+     *         the channel to write to. The channel is not closed by this method
+     *
+     * @throws IOException
+     *         if writing to {@code channel} fails
+     */
+    public static <S, I, T> void write(Automaton<S, I, T> automaton,
+                                       Collection<? extends I> inputAlphabet,
+                                       WritableByteChannel channel) throws IOException {
+        write(automaton.transitionGraphView(inputAlphabet), channel);
+    }
+
+    /**
+     * Renders a {@link Graph} in the GraphVIZ DOT format. The output is encoded directly into a reusable byte buffer
+     * (see {@link BufferedChannelWriter}), which makes this method suitable for (very) large graphs.
+     *
+     * @param graph
+     *         the graph to render
+     * @param channel
+     *         the channel to write to. The channel is not closed by this method
+     *
+     * @throws IOException
+     *         if writing to {@code channel} fails
+     */
+    public static <N, E> void write(Graph<N, E> graph, WritableByteChannel channel) throws IOException {
+        // writeRaw flushes the writer, closing it would close the channel
+        write(graph, new BufferedChannelWriter(channel));
+    }
+
     /**
      * Renders a {@link Graph} in the GraphVIZ DOT format.
      *
@@ -232,7 +270,8 @@ public final class GraphDOT {
         dotHelper.writePreamble(a);
         a.append(System.lineSeparator());
 
-        MutableMapping<N, String> nodeNames = graph.createStaticNodeMapping();
+        // store the (numeric) node ids only, the names are written on the fly
+        MutableMapping<N, Integer> nodeIds = graph.createStaticNodeMapping();
         Set<String> initialNodes = new HashSet<>();
 
         int i = 0;
@@ -242,22 +281,23 @@ public final class GraphDOT {
             if (!dotHelper.getNodeProperties(node, props)) {
                 continue;
             }
-            String id = "s" + i++;
+            int id = i++;
 
             // remove potential attributes that are no valid DOT attributes
             if (Boolean.parseBoolean(props.remove(NodeAttrs.INITIAL))) {
-                initialNodes.add(id);
+                initialNodes.add("s" + id);
             }
             props.remove(NodeAttrs.ACCEPTING);
 
-            a.append('\t').append(id);
+            a.append("\ts");
+            BufferedChannelWriter.appendInt(a, id);
             appendParams(props, a);
             a.append(';').append(System.lineSeparator());
-            nodeNames.put(node, id);
+            nodeIds.put(node, id);
         }
 
         for (N node : graph) {
-            String srcId = nodeNames.get(node);
+            Integer srcId = nodeIds.get(node);
             if (srcId == null) {
                 continue;
             }
@@ -267,12 +307,12 @@ public final class GraphDOT {
             }
             for (E e : outEdges) {
                 N tgt = graph.getTarget(e);
-                String tgtId = nodeNames.get(tgt);
+                Integer tgtId = nodeIds.get(tgt);
                 if (tgtId == null) {
                     continue;
                 }
 
-                if (!directed && tgtId.compareTo(srcId) < 0) {
+                if (!directed && tgtId < srcId) {
                     continue;
                 }
 
@@ -281,13 +321,14 @@ public final class GraphDOT {
                     continue;
                 }
 
-                a.append('\t').append(srcId).append(' ');
+                a.append("\ts");
+                BufferedChannelWriter.appendInt(a, srcId);
                 if (directed) {
-                    a.append("-> ");
+                    a.append(" -> s");
                 } else {
-                    a.append("-- ");
+                    a.append(" -- s");
                 }
-                a.append(tgtId);
+                BufferedChannelWriter.appendInt(a, tgtId);
                 appendParams(props, a);
                 a.append(';').append(System.lineSeparator());
             }
@@ -307,7 +348,7 @@ public final class GraphDOT {
         }
     }
 
-    private static void appendParams(Map<String, String> params, Appendable a) throws IOException {
+    static void appendParams(Map<String, String> params, Appendable a) throws IOException {
         if (params == null || params.isEmpty()) {
             return;
         }
@@ -325,7 +366,7 @@ public final class GraphDOT {
             // HTML labels have to be enclosed in <> instead of ""
             final String htmlTag = "<HTML>";
             if (key.equals(VisualizationHelper.CommonAttrs.LABEL) &&
-                value.toUpperCase(Locale.ROOT).startsWith(htmlTag)) {
+                value.regionMatches(true, 0, htmlTag, 0, htmlTag.length())) {
                 a.append('<').append(value.substring(htmlTag.length())).append('>');
             } else {
                 StringUtil.enquote(e.getValue(), a);
@@ -15,10 +15,13 @@
  */
 package net.automatalib.serialization.dot;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.function.Function;
 
@@ -87,6 +90,18 @@ public class DOTSerializationTest {
         checkDOTOutput(writer, DOTSerializationUtil.GRAPH_RESOURCE);
     }
 
+    @Test
+    public void testChannelSerialization() throws IOException {
+
+        final CompactMealy<String, String> mealy = DOTSerializationUtil.MEALY;
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+
+        GraphDOT.write(mealy, mealy.getInputAlphabet(), Channels.newChannel(baos));
+
+        ThrowingWriter writer = w -> w.write(new String(baos.toByteArray(), StandardCharsets.UTF_8));
+        checkDOTOutput(writer, DOTSerializationUtil.MEALY_RESOURCE);
+    }
+
     private void checkDOTOutput(ThrowingWriter writer, String resource) throws IOException {
 
         final StringWriter dotWriter = new StringWriter();
@@ -0,0 +1,182 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.dot;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import net.automatalib.automata.fsa.DFA;
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.automata.fsa.impl.compact.CompactNFA;
+import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.automata.transducers.impl.compact.CompactMoore;
+import net.automatalib.commons.util.Pair;
+import net.automatalib.serialization.FormatException;
+import net.automatalib.util.automata.Automata;
+import net.automatalib.util.automata.fsa.NFAs;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author frohme
+ */
+public class DOTStreamAutomatonParserTest {
+
+    @Test
+    public void testRegularDeserialization() throws IOException {
+        final CompactDFA<String> dfa = DOTSerializationUtil.DFA;
+        final DFA<?, String> parsedDFA =
+                DOTParsers.streamingDFA().readModel(DOTSerializationUtil.getResource(DOTSerializationUtil.DFA_RESOURCE))
+                        .model;
+        Assert.assertTrue(Automata.testEquivalence(dfa, parsedDFA, dfa.getInputAlphabet()));
+
+        final CompactNFA<String> nfa = DOTSerializationUtil.NFA;
+        final CompactNFA<String> parsedNFA =
+                DOTParsers.streamingNFA().readModel(DOTSerializationUtil.getResource(DOTSerializationUtil.NFA_RESOURCE))
+                        .model;
+        Assert.assertTrue(Automata.testEquivalence(NFAs.determinize(nfa), NFAs.determinize(parsedNFA),
+                                                   nfa.getInputAlphabet()));
+
+        final CompactMealy<String, String> mealy = DOTSerializationUtil.MEALY;
+        final CompactMealy<String, String> parsedMealy = DOTParsers.streamingMealy()
+                                                                   .readModel(DOTSerializationUtil.getResource(
+                                                                           DOTSerializationUtil.MEALY_RESOURCE)).model;
+        Assert.assertTrue(Automata.testEquivalence(mealy, parsedMealy, mealy.getInputAlphabet()));
+
+        final CompactMoore<String, String> moore = DOTSerializationUtil.MOORE;
+        final CompactMoore<String, String> parsedMoore = DOTParsers.streamingMoore()
+                                                                   .readModel(DOTSerializationUtil.getResource(
+                                                                           DOTSerializationUtil.MOORE_RESOURCE)).model;
+        Assert.assertTrue(Automata.testEquivalence(moore, parsedMoore, moore.getInputAlphabet()));
+    }
+
+    @Test
+    public void testNonFakeInitialNodes() throws IOException {
+        final DOTStreamAutomatonParser<String, Boolean, Void, CompactNFA<String>> parser =
+                new DOTStreamAutomatonParser<>(new CompactNFA.Creator<>(),
+                                               DOTParsers.DEFAULT_FSA_NODE_PARSER,
+                                               e -> Pair.of(DOTParsers.DEFAULT_EDGE_PARSER.apply(e), null),
+                                               Arrays.asList("s0", "s1", "s2"),
+                                               false);
+        final CompactNFA<String> parsed =
+                parser.readModel(DOTSerializationUtil.getResource(DOTSerializationUtil.NFA2_RESOURCE)).model;
+
+        Assert.assertEquals(parsed.size(), 3);
+        Assert.assertEquals(parsed.getInitialStates().size(), 3);
+        Assert.assertFalse(parsed.accepts(Word.fromSymbols("a", "a", "a")));
+        Assert.assertEquals(parsed.getSuccessors(parsed.getInitialStates(), Word.fromSymbols("a", "a", "a")).size(), 1);
+    }
+
+    @Test
+    public void testLargeDFA() throws IOException {
+        final Alphabet<String> alphabet = Alphabets.fromArray("a", "b", "c");
+        final CompactDFA<String> dfa = RandomAutomata.randomDFA(new Random(42), 2000, alphabet, false);
+
+        final StringBuilder sb = new StringBuilder();
+        GraphDOT.write(dfa, alphabet, sb);
+
+        final CompactDFA<String> parsed = DOTParsers.streamingDFA().readModel(toStream(sb.toString())).model;
+
+        // random automata contain parallel edges, which need to be preserved
+        Assert.assertEquals(parsed.size(), dfa.size());
+        Assert.assertTrue(Automata.testEquivalence(dfa, parsed, alphabet));
+    }
+
+    @Test
+    public void testLargeMealy() throws IOException {
+        final Alphabet<String> alphabet = Alphabets.fromArray("a", "b", "c");
+        final CompactMealy<String, String> mealy =
+                RandomAutomata.randomMealy(new Random(42), 500, alphabet, Arrays.asList("x", "y"), false);
+
+        final StringBuilder sb = new StringBuilder();
+        GraphDOT.write(mealy, alphabet, sb);
+
+        final CompactMealy<String, String> parsed =
+                DOTParsers.streamingMealy().readModel(toStream(sb.toString())).model;
+
+        Assert.assertEquals(parsed.size(), mealy.size());
+        Assert.assertTrue(Automata.testEquivalence(mealy, parsed, alphabet));
+    }
+
+    @Test
+    public void testSyntax() throws IOException {
+        // @formatter:off
+        final String dot = "# preprocessor output\n" +
+                           "/* block\n * comment */\n" +
+                           "strict DiGraph \"my graph\" {\n" +
+                           "  rankdir = LR\n" +
+                           "  graph [fontsize=10]\n" +
+                           "  node [shape=circle]; edge [label=a]\n" +
+                           "  s0 -> s1 -> s2 // edge chain with default label\n" +
+                           "  s2 -> s2 [label=\"\\\"b\\\"\"]; s2 -> s0 [label=<<B>c</B>>];\n" +
+                           "  \"s2\" [shape = doublecircle, color=red]\n" +
+                           "  __start0 [label=\"\" shape=\"none\"]\n" +
+                           "  __start0 -> s0\n" +
+                           "}\n";
+        // @formatter:on
+
+        final CompactDFA<String> parsed = DOTParsers.streamingDFA().readModel(toStream(dot)).model;
+
+        Assert.assertEquals(parsed.size(), 3);
+        Assert.assertEquals(parsed.getInputAlphabet(), Arrays.asList("a", "\"b\"", "<HTML><B>c</B>"));
+        Assert.assertTrue(parsed.accepts(Word.fromSymbols("a", "a")));
+        Assert.assertTrue(parsed.accepts(Word.fromSymbols("a", "a", "\"b\"")));
+        Assert.assertFalse(parsed.accepts(Word.fromSymbols("a", "a", "<HTML><B>c</B>")));
+        Assert.assertFalse(parsed.accepts(Word.fromSymbols("a")));
+    }
+
+    @Test
+    public void testFaultyInput() throws IOException {
+        try (InputStream is = DOTSerializationUtil.getResource(DOTSerializationUtil.FAULTY_AUTOMATON_RESOURCE)
+                                                  .openStream()) {
+            assertFaulty(is);
+        }
+
+        final List<String> faultyInputs = Arrays.asList("digraph g { s0 -> s1 [label=\"a\"] ",
+                                                        "digraph g { subgraph { s0 } }",
+                                                        "digraph g { s0:p -> s1 [label=a] }",
+                                                        "digraph g { s0 -> s1 }",
+                                                        "digraph g { s0 [label=\"a] }",
+                                                        "digraph g { } digraph h { }",
+                                                        "node g { }");
+
+        for (String dot : faultyInputs) {
+            assertFaulty(toStream(dot));
+        }
+    }
+
+    private static void assertFaulty(InputStream is) throws IOException {
+        try {
+            DOTParsers.streamingDFA().readModel(is);
+            Assert.fail("Expected a FormatException");
+        } catch (FormatException fe) {
+            // expected
+        }
+    }
+
+    private static InputStream toStream(String dot) {
+        return new ByteArrayInputStream(dot.getBytes(StandardCharsets.UTF_8));
+    }
+}
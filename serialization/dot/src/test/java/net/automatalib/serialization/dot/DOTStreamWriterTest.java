@@ -0,0 +1,62 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.dot;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+import net.automatalib.automata.fsa.DFA;
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.serialization.streaming.AutomatonStreams;
+import net.automatalib.util.automata.Automata;
+import net.automatalib.util.automata.builders.AutomatonBuilders;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author frohme
+ */
+public class DOTStreamWriterTest {
+
+    @Test
+    public void testDFA() throws IOException {
+        final Alphabet<String> alphabet = Alphabets.fromArray("a", "b");
+
+        // note that the parser does not support parallel edges
+        // @formatter:off
+        final CompactDFA<String> dfa = AutomatonBuilders.newDFA(alphabet)
+                                                        .withInitial("s0")
+                                                        .from("s0").on("a").to("s1").on("b").to("s2")
+                                                        .from("s1").on("a").to("s2").on("b").to("s0")
+                                                        .from("s2").on("a").to("s0").on("b").to("s1")
+                                                        .withAccepting("s2")
+                                                        .create();
+        // @formatter:on
+
+        final StringWriter writer = new StringWriter();
+        AutomatonStreams.emit(dfa, alphabet, new DOTStreamWriter<>(writer));
+
+        final byte[] bytes = writer.toString().getBytes(StandardCharsets.UTF_8);
+        final DFA<?, String> parsed = DOTParsers.dfa().readModel(new ByteArrayInputStream(bytes)).model;
+
+        Assert.assertEquals(parsed.size(), dfa.size());
+        Assert.assertTrue(Automata.testEquivalence(dfa, parsed, alphabet));
+    }
+}
@@ -15,14 +15,20 @@
  */
 package net.automatalib.serialization.etf.writer;
 
-import java.io.PrintWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
 
 import net.automatalib.automata.Automaton;
+import net.automatalib.commons.util.io.BufferedChannelWriter;
 import net.automatalib.serialization.InputModelSerializer;
 import net.automatalib.words.Alphabet;
 
 /**
  * This class provides methods to write automata in LTSmin's ETF format.
+ * <p>
+ * The ETF is written through a {@link BufferedChannelWriter}, which encodes the (mostly numeric) content directly into
+ * a byte buffer. When writing to a {@link File}, the buffer is flushed to a {@link java.nio.channels.FileChannel}.
  *
  * @see <a href="http://ltsmin.utwente.nl/assets/man/etf.html">the ETF format</a>
  *
@@ -34,42 +40,129 @@ public abstract class AbstractETFWriter<I, A extends Automaton<?, I, ?>> impleme
      * Write the state vector. The state vector contains one variable of type "id", named "id".
      * Valuations for "id" could be identical to the state names of automata.
      *
-     * @param printWriter the Writer.
+     * @param writer the Writer.
      */
-    private void writeState(PrintWriter printWriter) {
-        printWriter.println("begin state");
-        printWriter.println("id:id");
-        printWriter.println("end state");
+    private void writeState(BufferedChannelWriter writer) throws IOException {
+        writeLine(writer, "begin state");
+        writeLine(writer, "id:id");
+        writeLine(writer, "end state");
     }
 
     /**
      * Write an edge in the LTS. Edges in specializations could be different; e.g. Mealy machines have two edge
      * labels, and DFAs have one edge.
      *
-     * @param printWriter the Writer.
+     * @param writer the Writer.
      */
-    protected abstract void writeEdge(PrintWriter printWriter);
+    protected abstract void writeEdge(BufferedChannelWriter writer) throws IOException;
 
     /**
      * Write parts of the ETF that are dependent on A.
      *
+     * @param writer the Writer.
      * @param a the automaton to write.
      * @param inputs the alphabet.
      */
-    protected abstract void writeETF(PrintWriter printWriter, A a, Alphabet<I> inputs);
+    protected abstract void writeETF(BufferedChannelWriter writer, A a, Alphabet<I> inputs) throws IOException;
 
     /**
      * Write the full ETF.
      *
-     * @param printWriter the Writer.
+     * @param writer the Writer.
      * @param a the automaton to write.
      * @param inputs the alphabet.
      */
-    protected final void write(PrintWriter printWriter, A a, Alphabet<I> inputs) {
-        writeState(printWriter);
-        writeEdge(printWriter);
-        writeETF(printWriter, a, inputs);
-        printWriter.close();
+    protected final void write(BufferedChannelWriter writer, A a, Alphabet<I> inputs) throws IOException {
+        writeState(writer);
+        writeEdge(writer);
+        writeETF(writer, a, inputs);
     }
 
+    @Override
+    public void writeModel(OutputStream os, A model, Alphabet<I> alphabet) throws IOException {
+        try (BufferedChannelWriter writer = new BufferedChannelWriter(os)) {
+            write(writer, model, alphabet);
+        }
+    }
+
+    @Override
+    public void writeModel(File f, A model, Alphabet<I> alphabet) throws IOException {
+        try (BufferedChannelWriter writer = new BufferedChannelWriter(f)) {
+            write(writer, model, alphabet);
+        }
+    }
+
+    /**
+     * Writes the given string, followed by a line separator.
+     *
+     * @param writer the Writer.
+     * @param line the line to write.
+     */
+    protected static void writeLine(BufferedChannelWriter writer, String line) throws IOException {
+        writer.write(line);
+        writer.newLine();
+    }
+
+    /**
+     * Writes the string representation of the given value in quotes, followed by a line separator.
+     *
+     * @param writer the Writer.
+     * @param value the value to write.
+     */
+    protected static void writeQuoted(BufferedChannelWriter writer, Object value) throws IOException {
+        writer.write('"');
+        writer.write(String.valueOf(value));
+        writer.write('"');
+        writer.newLine();
+    }
+
+    /**
+     * Writes a single number, followed by a line separator.
+     *
+     * @param writer the Writer.
+     * @param value the value to write.
+     */
+    protected static void writeNumber(BufferedChannelWriter writer, int value) throws IOException {
+        writer.writeInt(value);
+        writer.newLine();
+    }
+
+    /**
+     * Writes a transition with a single edge label (i.e. "{@code src/tgt label}").
+     *
+     * @param writer the Writer.
+     * @param src the source state.
+     * @param tgt the target state.
+     * @param label the edge label.
+     */
+    protected static void writeTransition(BufferedChannelWriter writer, int src, int tgt, int label)
+            throws IOException {
+        writer.writeInt(src);
+        writer.write('/');
+        writer.writeInt(tgt);
+        writer.write(' ');
+        writer.writeInt(label);
+        writer.newLine();
+    }
+
+    /**
+     * Writes a transition with two edge labels (i.e. "{@code src/tgt label1 label2}").
+     *
+     * @param writer the Writer.
+     * @param src the source state.
+     * @param tgt the target state.
+     * @param label1 the first edge label.
+     * @param label2 the second edge label.
+     */
+    protected static void writeTransition(BufferedChannelWriter writer, int src, int tgt, int label1, int label2)
+            throws IOException {
+        writer.writeInt(src);
+        writer.write('/');
+        writer.writeInt(tgt);
+        writer.write(' ');
+        writer.writeInt(label1);
+        writer.write(' ');
+        writer.writeInt(label2);
+        writer.newLine();
+    }
 }
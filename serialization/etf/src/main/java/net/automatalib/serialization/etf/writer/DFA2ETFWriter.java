@@ -15,12 +15,11 @@
  */
 package net.automatalib.serialization.etf.writer;
 
-import java.io.OutputStream;
-import java.io.PrintWriter;
+import java.io.IOException;
 
 import net.automatalib.automata.concepts.StateIDs;
 import net.automatalib.automata.fsa.DFA;
-import net.automatalib.commons.util.IOUtil;
+import net.automatalib.commons.util.io.BufferedChannelWriter;
 import net.automatalib.words.Alphabet;
 
 /**
@@ -37,13 +36,13 @@ public final class DFA2ETFWriter<I> extends AbstractETFWriter<I, DFA<?, I>> {
     /**
      * Writes the type of the edge. A DFA edge contains one label, named 'letter', of type 'letter.
      *
-     * @param pw the Writer.
+     * @param writer the Writer.
      */
     @Override
-    protected void writeEdge(PrintWriter pw) {
-        pw.println("begin edge");
-        pw.println("letter:letter");
-        pw.println("end edge");
+    protected void writeEdge(BufferedChannelWriter writer) throws IOException {
+        writeLine(writer, "begin edge");
+        writeLine(writer, "letter:letter");
+        writeLine(writer, "end edge");
     }
 
     /**
@@ -56,73 +55,67 @@ public final class DFA2ETFWriter<I> extends AbstractETFWriter<I, DFA<?, I>> {
      *  - the state labels (rejecting/accepting),
      *  - the mapping from states to state labels.
      *
-     * @param pw the Writer.
+     * @param writer the Writer.
      * @param dfa the DFA to write.
      * @param inputs the alphabet.
      */
     @Override
-    protected void writeETF(PrintWriter pw, DFA<?, I> dfa, Alphabet<I> inputs) {
-        writeETFInternal(pw, dfa, inputs);
+    protected void writeETF(BufferedChannelWriter writer, DFA<?, I> dfa, Alphabet<I> inputs) throws IOException {
+        writeETFInternal(writer, dfa, inputs);
     }
 
-    private <S> void writeETFInternal(PrintWriter pw, DFA<S, I> dfa, Alphabet<I> inputs) {
+    private <S> void writeETFInternal(BufferedChannelWriter writer, DFA<S, I> dfa, Alphabet<I> inputs)
+            throws IOException {
         final StateIDs<S> stateIDs = dfa.stateIDs();
 
         // write the initial state
-        pw.println("begin init");
-        pw.printf("%d%n", stateIDs.getStateId(dfa.getInitialState()));
-        pw.println("end init");
+        writeLine(writer, "begin init");
+        writeNumber(writer, stateIDs.getStateId(dfa.getInitialState()));
+        writeLine(writer, "end init");
 
         // write the valuations of the state ids
-        pw.println("begin sort id");
-        dfa.getStates().forEach(s -> pw.printf("\"%s\"%n", s));
-        pw.println("end sort");
+        writeLine(writer, "begin sort id");
+        for (S s : dfa.getStates()) {
+            writeQuoted(writer, s);
+        }
+        writeLine(writer, "end sort");
 
         // write the letters from the alphabet
-        pw.println("begin sort letter");
+        writeLine(writer, "begin sort letter");
         for (I i : inputs) {
-            pw.print("\"");
-            pw.print(i);
-            pw.println("\"");
+            writeQuoted(writer, i);
         }
-        pw.println("end sort");
+        writeLine(writer, "end sort");
 
         // write the transitions
-        pw.println("begin trans");
+        writeLine(writer, "begin trans");
         for (S s : dfa.getStates()) {
-            for (I i : inputs) {
-                S t = dfa.getSuccessor(s, i);
+            final int sId = stateIDs.getStateId(s);
+            for (int idx = 0; idx < inputs.size(); idx++) {
+                final S t = dfa.getSuccessor(s, inputs.getSymbol(idx));
                 if (t != null) {
-                    pw.printf(
-                            "%d/%d %d%n",
-                            stateIDs.getStateId(s),
-                            stateIDs.getStateId(t),
-                            inputs.getSymbolIndex(i));
+                    writeTransition(writer, sId, stateIDs.getStateId(t), idx);
                 }
             }
         }
-        pw.println("end trans");
+        writeLine(writer, "end trans");
 
         // write the two state label valuations
-        pw.println("begin sort label");
-        pw.println("\"reject\"");
-        pw.println("\"accept\"");
-        pw.println("end sort");
+        writeLine(writer, "begin sort label");
+        writeQuoted(writer, "reject");
+        writeQuoted(writer, "accept");
+        writeLine(writer, "end sort");
 
         // write the state labels for each state, e.g. whether it is accepting/rejecting.
-        pw.println("begin map label:label");
+        writeLine(writer, "begin map label:label");
         for (S s : dfa.getStates()) {
             final int stateId = stateIDs.getStateId(s);
-            pw.printf("%d %d%n", stateId, dfa.isAccepting(s) ? 1 : 0);
-        }
-        pw.println("end map");
-    }
-
-    @Override
-    public void writeModel(OutputStream os, DFA<?, I> model, Alphabet<I> alphabet) {
-        try (PrintWriter pw = new PrintWriter(IOUtil.asBufferedUTF8Writer(os))) {
-            write(pw, model, alphabet);
+            writer.writeInt(stateId);
+            writer.write(' ');
+            writer.writeInt(dfa.isAccepting(s) ? 1 : 0);
+            writer.newLine();
         }
+        writeLine(writer, "end map");
     }
 
     @SuppressWarnings("unchecked")
@@ -0,0 +1,183 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.etf.writer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.automatalib.commons.util.io.BufferedChannelWriter;
+import net.automatalib.serialization.streaming.AutomatonStreamVisitor;
+
+/**
+ * A streaming writer for automata in LTSmin's ETF format. The writer encodes an automaton with a single edge label
+ * ("{@code letter}") and, if states are visited, a single state label ("{@code label}"), whose values are the string
+ * representations of the transition labels and state properties, respectively.
+ * <p>
+ * Sections are written as soon as the corresponding events are visited. Only the (distinct) transition labels and
+ * state properties are kept in memory, because their valuations ({@code sort}s) can only be written once the complete
+ * automaton has been visited. The underlying stream is closed at the {@link #end()} of the automaton.
+ *
+ * @param <SP>
+ *         state property type
+ * @param <L>
+ *         transition label type
+ *
+ * @see <a href="http://ltsmin.utwente.nl/assets/man/etf.html">the ETF format</a>
+ *
+ * @author frohme
+ */
+public class ETFStreamWriter<SP, L> implements AutomatonStreamVisitor<SP, L> {
+
+    private final BufferedChannelWriter writer;
+
+    private final Map<String, Integer> labelIndices = new HashMap<>();
+    private final List<String> labels = new ArrayList<>();
+    private final Map<String, Integer> propertyIndices = new HashMap<>();
+    private final List<String> properties = new ArrayList<>();
+
+    private boolean inMap;
+    private boolean inTrans;
+    private boolean hasInitial;
+    private int maxState = -1;
+
+    public ETFStreamWriter(OutputStream os) {
+        this.writer = new BufferedChannelWriter(os);
+    }
+
+    public ETFStreamWriter(File file) throws IOException {
+        this.writer = new BufferedChannelWriter(file);
+    }
+
+    @Override
+    public void begin(int numStates, long numTransitions) throws IOException {
+        AbstractETFWriter.writeLine(writer, "begin state");
+        AbstractETFWriter.writeLine(writer, "id:id");
+        AbstractETFWriter.writeLine(writer, "end state");
+        AbstractETFWriter.writeLine(writer, "begin edge");
+        AbstractETFWriter.writeLine(writer, "letter:letter");
+        AbstractETFWriter.writeLine(writer, "end edge");
+    }
+
+    @Override
+    public void visitState(int state, SP property) throws IOException {
+        if (inTrans) {
+            throw new IllegalStateException("States have to be visited before transitions");
+        }
+
+        if (!inMap) {
+            AbstractETFWriter.writeLine(writer, "begin map label:label");
+            inMap = true;
+        }
+
+        writer.writeInt(state);
+        writer.write(' ');
+        writer.writeInt(intern(String.valueOf(property), propertyIndices, properties));
+        writer.newLine();
+
+        maxState = Math.max(maxState, state);
+    }
+
+    @Override
+    public void visitInitialState(int state) throws IOException {
+        if (hasInitial) {
+            throw new IllegalArgumentException("ETF only supports a single initial state");
+        }
+
+        closeMap();
+        AbstractETFWriter.writeLine(writer, "begin init");
+        AbstractETFWriter.writeNumber(writer, state);
+        AbstractETFWriter.writeLine(writer, "end init");
+
+        hasInitial = true;
+        maxState = Math.max(maxState, state);
+    }
+
+    @Override
+    public void visitTransition(int source, L label, int target) throws IOException {
+        if (!inTrans) {
+            closeMap();
+            AbstractETFWriter.writeLine(writer, "begin trans");
+            inTrans = true;
+        }
+
+        AbstractETFWriter.writeTransition(writer,
+                                          source,
+                                          target,
+                                          intern(String.valueOf(label), labelIndices, labels));
+
+        maxState = Math.max(maxState, Math.max(source, target));
+    }
+
+    @Override
+    public void end() throws IOException {
+        try {
+            if (!hasInitial) {
+                throw new IllegalStateException("Automaton needs to specify an initial state");
+            }
+
+            closeMap();
+            if (inTrans) {
+                AbstractETFWriter.writeLine(writer, "end trans");
+            }
+
+            AbstractETFWriter.writeLine(writer, "begin sort id");
+            for (int i = 0; i <= maxState; i++) {
+                AbstractETFWriter.writeQuoted(writer, i);
+            }
+            AbstractETFWriter.writeLine(writer, "end sort");
+
+            writeSort("letter", labels);
+
+            if (!properties.isEmpty()) {
+                writeSort("label", properties);
+            }
+        } finally {
+            writer.close();
+        }
+    }
+
+    private void closeMap() throws IOException {
+        if (inMap) {
+            AbstractETFWriter.writeLine(writer, "end map");
+            inMap = false;
+        }
+    }
+
+    private void writeSort(String name, List<String> values) throws IOException {
+        AbstractETFWriter.writeLine(writer, "begin sort " + name);
+        for (String v : values) {
+            AbstractETFWriter.writeQuoted(writer, v);
+        }
+        AbstractETFWriter.writeLine(writer, "end sort");
+    }
+
+    private static int intern(String value, Map<String, Integer> indices, List<String> values) {
+        final Integer idx = indices.get(value);
+        if (idx != null) {
+            return idx;
+        }
+
+        final int newIdx = values.size();
+        indices.put(value, newIdx);
+        values.add(value);
+        return newIdx;
+    }
+}
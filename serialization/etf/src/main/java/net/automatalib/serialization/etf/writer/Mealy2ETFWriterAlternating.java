@@ -15,15 +15,17 @@
  */
 package net.automatalib.serialization.etf.writer;
 
-import java.io.OutputStream;
-import java.io.PrintWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
-import com.google.common.collect.BiMap;
-import com.google.common.collect.HashBiMap;
+import net.automatalib.automata.concepts.StateIDs;
 import net.automatalib.automata.transducers.MealyMachine;
-import net.automatalib.commons.util.IOUtil;
-import net.automatalib.commons.util.Pair;
+import net.automatalib.commons.util.io.BufferedChannelWriter;
+import net.automatalib.commons.util.collections.LongIntHashMap;
 import net.automatalib.words.Alphabet;
 
 /**
@@ -46,13 +48,13 @@ public final class Mealy2ETFWriterAlternating<I, O> extends AbstractETFWriter<I,
      * With alternating edge semantics, there are only edges with one label. Both input and output of the Mealy
      * machine is generalized to a label named 'letter', of type 'letter'.
      *
-     * @param pw the Writer.
+     * @param writer the Writer.
      */
     @Override
-    protected void writeEdge(PrintWriter pw) {
-        pw.println("begin edge");
-        pw.println("letter:letter");
-        pw.println("end edge");
+    protected void writeEdge(BufferedChannelWriter writer) throws IOException {
+        writeLine(writer, "begin edge");
+        writeLine(writer, "letter:letter");
+        writeLine(writer, "end edge");
     }
 
     /**
@@ -67,105 +69,112 @@ public final class Mealy2ETFWriterAlternating<I, O> extends AbstractETFWriter<I,
      * Note that in this context, the alphabet that is written to ETF is not just the inputs, it is the union of
      * inputs and outputs, of type 'letter'.
      *
-     * @param pw the Writer.
+     * @param writer the Writer.
      * @param mealy the MealyMachine to write to ETF.
      * @param inputs the alphabet, the input alphabet.
      */
     @Override
-    protected void writeETF(PrintWriter pw, MealyMachine<?, I, ?, O> mealy, Alphabet<I> inputs) {
-        writeETFInternal(pw, mealy, inputs);
+    protected void writeETF(BufferedChannelWriter writer, MealyMachine<?, I, ?, O> mealy, Alphabet<I> inputs)
+            throws IOException {
+        writeETFInternal(writer, mealy, inputs);
     }
 
-    private <S, T> void writeETFInternal(PrintWriter pw, MealyMachine<S, I, T, O> mealy, Alphabet<I> inputs) {
+    private <S, T> void writeETFInternal(BufferedChannelWriter writer,
+                                         MealyMachine<S, I, T, O> mealy,
+                                         Alphabet<I> inputs) throws IOException {
+        final StateIDs<S> stateIDs = mealy.stateIDs();
+        final int numStates = mealy.size();
 
-        // create a bi-mapping from states to integers
-        final BiMap<S, Integer> oldStates = HashBiMap.create();
-        mealy.getStates().forEach(s -> oldStates.put(s, oldStates.size()));
+        // write the initial state
+        writeLine(writer, "begin init");
+        writeNumber(writer, stateIDs.getStateId(mealy.getInitialState()));
+        writeLine(writer, "end init");
 
-        // write the initial state, using the bi-map
-        pw.println("begin init");
-        pw.printf("%d%n", oldStates.get(mealy.getInitialState()));
-        pw.println("end init");
+        // map outputs to (dense) integers, the list stores the inverse mapping
+        final Map<O, Integer> outputIndices = new HashMap<>();
+        final List<O> outputs = new ArrayList<>();
 
-        // create a bi-map for transitions containing output
-        final BiMap<Pair<O, S>, Integer> outputTransitions = HashBiMap.create();
-
-        // create a bi-map that maps output to integers
-        final BiMap<O, Integer> outputIndices = HashBiMap.create();
+        // map (output index, successor id) pairs to the ids of the intermediate states
+        final LongIntHashMap outputTransitions = new LongIntHashMap(numStates);
+        long[] intermediates = new long[Math.max(1, numStates)];
 
         /*
-         Write the transitions (here is where the horror begins).
-         The key to writing transitions with alternating semantics is that one have of see if appropriate
+         Write the transitions.
+         The key to writing transitions with alternating semantics is that one has to check if appropriate
          intermediate states, and output transitions have already been created. If this is the case, that state, and
          output transitions has to be reused.
          */
-        pw.println("begin trans");
+        writeLine(writer, "begin trans");
         for (S s : mealy.getStates()) {
-            for (I i : inputs) {
-                T t = mealy.getTransition(s, i);
+            final int sId = stateIDs.getStateId(s);
+            for (int idx = 0; idx < inputs.size(); idx++) {
+                T t = mealy.getTransition(s, inputs.getSymbol(idx));
                 if (t != null) {
-                    final S n = mealy.getSuccessor(t);
+                    final int nId = stateIDs.getStateId(mealy.getSuccessor(t));
                     final O o = mealy.getTransitionOutput(t);
 
-                    // construct a triple that serves as a key in the outputTransitions bi-map
-                    final Pair<O, S> outputTransition = Pair.of(o, n);
+                    // the output may also be a new letter in the alphabet.
+                    final Integer knownOutput = outputIndices.get(o);
+                    final int output;
+                    if (knownOutput == null) {
+                        output = outputs.size();
+                        outputIndices.put(o, output);
+                        outputs.add(o);
+                    } else {
+                        output = knownOutput;
+                    }
+                    final int outputIndex = inputs.size() + output;
 
                     // compute the integer value of the intermediate state (this may be a new state)
-                    final Integer intermediateState = outputTransitions.computeIfAbsent(
-                            outputTransition, ii -> {
-
-                                // the output may also be a new letter in the alphabet.
-                                final Integer outputIndex = outputIndices.computeIfAbsent(
-                                        o,
-                                        iii -> inputs.size() + outputIndices.size());
-
-                                /*
-                                Write the output transition. Note that this will only be done if the output
-                                transition was not written before.
-                                */
-                                final Integer res = oldStates.size() + outputTransitions.size();
-                                pw.printf("%d/%d %d%n", res, oldStates.get(n), outputIndex);
-                                return res;
-                            });
+                    final long outputTransition = LongIntHashMap.pack(output, nId);
+                    final int oldSize = outputTransitions.size();
+                    final int intermediateState = outputTransitions.getOrPut(outputTransition, numStates + oldSize);
+
+                    if (outputTransitions.size() > oldSize) {
+                        /*
+                        Write the output transition. Note that this will only be done if the output
+                        transition was not written before.
+                        */
+                        if (oldSize == intermediates.length) {
+                            intermediates = Arrays.copyOf(intermediates, oldSize * 2);
+                        }
+                        intermediates[oldSize] = outputTransition;
+                        writeTransition(writer, intermediateState, nId, outputIndex);
+                    }
 
                     // always write the input transition to the output transition
-                    pw.printf(
-                            "%d/%d %d%n",
-                            oldStates.get(s),
-                            intermediateState,
-                            inputs.getSymbolIndex(i));
+                    writeTransition(writer, sId, intermediateState, idx);
                 }
             }
         }
-        pw.println("end trans");
+        writeLine(writer, "end trans");
 
         // write all state ids, including the newly created intermediate states
-        pw.println("begin sort id");
-        for (int i = 0; i < oldStates.size(); i++) {
-            pw.printf("\"%s\"%n", oldStates.inverse().get(i));
+        writeLine(writer, "begin sort id");
+        for (int i = 0; i < numStates; i++) {
+            writeQuoted(writer, stateIDs.getState(i));
         }
 
-        final Map<Integer, Pair<O, S>> inverseTransitions = outputTransitions.inverse();
         for (int i = 0; i < outputTransitions.size(); i++) {
-            final Pair<O, S> t = inverseTransitions.get(oldStates.size() + i);
-            pw.printf("\"(%s,%s)\"%n", t.getFirst(), t.getSecond());
+            final long t = intermediates[i];
+            writer.write("\"(");
+            writer.write(String.valueOf(outputs.get(LongIntHashMap.high(t))));
+            writer.write(',');
+            writer.write(String.valueOf(stateIDs.getState(LongIntHashMap.low(t))));
+            writer.write(")\"");
+            writer.newLine();
         }
-        pw.println("end sort");
+        writeLine(writer, "end sort");
 
         // write all the letters in the new alphabet
-        pw.println("begin sort letter");
-        inputs.forEach(i -> pw.printf("\"%s\"%n", i));
-        for (int i = 0; i < outputIndices.size(); i++) {
-            pw.printf("\"%s\"%n", outputIndices.inverse().get(inputs.size() + i));
+        writeLine(writer, "begin sort letter");
+        for (I i : inputs) {
+            writeQuoted(writer, i);
         }
-        pw.println("end sort");
-    }
-
-    @Override
-    public void writeModel(OutputStream os, MealyMachine<?, I, ?, O> model, Alphabet<I> alphabet) {
-        try (PrintWriter pw = new PrintWriter(IOUtil.asBufferedUTF8Writer(os))) {
-            write(pw, model, alphabet);
+        for (O o : outputs) {
+            writeQuoted(writer, o);
         }
+        writeLine(writer, "end sort");
     }
 
     @SuppressWarnings("unchecked")
@@ -15,14 +15,15 @@
  */
 package net.automatalib.serialization.etf.writer;
 
-import java.io.OutputStream;
-import java.io.PrintWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
-import com.google.common.collect.BiMap;
-import com.google.common.collect.HashBiMap;
 import net.automatalib.automata.concepts.StateIDs;
 import net.automatalib.automata.transducers.MealyMachine;
-import net.automatalib.commons.util.IOUtil;
+import net.automatalib.commons.util.io.BufferedChannelWriter;
 import net.automatalib.words.Alphabet;
 
 /**
@@ -40,14 +41,14 @@ public final class Mealy2ETFWriterIO<I, O> extends AbstractETFWriter<I, MealyMac
     /**
      * Write the edge type. An edge has two edge labels: input of type input, and output of type output.
      *
-     * @param pw the Writer.
+     * @param writer the Writer.
      */
     @Override
-    protected void writeEdge(PrintWriter pw) {
-        pw.println("begin edge");
-        pw.println("input:input");
-        pw.println("output:output");
-        pw.println("end edge");
+    protected void writeEdge(BufferedChannelWriter writer) throws IOException {
+        writeLine(writer, "begin edge");
+        writeLine(writer, "input:input");
+        writeLine(writer, "output:output");
+        writeLine(writer, "end edge");
     }
 
     /**
@@ -60,68 +61,74 @@ public final class Mealy2ETFWriterIO<I, O> extends AbstractETFWriter<I, MealyMac
      *  - the input alphabet (for the input labels on edges),
      *  - the output alphabet (for the output labels on edges).
      *
-     * @param pw the Writer.
+     * @param writer the Writer.
      * @param mealy the Mealy machine to write.
      * @param inputs the alphabet.
      */
     @Override
-    protected void writeETF(PrintWriter pw, MealyMachine<?, I, ?, O> mealy, Alphabet<I> inputs) {
-        writeETFInternal(pw, mealy, inputs);
+    protected void writeETF(BufferedChannelWriter writer, MealyMachine<?, I, ?, O> mealy, Alphabet<I> inputs)
+            throws IOException {
+        writeETFInternal(writer, mealy, inputs);
     }
 
-    private <S, T> void writeETFInternal(PrintWriter pw, MealyMachine<S, I, T, O> mealy, Alphabet<I> inputs) {
+    private <S, T> void writeETFInternal(BufferedChannelWriter writer,
+                                         MealyMachine<S, I, T, O> mealy,
+                                         Alphabet<I> inputs) throws IOException {
         final StateIDs<S> stateIDs = mealy.stateIDs();
 
         // write the initial state
-        pw.println("begin init");
-        pw.printf("%d%n", stateIDs.getStateId(mealy.getInitialState()));
-        pw.println("end init");
+        writeLine(writer, "begin init");
+        writeNumber(writer, stateIDs.getStateId(mealy.getInitialState()));
+        writeLine(writer, "end init");
 
         // write the state ids
-        pw.println("begin sort id");
-        mealy.getStates().forEach(s -> pw.printf("\"%s\"%n", s));
-        pw.println("end sort");
+        writeLine(writer, "begin sort id");
+        for (S s : mealy.getStates()) {
+            writeQuoted(writer, s);
+        }
+        writeLine(writer, "end sort");
 
-        // create a new bi-map that contains indices for the output alphabet
-        final BiMap<O, Integer> outputIndices = HashBiMap.create();
+        // map outputs to (dense) integers, the list stores the inverse mapping
+        final Map<O, Integer> outputIndices = new HashMap<>();
+        final List<O> outputs = new ArrayList<>();
 
         // write the transitions
-        pw.println("begin trans");
+        writeLine(writer, "begin trans");
         for (S s : mealy.getStates()) {
-            for (I i : inputs) {
-                final T t = mealy.getTransition(s, i);
+            final int sId = stateIDs.getStateId(s);
+            for (int idx = 0; idx < inputs.size(); idx++) {
+                final T t = mealy.getTransition(s, inputs.getSymbol(idx));
                 if (t != null) {
                     final O o = mealy.getTransitionOutput(t);
-                    outputIndices.computeIfAbsent(o, ii -> outputIndices.size());
+                    final Integer knownOutput = outputIndices.get(o);
+                    final int output;
+                    if (knownOutput == null) {
+                        output = outputs.size();
+                        outputIndices.put(o, output);
+                        outputs.add(o);
+                    } else {
+                        output = knownOutput;
+                    }
                     final S n = mealy.getSuccessor(t);
-                    pw.printf("%s/%s %d %d%n",
-                              stateIDs.getStateId(s),
-                              stateIDs.getStateId(n),
-                              inputs.getSymbolIndex(i),
-                              outputIndices.get(o));
+                    writeTransition(writer, sId, stateIDs.getStateId(n), idx, output);
                 }
             }
         }
-        pw.println("end trans");
+        writeLine(writer, "end trans");
 
         // write the letters in the input alphabet
-        pw.println("begin sort input");
-        inputs.forEach(i -> pw.printf("\"%s\"%n", i));
-        pw.println("end sort");
-
-        // write the letters in the output alphabet
-        pw.println("begin sort output");
-        for (int i = 0; i < outputIndices.size(); i++) {
-            pw.printf("\"%s\"%n", outputIndices.inverse().get(i));
+        writeLine(writer, "begin sort input");
+        for (I i : inputs) {
+            writeQuoted(writer, i);
         }
-        pw.println("end sort");
-    }
+        writeLine(writer, "end sort");
 
-    @Override
-    public void writeModel(OutputStream os, MealyMachine<?, I, ?, O> model, Alphabet<I> alphabet) {
-        try (PrintWriter pw = new PrintWriter(IOUtil.asBufferedUTF8Writer(os))) {
-            write(pw, model, alphabet);
+        // write the letters in the output alphabet
+        writeLine(writer, "begin sort output");
+        for (O o : outputs) {
+            writeQuoted(writer, o);
         }
+        writeLine(writer, "end sort");
     }
 
     @SuppressWarnings("unchecked")
@@ -0,0 +1,90 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.etf.writer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import net.automatalib.automata.fsa.DFA;
+import net.automatalib.serialization.streaming.AutomatonStreams;
+import net.automatalib.util.automata.builders.AutomatonBuilders;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author frohme
+ */
+public class ETFStreamWriterTest {
+
+    @Test
+    public void testWrite() throws IOException {
+        final Alphabet<Character> alphabet = Alphabets.characters('a', 'b');
+        final DFA<?, Character> dfa = AutomatonBuilders.newDFA(alphabet)
+                                                       .withInitial("q0")
+                                                       .from("q0")
+                                                       .on('a')
+                                                       .to("q1")
+                                                       .from("q1")
+                                                       .on('a', 'b')
+                                                       .loop()
+                                                       .withAccepting("q1")
+                                                       .create();
+
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        AutomatonStreams.emit(dfa,
+                              alphabet,
+                              AutomatonStreams.mapStateProperties(new ETFStreamWriter<>(baos),
+                                                                  (Boolean acc) -> acc ? "accept" : "reject"));
+
+        final String expected = String.join(System.lineSeparator(),
+                                            "begin state",
+                                            "id:id",
+                                            "end state",
+                                            "begin edge",
+                                            "letter:letter",
+                                            "end edge",
+                                            "begin map label:label",
+                                            "0 0",
+                                            "1 1",
+                                            "end map",
+                                            "begin init",
+                                            "0",
+                                            "end init",
+                                            "begin trans",
+                                            "0/1 0",
+                                            "1/1 0",
+                                            "1/1 1",
+                                            "end trans",
+                                            "begin sort id",
+                                            "\"0\"",
+                                            "\"1\"",
+                                            "end sort",
+                                            "begin sort letter",
+                                            "\"a\"",
+                                            "\"b\"",
+                                            "end sort",
+                                            "begin sort label",
+                                            "\"reject\"",
+                                            "\"accept\"",
+                                            "end sort",
+                                            "");
+
+        Assert.assertEquals(baos.toString(StandardCharsets.UTF_8.toString()), expected);
+    }
+}
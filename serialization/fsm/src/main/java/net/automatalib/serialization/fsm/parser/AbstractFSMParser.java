@@ -103,6 +103,9 @@ public abstract class AbstractFSMParser<I> {
 
     /**
      * Gets the StreamTokenizer, that tokenizes tokens in the FSM file.
+     * <p>
+     * The returned tokenizer reads the source in blocks and interns the string values of tokens (see {@link
+     * FSMStreamTokenizer}).
      *
      * @param reader
      *         the source of the FSM file
@@ -110,20 +113,7 @@ public abstract class AbstractFSMParser<I> {
      * @return the StreamTokenizer.
      */
     protected StreamTokenizer getStreamTokenizer(Reader reader) {
-        final StreamTokenizer streamTokenizer = new StreamTokenizer(reader);
-        streamTokenizer.resetSyntax();
-        streamTokenizer.wordChars('a', 'z');
-        streamTokenizer.wordChars('A', 'Z');
-        streamTokenizer.wordChars('-', '-');
-        streamTokenizer.wordChars('_', '_');
-        streamTokenizer.wordChars('0', '9');
-        streamTokenizer.wordChars('á', ' ');
-        streamTokenizer.whitespaceChars(0, ' ');
-        streamTokenizer.quoteChar('"');
-        streamTokenizer.eolIsSignificant(true);
-        streamTokenizer.ordinaryChar('(');
-        streamTokenizer.ordinaryChar(')');
-        return streamTokenizer;
+        return new FSMStreamTokenizer(reader);
     }
 
     /**
@@ -257,8 +247,11 @@ public abstract class AbstractFSMParser<I> {
                 }
                 default: throw new AssertionError();
             }
-            // consume all tokens until EOL is reached
-            while (streamTokenizer.nextToken() != StreamTokenizer.TT_EOL) {}
+            // consume all tokens until EOL (or EOF, if the last line is not terminated) is reached
+            int token;
+            do {
+                token = streamTokenizer.nextToken();
+            } while (token != StreamTokenizer.TT_EOL && token != StreamTokenizer.TT_EOF);
             partLineNumber++;
         }
         checkTransitions(streamTokenizer);
@@ -0,0 +1,184 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.fsm.parser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StreamTokenizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import net.automatalib.commons.util.IOUtil;
+import net.automatalib.serialization.streaming.AbstractAutomatonStreamReader;
+import net.automatalib.serialization.streaming.AutomatonStreamEvent;
+
+/**
+ * A streaming reader for automata specified in the FSM format. In contrast to the (materializing) parsers of this
+ * package, the reader does not interpret the data definitions, but reports the raw values of each state vector as
+ * state property and the quoted strings of each transition as transition label. Only the currently parsed line is kept
+ * in memory.
+ * <p>
+ * States are reported with 0-based indices (i.e. the state of the {@code n}-th state vector has index {@code n - 1}).
+ * The first state is reported as the initial state. Note that FSM files may omit state vectors, in which case only the
+ * states referenced by transitions exist.
+ *
+ * @see <a href="http://www.win.tue.nl/vis1/home/apretori/data/fsm.html">the FSM format</a>
+ *
+ * @author frohme
+ */
+public class FSMStreamReader extends AbstractAutomatonStreamReader<List<String>, List<String>> {
+
+    private static final String SEPARATOR = "---";
+
+    private final Reader reader;
+    private final StreamTokenizer tokenizer;
+    private AbstractFSMParser.Part part;
+    private AutomatonStreamEvent current;
+    private int stateCount;
+
+    public FSMStreamReader(InputStream is) {
+        this.reader = IOUtil.asUTF8Reader(is);
+        this.tokenizer = new FSMStreamTokenizer(reader);
+    }
+
+    @Override
+    public AutomatonStreamEvent next() throws IOException {
+        if (current == null) {
+            skipDataDefinitions();
+            part = AbstractFSMParser.Part.StateVectors;
+            current = AutomatonStreamEvent.BEGIN;
+        } else if (current == AutomatonStreamEvent.INITIAL_STATE) {
+            // all state vectors have been read
+            part = AbstractFSMParser.Part.Transitions;
+            current = nextTransition();
+        } else if (current != AutomatonStreamEvent.END) {
+            current = part == AbstractFSMParser.Part.StateVectors ? nextStateVector() : nextTransition();
+        }
+
+        return current;
+    }
+
+    private void skipDataDefinitions() throws IOException {
+        int token = tokenizer.nextToken();
+        while (token != StreamTokenizer.TT_EOF) {
+            if (token == StreamTokenizer.TT_WORD && SEPARATOR.equals(tokenizer.sval)) {
+                skipLine();
+                return;
+            }
+            tokenizer.pushBack();
+            skipLine();
+            token = tokenizer.nextToken();
+        }
+        throw new FSMFormatException(String.format(AbstractFSMParser.EXPECT_CHAR, '-'), tokenizer);
+    }
+
+    private AutomatonStreamEvent nextStateVector() throws IOException {
+        int token = nextNonEmptyLine();
+
+        if (token == StreamTokenizer.TT_WORD && SEPARATOR.equals(tokenizer.sval)) {
+            skipLine();
+            token = StreamTokenizer.TT_EOF;
+        }
+
+        if (token == StreamTokenizer.TT_EOF) {
+            state = 0;
+            stateProperty = null;
+            return AutomatonStreamEvent.INITIAL_STATE;
+        }
+
+        final List<String> values = new ArrayList<>();
+        while (token == StreamTokenizer.TT_WORD) {
+            values.add(tokenizer.sval);
+            token = tokenizer.nextToken();
+        }
+        tokenizer.pushBack();
+        skipLine();
+
+        state = stateCount++;
+        stateProperty = values;
+        return AutomatonStreamEvent.STATE;
+    }
+
+    private AutomatonStreamEvent nextTransition() throws IOException {
+        int token = nextNonEmptyLine();
+
+        if (token == StreamTokenizer.TT_EOF) {
+            return AutomatonStreamEvent.END;
+        }
+
+        tokenizer.pushBack();
+        source = readStateIndex();
+        target = readStateIndex();
+
+        final List<String> labels = new ArrayList<>();
+        token = tokenizer.nextToken();
+        while (token == '"') {
+            labels.add(tokenizer.sval);
+            token = tokenizer.nextToken();
+        }
+        tokenizer.pushBack();
+        skipLine();
+
+        if (labels.isEmpty()) {
+            throw new FSMFormatException(AbstractFSMParser.EXPECT_STRING, tokenizer);
+        }
+
+        label = labels.size() == 1 ? Collections.singletonList(labels.get(0)) : labels;
+        return AutomatonStreamEvent.TRANSITION;
+    }
+
+    private int readStateIndex() throws IOException {
+        if (tokenizer.nextToken() != StreamTokenizer.TT_WORD) {
+            throw new FSMFormatException(AbstractFSMParser.EXPECT_NUMBER, tokenizer);
+        }
+
+        final int idx;
+        try {
+            idx = Integer.parseInt(tokenizer.sval);
+        } catch (NumberFormatException nfe) {
+            throw new FSMFormatException(nfe, tokenizer);
+        }
+
+        // state vectors are optional in FSM files
+        if (idx < 1 || (stateCount > 0 && idx > stateCount)) {
+            throw new FSMFormatException(String.format(AbstractFSMParser.NO_SUCH_STATE, idx), tokenizer);
+        }
+
+        return idx - 1;
+    }
+
+    private int nextNonEmptyLine() throws IOException {
+        int token = tokenizer.nextToken();
+        while (token == StreamTokenizer.TT_EOL) {
+            token = tokenizer.nextToken();
+        }
+        return token;
+    }
+
+    private void skipLine() throws IOException {
+        int token;
+        do {
+            token = tokenizer.nextToken();
+        } while (token != StreamTokenizer.TT_EOL && token != StreamTokenizer.TT_EOF);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,338 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.fsm.parser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StreamTokenizer;
+import java.util.Arrays;
+
+/**
+ * A {@link StreamTokenizer} that is tailored to the syntax of FSM files.
+ * <p>
+ * The original {@link StreamTokenizer} reads its source character by character (each time passing through the
+ * synchronized {@link Reader#read()} method) and creates a new {@link String} for every word or quoted string. This
+ * implementation reads the source in blocks and interns the {@link #sval string values} of tokens, so that e.g. the
+ * state numbers and labels that repeatedly occur in the transition section of an FSM file are only materialized once.
+ * <p>
+ * The recognized syntax is equivalent to a {@link StreamTokenizer} configured as follows: after {@link
+ * #resetSyntax()}, the characters {@code [a-zA-Z0-9_-]} as well as every character {@code >= 256} are word
+ * characters, characters {@code <= ' '} are whitespace, {@code '"'} is the (only) quote character, line ends are
+ * significant, and all remaining characters are ordinary characters. Changing the syntax via the configuration methods
+ * of {@link StreamTokenizer} has no effect.
+ *
+ * @author frohme
+ */
+final class FSMStreamTokenizer extends StreamTokenizer {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_INTERNED_STRINGS = 1 << 20;
+
+    /**
+     * Same value as the (private) {@code StreamTokenizer#TT_NOTHING}, i.e. the token type before the first token has
+     * been read.
+     */
+    private static final int TT_NOTHING = -4;
+
+    private static final int NEED_CHAR = Integer.MAX_VALUE;
+    private static final int SKIP_LF = Integer.MAX_VALUE - 1;
+
+    private static final byte CT_WHITESPACE = 1;
+    private static final byte CT_WORD = 2;
+    private static final byte CT_QUOTE = 4;
+
+    private static final byte[] CHAR_TYPES = new byte[256];
+
+    static {
+        Arrays.fill(CHAR_TYPES, 0, ' ' + 1, CT_WHITESPACE);
+        Arrays.fill(CHAR_TYPES, 'a', 'z' + 1, CT_WORD);
+        Arrays.fill(CHAR_TYPES, 'A', 'Z' + 1, CT_WORD);
+        Arrays.fill(CHAR_TYPES, '0', '9' + 1, CT_WORD);
+        CHAR_TYPES['-'] = CT_WORD;
+        CHAR_TYPES['_'] = CT_WORD;
+        CHAR_TYPES['"'] = CT_QUOTE;
+    }
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int bufferPos;
+    private int bufferLimit;
+
+    private char[] tokenBuffer = new char[64];
+
+    private String[] internTable = new String[1024];
+    private int internSize;
+
+    private int peekc = NEED_CHAR;
+    private boolean pushedBack;
+    private int lineNumber = 1;
+
+    FSMStreamTokenizer(Reader reader) {
+        super(reader);
+        this.reader = reader;
+    }
+
+    @Override
+    public int nextToken() throws IOException {
+        if (pushedBack) {
+            pushedBack = false;
+            return ttype;
+        }
+
+        sval = null;
+
+        int c = peekc;
+        if (c == SKIP_LF) {
+            c = read();
+            if (c < 0) {
+                return setType(TT_EOF);
+            }
+            if (c == '\n') {
+                c = NEED_CHAR;
+            }
+        }
+        if (c == NEED_CHAR) {
+            c = read();
+            if (c < 0) {
+                return setType(TT_EOF);
+            }
+        }
+
+        ttype = c;
+        peekc = NEED_CHAR;
+
+        int ctype = charType(c);
+        while (ctype == CT_WHITESPACE) {
+            if (c == '\r') {
+                lineNumber++;
+                peekc = SKIP_LF;
+                return setType(TT_EOL);
+            } else if (c == '\n') {
+                lineNumber++;
+                return setType(TT_EOL);
+            }
+            c = read();
+            if (c < 0) {
+                return setType(TT_EOF);
+            }
+            ctype = charType(c);
+        }
+
+        if (ctype == CT_WORD) {
+            int len = 0;
+            do {
+                appendTokenChar(len++, (char) c);
+                c = read();
+            } while (c >= 0 && charType(c) == CT_WORD);
+            peekc = c < 0 ? NEED_CHAR : c;
+            sval = intern(len);
+            return setType(TT_WORD);
+        }
+
+        if (ctype == CT_QUOTE) {
+            return readQuoted(c);
+        }
+
+        return setType(c);
+    }
+
+    @Override
+    public void pushBack() {
+        if (ttype != TT_NOTHING) {
+            pushedBack = true;
+        }
+    }
+
+    @Override
+    public int lineno() {
+        return lineNumber;
+    }
+
+    @Override
+    public String toString() {
+        final String token;
+        switch (ttype) {
+            case TT_EOF:
+                token = "EOF";
+                break;
+            case TT_EOL:
+                token = "EOL";
+                break;
+            case TT_WORD:
+                token = sval;
+                break;
+            case TT_NOTHING:
+                token = "NOTHING";
+                break;
+            default:
+                token = ttype == '"' ? sval : "'" + (char) ttype + "'";
+        }
+        return "Token[" + token + "], line " + lineNumber;
+    }
+
+    private int readQuoted(int quote) throws IOException {
+        int len = 0;
+        int d = read();
+        while (d >= 0 && d != quote && d != '\n' && d != '\r') {
+            int c;
+            if (d == '\\') {
+                c = read();
+                final int first = c;
+                if (c >= '0' && c <= '7') {
+                    c = c - '0';
+                    int c2 = read();
+                    if ('0' <= c2 && c2 <= '7') {
+                        c = (c << 3) + (c2 - '0');
+                        c2 = read();
+                        if ('0' <= c2 && c2 <= '7' && first <= '3') {
+                            c = (c << 3) + (c2 - '0');
+                            d = read();
+                        } else {
+                            d = c2;
+                        }
+                    } else {
+                        d = c2;
+                    }
+                } else {
+                    c = unescape(c);
+                    d = read();
+                }
+            } else {
+                c = d;
+                d = read();
+            }
+            appendTokenChar(len++, (char) c);
+        }
+
+        peekc = (d == quote || d < 0) ? NEED_CHAR : d;
+        sval = intern(len);
+        return setType(quote);
+    }
+
+    private static int unescape(int c) {
+        switch (c) {
+            case 'a':
+                return 0x7;
+            case 'b':
+                return '\b';
+            case 'f':
+                return 0xC;
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'v':
+                return 0xB;
+            default:
+                return c;
+        }
+    }
+
+    private int setType(int type) {
+        ttype = type;
+        return type;
+    }
+
+    private static int charType(int c) {
+        return c < CHAR_TYPES.length ? CHAR_TYPES[c] : CT_WORD;
+    }
+
+    private int read() throws IOException {
+        if (bufferPos == bufferLimit) {
+            final int read = reader.read(buffer, 0, buffer.length);
+            if (read <= 0) {
+                return -1;
+            }
+            bufferPos = 0;
+            bufferLimit = read;
+        }
+        return buffer[bufferPos++];
+    }
+
+    private void appendTokenChar(int idx, char c) {
+        if (idx == tokenBuffer.length) {
+            tokenBuffer = Arrays.copyOf(tokenBuffer, idx * 2);
+        }
+        tokenBuffer[idx] = c;
+    }
+
+    /**
+     * Returns a string with the contents of the first {@code len} characters of the token buffer. Strings are
+     * interned so that recurring tokens share the same instance.
+     */
+    private String intern(int len) {
+        int hash = 0;
+        for (int i = 0; i < len; i++) {
+            hash = 31 * hash + tokenBuffer[i];
+        }
+
+        final int mask = internTable.length - 1;
+        int idx = mix(hash) & mask;
+        String candidate = internTable[idx];
+        while (candidate != null) {
+            if (candidate.hashCode() == hash && matches(candidate, len)) {
+                return candidate;
+            }
+            idx = (idx + 1) & mask;
+            candidate = internTable[idx];
+        }
+
+        final String result = new String(tokenBuffer, 0, len);
+
+        if (internSize < MAX_INTERNED_STRINGS) {
+            internTable[idx] = result;
+            if (++internSize > internTable.length / 2) {
+                rehash();
+            }
+        }
+
+        return result;
+    }
+
+    private boolean matches(String candidate, int len) {
+        if (candidate.length() != len) {
+            return false;
+        }
+        for (int i = 0; i < len; i++) {
+            if (candidate.charAt(i) != tokenBuffer[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void rehash() {
+        final String[] oldTable = internTable;
+        internTable = new String[oldTable.length * 2];
+        final int mask = internTable.length - 1;
+
+        for (String s : oldTable) {
+            if (s != null) {
+                int idx = mix(s.hashCode()) & mask;
+                while (internTable[idx] != null) {
+                    idx = (idx + 1) & mask;
+                }
+                internTable[idx] = s;
+            }
+        }
+    }
+
+    private static int mix(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
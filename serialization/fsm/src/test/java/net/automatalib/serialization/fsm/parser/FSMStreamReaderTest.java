@@ -0,0 +1,115 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.fsm.parser;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import net.automatalib.serialization.streaming.AutomatonStreamVisitor;
+import net.automatalib.serialization.streaming.AutomatonStreams;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author frohme
+ */
+public class FSMStreamReaderTest {
+
+    @Test
+    public void testDFA() throws IOException {
+        Assert.assertEquals(read("/DFA1.fsm"),
+                            Arrays.asList("begin",
+                                          "state 0 [0]",
+                                          "state 1 [1]",
+                                          "init 0",
+                                          "trans 0 [a] 1",
+                                          "trans 1 [b] 0",
+                                          "end"));
+    }
+
+    @Test
+    public void testMealy() throws IOException {
+        Assert.assertEquals(read("/MealyIO.fsm"),
+                            Arrays.asList("begin",
+                                          "state 0 [0]",
+                                          "state 1 [1]",
+                                          "init 0",
+                                          "trans 0 [a, 1] 1",
+                                          "trans 1 [a, 2] 0",
+                                          "end"));
+    }
+
+    @Test
+    public void testErrors() {
+        // missing separator
+        Assert.assertThrows(FSMFormatException.class, () -> readString("label(2) label \"a\" \"b\"\n"));
+        // undefined state
+        Assert.assertThrows(FSMFormatException.class, () -> readString("---\n0\n---\n1 3 \"a\"\n"));
+        // missing label
+        Assert.assertThrows(FSMFormatException.class, () -> readString("---\n0\n---\n1 1\n"));
+    }
+
+    private static List<String> read(String resource) throws IOException {
+        try (InputStream is = FSMStreamReaderTest.class.getResourceAsStream(resource)) {
+            return read(is);
+        }
+    }
+
+    private static List<String> readString(String fsm) throws IOException {
+        return read(new ByteArrayInputStream(fsm.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static List<String> read(InputStream is) throws IOException {
+        final List<String> events = new ArrayList<>();
+
+        try (FSMStreamReader reader = new FSMStreamReader(is)) {
+            AutomatonStreams.transfer(reader, new AutomatonStreamVisitor<List<String>, List<String>>() {
+
+                @Override
+                public void begin(int numStates, long numTransitions) {
+                    events.add("begin");
+                }
+
+                @Override
+                public void visitState(int state, List<String> property) {
+                    events.add("state " + state + ' ' + property);
+                }
+
+                @Override
+                public void visitInitialState(int state) {
+                    events.add("init " + state);
+                }
+
+                @Override
+                public void visitTransition(int source, List<String> label, int target) {
+                    events.add("trans " + source + ' ' + label + ' ' + target);
+                }
+
+                @Override
+                public void end() {
+                    events.add("end");
+                }
+            });
+        }
+
+        return events;
+    }
+}
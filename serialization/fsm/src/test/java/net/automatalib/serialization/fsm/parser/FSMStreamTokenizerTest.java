@@ -0,0 +1,117 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.fsm.parser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StreamTokenizer;
+import java.io.StringReader;
+import java.util.Random;
+
+import com.google.common.io.CharStreams;
+import net.automatalib.commons.util.IOUtil;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Checks that {@link FSMStreamTokenizer} produces the same token stream as a (properly configured) {@link
+ * StreamTokenizer}.
+ *
+ * @author frohme
+ */
+public class FSMStreamTokenizerTest {
+
+    private static final String ALPHABET = "ab09-_\"\\() \t\r\näĀ=.";
+
+    @Test
+    public void testResources() throws IOException {
+        for (String resource : new String[] {"/DFA1.fsm", "/DFA2.fsm", "/MealyAlternating.fsm", "/MealyIO.fsm"}) {
+            try (InputStream is = FSMStreamTokenizerTest.class.getResourceAsStream(resource)) {
+                compare(CharStreams.toString(IOUtil.asBufferedUTF8Reader(is)));
+            }
+        }
+    }
+
+    @Test
+    public void testRandomInput() throws IOException {
+        final Random random = new Random(42);
+
+        for (int i = 0; i < 1000; i++) {
+            final StringBuilder sb = new StringBuilder();
+            final int length = random.nextInt(100);
+            for (int j = 0; j < length; j++) {
+                sb.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+            }
+            compare(sb.toString());
+        }
+    }
+
+    @Test
+    public void testInterning() throws IOException {
+        final StreamTokenizer tokenizer = new FSMStreamTokenizer(new StringReader("12 \"a\"\n12 \"a\""));
+
+        Assert.assertEquals(tokenizer.nextToken(), StreamTokenizer.TT_WORD);
+        final String number = tokenizer.sval;
+        Assert.assertEquals(tokenizer.nextToken(), '"');
+        final String label = tokenizer.sval;
+        Assert.assertEquals(tokenizer.nextToken(), StreamTokenizer.TT_EOL);
+
+        Assert.assertEquals(tokenizer.nextToken(), StreamTokenizer.TT_WORD);
+        Assert.assertSame(tokenizer.sval, number);
+        Assert.assertEquals(tokenizer.nextToken(), '"');
+        Assert.assertSame(tokenizer.sval, label);
+        Assert.assertEquals(tokenizer.nextToken(), StreamTokenizer.TT_EOF);
+    }
+
+    private static void compare(String input) throws IOException {
+        final StreamTokenizer expected = getReferenceTokenizer(input);
+        final StreamTokenizer actual = new FSMStreamTokenizer(new StringReader(input));
+
+        int token;
+        int count = 0;
+        do {
+            token = expected.nextToken();
+            Assert.assertEquals(actual.nextToken(), token, input);
+            Assert.assertEquals(actual.sval, expected.sval, input);
+            Assert.assertEquals(actual.lineno(), expected.lineno(), input);
+
+            // exercise push back every now and then
+            if (count++ % 3 == 0) {
+                expected.pushBack();
+                actual.pushBack();
+            }
+        } while (token != StreamTokenizer.TT_EOF);
+    }
+
+    /**
+     * The tokenizer configuration used by previous versions of {@link AbstractFSMParser}.
+     */
+    private static StreamTokenizer getReferenceTokenizer(String input) {
+        final StreamTokenizer streamTokenizer = new StreamTokenizer(new StringReader(input));
+        streamTokenizer.resetSyntax();
+        streamTokenizer.wordChars('a', 'z');
+        streamTokenizer.wordChars('A', 'Z');
+        streamTokenizer.wordChars('-', '-');
+        streamTokenizer.wordChars('_', '_');
+        streamTokenizer.wordChars('0', '9');
+        streamTokenizer.whitespaceChars(0, ' ');
+        streamTokenizer.quoteChar('"');
+        streamTokenizer.eolIsSignificant(true);
+        streamTokenizer.ordinaryChar('(');
+        streamTokenizer.ordinaryChar(')');
+        return streamTokenizer;
+    }
+}
@@ -18,7 +18,8 @@ package net.automatalib.serialization.saf;
 enum AutomatonType {
     DFA(true),
     NFA(false),
-    MEALY(true);
+    MEALY(true),
+    MOORE(true);
 
     private final boolean deterministic;
 
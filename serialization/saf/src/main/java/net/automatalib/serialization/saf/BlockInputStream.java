@@ -0,0 +1,158 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.saf;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import net.automatalib.serialization.FormatException;
+
+/**
+ * An input stream that reads the blocks written by a {@link BlockOutputStream} and verifies their checksums. The
+ * stream reports the end of the data once the terminating block has been read. Closing the stream does not close the
+ * underlying {@link DataInput}.
+ *
+ * @author frohme
+ * @see BlockOutputStream
+ */
+final class BlockInputStream extends InputStream {
+
+    private static final int BYTE_MASK = 0xFF;
+
+    private DataInput source;
+    private final byte[] buffer;
+    private final CRC32 checksum;
+    private final Inflater inflater;
+    private final byte[] compressed;
+    private int position;
+    private int limit;
+    private boolean finished;
+
+    BlockInputStream(DataInput source, SAFCompression compression) {
+        this.source = source;
+        this.buffer = new byte[BlockOutputStream.BLOCK_SIZE];
+        this.checksum = new CRC32();
+
+        if (compression == SAFCompression.DEFLATE) {
+            this.inflater = new Inflater();
+            this.compressed = new byte[BlockOutputStream.BLOCK_SIZE];
+        } else {
+            this.inflater = null;
+            this.compressed = null;
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (position == limit && !nextBlock()) {
+            return -1;
+        }
+        return buffer[position++] & BYTE_MASK;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (position == limit && !nextBlock()) {
+            return -1;
+        }
+
+        final int chunk = Math.min(len, limit - position);
+        System.arraycopy(buffer, position, b, off, chunk);
+        position += chunk;
+        return chunk;
+    }
+
+    /**
+     * Re-uses this stream for reading the next sequence of blocks from the given source.
+     *
+     * @param newSource
+     *         the new source to read from
+     */
+    void reset(DataInput newSource) {
+        this.source = newSource;
+        this.position = 0;
+        this.limit = 0;
+        this.finished = false;
+    }
+
+    @Override
+    public void close() {
+        if (inflater != null) {
+            inflater.end();
+        }
+    }
+
+    private boolean nextBlock() throws IOException {
+        if (finished) {
+            return false;
+        }
+
+        final int rawLength = source.readInt();
+
+        if (rawLength == 0) {
+            finished = true;
+            return false;
+        }
+
+        final int storedLength = source.readInt();
+        final int expectedChecksum = source.readInt();
+
+        if (rawLength < 0 || rawLength > buffer.length || storedLength <= 0 || storedLength > rawLength) {
+            throw new FormatException("Invalid block lengths");
+        }
+
+        if (storedLength == rawLength) {
+            source.readFully(buffer, 0, rawLength);
+        } else {
+            inflate(rawLength, storedLength);
+        }
+
+        checksum.reset();
+        checksum.update(buffer, 0, rawLength);
+        if ((int) checksum.getValue() != expectedChecksum) {
+            throw new FormatException("Block checksum mismatch");
+        }
+
+        position = 0;
+        limit = rawLength;
+        return true;
+    }
+
+    private void inflate(int rawLength, int storedLength) throws IOException {
+        if (inflater == null) {
+            throw new FormatException("Compressed block in uncompressed stream");
+        }
+
+        source.readFully(compressed, 0, storedLength);
+        inflater.reset();
+        inflater.setInput(compressed, 0, storedLength);
+
+        try {
+            if (inflater.inflate(buffer, 0, rawLength) != rawLength || !inflater.finished()) {
+                throw new FormatException("Corrupt compressed block");
+            }
+        } catch (DataFormatException e) {
+            throw new FormatException(e);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.saf;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * An output stream that writes its content to a {@link DataOutput} in (optionally compressed) blocks. Each block is
+ * preceded by its uncompressed length, its stored length and the CRC32 checksum of its uncompressed content. A block
+ * whose stored length equals its uncompressed length is stored uncompressed. Closing the stream writes a terminating
+ * block of length zero, but does not close the underlying {@link DataOutput}.
+ *
+ * @author frohme
+ * @see BlockInputStream
+ */
+final class BlockOutputStream extends OutputStream {
+
+    static final int BLOCK_SIZE = 1 << 16;
+
+    private final DataOutput sink;
+    private final byte[] buffer;
+    private final CRC32 checksum;
+    private final Deflater deflater;
+    private byte[] compressed;
+    private int size;
+    private boolean closed;
+
+    BlockOutputStream(DataOutput sink, SAFCompression compression) {
+        this.sink = sink;
+        this.buffer = new byte[BLOCK_SIZE];
+        this.checksum = new CRC32();
+
+        if (compression == SAFCompression.DEFLATE) {
+            this.deflater = new Deflater();
+            this.compressed = new byte[BLOCK_SIZE];
+        } else {
+            this.deflater = null;
+        }
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (size == BLOCK_SIZE) {
+            writeBlock();
+        }
+        buffer[size++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        int offset = off;
+        int remaining = len;
+
+        while (remaining > 0) {
+            if (size == BLOCK_SIZE) {
+                writeBlock();
+            }
+            final int chunk = Math.min(remaining, BLOCK_SIZE - size);
+            System.arraycopy(b, offset, buffer, size, chunk);
+            size += chunk;
+            offset += chunk;
+            remaining -= chunk;
+        }
+    }
+
+    /**
+     * Writes the remaining content and the terminating block, so that the stream can be re-used for writing the next
+     * (independently readable) sequence of blocks.
+     *
+     * @throws IOException
+     *         if writing to the underlying {@link DataOutput} fails
+     */
+    void finishSequence() throws IOException {
+        writeBlock();
+        sink.writeInt(0);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        finishSequence();
+        release();
+    }
+
+    /**
+     * Releases the compressor of this stream without writing a terminating block. Any content that has been written
+     * since the last invocation of {@link #finishSequence()} is discarded.
+     */
+    void release() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        if (deflater != null) {
+            deflater.end();
+        }
+    }
+
+    private void writeBlock() throws IOException {
+        if (size == 0) {
+            return;
+        }
+
+        checksum.reset();
+        checksum.update(buffer, 0, size);
+
+        byte[] data = buffer;
+        int length = size;
+
+        if (deflater != null) {
+            final int compressedLength = deflate();
+            if (compressedLength < size) {
+                data = compressed;
+                length = compressedLength;
+            }
+        }
+
+        sink.writeInt(size);
+        sink.writeInt(length);
+        sink.writeInt((int) checksum.getValue());
+        sink.write(data, 0, length);
+
+        size = 0;
+    }
+
+    private int deflate() {
+        deflater.reset();
+        deflater.setInput(buffer, 0, size);
+        deflater.finish();
+
+        int length = 0;
+        while (!deflater.finished()) {
+            if (length == compressed.length) {
+                compressed = Arrays.copyOf(compressed, 2 * length);
+            }
+            length += deflater.deflate(compressed, length, compressed.length - length);
+        }
+
+        return length;
+    }
+}
@@ -0,0 +1,259 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.saf;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+
+import net.automatalib.automata.concepts.InputAlphabetHolder;
+import net.automatalib.automata.concepts.StateIDs;
+import net.automatalib.automata.fsa.DFA;
+import net.automatalib.commons.util.collections.CollectionsUtil;
+import net.automatalib.serialization.FormatException;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.Alphabets;
+
+/**
+ * A read-only {@link DFA} view on a memory-mapped SAF file (as written by {@link SAFSerializationDFA}).
+ * <p>
+ * Instead of copying the file contents into a mutable automaton, the transition table and the acceptance bits are
+ * accessed directly via {@link IntBuffer}s over the mapped file regions. Opening a file therefore only validates its
+ * header and size, and the contents are paged in by the operating system on demand. Files larger than the maximum size
+ * of a single mapping are mapped in several segments.
+ * <p>
+ * States are represented by their (integer) SAF indices. The view is immutable and may be accessed concurrently.
+ *
+ * @param <I>
+ *         input symbol type
+ *
+ * @author frohme
+ */
+public final class MappedSAFDFA<I> implements DFA<Integer, I>, InputAlphabetHolder<I>, StateIDs<Integer> {
+
+    private static final int DEFAULT_SEGMENT_SHIFT = 28;
+    private static final int HEADER_SIZE = 4 * Integer.BYTES;
+    private static final int ACCEPTANCE_SHIFT = 5;
+    private static final int ACCEPTANCE_MASK = (1 << ACCEPTANCE_SHIFT) - 1;
+
+    private final Alphabet<I> alphabet;
+    private final int numInputs;
+    private final int numStates;
+    private final int initial;
+    private final IntBuffer acceptance;
+    private final IntBuffer[] transitions;
+    private final int segmentShift;
+    private final int segmentMask;
+
+    private MappedSAFDFA(Alphabet<I> alphabet,
+                         int numStates,
+                         int initial,
+                         IntBuffer acceptance,
+                         IntBuffer[] transitions,
+                         int segmentShift) {
+        this.alphabet = alphabet;
+        this.numInputs = alphabet.size();
+        this.numStates = numStates;
+        this.initial = initial;
+        this.acceptance = acceptance;
+        this.transitions = transitions;
+        this.segmentShift = segmentShift;
+        this.segmentMask = (1 << segmentShift) - 1;
+    }
+
+    /**
+     * Maps the given SAF file and uses an alphabet of integers (starting at 0) as input symbols.
+     *
+     * @param file
+     *         the SAF file
+     *
+     * @return the read-only view on the mapped automaton
+     *
+     * @throws IOException
+     *         if reading from the file results in an I/O error
+     * @throws FormatException
+     *         if the file does not contain a (well-formed) SAF-encoded DFA
+     */
+    public static MappedSAFDFA<Integer> map(Path file) throws IOException {
+        return map(file, null, DEFAULT_SEGMENT_SHIFT);
+    }
+
+    /**
+     * Maps the given SAF file and uses the given alphabet as input symbols.
+     *
+     * @param file
+     *         the SAF file
+     * @param alphabet
+     *         the input alphabet. Its size must match the alphabet size stored in the file
+     * @param <I>
+     *         input symbol type
+     *
+     * @return the read-only view on the mapped automaton
+     *
+     * @throws IOException
+     *         if reading from the file results in an I/O error
+     * @throws FormatException
+     *         if the file does not contain a (well-formed) SAF-encoded DFA
+     */
+    public static <I> MappedSAFDFA<I> map(Path file, Alphabet<I> alphabet) throws IOException {
+        return map(file, alphabet, DEFAULT_SEGMENT_SHIFT);
+    }
+
+    @SuppressWarnings("unchecked")
+    static <I> MappedSAFDFA<I> map(Path file, Alphabet<I> alphabet, int segmentShift) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining()) {
+                if (channel.read(header) < 0) {
+                    throw new FormatException("Unexpected end of file");
+                }
+            }
+            header.flip();
+
+            if (header.get() != 'S' || header.get() != 'A' || header.get() != 'F' ||
+                header.get() != AutomatonType.DFA.ordinal()) {
+                throw new FormatException("Not a SAF-encoded DFA");
+            }
+
+            final int alphabetSize = header.getInt();
+            final int numStates = header.getInt();
+            final int initial = header.getInt();
+
+            final Alphabet<I> effectiveAlphabet;
+            if (alphabet == null) {
+                if (alphabetSize <= 0) {
+                    throw new FormatException("Invalid alphabet size: " + alphabetSize);
+                }
+                effectiveAlphabet = (Alphabet<I>) Alphabets.integers(0, alphabetSize - 1);
+            } else if (alphabet.size() != alphabetSize) {
+                throw new FormatException("Alphabet size mismatch (file/given): " + alphabetSize + " vs. " +
+                                          alphabet.size());
+            } else {
+                effectiveAlphabet = alphabet;
+            }
+
+            if (numStates <= 0 || initial < 0 || initial >= numStates) {
+                throw new FormatException("Invalid number of states or initial state");
+            }
+
+            // see AcceptanceEncoder: one int per 32 states
+            final int numAccInts = ((numStates - 1) >>> ACCEPTANCE_SHIFT) + 1;
+            final long accOffset = HEADER_SIZE;
+            final long transOffset = accOffset + (long) numAccInts * Integer.BYTES;
+            final long numTransitions = (long) numStates * alphabetSize;
+
+            if (channel.size() != transOffset + numTransitions * Integer.BYTES) {
+                throw new FormatException("Unexpected file size");
+            }
+
+            final IntBuffer acceptance =
+                    channel.map(MapMode.READ_ONLY, accOffset, (long) numAccInts * Integer.BYTES).asIntBuffer();
+
+            final long segmentSize = 1L << segmentShift;
+            final int numSegments = (int) ((numTransitions + segmentSize - 1) >>> segmentShift);
+            final IntBuffer[] transitions = new IntBuffer[numSegments];
+
+            for (int i = 0; i < numSegments; i++) {
+                final long start = i * segmentSize;
+                final long length = Math.min(segmentSize, numTransitions - start);
+                transitions[i] = channel.map(MapMode.READ_ONLY,
+                                             transOffset + start * Integer.BYTES,
+                                             length * Integer.BYTES).asIntBuffer();
+            }
+
+            return new MappedSAFDFA<>(effectiveAlphabet, numStates, initial, acceptance, transitions, segmentShift);
+        }
+    }
+
+    public int getIntInitialState() {
+        return initial;
+    }
+
+    /**
+     * Returns the successor of the given state for the input symbol with the given index.
+     *
+     * @param state
+     *         the (index of the) source state
+     * @param input
+     *         the index of the input symbol
+     *
+     * @return the (index of the) successor state, or {@code -1} if the transition is undefined
+     */
+    public int getIntSuccessor(int state, int input) {
+        final long idx = (long) state * numInputs + input;
+        return transitions[(int) (idx >>> segmentShift)].get((int) idx & segmentMask);
+    }
+
+    public boolean isAccepting(int state) {
+        return (acceptance.get(state >>> ACCEPTANCE_SHIFT) & (1 << (state & ACCEPTANCE_MASK))) != 0;
+    }
+
+    @Override
+    public Integer getInitialState() {
+        return initial;
+    }
+
+    @Override
+    public Integer getTransition(Integer state, I input) {
+        final int succ = getIntSuccessor(state, alphabet.getSymbolIndex(input));
+        return succ < 0 ? null : succ;
+    }
+
+    @Override
+    public Integer getSuccessor(Integer transition) {
+        return transition;
+    }
+
+    @Override
+    public boolean isAccepting(Integer state) {
+        return isAccepting(state.intValue());
+    }
+
+    @Override
+    public Collection<Integer> getStates() {
+        return CollectionsUtil.intRange(0, numStates);
+    }
+
+    @Override
+    public int size() {
+        return numStates;
+    }
+
+    @Override
+    public StateIDs<Integer> stateIDs() {
+        return this;
+    }
+
+    @Override
+    public int getStateId(Integer state) {
+        return state;
+    }
+
+    @Override
+    public Integer getState(int id) {
+        return id;
+    }
+
+    @Override
+    public Alphabet<I> getInputAlphabet() {
+        return alphabet;
+    }
+}
@@ -0,0 +1,386 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.saf;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.automatalib.serialization.FormatException;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.Alphabets;
+
+/**
+ * Read access to a SAF archive (as written by {@link SAFArchiveWriter}).
+ * <p>
+ * Opening an archive only reads its index. The contained automata are exposed as lazy {@link SAFArchiveAutomaton}
+ * views, which decompress only the blocks of the states that are actually accessed. Decompressed blocks are kept in a
+ * cache (shared by all views of the archive) with a least-recently-used eviction strategy, so that the memory
+ * consumption is bounded regardless of the size and number of the archived automata.
+ * <p>
+ * This class (and the returned views) may be accessed concurrently. Once the archive has been {@link #close() closed},
+ * accessing a state of a view whose block is not cached results in an {@link java.io.UncheckedIOException}.
+ *
+ * @param <SP>
+ *         state property type
+ * @param <TP>
+ *         transition property type
+ *
+ * @author frohme
+ * @see SAFArchiveWriter
+ */
+public final class SAFArchive<SP, TP> implements Closeable {
+
+    /**
+     * The default number of (decompressed) blocks that are cached.
+     */
+    public static final int DEFAULT_CACHE_SIZE = 64;
+
+    private static final int HEADER_SIZE = SAFArchiveWriter.MAGIC.length + 2;
+    private static final int MODEL_HEADER_SIZE = 4 * Integer.BYTES + Long.BYTES + 2 * Integer.BYTES;
+    private static final int BLOCK_ENTRY_SIZE = Long.BYTES + Integer.BYTES;
+
+    private final FileChannel channel;
+    private final long[] modelOffsets;
+    private final SinglePropertyDecoder<? extends SP> spDecoder;
+    private final SinglePropertyDecoder<? extends TP> tpDecoder;
+
+    // guarded by this
+    private final BlockCache cache;
+    private final BlockInputStream blocks;
+
+    private SAFArchive(FileChannel channel,
+                       SAFCompression compression,
+                       long[] modelOffsets,
+                       SinglePropertyDecoder<? extends SP> spDecoder,
+                       SinglePropertyDecoder<? extends TP> tpDecoder,
+                       int cacheSize) {
+        this.channel = channel;
+        this.modelOffsets = modelOffsets;
+        this.spDecoder = spDecoder;
+        this.tpDecoder = tpDecoder;
+        this.cache = new BlockCache(cacheSize);
+        this.blocks = new BlockInputStream(null, compression);
+    }
+
+    /**
+     * Opens the given archive, using a cache of {@link #DEFAULT_CACHE_SIZE} blocks.
+     *
+     * @param file
+     *         the archive file
+     * @param spDecoder
+     *         the decoder for the state properties
+     * @param tpDecoder
+     *         the decoder for the transition properties
+     * @param <SP>
+     *         state property type
+     * @param <TP>
+     *         transition property type
+     *
+     * @return the opened archive
+     *
+     * @throws IOException
+     *         if reading from the file results in an I/O error
+     * @throws FormatException
+     *         if the file is not a (well-formed) SAF archive
+     */
+    public static <SP, TP> SAFArchive<SP, TP> open(Path file,
+                                                   SinglePropertyDecoder<? extends SP> spDecoder,
+                                                   SinglePropertyDecoder<? extends TP> tpDecoder) throws IOException {
+        return open(file, spDecoder, tpDecoder, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Opens the given archive.
+     *
+     * @param file
+     *         the archive file
+     * @param spDecoder
+     *         the decoder for the state properties
+     * @param tpDecoder
+     *         the decoder for the transition properties
+     * @param cacheSize
+     *         the maximum number of (decompressed) blocks to cache
+     * @param <SP>
+     *         state property type
+     * @param <TP>
+     *         transition property type
+     *
+     * @return the opened archive
+     *
+     * @throws IOException
+     *         if reading from the file results in an I/O error
+     * @throws FormatException
+     *         if the file is not a (well-formed) SAF archive
+     */
+    public static <SP, TP> SAFArchive<SP, TP> open(Path file,
+                                                   SinglePropertyDecoder<? extends SP> spDecoder,
+                                                   SinglePropertyDecoder<? extends TP> tpDecoder,
+                                                   int cacheSize) throws IOException {
+        if (cacheSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+
+        final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+
+        try {
+            final long size = channel.size();
+            if (size < HEADER_SIZE + SAFArchiveWriter.TRAILER_SIZE) {
+                throw new FormatException("Not a SAF archive");
+            }
+
+            final ByteBuffer header = read(channel, 0, HEADER_SIZE);
+            for (byte b : SAFArchiveWriter.MAGIC) {
+                if (header.get() != b) {
+                    throw new FormatException("Not a SAF archive");
+                }
+            }
+
+            final int version = header.get();
+            if (version != SAFArchiveWriter.FORMAT_VERSION) {
+                throw new FormatException("Unsupported format version: " + version);
+            }
+
+            final int compressionIdx = header.get();
+            if (compressionIdx < 0 || compressionIdx >= SAFCompression.values().length) {
+                throw new FormatException("Unknown compression: " + compressionIdx);
+            }
+
+            final long trailerOffset = size - SAFArchiveWriter.TRAILER_SIZE;
+            final ByteBuffer trailer = read(channel, trailerOffset, SAFArchiveWriter.TRAILER_SIZE);
+            final long indexOffset = trailer.getLong();
+            final int numModels = trailer.getInt();
+
+            if (numModels < 0 || indexOffset < HEADER_SIZE ||
+                indexOffset + (long) numModels * Long.BYTES != trailerOffset) {
+                throw new FormatException("Corrupt archive index");
+            }
+
+            final ByteBuffer index = read(channel, indexOffset, numModels * Long.BYTES);
+            final long[] modelOffsets = new long[numModels];
+            index.asLongBuffer().get(modelOffsets);
+
+            return new SAFArchive<>(channel,
+                                    SAFCompression.values()[compressionIdx],
+                                    modelOffsets,
+                                    spDecoder,
+                                    tpDecoder,
+                                    cacheSize);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the number of automata in this archive.
+     *
+     * @return the number of automata in this archive
+     */
+    public int size() {
+        return modelOffsets.length;
+    }
+
+    /**
+     * Returns a lazy view on the automaton with the given index, using an alphabet of integers (starting at 0) as
+     * input symbols.
+     *
+     * @param index
+     *         the index of the automaton (see {@link SAFArchiveWriter#addModel})
+     *
+     * @return a lazy view on the automaton
+     *
+     * @throws IOException
+     *         if reading from the file results in an I/O error
+     * @throws FormatException
+     *         if the header of the automaton is malformed
+     */
+    public SAFArchiveAutomaton<Integer, SP, TP> getModel(int index) throws IOException {
+        return getModel(index, null);
+    }
+
+    /**
+     * Returns a lazy view on the automaton with the given index, using the given alphabet as input symbols.
+     *
+     * @param index
+     *         the index of the automaton (see {@link SAFArchiveWriter#addModel})
+     * @param alphabet
+     *         the input alphabet. Its size must match the number of inputs stored in the archive
+     * @param <I>
+     *         input symbol type
+     *
+     * @return a lazy view on the automaton
+     *
+     * @throws IOException
+     *         if reading from the file results in an I/O error
+     * @throws FormatException
+     *         if the header of the automaton is malformed or the size of the alphabet does not match
+     */
+    @SuppressWarnings("unchecked")
+    public <I> SAFArchiveAutomaton<I, SP, TP> getModel(int index, Alphabet<I> alphabet) throws IOException {
+        final long offset = modelOffsets[index];
+        final ByteBuffer header = read(channel, offset, MODEL_HEADER_SIZE);
+
+        final int numStates = header.getInt();
+        final int numInputs = header.getInt();
+        final int initial = header.getInt();
+        final int statesPerBlock = header.getInt();
+        final long dictionaryOffset = header.getLong();
+        final int dictionaryLength = header.getInt();
+        final int numBlocks = header.getInt();
+
+        if (numStates < 0 || numInputs < 0 || initial < -1 || initial >= numStates || statesPerBlock <= 0 ||
+            numBlocks != (numStates + statesPerBlock - 1) / statesPerBlock) {
+            throw new FormatException("Corrupt header of automaton " + index);
+        }
+
+        final Alphabet<I> effectiveAlphabet;
+        if (alphabet == null) {
+            effectiveAlphabet = (Alphabet<I>) Alphabets.integers(0, numInputs - 1);
+        } else if (alphabet.size() != numInputs) {
+            throw new FormatException("Alphabet size mismatch (file/given): " + numInputs + " vs. " + alphabet.size());
+        } else {
+            effectiveAlphabet = alphabet;
+        }
+
+        final ByteBuffer blockTable = read(channel, offset + MODEL_HEADER_SIZE, numBlocks * BLOCK_ENTRY_SIZE);
+        final long[] blockOffsets = new long[numBlocks];
+        final int[] blockLengths = new int[numBlocks];
+        for (int b = 0; b < numBlocks; b++) {
+            blockOffsets[b] = blockTable.getLong();
+            blockLengths[b] = blockTable.getInt();
+        }
+
+        return new SAFArchiveAutomaton<>(this,
+                                         effectiveAlphabet,
+                                         numStates,
+                                         initial,
+                                         statesPerBlock,
+                                         blockOffsets,
+                                         blockLengths,
+                                         dictionaryOffset,
+                                         dictionaryLength);
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            cache.clear();
+            blocks.close();
+        }
+        channel.close();
+    }
+
+    /**
+     * Returns the decompressed content of the block stored at the given position, either from the cache or by reading
+     * it from the file.
+     */
+    synchronized byte[] getBlock(long offset, int length) throws IOException {
+        byte[] data = cache.get(offset);
+        if (data == null) {
+            data = decompress(offset, length);
+            cache.put(offset, data);
+        }
+        return data;
+    }
+
+    /**
+     * Reads the dictionaries of state and transition properties stored at the given position. Dictionaries are not
+     * cached by the archive, but by the individual views.
+     */
+    Object[][] readDictionaries(long offset, int length) throws IOException {
+        final byte[] data;
+        synchronized (this) {
+            data = decompress(offset, length);
+        }
+
+        final DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+
+        final int numSPs = VarInts.readUnsigned(in);
+        final List<SP> sps = new ArrayList<>(numSPs);
+        for (int i = 0; i < numSPs; i++) {
+            sps.add(spDecoder.readProperty(in));
+        }
+
+        final int numTPs = VarInts.readUnsigned(in);
+        final List<TP> tps = new ArrayList<>(numTPs);
+        for (int i = 0; i < numTPs; i++) {
+            tps.add(tpDecoder.readProperty(in));
+        }
+
+        return new Object[][] {sps.toArray(), tps.toArray()};
+    }
+
+    // guarded by this
+    private byte[] decompress(long offset, int length) throws IOException {
+        final ByteBuffer raw = read(channel, offset, length);
+        blocks.reset(new DataInputStream(new ByteArrayInputStream(raw.array())));
+
+        final ByteArrayOutputStream result = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[BlockOutputStream.BLOCK_SIZE];
+        int read = blocks.read(buffer, 0, buffer.length);
+        while (read >= 0) {
+            result.write(buffer, 0, read);
+            read = blocks.read(buffer, 0, buffer.length);
+        }
+
+        return result.toByteArray();
+    }
+
+    private static ByteBuffer read(FileChannel channel, long offset, int length) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, offset + buffer.position()) < 0) {
+                throw new FormatException("Unexpected end of file");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * A map of block offsets to decompressed blocks, that evicts the least-recently used block once its capacity is
+     * exceeded.
+     */
+    private static final class BlockCache extends LinkedHashMap<Long, byte[]> {
+
+        private static final long serialVersionUID = 1L;
+        private static final int INITIAL_CAPACITY = 16;
+        private static final float LOAD_FACTOR = 0.75f;
+
+        private final int capacity;
+
+        BlockCache(int capacity) {
+            super(INITIAL_CAPACITY, LOAD_FACTOR, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, byte[]> eldest) {
+            return size() > capacity;
+        }
+    }
+}
@@ -0,0 +1,248 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.saf;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+
+import net.automatalib.automata.UniversalDeterministicAutomaton;
+import net.automatalib.automata.concepts.InputAlphabetHolder;
+import net.automatalib.automata.concepts.StateIDs;
+import net.automatalib.commons.util.collections.CollectionsUtil;
+import net.automatalib.words.Alphabet;
+
+/**
+ * A lazy, read-only view on an automaton stored in a {@link SAFArchive}.
+ * <p>
+ * States are represented by their (integer) indices, transitions by the (long) index {@code state * numInputs +
+ * input}. Accessing a state decompresses (and caches) only the block containing the state. The dictionaries of state
+ * and transition properties are loaded upon the first property access.
+ *
+ * @param <I>
+ *         input symbol type
+ * @param <SP>
+ *         state property type
+ * @param <TP>
+ *         transition property type
+ *
+ * @author frohme
+ */
+public final class SAFArchiveAutomaton<I, SP, TP> implements UniversalDeterministicAutomaton<Integer, I, Long, SP, TP>,
+                                                             InputAlphabetHolder<I>,
+                                                             StateIDs<Integer> {
+
+    private static final int BYTE_MASK = 0xFF;
+
+    private final SAFArchive<SP, TP> archive;
+    private final Alphabet<I> alphabet;
+    private final int numInputs;
+    private final int numStates;
+    private final int initial;
+    private final int statesPerBlock;
+    private final long[] blockOffsets;
+    private final int[] blockLengths;
+    private final long dictionaryOffset;
+    private final int dictionaryLength;
+
+    private volatile Object[][] dictionaries;
+
+    SAFArchiveAutomaton(SAFArchive<SP, TP> archive,
+                        Alphabet<I> alphabet,
+                        int numStates,
+                        int initial,
+                        int statesPerBlock,
+                        long[] blockOffsets,
+                        int[] blockLengths,
+                        long dictionaryOffset,
+                        int dictionaryLength) {
+        this.archive = archive;
+        this.alphabet = alphabet;
+        this.numInputs = alphabet.size();
+        this.numStates = numStates;
+        this.initial = initial;
+        this.statesPerBlock = statesPerBlock;
+        this.blockOffsets = blockOffsets;
+        this.blockLengths = blockLengths;
+        this.dictionaryOffset = dictionaryOffset;
+        this.dictionaryLength = dictionaryLength;
+    }
+
+    public int getIntInitialState() {
+        return initial;
+    }
+
+    /**
+     * Returns the successor of the given state for the input symbol with the given index.
+     *
+     * @param state
+     *         the (index of the) source state
+     * @param input
+     *         the index of the input symbol
+     *
+     * @return the (index of the) successor state, or {@code -1} if the transition is undefined
+     *
+     * @throws IndexOutOfBoundsException
+     *         if the given state or input index is out of range
+     */
+    public int getIntSuccessor(int state, int input) {
+        checkInput(input);
+        final byte[] block = getBlock(state);
+        final int pos = seekInput(block, state, input);
+        return VarInts.value(VarInts.readUnsigned(block, pos)) - 1;
+    }
+
+    @Override
+    public Integer getInitialState() {
+        return initial < 0 ? null : initial;
+    }
+
+    @Override
+    public Long getTransition(Integer state, I input) {
+        final int idx = alphabet.getSymbolIndex(input);
+        if (getIntSuccessor(state, idx) < 0) {
+            return null;
+        }
+        return (long) state * numInputs + idx;
+    }
+
+    @Override
+    public Integer getSuccessor(Long transition) {
+        return getIntSuccessor((int) (transition / numInputs), (int) (transition % numInputs));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public SP getStateProperty(Integer state) {
+        final byte[] block = getBlock(state);
+        final int idx = VarInts.value(VarInts.readUnsigned(block, recordOffset(block, state)));
+        return (SP) getDictionaries()[0][idx];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public TP getTransitionProperty(Long transition) {
+        final int state = (int) (transition / numInputs);
+        final int input = (int) (transition % numInputs);
+        checkInput(input);
+        final byte[] block = getBlock(state);
+
+        final int pos = seekInput(block, state, input);
+        final long succ = VarInts.readUnsigned(block, pos);
+        final int idx = VarInts.value(VarInts.readUnsigned(block, VarInts.next(succ)));
+
+        return (TP) getDictionaries()[1][idx];
+    }
+
+    @Override
+    public Collection<Integer> getStates() {
+        return CollectionsUtil.intRange(0, numStates);
+    }
+
+    @Override
+    public int size() {
+        return numStates;
+    }
+
+    @Override
+    public StateIDs<Integer> stateIDs() {
+        return this;
+    }
+
+    @Override
+    public int getStateId(Integer state) {
+        return state;
+    }
+
+    @Override
+    public Integer getState(int id) {
+        return id;
+    }
+
+    @Override
+    public Alphabet<I> getInputAlphabet() {
+        return alphabet;
+    }
+
+    private void checkInput(int input) {
+        if (input < 0 || input >= numInputs) {
+            throw new IndexOutOfBoundsException("Invalid input: " + input);
+        }
+    }
+
+    private byte[] getBlock(int state) {
+        if (state < 0 || state >= numStates) {
+            throw new IndexOutOfBoundsException("Invalid state: " + state);
+        }
+
+        final int block = state / statesPerBlock;
+        try {
+            return archive.getBlock(blockOffsets[block], blockLengths[block]);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Object[][] getDictionaries() {
+        Object[][] result = dictionaries;
+        if (result == null) {
+            try {
+                result = archive.readDictionaries(dictionaryOffset, dictionaryLength);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            dictionaries = result;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the position of the state record of the given state within its (decompressed) block, which starts with
+     * a table of the (relative) offsets of the state records.
+     */
+    private int recordOffset(byte[] block, int state) {
+        final int localState = state % statesPerBlock;
+        final int statesInBlock = Math.min(statesPerBlock, numStates - (state - localState));
+        return statesInBlock * Integer.BYTES + readInt(block, localState * Integer.BYTES);
+    }
+
+    /**
+     * Returns the position of the (successor of the) transition for the given input within the given block.
+     */
+    private int seekInput(byte[] block, int state, int input) {
+        // skip the state property
+        int pos = VarInts.next(VarInts.readUnsigned(block, recordOffset(block, state)));
+
+        for (int i = 0; i < input; i++) {
+            final long succ = VarInts.readUnsigned(block, pos);
+            pos = VarInts.next(succ);
+            if (VarInts.value(succ) != 0) {
+                // skip the transition property
+                pos = VarInts.next(VarInts.readUnsigned(block, pos));
+            }
+        }
+
+        return pos;
+    }
+
+    private static int readInt(byte[] data, int pos) {
+        int result = 0;
+        for (int i = 0; i < Integer.BYTES; i++) {
+            result = (result << Byte.SIZE) | (data[pos + i] & BYTE_MASK);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,305 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.saf;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.automatalib.automata.UniversalDeterministicAutomaton;
+import net.automatalib.automata.UniversalDeterministicAutomaton.FullIntAbstraction;
+import net.automatalib.words.Alphabet;
+
+/**
+ * Writer for SAF archives, i.e. files that store many deterministic automata (e.g. the hypotheses of a learning
+ * process) and that can be queried via the lazy views of a {@link SAFArchive}.
+ * <p>
+ * The states of each automaton are stored in blocks of a fixed number of states, which are (optionally) compressed
+ * independently of each other. Each (uncompressed) block starts with a table of the offsets of its states, followed by
+ * the state records, which consist of the index of the state property and, for each input, the successor and the index
+ * of the transition property (all as variable-length integers). The distinct state and transition properties of an
+ * automaton are stored in a separate dictionary. After the last automaton, an index of all automata is written, so
+ * automata can be added incrementally until the writer is {@link #close() closed}.
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @param <SP>
+ *         state property type
+ * @param <TP>
+ *         transition property type
+ *
+ * @author frohme
+ * @see SAFArchive
+ */
+public class SAFArchiveWriter<SP, TP> implements Closeable {
+
+    /**
+     * The default number of states per block.
+     */
+    public static final int DEFAULT_STATES_PER_BLOCK = 1 << 10;
+
+    static final byte[] MAGIC = {'S', 'A', 'R'};
+    static final int FORMAT_VERSION = 1;
+    static final int TRAILER_SIZE = Long.BYTES + Integer.BYTES;
+
+    private final CountingOutputStream counter;
+    private final DataOutputStream out;
+    private final BlockOutputStream blocks;
+    private final DataOutputStream blockData;
+    private final SinglePropertyEncoder<? super SP> spEncoder;
+    private final SinglePropertyEncoder<? super TP> tpEncoder;
+    private final int statesPerBlock;
+
+    private final List<Long> modelOffsets = new ArrayList<>();
+
+    // re-used buffers for encoding the blocks of a model
+    private final ByteArrayOutputStream recordBytes = new ByteArrayOutputStream();
+    private final DataOutputStream records = new DataOutputStream(recordBytes);
+
+    /**
+     * Constructor. Uses {@link #DEFAULT_STATES_PER_BLOCK} states per block.
+     *
+     * @param file
+     *         the file to (over-)write
+     * @param spEncoder
+     *         the encoder for the state properties
+     * @param tpEncoder
+     *         the encoder for the transition properties
+     * @param compression
+     *         the compression of the blocks
+     *
+     * @throws IOException
+     *         if the file cannot be opened
+     */
+    public SAFArchiveWriter(Path file,
+                            SinglePropertyEncoder<? super SP> spEncoder,
+                            SinglePropertyEncoder<? super TP> tpEncoder,
+                            SAFCompression compression) throws IOException {
+        this(file, spEncoder, tpEncoder, compression, DEFAULT_STATES_PER_BLOCK);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param file
+     *         the file to (over-)write
+     * @param spEncoder
+     *         the encoder for the state properties
+     * @param tpEncoder
+     *         the encoder for the transition properties
+     * @param compression
+     *         the compression of the blocks
+     * @param statesPerBlock
+     *         the number of states per block. Smaller blocks speed up the access to single states, larger blocks
+     *         improve the compression ratio
+     *
+     * @throws IOException
+     *         if the file cannot be opened
+     */
+    public SAFArchiveWriter(Path file,
+                            SinglePropertyEncoder<? super SP> spEncoder,
+                            SinglePropertyEncoder<? super TP> tpEncoder,
+                            SAFCompression compression,
+                            int statesPerBlock) throws IOException {
+        if (statesPerBlock <= 0) {
+            throw new IllegalArgumentException("Number of states per block must be positive");
+        }
+
+        final FileChannel channel = FileChannel.open(file,
+                                                     StandardOpenOption.CREATE,
+                                                     StandardOpenOption.WRITE,
+                                                     StandardOpenOption.TRUNCATE_EXISTING);
+
+        this.counter = new CountingOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+        this.out = new DataOutputStream(counter);
+        this.blocks = new BlockOutputStream(out, compression);
+        this.blockData = new DataOutputStream(blocks);
+        this.spEncoder = spEncoder;
+        this.tpEncoder = tpEncoder;
+        this.statesPerBlock = statesPerBlock;
+
+        out.write(MAGIC);
+        out.writeByte(FORMAT_VERSION);
+        out.writeByte(compression.ordinal());
+    }
+
+    /**
+     * Adds the given automaton to the archive.
+     *
+     * @param automaton
+     *         the automaton to add
+     * @param alphabet
+     *         the inputs to store. Inputs are referenced by their index in the alphabet
+     * @param <I>
+     *         input symbol type
+     *
+     * @return the index of the automaton in the archive
+     *
+     * @throws IOException
+     *         if writing to the file fails
+     */
+    public <I> int addModel(UniversalDeterministicAutomaton<?, I, ?, ? extends SP, ? extends TP> automaton,
+                            Alphabet<I> alphabet) throws IOException {
+        return addModel(automaton.fullIntAbstraction(alphabet));
+    }
+
+    private <T> int addModel(FullIntAbstraction<T, ? extends SP, ? extends TP> automaton) throws IOException {
+        final int numStates = automaton.size();
+        final int numInputs = automaton.numInputs();
+        final int numBlocks = (numStates + statesPerBlock - 1) / statesPerBlock;
+
+        final List<SP> spDictionary = new ArrayList<>();
+        final Map<SP, Integer> spIndices = new HashMap<>();
+        final List<TP> tpDictionary = new ArrayList<>();
+        final Map<TP, Integer> tpIndices = new HashMap<>();
+
+        final long[] blockOffsets = new long[numBlocks];
+        final int[] blockLengths = new int[numBlocks];
+        final int[] stateOffsets = new int[statesPerBlock];
+
+        for (int b = 0; b < numBlocks; b++) {
+            final int lo = b * statesPerBlock;
+            final int hi = Math.min(numStates, lo + statesPerBlock);
+
+            recordBytes.reset();
+            for (int s = lo; s < hi; s++) {
+                stateOffsets[s - lo] = recordBytes.size();
+                VarInts.writeUnsigned(records, index(automaton.getStateProperty(s), spDictionary, spIndices));
+
+                for (int i = 0; i < numInputs; i++) {
+                    final T trans = automaton.getTransition(s, i);
+                    if (trans == null) {
+                        VarInts.writeUnsigned(records, 0);
+                    } else {
+                        VarInts.writeUnsigned(records, automaton.getIntSuccessor(trans) + 1);
+                        VarInts.writeUnsigned(records,
+                                              index(automaton.getTransitionProperty(trans), tpDictionary, tpIndices));
+                    }
+                }
+            }
+
+            blockOffsets[b] = counter.count;
+
+            for (int s = lo; s < hi; s++) {
+                blockData.writeInt(stateOffsets[s - lo]);
+            }
+            recordBytes.writeTo(blocks);
+            blocks.finishSequence();
+
+            blockLengths[b] = (int) (counter.count - blockOffsets[b]);
+        }
+
+        final long dictionaryOffset = counter.count;
+        VarInts.writeUnsigned(blockData, spDictionary.size());
+        for (SP sp : spDictionary) {
+            spEncoder.writeProperty(blockData, sp);
+        }
+        VarInts.writeUnsigned(blockData, tpDictionary.size());
+        for (TP tp : tpDictionary) {
+            tpEncoder.writeProperty(blockData, tp);
+        }
+        blocks.finishSequence();
+        final int dictionaryLength = (int) (counter.count - dictionaryOffset);
+
+        final long headerOffset = counter.count;
+        out.writeInt(numStates);
+        out.writeInt(numInputs);
+        out.writeInt(automaton.getIntInitialState());
+        out.writeInt(statesPerBlock);
+        out.writeLong(dictionaryOffset);
+        out.writeInt(dictionaryLength);
+        out.writeInt(numBlocks);
+        for (int b = 0; b < numBlocks; b++) {
+            out.writeLong(blockOffsets[b]);
+            out.writeInt(blockLengths[b]);
+        }
+
+        modelOffsets.add(headerOffset);
+        return modelOffsets.size() - 1;
+    }
+
+    /**
+     * Writes the index of all added automata and closes the file.
+     *
+     * @throws IOException
+     *         if writing to the file fails
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            // every automaton has already finished its sequences of blocks
+            blocks.release();
+
+            final long indexOffset = counter.count;
+            for (Long offset : modelOffsets) {
+                out.writeLong(offset);
+            }
+            out.writeLong(indexOffset);
+            out.writeInt(modelOffsets.size());
+        } finally {
+            out.close();
+        }
+    }
+
+    private static <P> int index(P property, List<P> dictionary, Map<P, Integer> indices) {
+        final Integer idx = indices.get(property);
+        if (idx != null) {
+            return idx;
+        }
+
+        final int newIdx = dictionary.size();
+        dictionary.add(property);
+        indices.put(property, newIdx);
+        return newIdx;
+    }
+
+    /**
+     * An output stream that keeps track of the number of written bytes (in a {@code long}, as opposed to {@link
+     * DataOutputStream#size()}).
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
@@ -28,6 +28,8 @@ import net.automatalib.automata.AutomatonCreator;
 import net.automatalib.automata.MutableAutomaton;
 import net.automatalib.automata.fsa.impl.compact.CompactDFA;
 import net.automatalib.automata.fsa.impl.compact.CompactNFA;
+import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.automata.transducers.impl.compact.CompactMoore;
 import net.automatalib.commons.util.IOUtil;
 import net.automatalib.serialization.FormatException;
 import net.automatalib.words.Alphabet;
@@ -41,6 +43,7 @@ import net.automatalib.words.impl.Alphabets;
 class SAFInput {
 
     private static final AutomatonType[] TYPES = AutomatonType.values();
+    private static final SAFCompression[] COMPRESSIONS = SAFCompression.values();
 
     private final DataInput in;
 
@@ -277,4 +280,144 @@ class SAFInput {
                                    new AcceptanceDecoder(),
                                    SinglePropertyDecoder.nullDecoder());
     }
+
+    public <O> CompactMealy<Integer, O> readNativeMealy(SinglePropertyDecoder<? extends O> outputDecoder)
+            throws IOException {
+        final SAFCompression compression = readTransducerHeader(AutomatonType.MEALY);
+
+        try (BlockInputStream blocks = new BlockInputStream(in, compression);
+             DataInputStream body = new DataInputStream(blocks)) {
+
+            final Alphabet<Integer> alphabet = readTransducerAlphabet(body);
+            final int numStates = readTransducerSize(body);
+            final int init = VarInts.readUnsigned(body) - 1;
+            final List<O> outputs = readOutputs(body, outputDecoder);
+
+            final CompactMealy<Integer, O> result = new CompactMealy<>(alphabet, numStates);
+            for (int s = 0; s < numStates; s++) {
+                result.addIntState(null);
+            }
+            result.setInitialState(checkState(init, numStates, true));
+
+            for (int s = 0; s < numStates; s++) {
+                for (int i = 0; i < alphabet.size(); i++) {
+                    final int code = VarInts.readUnsigned(body);
+                    if (code != 0) {
+                        final int succ = decodeSuccessor(code, s, numStates);
+                        result.setTransition(s, i, succ, readOutput(body, outputs));
+                    }
+                }
+            }
+
+            checkEndOfBlocks(blocks);
+            return result;
+        }
+    }
+
+    public <O> CompactMoore<Integer, O> readNativeMoore(SinglePropertyDecoder<? extends O> outputDecoder)
+            throws IOException {
+        final SAFCompression compression = readTransducerHeader(AutomatonType.MOORE);
+
+        try (BlockInputStream blocks = new BlockInputStream(in, compression);
+             DataInputStream body = new DataInputStream(blocks)) {
+
+            final Alphabet<Integer> alphabet = readTransducerAlphabet(body);
+            final int numStates = readTransducerSize(body);
+            final int init = VarInts.readUnsigned(body) - 1;
+            final List<O> outputs = readOutputs(body, outputDecoder);
+
+            final CompactMoore<Integer, O> result = new CompactMoore.Creator<Integer, O>().createAutomaton(alphabet,
+                                                                                                          numStates);
+            for (int s = 0; s < numStates; s++) {
+                result.addIntState(null);
+            }
+            result.setInitialState(checkState(init, numStates, true));
+
+            for (int s = 0; s < numStates; s++) {
+                result.setStateProperty(s, readOutput(body, outputs));
+                for (int i = 0; i < alphabet.size(); i++) {
+                    final int code = VarInts.readUnsigned(body);
+                    if (code != 0) {
+                        result.setTransition(s, i, decodeSuccessor(code, s, numStates));
+                    }
+                }
+            }
+
+            checkEndOfBlocks(blocks);
+            return result;
+        }
+    }
+
+    private SAFCompression readTransducerHeader(AutomatonType expectedType) throws IOException {
+        final AutomatonType type = readHeader();
+        if (type != expectedType) {
+            throw new FormatException();
+        }
+
+        final int version = in.readUnsignedByte();
+        if (version != SAFOutput.TRANSDUCER_FORMAT_VERSION) {
+            throw new FormatException("Unsupported format version: " + version);
+        }
+
+        final int compression = in.readUnsignedByte();
+        if (compression >= COMPRESSIONS.length) {
+            throw new FormatException("Unknown compression: " + compression);
+        }
+
+        return COMPRESSIONS[compression];
+    }
+
+    private static Alphabet<Integer> readTransducerAlphabet(DataInput in) throws IOException {
+        final int alphabetSize = VarInts.readUnsigned(in);
+        if (alphabetSize <= 0) {
+            throw new FormatException();
+        }
+        return Alphabets.integers(0, alphabetSize - 1);
+    }
+
+    private static int readTransducerSize(DataInput in) throws IOException {
+        final int size = VarInts.readUnsigned(in);
+        if (size < 0) {
+            throw new FormatException();
+        }
+        return size;
+    }
+
+    private static <O> List<O> readOutputs(DataInput in, SinglePropertyDecoder<? extends O> decoder)
+            throws IOException {
+        final int numOutputs = readTransducerSize(in);
+        final List<O> outputs = new ArrayList<>(numOutputs);
+        for (int i = 0; i < numOutputs; i++) {
+            outputs.add(decoder.readProperty(in));
+        }
+        return outputs;
+    }
+
+    private static <O> O readOutput(DataInput in, List<O> outputs) throws IOException {
+        final int idx = VarInts.readUnsigned(in);
+        if (idx == 0) {
+            return null;
+        }
+        if (idx < 0 || idx > outputs.size()) {
+            throw new FormatException("Invalid output index: " + idx);
+        }
+        return outputs.get(idx - 1);
+    }
+
+    private static int decodeSuccessor(int code, int state, int numStates) {
+        return checkState(state + VarInts.unZigZag(code - 1), numStates, false);
+    }
+
+    private static int checkState(int state, int numStates, boolean allowUndefined) {
+        if ((state < 0 && !(allowUndefined && state == -1)) || state >= numStates) {
+            throw new FormatException("Invalid state: " + state);
+        }
+        return state;
+    }
+
+    private static void checkEndOfBlocks(InputStream blocks) throws IOException {
+        if (blocks.read() != -1) {
+            throw new FormatException("Unexpected trailing data");
+        }
+    }
 }
@@ -18,30 +18,58 @@ package net.automatalib.serialization.saf;
 import java.io.DataOutput;
 import java.io.DataOutputStream;
 import java.io.File;
+import java.io.Flushable;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.function.IntFunction;
 
 import net.automatalib.automata.UniversalAutomaton;
+import net.automatalib.automata.UniversalDeterministicAutomaton;
+import net.automatalib.automata.concepts.StateIDs;
 import net.automatalib.automata.fsa.DFA;
 import net.automatalib.automata.fsa.NFA;
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.automata.fsa.impl.compact.CompactNFA;
+import net.automatalib.automata.transducers.MealyMachine;
+import net.automatalib.automata.transducers.MooreMachine;
 import net.automatalib.commons.util.IOUtil;
 import net.automatalib.words.Alphabet;
 
 /**
  * Serializer for the SAF (simple automaton format).
+ * <p>
+ * States are indexed via the {@link StateIDs} of the serialized automaton, so that serialization runs in time linear
+ * in the number of transitions. {@link CompactDFA}s and {@link CompactNFA}s (over the alphabet they are serialized
+ * with) are additionally written in bulk from their primitive representation.
+ * <p>
+ * Mealy and Moore machines are written in a versioned, compact binary format: After the header, the format version and
+ * the {@link SAFCompression} follow. The remaining data is written in checksummed (and optionally compressed) blocks
+ * (see {@link BlockOutputStream}) and consists of a dictionary of all (distinct) outputs and the transition table, in
+ * which successors are encoded as variable-length deltas to their source states and outputs as variable-length
+ * indices into the dictionary.
  *
  * @author frohme
  */
 public class SAFOutput {
 
+    static final int TRANSDUCER_FORMAT_VERSION = 1;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
     private final DataOutput out;
 
     SAFOutput(OutputStream os) {
-        this((DataOutput) new DataOutputStream(os));
+        this((DataOutput) new DataOutputStream(IOUtil.asBufferedOutputStream(os)));
     }
 
     SAFOutput(DataOutput out) {
@@ -53,6 +81,14 @@ public class SAFOutput {
     }
 
     public <I> void writeDFA(DFA<?, I> automaton, Alphabet<I> alphabet) throws IOException {
+        if (automaton instanceof CompactDFA && Objects.equals(((CompactDFA<?>) automaton).getInputAlphabet(), alphabet)) {
+            writeHeader(AutomatonType.DFA);
+            out.writeInt(alphabet.size());
+            writeCompactDFABody((CompactDFA<?>) automaton);
+            flush();
+            return;
+        }
+
         writeAutomaton(automaton,
                        alphabet,
                        AutomatonType.DFA,
@@ -60,6 +96,58 @@ public class SAFOutput {
                        SinglePropertyEncoder.nullEncoder());
     }
 
+    public <I> void writeNFA(NFA<?, I> automaton, Alphabet<I> alphabet) throws IOException {
+        if (automaton instanceof CompactNFA && Objects.equals(((CompactNFA<?>) automaton).getInputAlphabet(), alphabet)) {
+            writeHeader(AutomatonType.NFA);
+            out.writeInt(alphabet.size());
+            writeCompactNFABody((CompactNFA<?>) automaton);
+            flush();
+            return;
+        }
+
+        writeAutomaton(automaton,
+                       alphabet,
+                       AutomatonType.NFA,
+                       new AcceptanceEncoder(),
+                       SinglePropertyEncoder.nullEncoder());
+    }
+
+    public <I, O> void writeMealy(MealyMachine<?, I, ?, O> automaton,
+                                  Alphabet<I> alphabet,
+                                  SinglePropertyEncoder<? super O> outputEncoder,
+                                  SAFCompression compression) throws IOException {
+        writeMealy(automaton.fullIntAbstraction(alphabet), outputEncoder, compression);
+    }
+
+    private <T, O> void writeMealy(UniversalDeterministicAutomaton.FullIntAbstraction<T, ?, O> automaton,
+                                   SinglePropertyEncoder<? super O> outputEncoder,
+                                   SAFCompression compression) throws IOException {
+        writeTransducer(AutomatonType.MEALY,
+                        automaton,
+                        null,
+                        automaton::getTransitionProperty,
+                        outputEncoder,
+                        compression);
+    }
+
+    public <I, O> void writeMoore(MooreMachine<?, I, ?, O> automaton,
+                                  Alphabet<I> alphabet,
+                                  SinglePropertyEncoder<? super O> outputEncoder,
+                                  SAFCompression compression) throws IOException {
+        writeMoore(automaton.fullIntAbstraction(alphabet), outputEncoder, compression);
+    }
+
+    private <T, O> void writeMoore(UniversalDeterministicAutomaton.FullIntAbstraction<T, O, ?> automaton,
+                                   SinglePropertyEncoder<? super O> outputEncoder,
+                                   SAFCompression compression) throws IOException {
+        writeTransducer(AutomatonType.MOORE,
+                        automaton,
+                        automaton::getStateProperty,
+                        null,
+                        outputEncoder,
+                        compression);
+    }
+
     public <I, SP, TP> void writeAutomaton(UniversalAutomaton<?, I, ?, SP, TP> source,
                                            Alphabet<I> alphabet,
                                            AutomatonType expectedType,
@@ -68,6 +156,7 @@ public class SAFOutput {
         writeHeader(expectedType);
         out.writeInt(alphabet.size());
         writeAutomatonBody(source, alphabet, expectedType.isDeterministic(), spEncoder, tpEncoder);
+        flush();
     }
 
     public void writeHeader(AutomatonType type) throws IOException {
@@ -77,6 +166,150 @@ public class SAFOutput {
         out.writeByte(type.ordinal());
     }
 
+    private <T, O> void writeTransducer(AutomatonType type,
+                                        UniversalDeterministicAutomaton.FullIntAbstraction<T, ?, ?> automaton,
+                                        IntFunction<? extends O> stateOutputs,
+                                        Function<? super T, ? extends O> transitionOutputs,
+                                        SinglePropertyEncoder<? super O> outputEncoder,
+                                        SAFCompression compression) throws IOException {
+        final int numStates = automaton.size();
+        final int numInputs = automaton.numInputs();
+
+        // first pass: build output dictionary
+        final List<O> outputs = new ArrayList<>();
+        final Map<O, Integer> dictionary = new HashMap<>();
+
+        for (int s = 0; s < numStates; s++) {
+            if (stateOutputs != null) {
+                addToDictionary(stateOutputs.apply(s), outputs, dictionary);
+            }
+            if (transitionOutputs != null) {
+                for (int i = 0; i < numInputs; i++) {
+                    final T trans = automaton.getTransition(s, i);
+                    if (trans != null) {
+                        addToDictionary(transitionOutputs.apply(trans), outputs, dictionary);
+                    }
+                }
+            }
+        }
+
+        writeHeader(type);
+        out.writeByte(TRANSDUCER_FORMAT_VERSION);
+        out.writeByte(compression.ordinal());
+
+        try (BlockOutputStream blocks = new BlockOutputStream(out, compression);
+             DataOutputStream body = new DataOutputStream(blocks)) {
+
+            VarInts.writeUnsigned(body, numInputs);
+            VarInts.writeUnsigned(body, numStates);
+            // initial state and outputs are shifted by one, so that 0 can denote undefined values
+            VarInts.writeUnsigned(body, automaton.getIntInitialState() + 1);
+
+            VarInts.writeUnsigned(body, outputs.size());
+            for (O o : outputs) {
+                outputEncoder.writeProperty(body, o);
+            }
+
+            for (int s = 0; s < numStates; s++) {
+                if (stateOutputs != null) {
+                    writeOutputIndex(body, stateOutputs.apply(s), dictionary);
+                }
+                for (int i = 0; i < numInputs; i++) {
+                    final T trans = automaton.getTransition(s, i);
+                    if (trans == null) {
+                        VarInts.writeUnsigned(body, 0);
+                    } else {
+                        final int succ = automaton.getIntSuccessor(trans);
+                        VarInts.writeUnsigned(body, VarInts.zigZag(succ - s) + 1);
+                        if (transitionOutputs != null) {
+                            writeOutputIndex(body, transitionOutputs.apply(trans), dictionary);
+                        }
+                    }
+                }
+            }
+        }
+
+        flush();
+    }
+
+    private static <O> void addToDictionary(O output, List<O> outputs, Map<O, Integer> dictionary) {
+        if (output != null && !dictionary.containsKey(output)) {
+            dictionary.put(output, outputs.size());
+            outputs.add(output);
+        }
+    }
+
+    private static <O> void writeOutputIndex(DataOutput out, O output, Map<O, Integer> dictionary)
+            throws IOException {
+        VarInts.writeUnsigned(out, output == null ? 0 : dictionary.get(output) + 1);
+    }
+
+    private void flush() throws IOException {
+        if (out instanceof Flushable) {
+            ((Flushable) out).flush();
+        }
+    }
+
+    private void writeCompactDFABody(CompactDFA<?> automaton) throws IOException {
+        final int numStates = automaton.size();
+        final int numInputs = automaton.numInputs();
+        final int init = automaton.getIntInitialState();
+
+        if (init < 0) {
+            throw new IllegalArgumentException();
+        }
+
+        out.writeInt(numStates);
+        out.writeInt(init);
+        encodeAcceptance(numStates, automaton::isAccepting);
+
+        // undefined transitions are stored as -1 which coincides with the SAF encoding of undefined transitions
+        final IntBlockWriter writer = new IntBlockWriter(out);
+        for (int s = 0; s < numStates; s++) {
+            for (int i = 0; i < numInputs; i++) {
+                writer.writeInt(automaton.getSuccessor(s, i));
+            }
+        }
+        writer.flush();
+    }
+
+    private void writeCompactNFABody(CompactNFA<?> automaton) throws IOException {
+        final int numStates = automaton.size();
+        final int numInputs = automaton.numInputs();
+        final Set<Integer> initials = automaton.getInitialStates();
+
+        out.writeInt(numStates);
+
+        final IntBlockWriter writer = new IntBlockWriter(out);
+        writer.writeInt(initials.size());
+        for (Integer s : initials) {
+            writer.writeInt(s);
+        }
+        writer.flush();
+
+        encodeAcceptance(numStates, automaton::isAccepting);
+
+        for (int s = 0; s < numStates; s++) {
+            for (int i = 0; i < numInputs; i++) {
+                final Set<Integer> succs = automaton.getTransitions(s, i);
+                writer.writeInt(succs.size());
+                for (Integer succ : succs) {
+                    writer.writeInt(succ);
+                }
+            }
+        }
+        writer.flush();
+    }
+
+    private void encodeAcceptance(int numStates, IntAcceptance acceptance) throws IOException {
+        final AcceptanceEncoder encoder = new AcceptanceEncoder();
+        encoder.start(out);
+        for (int s = 0; s < numStates; s++) {
+            encoder.encodeProperty(out, acceptance.isAccepting(s));
+        }
+        encoder.finish(out);
+    }
+
     private <I, SP, TP> void writeAutomatonBody(UniversalAutomaton<?, I, ?, SP, TP> automaton,
                                                 Alphabet<I> alphabet,
                                                 boolean deterministic,
@@ -105,10 +338,11 @@ public class SAFOutput {
         }
 
         final List<S> states = new ArrayList<>(result.getStates());
+        final StateIndex<S> index = new StateIndex<>(result.stateIDs(), states);
         final S init = initials.iterator().next();
 
-        encodeStatesDet(result, init, states, spEncoder);
-        encodeTransitionsDet(result, alphabet, states, tpEncoder);
+        encodeStatesDet(result, init, states, index, spEncoder);
+        encodeTransitionsDet(result, alphabet, states, index, tpEncoder);
     }
 
     private <S, I, SP, TP> void encodeBodyNondet(UniversalAutomaton<S, I, ?, SP, TP> source,
@@ -117,24 +351,27 @@ public class SAFOutput {
                                                  SinglePropertyEncoder<? super TP> tpEncoder) throws IOException {
 
         final List<S> states = new ArrayList<>(source.getStates());
+        final StateIndex<S> index = new StateIndex<>(source.stateIDs(), states);
         final Set<S> initials = source.getInitialStates();
 
-        encodeStatesNondet(source, initials, states, spEncoder);
-        encodeTransitionsNondet(source, alphabet, states, tpEncoder);
+        encodeStatesNondet(source, initials, states, index, spEncoder);
+        encodeTransitionsNondet(source, alphabet, states, index, tpEncoder);
 
     }
 
     private <S, SP> void encodeStatesDet(UniversalAutomaton<S, ?, ?, SP, ?> source,
                                          final S init,
                                          final List<S> states,
+                                         final StateIndex<S> index,
                                          BlockPropertyEncoder<? super SP> encoder) throws IOException {
-        out.writeInt(states.indexOf(init));
+        out.writeInt(index.get(init));
         encodeStateProperties(source, states, encoder);
     }
 
     private <S, I, T, TP> void encodeTransitionsDet(UniversalAutomaton<S, I, T, ?, TP> source,
                                                     Alphabet<I> alphabet,
                                                     List<S> stateList,
+                                                    StateIndex<S> index,
                                                     SinglePropertyEncoder<? super TP> tpEncoder) throws IOException {
         for (S state : stateList) {
             for (int j = 0; j < alphabet.size(); j++) {
@@ -155,7 +392,7 @@ public class SAFOutput {
 
                     assert succState != null;
 
-                    final int tgt = stateList.indexOf(succState);
+                    final int tgt = index.get(succState);
 
                     out.writeInt(tgt);
                     tpEncoder.writeProperty(out, source.getTransitionProperty(succ));
@@ -167,12 +404,13 @@ public class SAFOutput {
     private <S, SP> void encodeStatesNondet(UniversalAutomaton<S, ?, ?, SP, ?> source,
                                             final Collection<? extends S> initialStates,
                                             final List<S> states,
+                                            final StateIndex<S> index,
                                             BlockPropertyEncoder<? super SP> encoder) throws IOException {
         // 'writeInts'
         out.writeInt(initialStates.size());
 
         for (final S s : initialStates) {
-            out.writeInt(states.indexOf(s));
+            out.writeInt(index.get(s));
         }
         // end 'writeInts'
 
@@ -182,6 +420,7 @@ public class SAFOutput {
     private <S, I, T, TP> void encodeTransitionsNondet(UniversalAutomaton<S, I, T, ?, TP> source,
                                                        Alphabet<I> alphabet,
                                                        List<S> stateList,
+                                                       StateIndex<S> index,
                                                        SinglePropertyEncoder<? super TP> tpEncoder) throws IOException {
         for (S state : stateList) {
             for (int j = 0; j < alphabet.size(); j++) {
@@ -193,7 +432,7 @@ public class SAFOutput {
 
                 for (final T t : succs) {
                     final S succState = source.getSuccessor(t);
-                    out.writeInt(stateList.indexOf(succState));
+                    out.writeInt(index.get(succState));
                     tpEncoder.writeProperty(out, source.getTransitionProperty(t));
                 }
             }
@@ -212,11 +451,66 @@ public class SAFOutput {
         encoder.finish(out);
     }
 
-    public <I> void writeNFA(NFA<?, I> automaton, Alphabet<I> alphabet) throws IOException {
-        writeAutomaton(automaton,
-                       alphabet,
-                       AutomatonType.NFA,
-                       new AcceptanceEncoder(),
-                       SinglePropertyEncoder.nullEncoder());
+    @FunctionalInterface
+    private interface IntAcceptance {
+
+        boolean isAccepting(int state);
+    }
+
+    /**
+     * Maps states to their position in the serialized state list. The ids of the {@link StateIDs} are not required to
+     * be contiguous, hence they are translated to positions via a primitive array.
+     */
+    private static final class StateIndex<S> {
+
+        private final StateIDs<S> stateIDs;
+        private final int[] positions;
+
+        StateIndex(StateIDs<S> stateIDs, List<S> states) {
+            this.stateIDs = stateIDs;
+
+            int maxId = -1;
+            for (S s : states) {
+                maxId = Math.max(maxId, stateIDs.getStateId(s));
+            }
+
+            this.positions = new int[maxId + 1];
+            for (int i = 0; i < states.size(); i++) {
+                positions[stateIDs.getStateId(states.get(i))] = i;
+            }
+        }
+
+        int get(S state) {
+            return positions[stateIDs.getStateId(state)];
+        }
+    }
+
+    /**
+     * Collects integers in a {@link ByteBuffer} (in the big-endian order of {@link DataOutput#writeInt(int)}) and
+     * writes them in blocks.
+     */
+    private static final class IntBlockWriter {
+
+        private final DataOutput out;
+        private final ByteBuffer bytes;
+        private final IntBuffer ints;
+
+        IntBlockWriter(DataOutput out) {
+            this.out = out;
+            this.bytes = ByteBuffer.allocate(BUFFER_SIZE);
+            this.ints = bytes.asIntBuffer();
+        }
+
+        void writeInt(int value) throws IOException {
+            if (!ints.hasRemaining()) {
+                flush();
+            }
+            ints.put(value);
+        }
+
+        void flush() throws IOException {
+            out.write(bytes.array(), 0, ints.position() * Integer.BYTES);
+            ints.clear();
+        }
     }
 }
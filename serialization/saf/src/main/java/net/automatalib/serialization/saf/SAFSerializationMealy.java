@@ -0,0 +1,102 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.saf;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import net.automatalib.automata.transducers.MealyMachine;
+import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.commons.util.IOUtil;
+import net.automatalib.serialization.InputModelData;
+import net.automatalib.serialization.InputModelSerializationProvider;
+import net.automatalib.words.Alphabet;
+
+/**
+ * A serialization provider for Mealy machines in a compact, versioned binary format (see {@link SAFOutput}). Outputs
+ * are (de-)serialized via the given {@link SinglePropertyEncoder} and {@link SinglePropertyDecoder}.
+ *
+ * @param <O>
+ *         output symbol type
+ *
+ * @author frohme
+ */
+public final class SAFSerializationMealy<O>
+        implements InputModelSerializationProvider<Integer, MealyMachine<?, Integer, ?, O>, CompactMealy<Integer, O>> {
+
+    private static final SAFSerializationMealy<String> INSTANCE =
+            new SAFSerializationMealy<>(DataOutput::writeUTF, DataInput::readUTF, SAFCompression.DEFLATE);
+
+    private final SinglePropertyEncoder<? super O> outputEncoder;
+    private final SinglePropertyDecoder<? extends O> outputDecoder;
+    private final SAFCompression compression;
+
+    private SAFSerializationMealy(SinglePropertyEncoder<? super O> outputEncoder,
+                               SinglePropertyDecoder<? extends O> outputDecoder,
+                               SAFCompression compression) {
+        this.outputEncoder = outputEncoder;
+        this.outputDecoder = outputDecoder;
+        this.compression = compression;
+    }
+
+    /**
+     * Returns a provider for Mealy machines with {@link String} outputs, which uses {@link SAFCompression#DEFLATE}
+     * compression.
+     *
+     * @return the serialization provider
+     */
+    public static SAFSerializationMealy<String> getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns a provider for Mealy machines with arbitrary outputs.
+     *
+     * @param outputEncoder
+     *         the encoder for writing outputs
+     * @param outputDecoder
+     *         the decoder for reading outputs
+     * @param compression
+     *         the block compression to use when writing models
+     * @param <O>
+     *         output symbol type
+     *
+     * @return the serialization provider
+     */
+    public static <O> SAFSerializationMealy<O> getInstance(SinglePropertyEncoder<? super O> outputEncoder,
+                                                       SinglePropertyDecoder<? extends O> outputDecoder,
+                                                       SAFCompression compression) {
+        return new SAFSerializationMealy<>(outputEncoder, outputDecoder, compression);
+    }
+
+    @Override
+    public InputModelData<Integer, CompactMealy<Integer, O>> readModel(InputStream is) throws IOException {
+        final InputStream uncompressedStream = IOUtil.asUncompressedInputStream(is);
+        SAFInput in = new SAFInput(uncompressedStream);
+        final CompactMealy<Integer, O> automaton = in.readNativeMealy(outputDecoder);
+        return new InputModelData<>(automaton, automaton.getInputAlphabet());
+    }
+
+    @Override
+    public void writeModel(OutputStream os, MealyMachine<?, Integer, ?, O> model, Alphabet<Integer> alphabet)
+            throws IOException {
+        SAFOutput out = new SAFOutput(os);
+        out.writeMealy(model, alphabet, outputEncoder, compression);
+    }
+}
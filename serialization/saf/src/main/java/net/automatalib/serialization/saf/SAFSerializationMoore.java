@@ -0,0 +1,102 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.saf;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import net.automatalib.automata.transducers.MooreMachine;
+import net.automatalib.automata.transducers.impl.compact.CompactMoore;
+import net.automatalib.commons.util.IOUtil;
+import net.automatalib.serialization.InputModelData;
+import net.automatalib.serialization.InputModelSerializationProvider;
+import net.automatalib.words.Alphabet;
+
+/**
+ * A serialization provider for Moore machines in a compact, versioned binary format (see {@link SAFOutput}). Outputs
+ * are (de-)serialized via the given {@link SinglePropertyEncoder} and {@link SinglePropertyDecoder}.
+ *
+ * @param <O>
+ *         output symbol type
+ *
+ * @author frohme
+ */
+public final class SAFSerializationMoore<O>
+        implements InputModelSerializationProvider<Integer, MooreMachine<?, Integer, ?, O>, CompactMoore<Integer, O>> {
+
+    private static final SAFSerializationMoore<String> INSTANCE =
+            new SAFSerializationMoore<>(DataOutput::writeUTF, DataInput::readUTF, SAFCompression.DEFLATE);
+
+    private final SinglePropertyEncoder<? super O> outputEncoder;
+    private final SinglePropertyDecoder<? extends O> outputDecoder;
+    private final SAFCompression compression;
+
+    private SAFSerializationMoore(SinglePropertyEncoder<? super O> outputEncoder,
+                               SinglePropertyDecoder<? extends O> outputDecoder,
+                               SAFCompression compression) {
+        this.outputEncoder = outputEncoder;
+        this.outputDecoder = outputDecoder;
+        this.compression = compression;
+    }
+
+    /**
+     * Returns a provider for Moore machines with {@link String} outputs, which uses {@link SAFCompression#DEFLATE}
+     * compression.
+     *
+     * @return the serialization provider
+     */
+    public static SAFSerializationMoore<String> getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns a provider for Moore machines with arbitrary outputs.
+     *
+     * @param outputEncoder
+     *         the encoder for writing outputs
+     * @param outputDecoder
+     *         the decoder for reading outputs
+     * @param compression
+     *         the block compression to use when writing models
+     * @param <O>
+     *         output symbol type
+     *
+     * @return the serialization provider
+     */
+    public static <O> SAFSerializationMoore<O> getInstance(SinglePropertyEncoder<? super O> outputEncoder,
+                                                       SinglePropertyDecoder<? extends O> outputDecoder,
+                                                       SAFCompression compression) {
+        return new SAFSerializationMoore<>(outputEncoder, outputDecoder, compression);
+    }
+
+    @Override
+    public InputModelData<Integer, CompactMoore<Integer, O>> readModel(InputStream is) throws IOException {
+        final InputStream uncompressedStream = IOUtil.asUncompressedInputStream(is);
+        SAFInput in = new SAFInput(uncompressedStream);
+        final CompactMoore<Integer, O> automaton = in.readNativeMoore(outputDecoder);
+        return new InputModelData<>(automaton, automaton.getInputAlphabet());
+    }
+
+    @Override
+    public void writeModel(OutputStream os, MooreMachine<?, Integer, ?, O> model, Alphabet<Integer> alphabet)
+            throws IOException {
+        SAFOutput out = new SAFOutput(os);
+        out.writeMoore(model, alphabet, outputEncoder, compression);
+    }
+}
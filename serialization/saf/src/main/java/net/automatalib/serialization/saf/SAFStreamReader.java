@@ -0,0 +1,179 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.saf;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import net.automatalib.commons.util.IOUtil;
+import net.automatalib.serialization.FormatException;
+import net.automatalib.serialization.streaming.AbstractAutomatonStreamReader;
+import net.automatalib.serialization.streaming.AutomatonStreamEvent;
+
+/**
+ * A streaming reader for SAF-encoded DFAs and NFAs. The reader reports the acceptance of each state as state property
+ * and the index of the input symbol as transition label. Transitions are read row by row and are not stored.
+ * <p>
+ * Events are reported in the order of the SAF encoding: {@link AutomatonStreamEvent#BEGIN}, all {@link
+ * AutomatonStreamEvent#INITIAL_STATE initial states}, all {@link AutomatonStreamEvent#STATE states} (in ascending
+ * order), all {@link AutomatonStreamEvent#TRANSITION transitions} (grouped by ascending source state and input index)
+ * and finally {@link AutomatonStreamEvent#END}.
+ *
+ * @author frohme
+ */
+public class SAFStreamReader extends AbstractAutomatonStreamReader<Boolean, Integer> {
+
+    private final DataInputStream in;
+    private final AcceptanceDecoder acceptanceDecoder = new AcceptanceDecoder();
+
+    private AutomatonStreamEvent current;
+    private boolean deterministic;
+    private int numInputs;
+
+    // the initial states, and the index of the next one to report
+    private int[] initialStates;
+    private int initIdx;
+
+    // the next state to report
+    private int stateIdx;
+
+    // the current row of transitions
+    private int rowState;
+    private int rowInput;
+    private int remainingTargets;
+
+    public SAFStreamReader(InputStream is) {
+        this.in = new DataInputStream(IOUtil.asBufferedInputStream(is));
+    }
+
+    /**
+     * Returns the size of the input alphabet, as stored in the header of the automaton. Only available after the
+     * {@link AutomatonStreamEvent#BEGIN} event.
+     *
+     * @return the size of the input alphabet
+     */
+    public int getAlphabetSize() {
+        return numInputs;
+    }
+
+    @Override
+    public AutomatonStreamEvent next() throws IOException {
+        if (current == null) {
+            readHeader();
+            current = AutomatonStreamEvent.BEGIN;
+        } else if (current == AutomatonStreamEvent.END) {
+            return current;
+        } else if (initIdx < initialStates.length) {
+            state = initialStates[initIdx++];
+            current = AutomatonStreamEvent.INITIAL_STATE;
+        } else if (stateIdx < numStates) {
+            if (stateIdx == 0) {
+                acceptanceDecoder.start(in);
+            }
+            state = stateIdx++;
+            stateProperty = acceptanceDecoder.readProperty(in);
+            current = AutomatonStreamEvent.STATE;
+        } else {
+            current = nextTransition();
+        }
+
+        return current;
+    }
+
+    private void readHeader() throws IOException {
+        final byte[] header = new byte[4];
+        in.readFully(header);
+        if (header[0] != 'S' || header[1] != 'A' || header[2] != 'F') {
+            throw new FormatException("Not a SAF-encoded automaton");
+        }
+
+        if (header[3] == AutomatonType.DFA.ordinal()) {
+            deterministic = true;
+        } else if (header[3] != AutomatonType.NFA.ordinal()) {
+            throw new FormatException("Only DFAs and NFAs can be read in a streaming fashion");
+        }
+
+        numInputs = in.readInt();
+        numStates = in.readInt();
+        if (numInputs < 0 || numStates < 0) {
+            throw new FormatException("Invalid alphabet size or number of states");
+        }
+
+        if (deterministic) {
+            initialStates = new int[] {checkState(in.readInt())};
+        } else {
+            initialStates = new int[in.readInt()];
+            for (int i = 0; i < initialStates.length; i++) {
+                initialStates[i] = checkState(in.readInt());
+            }
+        }
+
+        // signal that no row has been started yet
+        rowInput = numInputs;
+        rowState = -1;
+    }
+
+    private AutomatonStreamEvent nextTransition() throws IOException {
+        while (true) {
+            if (remainingTargets > 0) {
+                remainingTargets--;
+                return readTransition();
+            }
+
+            if (++rowInput >= numInputs) {
+                rowInput = 0;
+                if (++rowState >= numStates || numInputs == 0) {
+                    return AutomatonStreamEvent.END;
+                }
+            }
+
+            if (deterministic) {
+                final int tgt = in.readInt();
+                if (tgt != -1) {
+                    source = rowState;
+                    label = rowInput;
+                    target = checkState(tgt);
+                    return AutomatonStreamEvent.TRANSITION;
+                }
+            } else {
+                remainingTargets = in.readInt();
+                if (remainingTargets < 0) {
+                    throw new FormatException("Invalid number of successors");
+                }
+            }
+        }
+    }
+
+    private AutomatonStreamEvent readTransition() throws IOException {
+        source = rowState;
+        label = rowInput;
+        target = checkState(in.readInt());
+        return AutomatonStreamEvent.TRANSITION;
+    }
+
+    private int checkState(int s) {
+        if (s < 0 || s >= numStates) {
+            throw new FormatException("Invalid state index: " + s);
+        }
+        return s;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
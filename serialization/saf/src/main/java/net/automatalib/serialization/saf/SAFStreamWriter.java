@@ -0,0 +1,261 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.saf;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.BitSet;
+
+import net.automatalib.commons.util.IOUtil;
+import net.automatalib.serialization.streaming.AutomatonStreamVisitor;
+
+/**
+ * A streaming writer for SAF-encoded DFAs and NFAs, whose output can be read by {@link SAFSerializationDFA} and {@link
+ * SAFSerializationNFA}, respectively. States are identified by their SAF indices, their property denotes their
+ * acceptance and transition labels denote the index of the input symbol.
+ * <p>
+ * As the SAF encoding stores the transitions row by row, the writer has the following requirements:
+ * <ul>
+ * <li>the number of states has to be known at the {@link #begin(int, long) beginning} of the automaton, and</li>
+ * <li>transitions have to be visited grouped by their source state, in ascending order of the source states.</li>
+ * </ul>
+ * Besides the acceptance of states (one bit per state), only the transitions of the current source state are kept in
+ * memory. Unvisited states are rejecting. The underlying stream is closed at the {@link #end()} of the automaton.
+ *
+ * @author frohme
+ */
+public final class SAFStreamWriter implements AutomatonStreamVisitor<Boolean, Integer> {
+
+    private static final int ACCEPTANCE_BITS = Integer.SIZE;
+
+    private final DataOutputStream out;
+    private final AutomatonType type;
+    private final int numInputs;
+
+    private final BitSet acceptance = new BitSet();
+    private int[] initialStates = new int[1];
+    private int numInitialStates;
+    private int numStates = -1;
+
+    private boolean bodyWritten;
+    private int rowState = -1;
+
+    // DFA: the successor per input; NFA: the successors per input
+    private int[] successors;
+    private int[][] nondetSuccessors;
+    private int[] nondetSizes;
+
+    private SAFStreamWriter(OutputStream os, AutomatonType type, int numInputs) {
+        this.out = new DataOutputStream(IOUtil.asBufferedOutputStream(os));
+        this.type = type;
+        this.numInputs = numInputs;
+
+        if (type.isDeterministic()) {
+            this.successors = new int[numInputs];
+            Arrays.fill(successors, -1);
+        } else {
+            this.nondetSuccessors = new int[numInputs][1];
+            this.nondetSizes = new int[numInputs];
+        }
+    }
+
+    /**
+     * Creates a writer for DFAs.
+     *
+     * @param os
+     *         the output stream to write to
+     * @param alphabetSize
+     *         the size of the input alphabet
+     *
+     * @return the writer
+     */
+    public static SAFStreamWriter forDFA(OutputStream os, int alphabetSize) {
+        return new SAFStreamWriter(os, AutomatonType.DFA, alphabetSize);
+    }
+
+    /**
+     * Creates a writer for NFAs.
+     *
+     * @param os
+     *         the output stream to write to
+     * @param alphabetSize
+     *         the size of the input alphabet
+     *
+     * @return the writer
+     */
+    public static SAFStreamWriter forNFA(OutputStream os, int alphabetSize) {
+        return new SAFStreamWriter(os, AutomatonType.NFA, alphabetSize);
+    }
+
+    @Override
+    public void begin(int numStates, long numTransitions) {
+        if (numStates < 0) {
+            throw new IllegalArgumentException("SAF requires the number of states to be known");
+        }
+        this.numStates = numStates;
+    }
+
+    @Override
+    public void visitState(int state, Boolean property) {
+        checkBeforeBody();
+        checkState(state);
+        acceptance.set(state, property != null && property);
+    }
+
+    @Override
+    public void visitInitialState(int state) {
+        checkBeforeBody();
+        checkState(state);
+
+        if (type.isDeterministic() && numInitialStates > 0 && initialStates[0] != state) {
+            throw new IllegalArgumentException("DFAs need to exactly specify a single initial state");
+        }
+
+        if (numInitialStates == initialStates.length) {
+            initialStates = Arrays.copyOf(initialStates, 2 * numInitialStates);
+        }
+        initialStates[numInitialStates++] = state;
+    }
+
+    @Override
+    public void visitTransition(int source, Integer label, int target) throws IOException {
+        checkState(source);
+        checkState(target);
+        if (label < 0 || label >= numInputs) {
+            throw new IllegalArgumentException("Invalid input index: " + label);
+        }
+
+        if (!bodyWritten) {
+            writeHeader();
+        }
+
+        if (source < rowState) {
+            throw new IllegalStateException("Transitions need to be visited in ascending order of their sources");
+        }
+
+        while (rowState < source) {
+            flushRow();
+        }
+
+        if (type.isDeterministic()) {
+            if (successors[label] >= 0 && successors[label] != target) {
+                throw new IllegalArgumentException("Non-deterministic transition for state " + source);
+            }
+            successors[label] = target;
+        } else {
+            final int size = nondetSizes[label];
+            if (size == nondetSuccessors[label].length) {
+                nondetSuccessors[label] = Arrays.copyOf(nondetSuccessors[label], 2 * size);
+            }
+            nondetSuccessors[label][size] = target;
+            nondetSizes[label]++;
+        }
+    }
+
+    @Override
+    public void end() throws IOException {
+        try {
+            if (!bodyWritten) {
+                writeHeader();
+            }
+
+            while (rowState < numStates) {
+                flushRow();
+            }
+
+            out.flush();
+        } finally {
+            out.close();
+        }
+    }
+
+    private void writeHeader() throws IOException {
+        if (numStates < 0) {
+            throw new IllegalStateException("SAF requires the number of states to be known");
+        }
+
+        out.writeByte('S');
+        out.writeByte('A');
+        out.writeByte('F');
+        out.writeByte(type.ordinal());
+        out.writeInt(numInputs);
+        out.writeInt(numStates);
+
+        if (type.isDeterministic()) {
+            if (numInitialStates == 0) {
+                throw new IllegalStateException("DFAs need to exactly specify a single initial state");
+            }
+            out.writeInt(initialStates[0]);
+        } else {
+            out.writeInt(numInitialStates);
+            for (int i = 0; i < numInitialStates; i++) {
+                out.writeInt(initialStates[i]);
+            }
+        }
+
+        // see AcceptanceEncoder: one int per 32 states (but at least one)
+        final int numAccInts = numStates == 0 ? 1 : ((numStates - 1) / ACCEPTANCE_BITS) + 1;
+        for (int i = 0; i < numAccInts; i++) {
+            int acc = 0;
+            final int offset = i * ACCEPTANCE_BITS;
+            for (int s = acceptance.nextSetBit(offset); s >= 0 && s < offset + ACCEPTANCE_BITS;
+                 s = acceptance.nextSetBit(s + 1)) {
+                acc |= 1 << (s - offset);
+            }
+            out.writeInt(acc);
+        }
+
+        bodyWritten = true;
+    }
+
+    /**
+     * Writes the buffered transitions of the current row (if any) and advances to the next row.
+     */
+    private void flushRow() throws IOException {
+        if (rowState >= 0) {
+            if (type.isDeterministic()) {
+                for (int succ : successors) {
+                    out.writeInt(succ);
+                }
+                Arrays.fill(successors, -1);
+            } else {
+                for (int i = 0; i < numInputs; i++) {
+                    final int size = nondetSizes[i];
+                    out.writeInt(size);
+                    for (int j = 0; j < size; j++) {
+                        out.writeInt(nondetSuccessors[i][j]);
+                    }
+                }
+                Arrays.fill(nondetSizes, 0);
+            }
+        }
+        rowState++;
+    }
+
+    private void checkBeforeBody() {
+        if (bodyWritten) {
+            throw new IllegalStateException("States need to be visited before transitions");
+        }
+    }
+
+    private void checkState(int state) {
+        if (state < 0 || (numStates >= 0 && state >= numStates)) {
+            throw new IllegalArgumentException("Invalid state index: " + state);
+        }
+    }
+}
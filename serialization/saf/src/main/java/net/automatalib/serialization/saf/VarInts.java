@@ -0,0 +1,123 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.saf;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import net.automatalib.serialization.FormatException;
+
+/**
+ * Utility methods for encoding integers as variable-length byte sequences (7 payload bits per byte, least significant
+ * group first).
+ *
+ * @author frohme
+ */
+final class VarInts {
+
+    private static final int PAYLOAD_BITS = 7;
+    private static final int PAYLOAD_MASK = (1 << PAYLOAD_BITS) - 1;
+    private static final int CONTINUATION_BIT = 1 << PAYLOAD_BITS;
+    private static final int MAX_SHIFT = Integer.SIZE - 1;
+
+    private VarInts() {
+        throw new IllegalStateException("Constructor should never be invoked");
+    }
+
+    /**
+     * Writes the given value, interpreted as an unsigned integer.
+     */
+    static void writeUnsigned(DataOutput out, int value) throws IOException {
+        int remaining = value;
+        while ((remaining & ~PAYLOAD_MASK) != 0) {
+            out.writeByte((remaining & PAYLOAD_MASK) | CONTINUATION_BIT);
+            remaining >>>= PAYLOAD_BITS;
+        }
+        out.writeByte(remaining);
+    }
+
+    /**
+     * Reads an unsigned integer, previously written by {@link #writeUnsigned(DataOutput, int)}.
+     */
+    static int readUnsigned(DataInput in) throws IOException {
+        int result = 0;
+        int shift = 0;
+        int b;
+
+        do {
+            if (shift > MAX_SHIFT) {
+                throw new FormatException("Malformed variable-length integer");
+            }
+            b = in.readUnsignedByte();
+            result |= (b & PAYLOAD_MASK) << shift;
+            shift += PAYLOAD_BITS;
+        } while ((b & CONTINUATION_BIT) != 0);
+
+        return result;
+    }
+
+    /**
+     * Reads an unsigned integer, previously written by {@link #writeUnsigned(DataOutput, int)}, at the given position
+     * of the given array. In order to avoid allocations when reading consecutive values, the value and the position
+     * after the value are packed into the result, see {@link #value(long)} and {@link #next(long)}.
+     */
+    static long readUnsigned(byte[] data, int pos) {
+        int result = 0;
+        int shift = 0;
+        int idx = pos;
+        int b;
+
+        do {
+            if (shift > MAX_SHIFT) {
+                throw new FormatException("Malformed variable-length integer");
+            }
+            b = data[idx++];
+            result |= (b & PAYLOAD_MASK) << shift;
+            shift += PAYLOAD_BITS;
+        } while ((b & CONTINUATION_BIT) != 0);
+
+        return ((long) idx << Integer.SIZE) | Integer.toUnsignedLong(result);
+    }
+
+    /**
+     * Returns the value of a result of {@link #readUnsigned(byte[], int)}.
+     */
+    static int value(long packed) {
+        return (int) packed;
+    }
+
+    /**
+     * Returns the position after the value of a result of {@link #readUnsigned(byte[], int)}.
+     */
+    static int next(long packed) {
+        return (int) (packed >>> Integer.SIZE);
+    }
+
+    /**
+     * Maps signed integers to unsigned integers, such that values of small magnitude have small encodings.
+     */
+    static int zigZag(int value) {
+        return (value << 1) ^ (value >> MAX_SHIFT);
+    }
+
+    /**
+     * Inverse of {@link #zigZag(int)}.
+     */
+    static int unZigZag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
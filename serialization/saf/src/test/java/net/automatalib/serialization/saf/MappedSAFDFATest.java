@@ -0,0 +1,117 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.saf;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.serialization.FormatException;
+import net.automatalib.util.automata.Automata;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * @author frohme
+ */
+public class MappedSAFDFATest {
+
+    private static final Alphabet<Character> ALPHABET = Alphabets.characters('a', 'e');
+
+    private static final int AUTOMATON_SIZE = 100;
+
+    private CompactDFA<Character> automaton;
+    private Path file;
+
+    @BeforeClass
+    public void setUp() throws IOException {
+        final Random random = new Random(0);
+        automaton = RandomAutomata.randomDFA(random, AUTOMATON_SIZE, ALPHABET, false);
+
+        // remove some transitions for partiality
+        for (int i = 0; i < AUTOMATON_SIZE; i++) {
+            automaton.removeAllTransitions(random.nextInt(AUTOMATON_SIZE), ALPHABET.getSymbol(random.nextInt(5)));
+        }
+
+        file = Files.createTempFile("automaton", ".saf");
+        try (OutputStream os = Files.newOutputStream(file)) {
+            new SAFOutput(os).writeDFA(automaton, ALPHABET);
+        }
+    }
+
+    @AfterClass
+    public void tearDown() throws IOException {
+        Files.delete(file);
+    }
+
+    @Test
+    public void testView() throws IOException {
+        final MappedSAFDFA<Character> mapped = MappedSAFDFA.map(file, ALPHABET);
+        checkView(mapped);
+
+        final MappedSAFDFA<Integer> nativeMapped = MappedSAFDFA.map(file);
+        Assert.assertEquals(nativeMapped.getInputAlphabet(), Alphabets.integers(0, ALPHABET.size() - 1));
+        Assert.assertTrue(Automata.testEquivalence(automaton.translate(nativeMapped.getInputAlphabet()),
+                                                   nativeMapped,
+                                                   nativeMapped.getInputAlphabet()));
+    }
+
+    @Test
+    public void testSegments() throws IOException {
+        // use tiny segments, so that transitions of single states span several mappings
+        checkView(MappedSAFDFA.map(file, ALPHABET, 3));
+    }
+
+    @Test(expectedExceptions = FormatException.class)
+    public void testAlphabetMismatch() throws IOException {
+        MappedSAFDFA.map(file, Alphabets.characters('a', 'b'));
+    }
+
+    @Test(expectedExceptions = FormatException.class)
+    public void testTruncatedFile() throws IOException {
+        final Path truncated = Files.createTempFile("truncated", ".saf");
+        try {
+            final byte[] data = Files.readAllBytes(file);
+            Files.write(truncated, Arrays.copyOf(data, data.length - 1));
+            MappedSAFDFA.map(truncated, ALPHABET);
+        } finally {
+            Files.delete(truncated);
+        }
+    }
+
+    private void checkView(MappedSAFDFA<Character> mapped) {
+        Assert.assertEquals(mapped.size(), automaton.size());
+        Assert.assertEquals(mapped.getIntInitialState(), automaton.getIntInitialState());
+
+        for (int s = 0; s < automaton.size(); s++) {
+            Assert.assertEquals(mapped.isAccepting(s), automaton.isAccepting(s));
+            for (int i = 0; i < ALPHABET.size(); i++) {
+                Assert.assertEquals(mapped.getIntSuccessor(s, i), automaton.getSuccessor(s, i));
+            }
+        }
+
+        Assert.assertTrue(Automata.testEquivalence(automaton, mapped, ALPHABET));
+    }
+}
@@ -0,0 +1,196 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.saf;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.serialization.FormatException;
+import net.automatalib.util.automata.Automata;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * @author frohme
+ */
+public class SAFArchiveTest {
+
+    private static final Alphabet<Character> ALPHABET = Alphabets.characters('a', 'e');
+    private static final int NUM_MODELS = 20;
+    private static final int STATES_PER_BLOCK = 16;
+    private static final int CACHE_SIZE = 4;
+
+    private Path file;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        file = Files.createTempFile("automata", ".sar");
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        Files.delete(file);
+    }
+
+    @Test
+    public void testDFAArchive() throws IOException {
+        final Random random = new Random(0);
+        final List<CompactDFA<Character>> dfas = new ArrayList<>(NUM_MODELS);
+
+        try (SAFArchiveWriter<Boolean, Void> writer = new SAFArchiveWriter<>(file,
+                                                                             DataOutput::writeBoolean,
+                                                                             SinglePropertyEncoder.nullEncoder(),
+                                                                             SAFCompression.DEFLATE,
+                                                                             STATES_PER_BLOCK)) {
+            for (int i = 0; i < NUM_MODELS; i++) {
+                final int size = 1 + random.nextInt(10 * STATES_PER_BLOCK);
+                final CompactDFA<Character> dfa = RandomAutomata.randomDFA(random, size, ALPHABET, false);
+
+                // remove some transitions for partiality
+                for (int j = 0; j < size; j++) {
+                    dfa.removeAllTransitions(random.nextInt(size), ALPHABET.getSymbol(random.nextInt(ALPHABET.size())));
+                }
+
+                Assert.assertEquals(writer.addModel(dfa, ALPHABET), i);
+                dfas.add(dfa);
+            }
+        }
+
+        try (SAFArchive<Boolean, Void> archive = SAFArchive.open(file,
+                                                                DataInput::readBoolean,
+                                                                SinglePropertyDecoder.nullDecoder(),
+                                                                CACHE_SIZE)) {
+            Assert.assertEquals(archive.size(), NUM_MODELS);
+
+            // access the models in reverse order to exercise the cache eviction
+            for (int i = NUM_MODELS - 1; i >= 0; i--) {
+                final CompactDFA<Character> dfa = dfas.get(i);
+                final SAFArchiveAutomaton<Character, Boolean, Void> view = archive.getModel(i, ALPHABET);
+
+                Assert.assertEquals(view.size(), dfa.size());
+                Assert.assertEquals(view.getIntInitialState(), dfa.getIntInitialState());
+
+                for (int s = 0; s < dfa.size(); s++) {
+                    Assert.assertEquals(view.getStateProperty(s), Boolean.valueOf(dfa.isAccepting(s)));
+                    for (int in = 0; in < ALPHABET.size(); in++) {
+                        final Integer succ = dfa.getSuccessor(s, ALPHABET.getSymbol(in));
+                        Assert.assertEquals(view.getIntSuccessor(s, in), succ == null ? -1 : succ.intValue());
+                    }
+                }
+
+                Assert.assertNull(Automata.findSeparatingWord(dfa, view, ALPHABET));
+            }
+
+            // native alphabet
+            final SAFArchiveAutomaton<Integer, Boolean, Void> nativeView = archive.getModel(0);
+            Assert.assertEquals(nativeView.getInputAlphabet(), Alphabets.integers(0, ALPHABET.size() - 1));
+        }
+    }
+
+    @Test
+    public void testMealyArchive() throws IOException {
+        final Random random = new Random(42);
+        final List<String> outputs = Arrays.asList("x", "y", "z");
+        final List<CompactMealy<Character, String>> mealies = new ArrayList<>(NUM_MODELS);
+
+        try (SAFArchiveWriter<Void, String> writer = new SAFArchiveWriter<>(file,
+                                                                            SinglePropertyEncoder.nullEncoder(),
+                                                                            DataOutput::writeUTF,
+                                                                            SAFCompression.NONE)) {
+            for (int i = 0; i < NUM_MODELS; i++) {
+                final CompactMealy<Character, String> mealy =
+                        RandomAutomata.randomMealy(random, 1 + random.nextInt(100), ALPHABET, outputs, false);
+                writer.addModel(mealy, ALPHABET);
+                mealies.add(mealy);
+            }
+        }
+
+        try (SAFArchive<Void, String> archive = SAFArchive.open(file,
+                                                               SinglePropertyDecoder.nullDecoder(),
+                                                               DataInput::readUTF)) {
+            for (int i = 0; i < NUM_MODELS; i++) {
+                final CompactMealy<Character, String> mealy = mealies.get(i);
+                final SAFArchiveAutomaton<Character, Void, String> view = archive.getModel(i, ALPHABET);
+
+                for (int s = 0; s < mealy.size(); s++) {
+                    for (Character in : ALPHABET) {
+                        Assert.assertEquals(view.getTransitionProperty(view.getTransition(s, in)),
+                                            mealy.getOutput(s, in));
+                        Assert.assertEquals(view.getSuccessor(view.getTransition(s, in)).intValue(),
+                                            mealy.getSuccessor(s, in));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testErrors() throws IOException {
+        try (SAFArchiveWriter<Boolean, Void> writer = new SAFArchiveWriter<>(file,
+                                                                             DataOutput::writeBoolean,
+                                                                             SinglePropertyEncoder.nullEncoder(),
+                                                                             SAFCompression.DEFLATE)) {
+            writer.addModel(RandomAutomata.randomDFA(new Random(0), 10, ALPHABET, false), ALPHABET);
+        }
+
+        try (SAFArchive<Boolean, Void> archive = SAFArchive.open(file,
+                                                                DataInput::readBoolean,
+                                                                SinglePropertyDecoder.nullDecoder())) {
+            archive.getModel(0, Alphabets.characters('a', 'b'));
+            Assert.fail("Alphabet size mismatch should be detected");
+        } catch (FormatException fe) {
+            // expected
+        }
+
+        try (SAFArchive<Boolean, Void> archive = SAFArchive.open(file,
+                                                                DataInput::readBoolean,
+                                                                SinglePropertyDecoder.nullDecoder())) {
+            final SAFArchiveAutomaton<Character, Boolean, Void> view = archive.getModel(0, ALPHABET);
+            Assert.assertThrows(IndexOutOfBoundsException.class, () -> view.getIntSuccessor(0, ALPHABET.size()));
+            Assert.assertThrows(IndexOutOfBoundsException.class, () -> view.getIntSuccessor(0, -1));
+            Assert.assertThrows(IndexOutOfBoundsException.class, () -> view.getIntSuccessor(view.size(), 0));
+            Assert.assertThrows(IndexOutOfBoundsException.class, () -> view.getTransitionProperty(-1L));
+        }
+
+        // truncate the trailer
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 1);
+        }
+
+        try {
+            SAFArchive.open(file, DataInput::readBoolean, SinglePropertyDecoder.nullDecoder());
+            Assert.fail("Corrupt archive should be detected");
+        } catch (FormatException fe) {
+            // expected
+        }
+    }
+}
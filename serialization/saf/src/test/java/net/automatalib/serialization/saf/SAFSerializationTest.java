@@ -24,6 +24,7 @@ import java.util.Random;
 import net.automatalib.automata.UniversalAutomaton;
 import net.automatalib.automata.fsa.DFA;
 import net.automatalib.automata.fsa.NFA;
+import net.automatalib.automata.fsa.impl.FastDFA;
 import net.automatalib.automata.fsa.impl.compact.CompactDFA;
 import net.automatalib.automata.fsa.impl.compact.CompactNFA;
 import net.automatalib.serialization.InputModelDeserializer;
@@ -90,6 +91,64 @@ public class SAFSerializationTest {
                                                    ALPHABET));
     }
 
+    @Test
+    public void testCompactFastPath() throws Exception {
+        final Random random = new Random(0);
+        final CompactDFA<Integer> dfa = RandomAutomata.randomDFA(random, AUTOMATON_SIZE * 5, ALPHABET);
+        dfa.removeAllTransitions(0);
+
+        Assert.assertEquals(writeCompact(out -> out.writeDFA(dfa, ALPHABET)), writeGeneric(dfa, AutomatonType.DFA));
+
+        final CompactNFA<Integer> nfa = new CompactNFA<>(ALPHABET, AUTOMATON_SIZE);
+
+        for (int i = 0; i < AUTOMATON_SIZE; i++) {
+            nfa.addState(random.nextBoolean());
+            nfa.setInitial(i, random.nextBoolean());
+        }
+
+        for (int i = 0; i < AUTOMATON_SIZE * AUTOMATON_SIZE; i++) {
+            nfa.addTransition(random.nextInt(AUTOMATON_SIZE),
+                              random.nextInt(ALPHABET.size()),
+                              random.nextInt(AUTOMATON_SIZE));
+        }
+
+        Assert.assertEquals(writeCompact(out -> out.writeNFA(nfa, ALPHABET)), writeGeneric(nfa, AutomatonType.NFA));
+    }
+
+    @Test
+    public void testNonCompactSerialization() throws Exception {
+        final Random random = new Random(0);
+        final FastDFA<Integer> automaton = RandomAutomata.randomDeterministic(random,
+                                                                             AUTOMATON_SIZE,
+                                                                             ALPHABET,
+                                                                             DFA.STATE_PROPERTIES,
+                                                                             DFA.TRANSITION_PROPERTIES,
+                                                                             new FastDFA<>(ALPHABET));
+
+        final SAFSerializationDFA serializer = SAFSerializationDFA.getInstance();
+
+        final DFA<Integer, Integer> deserializedModel = writeAndReadModel(automaton, ALPHABET, serializer, serializer);
+
+        Assert.assertTrue(Automata.testEquivalence(automaton, deserializedModel, ALPHABET));
+    }
+
+    private static byte[] writeCompact(CompactWriter writer) throws IOException {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        writer.write(new SAFOutput(baos));
+        return baos.toByteArray();
+    }
+
+    private static byte[] writeGeneric(UniversalAutomaton<Integer, Integer, ?, Boolean, Void> automaton,
+                                       AutomatonType type) throws IOException {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        new SAFOutput(baos).writeAutomaton(automaton,
+                                           ALPHABET,
+                                           type,
+                                           new AcceptanceEncoder(),
+                                           SinglePropertyEncoder.nullEncoder());
+        return baos.toByteArray();
+    }
+
     private <I, IN extends UniversalAutomaton<?, I, ?, ?, ?>, OUT extends UniversalAutomaton<?, I, ?, ?, ?>> OUT writeAndReadModel(
             IN source,
             Alphabet<I> alphabet,
@@ -104,4 +163,9 @@ public class SAFSerializationTest {
         return deserializer.readModel(is).model;
     }
 
+    @FunctionalInterface
+    private interface CompactWriter {
+
+        void write(SAFOutput out) throws IOException;
+    }
 }
@@ -0,0 +1,131 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.saf;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import net.automatalib.automata.fsa.NFA;
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.automata.fsa.impl.compact.CompactNFA;
+import net.automatalib.serialization.streaming.AutomatonStreamEvent;
+import net.automatalib.serialization.streaming.AutomatonStreams;
+import net.automatalib.util.automata.Automata;
+import net.automatalib.util.automata.fsa.NFAs;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author frohme
+ */
+public class SAFStreamTest {
+
+    private static final Alphabet<Integer> ALPHABET = Alphabets.integers(0, 4);
+
+    private static final int AUTOMATON_SIZE = 50;
+
+    @Test
+    public void testDFA() throws IOException {
+        final Random random = new Random(0);
+        final CompactDFA<Integer> dfa = RandomAutomata.randomDFA(random, AUTOMATON_SIZE, ALPHABET);
+        dfa.removeAllTransitions(0);
+        dfa.removeAllTransitions(AUTOMATON_SIZE - 1);
+
+        final byte[] expected = write(dfa);
+
+        // emit the automaton to the stream writer
+        final ByteArrayOutputStream emitted = new ByteArrayOutputStream();
+        AutomatonStreams.emit(dfa, ALPHABET, SAFStreamWriter.forDFA(emitted, ALPHABET.size()));
+        Assert.assertEquals(emitted.toByteArray(), expected);
+
+        // stream the encoded automaton from the reader to the writer
+        Assert.assertEquals(transfer(expected), expected);
+    }
+
+    @Test
+    public void testNFA() throws IOException {
+        final Random random = new Random(0);
+        final CompactNFA<Integer> nfa = new CompactNFA<>(ALPHABET, AUTOMATON_SIZE);
+
+        for (int i = 0; i < AUTOMATON_SIZE; i++) {
+            nfa.addState(random.nextBoolean());
+            nfa.setInitial(i, random.nextBoolean());
+        }
+
+        for (int i = 0; i < AUTOMATON_SIZE * AUTOMATON_SIZE; i++) {
+            nfa.addTransition(random.nextInt(AUTOMATON_SIZE),
+                              random.nextInt(ALPHABET.size()),
+                              random.nextInt(AUTOMATON_SIZE));
+        }
+
+        final ByteArrayOutputStream emitted = new ByteArrayOutputStream();
+        AutomatonStreams.emit(nfa, ALPHABET, SAFStreamWriter.forNFA(emitted, ALPHABET.size()));
+
+        final NFA<Integer, Integer> deserialized =
+                SAFSerializationNFA.getInstance().readModel(new ByteArrayInputStream(emitted.toByteArray())).model;
+
+        Assert.assertTrue(Automata.testEquivalence(NFAs.determinize(nfa, ALPHABET),
+                                                   NFAs.determinize(deserialized, ALPHABET),
+                                                   ALPHABET));
+
+        final byte[] expected = write(nfa);
+        Assert.assertEquals(transfer(expected), expected);
+    }
+
+    @Test
+    public void testUnorderedTransitions() {
+        final SAFStreamWriter writer = SAFStreamWriter.forDFA(new ByteArrayOutputStream(), ALPHABET.size());
+        writer.begin(2, -1);
+        writer.visitInitialState(0);
+
+        Assert.assertThrows(IllegalStateException.class, () -> {
+            writer.visitTransition(1, 0, 0);
+            writer.visitTransition(0, 0, 1);
+        });
+    }
+
+    private static byte[] write(CompactDFA<Integer> dfa) throws IOException {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        SAFSerializationDFA.getInstance().writeModel(baos, dfa, ALPHABET);
+        return baos.toByteArray();
+    }
+
+    private static byte[] write(CompactNFA<Integer> nfa) throws IOException {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        SAFSerializationNFA.getInstance().writeModel(baos, nfa, ALPHABET);
+        return baos.toByteArray();
+    }
+
+    private static byte[] transfer(byte[] data) throws IOException {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+
+        try (SAFStreamReader reader = new SAFStreamReader(new ByteArrayInputStream(data))) {
+            Assert.assertEquals(reader.next(), AutomatonStreamEvent.BEGIN);
+            final SAFStreamWriter writer = data[3] == AutomatonType.DFA.ordinal() ?
+                    SAFStreamWriter.forDFA(baos, reader.getAlphabetSize()) :
+                    SAFStreamWriter.forNFA(baos, reader.getAlphabetSize());
+            writer.begin(reader.getNumStates(), reader.getNumTransitions());
+            AutomatonStreams.transfer(reader, writer);
+        }
+
+        return baos.toByteArray();
+    }
+}
@@ -0,0 +1,164 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.serialization.saf;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.automata.transducers.impl.compact.CompactMoore;
+import net.automatalib.serialization.FormatException;
+import net.automatalib.util.automata.Automata;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * @author frohme
+ */
+public class SAFTransducerSerializationTest {
+
+    private static final Alphabet<Integer> ALPHABET = Alphabets.integers(0, 4);
+
+    private static final List<String> OUTPUTS = Arrays.asList("o1", "o2", "o3", null);
+
+    private static final int AUTOMATON_SIZE = 20;
+
+    private static final int LARGE_AUTOMATON_SIZE = 20000;
+
+    @DataProvider
+    public static Object[][] compressions() {
+        return new Object[][] {{SAFCompression.NONE}, {SAFCompression.DEFLATE}};
+    }
+
+    @Test(dataProvider = "compressions")
+    public void testMealySerialization(SAFCompression compression) throws IOException {
+        final Random random = new Random(0);
+        final CompactMealy<Integer, String> automaton =
+                RandomAutomata.randomMealy(random, AUTOMATON_SIZE, ALPHABET, OUTPUTS, false);
+
+        // remove some transitions for partiality
+        for (int i = 0; i < AUTOMATON_SIZE; i++) {
+            automaton.removeAllTransitions(random.nextInt(AUTOMATON_SIZE), random.nextInt(ALPHABET.size()));
+        }
+
+        checkMealy(automaton, compression);
+    }
+
+    @Test(dataProvider = "compressions")
+    public void testLargeMealySerialization(SAFCompression compression) throws IOException {
+        final Random random = new Random(0);
+        final CompactMealy<Integer, String> automaton =
+                RandomAutomata.randomMealy(random, LARGE_AUTOMATON_SIZE, ALPHABET, OUTPUTS, false);
+
+        final byte[] data = checkMealy(automaton, compression);
+
+        // the transition table spans several blocks
+        Assert.assertTrue(compression != SAFCompression.NONE || data.length > 2 * BlockOutputStream.BLOCK_SIZE);
+    }
+
+    @Test(dataProvider = "compressions")
+    public void testMooreSerialization(SAFCompression compression) throws IOException {
+        final Random random = new Random(0);
+        final CompactMoore<Integer, String> automaton =
+                RandomAutomata.randomDeterministic(random,
+                                                   AUTOMATON_SIZE,
+                                                   ALPHABET,
+                                                   OUTPUTS,
+                                                   null,
+                                                   new CompactMoore.Creator<Integer, String>().createAutomaton(ALPHABET),
+                                                   false);
+
+        automaton.removeAllTransitions(0);
+
+        final SAFSerializationMoore<String> serializer =
+                SAFSerializationMoore.getInstance(DataOutput::writeUTF, DataInput::readUTF, compression);
+
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        serializer.writeModel(baos, automaton, ALPHABET);
+
+        final CompactMoore<Integer, String> deserialized = serializer.readModel(baos.toByteArray()).model;
+
+        Assert.assertEquals(deserialized.size(), automaton.size());
+        Assert.assertTrue(Automata.testEquivalence(automaton, deserialized, ALPHABET));
+    }
+
+    @Test
+    public void testChecksum() throws IOException {
+        final Random random = new Random(0);
+        final CompactMealy<Integer, String> automaton =
+                RandomAutomata.randomMealy(random, AUTOMATON_SIZE, ALPHABET, OUTPUTS, false);
+
+        final SAFSerializationMealy<String> serializer =
+                SAFSerializationMealy.getInstance(DataOutput::writeUTF, DataInput::readUTF, SAFCompression.NONE);
+
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        serializer.writeModel(baos, automaton, ALPHABET);
+
+        final byte[] data = baos.toByteArray();
+        data[data.length / 2]++;
+
+        Assert.assertThrows(FormatException.class, () -> serializer.readModel(data));
+    }
+
+    @Test
+    public void testVarInts() throws IOException {
+        final int[] values = {0, 1, 127, 128, 300, Integer.MAX_VALUE, Integer.MIN_VALUE, -1};
+
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(baos);
+        for (int v : values) {
+            VarInts.writeUnsigned(out, v);
+            VarInts.writeUnsigned(out, VarInts.zigZag(v));
+        }
+
+        final DataInputStream in =
+                new DataInputStream(new ByteArrayInputStream(baos.toByteArray()));
+        for (int v : values) {
+            Assert.assertEquals(VarInts.readUnsigned(in), v);
+            Assert.assertEquals(VarInts.unZigZag(VarInts.readUnsigned(in)), v);
+        }
+        Assert.assertEquals(in.available(), 0);
+    }
+
+    private static byte[] checkMealy(CompactMealy<Integer, String> automaton, SAFCompression compression)
+            throws IOException {
+        final SAFSerializationMealy<String> serializer =
+                SAFSerializationMealy.getInstance(DataOutput::writeUTF, DataInput::readUTF, compression);
+
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        serializer.writeModel(baos, automaton, ALPHABET);
+
+        final byte[] data = baos.toByteArray();
+        final CompactMealy<Integer, String> deserialized = serializer.readModel(data).model;
+
+        Assert.assertEquals(deserialized.size(), automaton.size());
+        Assert.assertTrue(Automata.testEquivalence(automaton, deserialized, ALPHABET));
+
+        return data;
+    }
+}
@@ -18,16 +18,13 @@ package net.automatalib.serialization.taf.writer;
 import java.io.File;
 import java.io.IOException;
 import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
-import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 import net.automatalib.automata.Automaton;
 import net.automatalib.automata.FiniteAlphabetAutomaton;
@@ -35,8 +32,7 @@ import net.automatalib.automata.UniversalDeterministicAutomaton;
 import net.automatalib.automata.concepts.StateIDs;
 import net.automatalib.automata.fsa.DFA;
 import net.automatalib.automata.transducers.MealyMachine;
-import net.automatalib.commons.util.IOUtil;
-import net.automatalib.commons.util.Pair;
+import net.automatalib.commons.util.io.BufferedChannelWriter;
 import net.automatalib.commons.util.strings.StringUtil;
 
 /**
@@ -83,14 +79,11 @@ public final class TAFWriter {
     public static <S, I> void writeDFA(DFA<S, I> dfa, Collection<? extends I> inputs, Appendable out)
             throws IOException {
         TAFWriter writer = new TAFWriter(out);
-        writer.doWriteAutomaton(dfa,
-                                inputs,
-                                "dfa",
-                                s -> dfa.isAccepting(s) ? Collections.singleton("accepting") : Collections.emptySet());
+        writer.doWriteAutomaton(dfa, inputs, "dfa", dfa::isAccepting);
     }
 
     public static <I> void writeDFA(DFA<?, I> dfa, Collection<? extends I> inputs, File out) throws IOException {
-        try (Writer bw = IOUtil.asBufferedUTF8Writer(out)) {
+        try (Writer bw = new BufferedChannelWriter(out)) {
             writeDFA(dfa, inputs, bw);
         }
     }
@@ -98,41 +91,72 @@ public final class TAFWriter {
     private <S, I, T> void doWriteAutomaton(UniversalDeterministicAutomaton<S, I, T, ?, ?> automaton,
                                             Collection<? extends I> inputs,
                                             String type,
-                                            Function<S, ? extends Collection<? extends String>> spExtractor)
-            throws IOException {
+                                            Predicate<? super S> accepting) throws IOException {
+
+        final List<? extends I> inputList = new ArrayList<>(inputs);
+        final int numInputs = inputList.size();
+
+        // escape each input only once
+        final String[] names = new String[numInputs];
+        for (int i = 0; i < numInputs; i++) {
+            names[i] = StringUtil.enquoteIfNecessary(String.valueOf(inputList.get(i)), ID_PATTERN);
+        }
+
+        begin(type, names);
 
-        begin(type, inputs);
+        // buffers that are re-used for every state. The sort keys combine the successor id (upper half) and the input
+        // index (lower half), so that transitions to the same successor become adjacent after sorting.
+        final long[] sortKeys = new long[numInputs];
+        final Object[] properties = new Object[numInputs];
+        final boolean[] written = new boolean[numInputs];
+        final int[] group = new int[numInputs];
 
         S init = automaton.getInitialState();
         StateIDs<S> ids = automaton.stateIDs();
         for (S state : automaton) {
-            Set<String> options = new HashSet<>(spExtractor.apply(state));
-            if (Objects.equals(init, state)) {
-                options.add("initial");
+            beginState(ids.getStateId(state), Objects.equals(init, state), accepting.test(state));
+
+            int numDefined = 0;
+            for (int i = 0; i < numInputs; i++) {
+                final T trans = automaton.getTransition(state, inputList.get(i));
+                if (trans != null) {
+                    final long succId = ids.getStateId(automaton.getSuccessor(trans));
+                    sortKeys[numDefined++] = (succId << Integer.SIZE) | i;
+                    properties[i] = automaton.getTransitionProperty(trans);
+                    written[i] = false;
+                }
             }
-            int id = ids.getStateId(state);
-            String name = "s" + id;
-
-            beginState(name, options);
-
-            Map<Pair<S, Object>, List<I>> groupedTransitions = inputs.stream()
-                                                                     .map(i -> Pair.of(i,
-                                                                                       automaton.getTransition(state,
-                                                                                                               i)))
-                                                                     .filter(p -> p.getSecond() != null)
-                                                                     .collect(Collectors.groupingBy(p -> Pair.of(
-                                                                             automaton.getSuccessor(p.getSecond()),
-                                                                             automaton.getTransitionProperty(p.getSecond())),
-                                                                                                    Collectors.mapping(
-                                                                                                            Pair::getFirst,
-                                                                                                            Collectors.toList())));
-
-            for (Map.Entry<Pair<S, Object>, List<I>> group : groupedTransitions.entrySet()) {
-                S tgt = group.getKey().getFirst();
-                int tgtId = ids.getStateId(tgt);
-                String tgtName = "s" + tgtId;
-                Object transProp = group.getKey().getSecond();
-                writeTransition(group.getValue(), tgtName, transProp);
+
+            Arrays.sort(sortKeys, 0, numDefined);
+
+            int lo = 0;
+            while (lo < numDefined) {
+                final int succId = (int) (sortKeys[lo] >>> Integer.SIZE);
+                int hi = lo + 1;
+                while (hi < numDefined && (int) (sortKeys[hi] >>> Integer.SIZE) == succId) {
+                    hi++;
+                }
+
+                // group the transitions to the same successor by their transition property
+                for (int j = lo; j < hi; j++) {
+                    final int input = (int) sortKeys[j];
+                    if (written[input]) {
+                        continue;
+                    }
+
+                    int groupSize = 0;
+                    for (int k = j; k < hi; k++) {
+                        final int other = (int) sortKeys[k];
+                        if (!written[other] && Objects.equals(properties[input], properties[other])) {
+                            group[groupSize++] = other;
+                            written[other] = true;
+                        }
+                    }
+
+                    writeTransition(names, group, groupSize, succId, properties[input]);
+                }
+
+                lo = hi;
             }
 
             endState();
@@ -141,31 +165,67 @@ public final class TAFWriter {
         end();
     }
 
-    private void begin(String type, Collection<?> inputs) throws IOException {
+    private void begin(String type, String[] names) throws IOException {
         writeIndent();
         out.append(type).append(' ');
-        writeStringCollection(inputs);
+        if (names.length == 1) {
+            out.append(names[0]);
+        } else {
+            out.append('{');
+            for (int i = 0; i < names.length; i++) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                out.append(names[i]);
+            }
+            out.append('}');
+        }
         out.append(" {").append(System.lineSeparator());
         indent++;
     }
 
-    private void beginState(String name, Set<String> options) throws IOException {
+    private void beginState(int id, boolean initial, boolean accepting) throws IOException {
         writeIndent();
-        out.append(name).append(' ');
-        if (options != null && !options.isEmpty()) {
-            out.append(options.toString()).append(' ');
+        writeStateName(id);
+        out.append(' ');
+        // same order as the previously used HashSet representation
+        if (initial && accepting) {
+            out.append("[initial, accepting] ");
+        } else if (initial) {
+            out.append("[initial] ");
+        } else if (accepting) {
+            out.append("[accepting] ");
         }
         out.append('{').append(System.lineSeparator());
         indent++;
     }
 
-    private void writeTransition(Collection<?> symbols, String target, Object output) throws IOException {
+    private void writeTransition(String[] names, int[] group, int groupSize, int target, Object output)
+            throws IOException {
         writeIndent();
-        writeStringCollection(symbols);
+        if (groupSize == 1) {
+            out.append(names[group[0]]);
+        } else {
+            out.append('{');
+            for (int i = 0; i < groupSize; i++) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                out.append(names[group[i]]);
+            }
+            out.append('}');
+        }
         if (output != null) {
             out.append(" / ").append(output.toString());
         }
-        out.append(" -> ").append(target).append(System.lineSeparator());
+        out.append(" -> ");
+        writeStateName(target);
+        out.append(System.lineSeparator());
+    }
+
+    private void writeStateName(int id) throws IOException {
+        out.append('s');
+        BufferedChannelWriter.appendInt(out, id);
     }
 
     private void endState() throws IOException {
@@ -186,29 +246,9 @@ public final class TAFWriter {
         }
     }
 
-    private void writeStringCollection(Collection<?> symbols) throws IOException {
-        if (symbols.isEmpty()) {
-            out.append("{}");
-        } else if (symbols.size() == 1) {
-            StringUtil.enquoteIfNecessary(symbols.iterator().next().toString(), out, ID_PATTERN);
-        } else {
-            out.append('{');
-            boolean first = true;
-            for (Object sym : symbols) {
-                if (first) {
-                    first = false;
-                } else {
-                    out.append(',');
-                }
-                StringUtil.enquoteIfNecessary(sym.toString(), out, ID_PATTERN);
-            }
-            out.append('}');
-        }
-    }
-
     public static <I> void writeMealy(MealyMachine<?, I, ?, ?> mealy, Collection<? extends I> inputs, File out)
             throws IOException {
-        try (Writer bw = IOUtil.asBufferedUTF8Writer(out)) {
+        try (Writer bw = new BufferedChannelWriter(out)) {
             writeMealy(mealy, inputs, bw);
         }
     }
@@ -216,7 +256,7 @@ public final class TAFWriter {
     public static <I> void writeMealy(MealyMachine<?, I, ?, ?> mealy, Collection<? extends I> inputs, Appendable out)
             throws IOException {
         TAFWriter writer = new TAFWriter(out);
-        writer.doWriteAutomaton(mealy, inputs, "mealy", s -> Collections.emptySet());
+        writer.doWriteAutomaton(mealy, inputs, "mealy", s -> false);
     }
 
     public static <I> void mealyToString(MealyMachine<?, I, ?, ?> mealy, Collection<? extends I> inputs) {
@@ -0,0 +1,383 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.equivalence;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.automatalib.automata.UniversalDeterministicAutomaton;
+import net.automatalib.automata.concepts.StateIDs;
+import net.automatalib.commons.util.collections.LongIntHashMap;
+import net.automatalib.words.Word;
+import net.automatalib.words.WordBuilder;
+
+/**
+ * A bidirectional search for shortest separating words of two deterministic automata.
+ * <p>
+ * The forward direction is a breadth-first search over the (reachable part of the) product of both automata, starting
+ * from the pair of initial states. Pairs of states are packed into {@code long}s and stored in a primitive hash set,
+ * and the BFS tree is stored in primitive arrays.
+ * <p>
+ * The backward direction searches from the distinguishing pairs of states, but does so symbolically: after {@code k}
+ * rounds of (Moore-style) partition refinement on the disjoint union of both automata, two states are in different
+ * classes iff they are separated by a word of length at most {@code k}. Each round takes time linear in the size of
+ * the automata (rather than in the size of the product), and allows to check in constant time whether a pair
+ * discovered by the forward search is separated within {@code k} steps.
+ * <p>
+ * Both directions are advanced alternately, preferring the cheaper one. The search terminates as soon as a separating
+ * word of length at most {@code f + k} has been found, where {@code f} is the depth of the forward search, which
+ * guarantees that the found separating word is a shortest one. For (nearly) equivalent automata, the partition
+ * refinement usually stabilizes long before the product has been explored.
+ *
+ * @author frohme
+ */
+public final class BidirectionalEquivalenceTest {
+
+    private BidirectionalEquivalenceTest() {
+        throw new IllegalStateException("Constructor should never be invoked");
+    }
+
+    /**
+     * Computes a shortest separating word of the given automata, i.e. a shortest word for which the automata differ
+     * in their state or transition properties (or in the definedness of transitions).
+     *
+     * @param reference
+     *         the first automaton
+     * @param other
+     *         the second automaton
+     * @param inputs
+     *         the input symbols to consider
+     * @param <I>
+     *         input symbol type
+     *
+     * @return a shortest separating word, or {@code null} if the automata are equivalent w.r.t. the given inputs
+     */
+    public static <I> Word<I> findShortestSeparatingWord(UniversalDeterministicAutomaton<?, I, ?, ?, ?> reference,
+                                                         UniversalDeterministicAutomaton<?, I, ?, ?, ?> other,
+                                                         Collection<? extends I> inputs) {
+        return new Search<I>(reference, other, inputs).search();
+    }
+
+    private static final class Search<I> {
+
+        private static final int INITIAL_CAPACITY = 16;
+        private static final int UNDEFINED = -1;
+        private static final int NO_SPLIT = -1;
+
+        private final List<? extends I> symbols;
+        private final int numInputs;
+        private final int refSize;
+        private final int size;
+
+        // transition structure of the disjoint union (reference states first), indexed by state * numInputs + input
+        private final int[] successors;
+        private final int[] transProps;
+
+        // the partitions after each round of refinement
+        private final List<int[]> levels;
+        private int numClasses;
+        private boolean stable;
+
+        // the forward BFS tree, in discovery order
+        private final LongIntHashMap visited;
+        private long[] pairs;
+        private int[] preds;
+        private int[] predSymbols;
+        private int[] depths;
+        private int numPairs;
+
+        private int bestLength;
+        private int bestPair;
+        private int bestSplit;
+
+        <S1, S2> Search(UniversalDeterministicAutomaton<S1, I, ?, ?, ?> reference,
+                        UniversalDeterministicAutomaton<S2, I, ?, ?, ?> other,
+                        Collection<? extends I> inputs) {
+            this.symbols = new ArrayList<>(inputs);
+            this.numInputs = symbols.size();
+            this.refSize = reference.size();
+            this.size = refSize + other.size();
+            this.successors = new int[size * numInputs];
+            this.transProps = new int[size * numInputs];
+            this.levels = new ArrayList<>();
+
+            final int[] initialPartition = new int[size];
+            final Map<Object, Integer> stateProps = new HashMap<>();
+            final Map<Object, Integer> transPropIds = new HashMap<>();
+
+            initialize(reference, 0, initialPartition, stateProps, transPropIds);
+            initialize(other, refSize, initialPartition, stateProps, transPropIds);
+
+            this.levels.add(initialPartition);
+            this.numClasses = stateProps.size();
+
+            this.visited = new LongIntHashMap();
+            this.pairs = new long[INITIAL_CAPACITY];
+            this.preds = new int[INITIAL_CAPACITY];
+            this.predSymbols = new int[INITIAL_CAPACITY];
+            this.depths = new int[INITIAL_CAPACITY];
+            this.bestLength = Integer.MAX_VALUE;
+
+            final int refInit = reference.stateIDs().getStateId(reference.getInitialState());
+            final int otherInit = refSize + other.stateIDs().getStateId(other.getInitialState());
+            addPair(refInit, otherInit, -1, -1, 0);
+        }
+
+        private <S, T> void initialize(UniversalDeterministicAutomaton<S, I, T, ?, ?> automaton,
+                                       int offset,
+                                       int[] initialPartition,
+                                       Map<Object, Integer> stateProps,
+                                       Map<Object, Integer> transPropIds) {
+            final StateIDs<S> ids = automaton.stateIDs();
+
+            for (int i = 0; i < automaton.size(); i++) {
+                final S state = ids.getState(i);
+                final int u = offset + i;
+                initialPartition[u] = stateProps.computeIfAbsent(automaton.getStateProperty(state),
+                                                                 p -> stateProps.size());
+
+                for (int a = 0; a < numInputs; a++) {
+                    final T trans = automaton.getTransition(state, symbols.get(a));
+                    final int idx = u * numInputs + a;
+
+                    if (trans == null) {
+                        successors[idx] = UNDEFINED;
+                        transProps[idx] = UNDEFINED;
+                    } else {
+                        successors[idx] = offset + ids.getStateId(automaton.getSuccessor(trans));
+                        transProps[idx] = transPropIds.computeIfAbsent(automaton.getTransitionProperty(trans),
+                                                                       p -> transPropIds.size());
+                    }
+                }
+            }
+        }
+
+        Word<I> search() {
+            int frontierStart = 0;
+            int depth = 0;
+
+            // stop, once the best separating word is not longer than anything that remains undiscovered
+            while (!stable && bestLength > depth + levels.size() - 1) {
+                final int frontierSize = numPairs - frontierStart;
+
+                // a forward step costs O(frontierSize * numInputs), a backward step costs O(size * numInputs)
+                if (frontierSize > 0 && frontierSize <= size) {
+                    final int frontierEnd = numPairs;
+                    expand(frontierStart, frontierEnd, depth + 1);
+                    frontierStart = frontierEnd;
+                    depth++;
+                } else {
+                    refine();
+                }
+            }
+
+            return bestLength == Integer.MAX_VALUE ? null : buildWord();
+        }
+
+        private void addPair(int p, int q, int pred, int symbol, int depth) {
+            final long key = LongIntHashMap.pack(p, q);
+            final int oldSize = visited.size();
+            visited.getOrPut(key, numPairs);
+
+            if (visited.size() == oldSize) {
+                return;
+            }
+
+            if (numPairs == pairs.length) {
+                final int newCapacity = numPairs * 2;
+                pairs = Arrays.copyOf(pairs, newCapacity);
+                preds = Arrays.copyOf(preds, newCapacity);
+                predSymbols = Arrays.copyOf(predSymbols, newCapacity);
+                depths = Arrays.copyOf(depths, newCapacity);
+            }
+
+            final int idx = numPairs++;
+            pairs[idx] = key;
+            preds[idx] = pred;
+            predSymbols[idx] = symbol;
+            depths[idx] = depth;
+
+            final int split = splitLevel(p, q);
+            if (split != NO_SPLIT) {
+                updateBest(idx, split);
+            }
+        }
+
+        private void expand(int frontierStart, int frontierEnd, int depth) {
+            final int[] partition = levels.get(levels.size() - 1);
+
+            for (int idx = frontierStart; idx < frontierEnd; idx++) {
+                final int p = LongIntHashMap.high(pairs[idx]);
+                final int q = LongIntHashMap.low(pairs[idx]);
+
+                // the successors of an already separated pair cannot yield a shorter separating word
+                if (partition[p] != partition[q]) {
+                    continue;
+                }
+
+                for (int a = 0; a < numInputs; a++) {
+                    final int pIdx = p * numInputs + a;
+                    final int qIdx = q * numInputs + a;
+
+                    if (transProps[pIdx] != transProps[qIdx]) {
+                        // a difference in the transition properties (including their definedness) separates the pair
+                        // after a single symbol. It has to be recorded here, as the current partition may not have
+                        // been refined far enough to reflect it
+                        updateBest(idx, 1);
+                    } else if (successors[pIdx] != UNDEFINED) {
+                        addPair(successors[pIdx], successors[qIdx], idx, a, depth);
+                    }
+                }
+            }
+        }
+
+        private void refine() {
+            final int[] prev = levels.get(levels.size() - 1);
+            final int[] next = new int[size];
+            final Map<Signature, Integer> signatures = new HashMap<>();
+
+            for (int u = 0; u < size; u++) {
+                final int[] sig = new int[1 + 2 * numInputs];
+                sig[0] = prev[u];
+                for (int a = 0; a < numInputs; a++) {
+                    final int idx = u * numInputs + a;
+                    final int succ = successors[idx];
+                    sig[1 + 2 * a] = transProps[idx];
+                    sig[2 + 2 * a] = succ == UNDEFINED ? UNDEFINED : prev[succ];
+                }
+                next[u] = signatures.computeIfAbsent(new Signature(sig), s -> signatures.size());
+            }
+
+            if (signatures.size() == numClasses) {
+                stable = true;
+                return;
+            }
+
+            numClasses = signatures.size();
+            levels.add(next);
+            final int level = levels.size() - 1;
+
+            // check the discovered pairs, which are separated by the new partition
+            for (int idx = 0; idx < numPairs; idx++) {
+                final int p = LongIntHashMap.high(pairs[idx]);
+                final int q = LongIntHashMap.low(pairs[idx]);
+                if (next[p] != next[q] && prev[p] == prev[q]) {
+                    updateBest(idx, level);
+                }
+            }
+        }
+
+        private void updateBest(int idx, int split) {
+            final int length = depths[idx] + split;
+            if (length < bestLength) {
+                bestLength = length;
+                bestPair = idx;
+                bestSplit = split;
+            }
+        }
+
+        /**
+         * Returns the minimal number of refinement rounds after which the given states are in different classes, or
+         * {@link #NO_SPLIT} if they are not separated by the current partition.
+         */
+        private int splitLevel(int p, int q) {
+            int high = levels.size() - 1;
+            if (levels.get(high)[p] == levels.get(high)[q]) {
+                return NO_SPLIT;
+            }
+
+            int low = 0;
+            while (low < high) {
+                final int mid = (low + high) >>> 1;
+                final int[] partition = levels.get(mid);
+                if (partition[p] == partition[q]) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+
+            return low;
+        }
+
+        private Word<I> buildWord() {
+            final WordBuilder<I> wb = new WordBuilder<>(bestLength);
+
+            // prefix: the path of the forward search
+            for (int idx = bestPair; preds[idx] >= 0; idx = preds[idx]) {
+                wb.append(symbols.get(predSymbols[idx]));
+            }
+            wb.reverse();
+
+            // suffix: the witness of the partition refinement
+            int p = LongIntHashMap.high(pairs[bestPair]);
+            int q = LongIntHashMap.low(pairs[bestPair]);
+            int split = bestSplit;
+
+            while (split > 0) {
+                final int[] partition = levels.get(split - 1);
+
+                for (int a = 0; a < numInputs; a++) {
+                    final int pIdx = p * numInputs + a;
+                    final int qIdx = q * numInputs + a;
+
+                    if (transProps[pIdx] != transProps[qIdx]) {
+                        wb.append(symbols.get(a));
+                        return wb.toWord();
+                    }
+
+                    final int pSucc = successors[pIdx];
+                    final int qSucc = successors[qIdx];
+                    if (pSucc != UNDEFINED && partition[pSucc] != partition[qSucc]) {
+                        wb.append(symbols.get(a));
+                        p = pSucc;
+                        q = qSucc;
+                        break;
+                    }
+                }
+
+                split--;
+            }
+
+            return wb.toWord();
+        }
+    }
+
+    private static final class Signature {
+
+        private final int[] data;
+        private final int hash;
+
+        Signature(int[] data) {
+            this.data = data;
+            this.hash = Arrays.hashCode(data);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Signature && Arrays.equals(data, ((Signature) obj).data);
+        }
+    }
+}
@@ -0,0 +1,431 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.equivalence;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+import com.google.common.hash.Funnel;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.hash.PrimitiveSink;
+import net.automatalib.automata.AutomatonCreator;
+import net.automatalib.automata.MutableDeterministic;
+import net.automatalib.automata.UniversalDeterministicAutomaton;
+import net.automatalib.automata.UniversalDeterministicAutomaton.FullIntAbstraction;
+import net.automatalib.util.automata.minimizer.paigetarjan.PaigeTarjanMinimization;
+import net.automatalib.util.partitionrefinement.AutomatonInitialPartitioning;
+import net.automatalib.util.partitionrefinement.PaigeTarjan;
+import net.automatalib.util.partitionrefinement.PaigeTarjanInitializers;
+import net.automatalib.words.Alphabet;
+
+/**
+ * Utility methods for computing canonical forms (and fingerprints thereof) of deterministic automata.
+ * <p>
+ * The canonical form of an automaton is obtained by minimizing it (w.r.t. its state and transition properties) and
+ * numbering the states of the minimal automaton in the order in which they are discovered by a breadth-first search
+ * that starts in the initial state and explores the inputs in the order of the given alphabet. Undefined transitions
+ * are distinguished from all defined ones. Hence, two automata have identical canonical forms if and only if they are
+ * equivalent (in the sense of {@link NearLinearEquivalenceTest} without ignoring undefined transitions).
+ * <p>
+ * {@link Fingerprint Fingerprints} are 128-bit hashes of the canonical form, which can be computed without
+ * materializing the canonical form. Equivalent automata always have the same fingerprint. State and transition
+ * properties enter the fingerprint by means of a {@link Funnel}. By default, a property is encoded by its class name
+ * and its {@link Object#toString() string representation}, which fully describes, e.g., {@link String}s, {@link
+ * Integer}s, {@link Character}s, {@link Boolean}s and enums. For such properties (or for custom funnels that encode
+ * the properties injectively), fingerprints of inequivalent automata only coincide with negligible probability.
+ * Otherwise, inequivalent automata may share a fingerprint, which is why {@link #deduplicate(List, Alphabet,
+ * ForkJoinPool) deduplication} confirms every coinciding fingerprint by an explicit equivalence check.
+ *
+ * @author frohme
+ */
+public final class CanonicalForms {
+
+    private static final int SEQUENTIAL_THRESHOLD = 4;
+
+    /**
+     * The classification of the implicit sink state that is the target of undefined transitions. As it is not equal
+     * to any state signature, undefined transitions are distinguished from all defined transitions.
+     */
+    private static final Object SINK_CLASSIFICATION = new Object();
+
+    private CanonicalForms() {
+        throw new IllegalStateException("Constructor should never be invoked");
+    }
+
+    /**
+     * Computes the canonical form of the given automaton.
+     *
+     * @param automaton
+     *         the automaton
+     * @param alphabet
+     *         the input alphabet. Its order determines the numbering of the states
+     * @param creator
+     *         the creator for constructing the automaton to return
+     * @param <I>
+     *         input symbol type
+     * @param <SP>
+     *         state property type
+     * @param <TP>
+     *         transition property type
+     * @param <A>
+     *         automaton type
+     *
+     * @return the canonical form, whose state ids are numbered in breadth-first order
+     */
+    public static <I, SP, TP, A extends MutableDeterministic<?, I, ?, SP, TP>> A canonicalize(UniversalDeterministicAutomaton<?, I, ?, SP, TP> automaton,
+                                                                                            Alphabet<I> alphabet,
+                                                                                            AutomatonCreator<A, I> creator) {
+        // the pruned extraction of the minimal automaton already numbers the states in breadth-first order
+        return PaigeTarjanMinimization.minimizeUniversal(automaton,
+                                                         alphabet,
+                                                         creator,
+                                                         AutomatonInitialPartitioning.BY_FULL_SIGNATURE,
+                                                         SINK_CLASSIFICATION);
+    }
+
+    /**
+     * Computes the fingerprint of the canonical form of the given automaton, encoding its properties by their class
+     * name and string representation.
+     *
+     * @param automaton
+     *         the automaton
+     * @param alphabet
+     *         the input alphabet
+     * @param <I>
+     *         input symbol type
+     *
+     * @return the fingerprint of the canonical form of the given automaton
+     *
+     * @see #fingerprint(UniversalDeterministicAutomaton, Alphabet, Funnel, Funnel)
+     */
+    public static <I> Fingerprint fingerprint(UniversalDeterministicAutomaton<?, I, ?, ?, ?> automaton,
+                                              Alphabet<I> alphabet) {
+        return fingerprint(automaton, alphabet, PropertyFunnel.INSTANCE, PropertyFunnel.INSTANCE);
+    }
+
+    /**
+     * Computes the fingerprint of the canonical form of the given automaton, encoding its properties with the given
+     * funnels. The funnels are never invoked with {@code null} properties.
+     *
+     * @param automaton
+     *         the automaton
+     * @param alphabet
+     *         the input alphabet
+     * @param spFunnel
+     *         the funnel for encoding state properties
+     * @param tpFunnel
+     *         the funnel for encoding transition properties
+     * @param <I>
+     *         input symbol type
+     * @param <SP>
+     *         state property type
+     * @param <TP>
+     *         transition property type
+     *
+     * @return the fingerprint of the canonical form of the given automaton
+     */
+    public static <I, SP, TP> Fingerprint fingerprint(UniversalDeterministicAutomaton<?, I, ?, SP, TP> automaton,
+                                                      Alphabet<I> alphabet,
+                                                      Funnel<? super SP> spFunnel,
+                                                      Funnel<? super TP> tpFunnel) {
+        return fingerprintInternal(automaton.fullIntAbstraction(alphabet), spFunnel, tpFunnel);
+    }
+
+    /**
+     * Computes the fingerprints of the given automata in parallel.
+     *
+     * @param automata
+     *         the automata
+     * @param alphabet
+     *         the input alphabet
+     * @param pool
+     *         the pool used for computing the fingerprints
+     * @param <I>
+     *         input symbol type
+     *
+     * @return the fingerprints of the given automata (in the order of the given automata)
+     *
+     * @see #fingerprint(UniversalDeterministicAutomaton, Alphabet)
+     */
+    public static <I> List<Fingerprint> fingerprints(List<? extends UniversalDeterministicAutomaton<?, I, ?, ?, ?>> automata,
+                                                     Alphabet<I> alphabet,
+                                                     ForkJoinPool pool) {
+        return fingerprints(automata, a -> fingerprint(a, alphabet), pool);
+    }
+
+    /**
+     * Computes the fingerprints of the given automata in parallel, encoding their properties with the given funnels.
+     *
+     * @param automata
+     *         the automata
+     * @param alphabet
+     *         the input alphabet
+     * @param spFunnel
+     *         the funnel for encoding state properties
+     * @param tpFunnel
+     *         the funnel for encoding transition properties
+     * @param pool
+     *         the pool used for computing the fingerprints
+     * @param <I>
+     *         input symbol type
+     * @param <SP>
+     *         state property type
+     * @param <TP>
+     *         transition property type
+     *
+     * @return the fingerprints of the given automata (in the order of the given automata)
+     *
+     * @see #fingerprint(UniversalDeterministicAutomaton, Alphabet, Funnel, Funnel)
+     */
+    public static <I, SP, TP> List<Fingerprint> fingerprints(List<? extends UniversalDeterministicAutomaton<?, I, ?, SP, TP>> automata,
+                                                             Alphabet<I> alphabet,
+                                                             Funnel<? super SP> spFunnel,
+                                                             Funnel<? super TP> tpFunnel,
+                                                             ForkJoinPool pool) {
+        return fingerprints(automata, a -> fingerprint(a, alphabet, spFunnel, tpFunnel), pool);
+    }
+
+    private static <A> List<Fingerprint> fingerprints(List<? extends A> automata,
+                                                      Function<? super A, Fingerprint> fingerprinter,
+                                                      ForkJoinPool pool) {
+        final Fingerprint[] result = new Fingerprint[automata.size()];
+        pool.invoke(new FingerprintTask<>(automata, fingerprinter, result, 0, result.length));
+        return Arrays.asList(result);
+    }
+
+    /**
+     * Removes equivalent automata from the given list, based on their {@link #fingerprints(List, Alphabet,
+     * ForkJoinPool) fingerprints}, which are computed in parallel.
+     *
+     * @param automata
+     *         the automata
+     * @param alphabet
+     *         the input alphabet
+     * @param pool
+     *         the pool used for computing the fingerprints
+     * @param <I>
+     *         input symbol type
+     * @param <A>
+     *         automaton type
+     *
+     * @return the first automaton of every equivalence class (in the order of the given automata)
+     *
+     * @see #deduplicate(List, Alphabet, Funnel, Funnel, ForkJoinPool)
+     */
+    public static <I, A extends UniversalDeterministicAutomaton<?, I, ?, ?, ?>> List<A> deduplicate(List<? extends A> automata,
+                                                                                                  Alphabet<I> alphabet,
+                                                                                                  ForkJoinPool pool) {
+        return deduplicate(automata, fingerprints(automata, alphabet, pool), alphabet);
+    }
+
+    /**
+     * Removes equivalent automata from the given list, based on their {@link #fingerprints(List, Alphabet, Funnel,
+     * Funnel, ForkJoinPool) fingerprints}, which are computed in parallel. An automaton is only removed if it is
+     * equivalent (in the sense of {@link NearLinearEquivalenceTest} without ignoring undefined transitions) to a
+     * previous automaton with the same fingerprint, so imprecise funnels cannot cause inequivalent automata to be
+     * dropped.
+     *
+     * @param automata
+     *         the automata
+     * @param alphabet
+     *         the input alphabet
+     * @param spFunnel
+     *         the funnel for encoding state properties
+     * @param tpFunnel
+     *         the funnel for encoding transition properties
+     * @param pool
+     *         the pool used for computing the fingerprints
+     * @param <I>
+     *         input symbol type
+     * @param <SP>
+     *         state property type
+     * @param <TP>
+     *         transition property type
+     * @param <A>
+     *         automaton type
+     *
+     * @return the first automaton of every equivalence class (in the order of the given automata)
+     */
+    public static <I, SP, TP, A extends UniversalDeterministicAutomaton<?, I, ?, SP, TP>> List<A> deduplicate(List<? extends A> automata,
+                                                                                                           Alphabet<I> alphabet,
+                                                                                                           Funnel<? super SP> spFunnel,
+                                                                                                           Funnel<? super TP> tpFunnel,
+                                                                                                           ForkJoinPool pool) {
+        return deduplicate(automata, fingerprints(automata, alphabet, spFunnel, tpFunnel, pool), alphabet);
+    }
+
+    private static <I, A extends UniversalDeterministicAutomaton<?, I, ?, ?, ?>> List<A> deduplicate(List<? extends A> automata,
+                                                                                                   List<Fingerprint> fingerprints,
+                                                                                                   Alphabet<I> alphabet) {
+        final Map<Fingerprint, List<A>> representatives = new HashMap<>();
+        final List<A> result = new ArrayList<>();
+
+        for (int i = 0; i < fingerprints.size(); i++) {
+            final A automaton = automata.get(i);
+            final List<A> candidates = representatives.computeIfAbsent(fingerprints.get(i), f -> new ArrayList<>(1));
+
+            // confirm a coinciding fingerprint, so that hash collisions never drop inequivalent automata
+            if (!containsEquivalent(candidates, automaton, alphabet)) {
+                candidates.add(automaton);
+                result.add(automaton);
+            }
+        }
+
+        return result;
+    }
+
+    private static <I> boolean containsEquivalent(List<? extends UniversalDeterministicAutomaton<?, I, ?, ?, ?>> candidates,
+                                                  UniversalDeterministicAutomaton<?, I, ?, ?, ?> automaton,
+                                                  Alphabet<I> alphabet) {
+        for (UniversalDeterministicAutomaton<?, I, ?, ?, ?> candidate : candidates) {
+            if (NearLinearEquivalenceTest.findSeparatingWord(candidate, automaton, alphabet) == null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static <T, SP, TP> Fingerprint fingerprintInternal(FullIntAbstraction<T, SP, TP> abs,
+                                                               Funnel<? super SP> spFunnel,
+                                                               Funnel<? super TP> tpFunnel) {
+        final int numInputs = abs.numInputs();
+        final Hasher hasher = Hashing.murmur3_128().newHasher();
+        hasher.putInt(numInputs);
+
+        final int init = abs.getIntInitialState();
+
+        if (init >= 0) {
+            final PaigeTarjan pt = new PaigeTarjan();
+            final IntFunction<?> classifier = AutomatonInitialPartitioning.BY_FULL_SIGNATURE.initialClassifier(abs);
+            PaigeTarjanInitializers.initDeterministic(pt, abs, classifier, SINK_CLASSIFICATION);
+            pt.initWorklist(false);
+            pt.computeCoarsestStablePartition();
+
+            // same breadth-first numbering as the pruned extraction of canonicalize
+            final int numBlocks = pt.getNumBlocks();
+            final int[] repMap = new int[numBlocks];
+            final int[] stateMap = new int[numBlocks];
+            Arrays.fill(stateMap, -1);
+
+            stateMap[pt.getBlockForState(init).id] = 0;
+            repMap[0] = init;
+            int numStates = 1;
+
+            for (int curr = 0; curr < numStates; curr++) {
+                final int rep = repMap[curr];
+                putProperty(hasher, abs.getStateProperty(rep), spFunnel);
+
+                for (int i = 0; i < numInputs; i++) {
+                    final T trans = abs.getTransition(rep, i);
+                    if (trans == null) {
+                        hasher.putInt(-1);
+                        continue;
+                    }
+
+                    final int succ = abs.getIntSuccessor(trans);
+                    final int succBlockId = pt.getBlockForState(succ).id;
+                    int succId = stateMap[succBlockId];
+                    if (succId < 0) {
+                        succId = numStates++;
+                        stateMap[succBlockId] = succId;
+                        repMap[succId] = succ;
+                    }
+
+                    hasher.putInt(succId);
+                    putProperty(hasher, abs.getTransitionProperty(trans), tpFunnel);
+                }
+            }
+        }
+
+        final ByteBuffer hash = ByteBuffer.wrap(hasher.hash().asBytes()).order(ByteOrder.LITTLE_ENDIAN);
+        return new Fingerprint(hash.getLong(Long.BYTES), hash.getLong(0));
+    }
+
+    private static <P> void putProperty(Hasher hasher, P property, Funnel<? super P> funnel) {
+        if (property == null) {
+            hasher.putBoolean(false);
+        } else {
+            hasher.putBoolean(true);
+            hasher.putObject(property, funnel);
+        }
+    }
+
+    /**
+     * The default encoding of properties by their class name and their string representation. The strings are prefixed
+     * by their lengths, so that the encodings of consecutive properties cannot be confused.
+     */
+    private enum PropertyFunnel implements Funnel<Object> {
+        INSTANCE;
+
+        @Override
+        public void funnel(Object from, PrimitiveSink into) {
+            putString(from.getClass().getName(), into);
+            putString(from.toString(), into);
+        }
+
+        private static void putString(String string, PrimitiveSink into) {
+            into.putInt(string.length());
+            into.putUnencodedChars(string);
+        }
+    }
+
+    private static final class FingerprintTask<A> extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<? extends A> automata;
+        private final Function<? super A, Fingerprint> fingerprinter;
+        private final Fingerprint[] result;
+        private final int low;
+        private final int high;
+
+        FingerprintTask(List<? extends A> automata,
+                        Function<? super A, Fingerprint> fingerprinter,
+                        Fingerprint[] result,
+                        int low,
+                        int high) {
+            this.automata = automata;
+            this.fingerprinter = fingerprinter;
+            this.result = result;
+            this.low = low;
+            this.high = high;
+        }
+
+        @Override
+        protected void compute() {
+            if (high - low <= SEQUENTIAL_THRESHOLD) {
+                for (int i = low; i < high; i++) {
+                    result[i] = fingerprinter.apply(automata.get(i));
+                }
+                return;
+            }
+
+            final int mid = (low + high) >>> 1;
+            invokeAll(new FingerprintTask<>(automata, fingerprinter, result, low, mid),
+                      new FingerprintTask<>(automata, fingerprinter, result, mid, high));
+        }
+    }
+}
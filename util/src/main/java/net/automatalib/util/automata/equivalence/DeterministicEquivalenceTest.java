@@ -16,14 +16,15 @@
 package net.automatalib.util.automata.equivalence;
 
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
 import java.util.Objects;
 import java.util.Queue;
 
 import net.automatalib.automata.UniversalDeterministicAutomaton;
 import net.automatalib.automata.concepts.StateIDs;
+import net.automatalib.commons.util.collections.LongIntHashMap;
 import net.automatalib.words.Word;
 import net.automatalib.words.WordBuilder;
 
@@ -150,6 +151,15 @@ public class DeterministicEquivalenceTest<I> {
         return sep.toWord();
     }
 
+    /**
+     * Variant of {@link #findSeparatingWord(UniversalDeterministicAutomaton, UniversalDeterministicAutomaton,
+     * Collection)} for large automata. Instead of a table over the full product state space, the pairs of reached
+     * states are packed into {@code long}s and stored in a primitive hash set, and the BFS tree is stored in primitive
+     * arrays indexed by the discovery order of the pairs (which coincides with the BFS order). Hence, only the
+     * reachable part of the product is allocated.
+     *
+     * @return a shortest separating word, or {@code null} if the automata are equivalent
+     */
     public static <I, S, T, S2, T2> Word<I> findSeparatingWordLarge(UniversalDeterministicAutomaton<S, I, T, ?, ?> reference,
                                                                     UniversalDeterministicAutomaton<S2, I, T2, ?, ?> other,
                                                                     Collection<? extends I> inputs) {
@@ -162,96 +172,62 @@ public class DeterministicEquivalenceTest<I> {
             return Word.epsilon();
         }
 
-        Queue<StatePair<S, S2>> bfsQueue = new ArrayDeque<>();
-        bfsQueue.add(new StatePair<>(refInit, otherInit));
-
-        int refSize = reference.size();
+        final List<? extends I> symbols = new ArrayList<>(inputs);
+        final int numInputs = symbols.size();
 
         StateIDs<S> refStateIds = reference.stateIDs();
         StateIDs<S2> otherStateIds = other.stateIDs();
 
-        StatePair<S, S2> currPair;
-        int lastId = otherStateIds.getStateId(otherInit) * refSize + refStateIds.getStateId(refInit);
-
-        //TIntObjectMap<Pred<I>> preds = new TIntObjectHashMap<>();
-        Map<Integer, Pred<I>> preds = new HashMap<>(); // TODO: replace by primitive specialization
-        preds.put(lastId, new Pred<>(-1, null));
-
-        int currDepth = 0;
-        int inCurrDepth = 1;
-        int inNextDepth = 0;
-
-        I lastSym = null;
+        final LongIntHashMap visited = new LongIntHashMap();
+        final PairStorage pairs = new PairStorage();
 
-        bfs:
-        while ((currPair = bfsQueue.poll()) != null) {
-            S refState = currPair.ref;
-            S2 otherState = currPair.other;
+        final long initKey =
+                LongIntHashMap.pack(refStateIds.getStateId(refInit), otherStateIds.getStateId(otherInit));
+        visited.put(initKey, pairs.add(initKey, -1, -1));
 
-            int currId = otherStateIds.getStateId(otherState) * refSize + refStateIds.getStateId(refState);
-            lastId = currId;
+        // the pairs are stored in discovery order, which is the BFS order
+        for (int curr = 0; curr < pairs.size; curr++) {
+            final long currKey = pairs.keys[curr];
+            S refState = refStateIds.getState(LongIntHashMap.high(currKey));
+            S2 otherState = otherStateIds.getState(LongIntHashMap.low(currKey));
 
-            for (I in : inputs) {
-                lastSym = in;
+            for (int i = 0; i < numInputs; i++) {
+                final I in = symbols.get(i);
                 T refTrans = reference.getTransition(refState, in);
                 T2 otherTrans = other.getTransition(otherState, in);
 
                 if ((refTrans == null || otherTrans == null) && refTrans != otherTrans) {
-                    break bfs;
+                    return pairs.toWord(curr, i, symbols);
                 }
 
                 Object refProp = reference.getTransitionProperty(refTrans);
                 Object otherProp = other.getTransitionProperty(otherTrans);
                 if (!Objects.equals(refProp, otherProp)) {
-                    break bfs;
+                    return pairs.toWord(curr, i, symbols);
                 }
 
                 S refSucc = reference.getSuccessor(refTrans);
                 S2 otherSucc = other.getSuccessor(otherTrans);
 
-                int succId = otherStateIds.getStateId(otherSucc) * refSize + refStateIds.getStateId(refSucc);
+                final long succKey =
+                        LongIntHashMap.pack(refStateIds.getStateId(refSucc), otherStateIds.getStateId(otherSucc));
+                final int oldSize = visited.size();
+                visited.getOrPut(succKey, pairs.size);
 
-                if (preds.get(succId) == null) {
+                if (visited.size() != oldSize) {
                     refStateProp = reference.getStateProperty(refSucc);
                     otherStateProp = other.getStateProperty(otherSucc);
 
                     if (!Objects.equals(refStateProp, otherStateProp)) {
-                        break bfs;
+                        return pairs.toWord(curr, i, symbols);
                     }
 
-                    preds.put(succId, new Pred<>(currId, in));
-                    bfsQueue.add(new StatePair<>(refSucc, otherSucc));
-                    inNextDepth++;
+                    pairs.add(succKey, curr, i);
                 }
             }
-
-            lastSym = null;
-
-            // Next level in BFS reached
-            if (--inCurrDepth == 0) {
-                inCurrDepth = inNextDepth;
-                inNextDepth = 0;
-                currDepth++;
-            }
         }
 
-        if (lastSym == null) {
-            return null;
-        }
-
-        WordBuilder<I> sep = new WordBuilder<>(null, currDepth + 1);
-        int index = currDepth;
-        sep.setSymbol(index--, lastSym);
-
-        Pred<I> pred = preds.get(lastId);
-        I sym = pred.symbol;
-        while (sym != null) {
-            sep.setSymbol(index--, sym);
-            pred = preds.get(pred.id);
-            sym = pred.symbol;
-        }
-
-        return sep.toWord();
+        return null;
     }
 
     private static final class StatePair<S, S2> {
@@ -19,6 +19,7 @@ import java.util.ArrayDeque;
 import java.util.Collection;
 import java.util.Objects;
 import java.util.Queue;
+import java.util.concurrent.ForkJoinPool;
 
 import net.automatalib.automata.UniversalDeterministicAutomaton;
 import net.automatalib.automata.concepts.InputAlphabetHolder;
@@ -297,6 +298,47 @@ public class NearLinearEquivalenceTest<I> {
         return wb.toWord();
     }
 
+    public static <S, S2, I, T, T2> Word<I> findSeparatingWord(UniversalDeterministicAutomaton<S, I, T, ?, ?> target,
+                                                               UniversalDeterministicAutomaton<S2, I, T2, ?, ?> other,
+                                                               Collection<? extends I> inputs,
+                                                               ForkJoinPool pool) {
+        return findSeparatingWord(target, other, inputs, false, pool);
+    }
+
+    /**
+     * Parallel variant of {@link #findSeparatingWord(UniversalDeterministicAutomaton, UniversalDeterministicAutomaton,
+     * Collection, boolean)}. The worklist of state pairs is processed in batches, whose pairs are processed
+     * concurrently by the tasks of the given pool. State pairs are packed into {@code long}s via the {@link StateIDs
+     * state ids} of both automata, and the equivalence relation is maintained by a lock-free union-find structure.
+     * <p>
+     * Note that both automata must support concurrent read access (which is the case for all automaton implementations
+     * that are not modified during the test).
+     *
+     * @param target
+     *         the first automaton
+     * @param other
+     *         the second automaton
+     * @param inputs
+     *         the inputs to consider for a separating word
+     * @param ignoreUndefinedTransitions
+     *         if {@code true}, undefined transitions are not considered to distinguish two states, if {@code false} an
+     *         undefined and defined transition are considered to distinguish two states
+     * @param pool
+     *         the pool used for processing the batches of state pairs
+     *
+     * @return A word separating the two automata, {@code null} if no such word can be found
+     */
+    public static <S, S2, I, T, T2> Word<I> findSeparatingWord(UniversalDeterministicAutomaton<S, I, T, ?, ?> target,
+                                                               UniversalDeterministicAutomaton<S2, I, T2, ?, ?> other,
+                                                               Collection<? extends I> inputs,
+                                                               boolean ignoreUndefinedTransitions,
+                                                               ForkJoinPool pool) {
+        return new ParallelNearLinearEquivalenceTest<>(target,
+                                                       other,
+                                                       inputs,
+                                                       ignoreUndefinedTransitions).findSeparatingWord(pool);
+    }
+
     public static <S, S2, I, T, T2> Word<I> findSeparatingWord(UniversalDeterministicAutomaton<S, I, T, ?, ?> target,
                                                                UniversalDeterministicAutomaton<S2, I, T2, ?, ?> other,
                                                                Alphabet<I> inputs) {
@@ -0,0 +1,93 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.equivalence;
+
+import java.util.Arrays;
+import java.util.List;
+
+import net.automatalib.words.Word;
+import net.automatalib.words.WordBuilder;
+
+/**
+ * A BFS tree over pairs of states, stored in primitive arrays: the (packed) state pair, the index of the predecessor
+ * pair and the index of the input symbol by which each pair has been reached. Pairs are identified by their insertion
+ * index.
+ *
+ * @author frohme
+ */
+final class PairStorage {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    long[] keys;
+    int[] preds;
+    int[] symbols;
+    int size;
+
+    PairStorage() {
+        this(INITIAL_CAPACITY);
+    }
+
+    PairStorage(int initialCapacity) {
+        final int capacity = Math.max(initialCapacity, 1);
+        keys = new long[capacity];
+        preds = new int[capacity];
+        symbols = new int[capacity];
+    }
+
+    int add(long key, int pred, int symbol) {
+        ensureCapacity(size + 1);
+        keys[size] = key;
+        preds[size] = pred;
+        this.symbols[size] = symbol;
+        return size++;
+    }
+
+    /**
+     * Appends all pairs of the given storage to this storage. The predecessor indices of the appended pairs are
+     * copied as-is, i.e. they must refer to pairs of this storage.
+     */
+    void addAll(PairStorage other) {
+        ensureCapacity(size + other.size);
+        System.arraycopy(other.keys, 0, keys, size, other.size);
+        System.arraycopy(other.preds, 0, preds, size, other.size);
+        System.arraycopy(other.symbols, 0, symbols, size, other.size);
+        size += other.size;
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity > keys.length) {
+            final int newCapacity = Math.max(keys.length * 2, minCapacity);
+            keys = Arrays.copyOf(keys, newCapacity);
+            preds = Arrays.copyOf(preds, newCapacity);
+            symbols = Arrays.copyOf(symbols, newCapacity);
+        }
+    }
+
+    /**
+     * Returns the word that leads to the pair with the given index, extended by the given last symbol.
+     */
+    <I> Word<I> toWord(int index, int lastSymbol, List<? extends I> inputs) {
+        final WordBuilder<I> wb = new WordBuilder<>();
+        wb.append(inputs.get(lastSymbol));
+
+        for (int i = index; preds[i] >= 0; i = preds[i]) {
+            wb.append(inputs.get(symbols[i]));
+        }
+
+        return wb.reverse().toWord();
+    }
+}
@@ -0,0 +1,217 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.equivalence;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+import net.automatalib.automata.UniversalDeterministicAutomaton;
+import net.automatalib.automata.concepts.StateIDs;
+import net.automatalib.commons.util.IntDisjointSets;
+import net.automatalib.commons.util.collections.LongIntHashMap;
+import net.automatalib.commons.util.concurrent.ConcurrentUnionFind;
+import net.automatalib.words.Word;
+
+/**
+ * A parallel version of the near-linear equivalence test of {@link NearLinearEquivalenceTest}. The worklist of state
+ * pairs is processed in batches (one batch per BFS level), whose pairs are processed concurrently by the tasks of a
+ * {@link ForkJoinPool}.
+ * <p>
+ * State pairs are identified by the {@link StateIDs state ids} of both automata, packed into a single {@code long}. The
+ * equivalence relation is maintained by a {@link ConcurrentUnionFind} over the disjoint union of both state spaces
+ * (the ids of the second automaton are shifted by the size of the first automaton). Only pairs whose union succeeded
+ * are added to the next batch, hence each pair is processed at most once and the overall number of pairs is bounded by
+ * the number of states of both automata.
+ * <p>
+ * The processed pairs are stored in a {@link PairStorage}, such that a separating word can be reconstructed from the
+ * pair at which a difference has been detected. Since the order in which pairs are united depends on the scheduling,
+ * the returned word is not necessarily the same as the one of the sequential version.
+ *
+ * @param <S>
+ *         state type of the first automaton
+ * @param <S2>
+ *         state type of the second automaton
+ * @param <I>
+ *         input symbol type
+ * @param <T>
+ *         transition type of the first automaton
+ * @param <T2>
+ *         transition type of the second automaton
+ *
+ * @author frohme
+ */
+final class ParallelNearLinearEquivalenceTest<S, S2, I, T, T2> {
+
+    private static final int SEQUENTIAL_THRESHOLD = 256;
+    private static final long NOT_FOUND = -1;
+
+    private final UniversalDeterministicAutomaton<S, I, T, ?, ?> target;
+    private final UniversalDeterministicAutomaton<S2, I, T2, ?, ?> other;
+    private final StateIDs<S> targetStateIds;
+    private final StateIDs<S2> otherStateIds;
+    private final List<? extends I> symbols;
+    private final boolean ignoreUndefinedTransitions;
+    private final int targetStates;
+    private final IntDisjointSets uf;
+
+    /**
+     * The (packed) index of the pair and the index of the symbol at which a difference has been detected, or {@link
+     * #NOT_FOUND}.
+     */
+    private final AtomicLong found;
+
+    ParallelNearLinearEquivalenceTest(UniversalDeterministicAutomaton<S, I, T, ?, ?> target,
+                                      UniversalDeterministicAutomaton<S2, I, T2, ?, ?> other,
+                                      Collection<? extends I> inputs,
+                                      boolean ignoreUndefinedTransitions) {
+        this.target = target;
+        this.other = other;
+        this.targetStateIds = target.stateIDs();
+        this.otherStateIds = other.stateIDs();
+        this.symbols = new ArrayList<>(inputs);
+        this.ignoreUndefinedTransitions = ignoreUndefinedTransitions;
+        this.targetStates = target.size();
+        this.uf = new ConcurrentUnionFind(targetStates + other.size());
+        this.found = new AtomicLong(NOT_FOUND);
+    }
+
+    Word<I> findSeparatingWord(ForkJoinPool pool) {
+        final S init1 = target.getInitialState();
+        final S2 init2 = other.getInitialState();
+
+        if (!Objects.equals(target.getStateProperty(init1), other.getStateProperty(init2))) {
+            return Word.epsilon();
+        }
+
+        final int id1 = targetStateIds.getStateId(init1);
+        final int id2 = otherStateIds.getStateId(init2);
+
+        uf.union(id1, id2 + targetStates);
+
+        final PairStorage pairs = new PairStorage();
+        pairs.add(LongIntHashMap.pack(id1, id2), -1, -1);
+
+        int batchBegin = 0;
+        int batchEnd = pairs.size;
+
+        while (batchBegin < batchEnd) {
+            final PairStorage next = pool.invoke(new BatchTask(pairs, batchBegin, batchEnd));
+
+            final long result = found.get();
+            if (result != NOT_FOUND) {
+                return pairs.toWord(LongIntHashMap.high(result), LongIntHashMap.low(result), symbols);
+            }
+
+            pairs.addAll(next);
+            batchBegin = batchEnd;
+            batchEnd = pairs.size;
+        }
+
+        return null;
+    }
+
+    /**
+     * Processes the pairs with the given (global) indices and returns the newly discovered pairs. The predecessor
+     * indices of the returned pairs refer to the given storage.
+     */
+    private PairStorage process(PairStorage pairs, int low, int high) {
+        final PairStorage result = new PairStorage(2 * (high - low));
+        final int numInputs = symbols.size();
+
+        for (int idx = low; idx < high && found.get() == NOT_FOUND; idx++) {
+            final long key = pairs.keys[idx];
+            final S state1 = targetStateIds.getState(LongIntHashMap.high(key));
+            final S2 state2 = otherStateIds.getState(LongIntHashMap.low(key));
+
+            for (int i = 0; i < numInputs; i++) {
+                final I sym = symbols.get(i);
+                final T trans1 = target.getTransition(state1, sym);
+                final T2 trans2 = other.getTransition(state2, sym);
+
+                if (trans1 == null || trans2 == null) {
+                    if (ignoreUndefinedTransitions || trans1 == trans2) {
+                        continue;
+                    }
+                    foundDifference(idx, i);
+                    return result;
+                }
+
+                if (!Objects.equals(target.getTransitionProperty(trans1), other.getTransitionProperty(trans2))) {
+                    foundDifference(idx, i);
+                    return result;
+                }
+
+                final S succ1 = target.getSuccessor(trans1);
+                final S2 succ2 = other.getSuccessor(trans2);
+
+                final int succId1 = targetStateIds.getStateId(succ1);
+                final int succId2 = otherStateIds.getStateId(succ2);
+
+                if (!uf.union(succId1, succId2 + targetStates)) {
+                    continue;
+                }
+
+                if (!Objects.equals(target.getStateProperty(succ1), other.getStateProperty(succ2))) {
+                    foundDifference(idx, i);
+                    return result;
+                }
+
+                result.add(LongIntHashMap.pack(succId1, succId2), idx, i);
+            }
+        }
+
+        return result;
+    }
+
+    private void foundDifference(int pairIndex, int symbolIndex) {
+        found.compareAndSet(NOT_FOUND, LongIntHashMap.pack(pairIndex, symbolIndex));
+    }
+
+    private final class BatchTask extends RecursiveTask<PairStorage> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final PairStorage pairs;
+        private final int low;
+        private final int high;
+
+        BatchTask(PairStorage pairs, int low, int high) {
+            this.pairs = pairs;
+            this.low = low;
+            this.high = high;
+        }
+
+        @Override
+        protected PairStorage compute() {
+            if (high - low <= SEQUENTIAL_THRESHOLD) {
+                return process(pairs, low, high);
+            }
+
+            final int mid = (low + high) >>> 1;
+            final BatchTask left = new BatchTask(pairs, low, mid);
+            left.fork();
+            final PairStorage result = new BatchTask(pairs, mid, high).compute();
+            final PairStorage leftResult = left.join();
+            leftResult.addAll(result);
+            return leftResult;
+        }
+    }
+}
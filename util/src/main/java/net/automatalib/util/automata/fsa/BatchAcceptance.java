@@ -0,0 +1,156 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.fsa;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.automata.simple.SimpleDeterministicAutomaton.FullIntAbstraction;
+import net.automatalib.commons.util.collections.LongIntHashMap;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+
+/**
+ * Batch acceptance checks of many words on a {@link CompactDFA}.
+ * <p>
+ * The words are inserted into a prefix tree (trie), whose nodes are identified by integers and whose edges are stored
+ * in a {@link LongIntHashMap} (mapping the packed pair of node and symbol index to the child node). Since every node
+ * is created after its parent, the states of all nodes can be computed in a single pass over the node ids, such that
+ * every shared prefix is simulated only once and no boxed states are involved.
+ * <p>
+ * In the parallel version, the words are split into chunks, for each of which an individual trie is built and
+ * simulated by the tasks of a {@link ForkJoinPool}. Hence, prefixes are only shared within a chunk.
+ *
+ * @param <I>
+ *         input symbol type
+ *
+ * @author frohme
+ */
+final class BatchAcceptance<I> {
+
+    private static final int SEQUENTIAL_THRESHOLD = 4096;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final CompactDFA<I> dfa;
+    private final Alphabet<I> alphabet;
+    private final List<? extends Word<? extends I>> words;
+    private final boolean[] accepted;
+
+    BatchAcceptance(CompactDFA<I> dfa, List<? extends Word<? extends I>> words) {
+        this.dfa = dfa;
+        this.alphabet = dfa.getInputAlphabet();
+        this.words = words;
+        this.accepted = new boolean[words.size()];
+    }
+
+    BitSet accepts() {
+        simulate(0, words.size());
+        return toBitSet();
+    }
+
+    BitSet accepts(ForkJoinPool pool) {
+        pool.invoke(new ChunkTask(0, words.size()));
+        return toBitSet();
+    }
+
+    private BitSet toBitSet() {
+        final BitSet result = new BitSet(accepted.length);
+        for (int i = 0; i < accepted.length; i++) {
+            if (accepted[i]) {
+                result.set(i);
+            }
+        }
+        return result;
+    }
+
+    private void simulate(int low, int high) {
+        final LongIntHashMap children = new LongIntHashMap();
+        final int[] terminals = new int[high - low];
+
+        // node 0 is the root
+        int[] parents = new int[INITIAL_CAPACITY];
+        int[] symbols = new int[INITIAL_CAPACITY];
+        int numNodes = 1;
+
+        for (int w = low; w < high; w++) {
+            final Word<? extends I> word = words.get(w);
+            int node = 0;
+
+            for (int i = 0; i < word.length(); i++) {
+                final int symIdx = alphabet.getSymbolIndex(word.getSymbol(i));
+                final int child = children.getOrPut(LongIntHashMap.pack(node, symIdx), numNodes);
+
+                if (child == numNodes) {
+                    if (numNodes == parents.length) {
+                        parents = Arrays.copyOf(parents, 2 * numNodes);
+                        symbols = Arrays.copyOf(symbols, 2 * numNodes);
+                    }
+                    parents[numNodes] = node;
+                    symbols[numNodes] = symIdx;
+                    numNodes++;
+                }
+
+                node = child;
+            }
+
+            terminals[w - low] = node;
+        }
+
+        // parents always have smaller ids than their children
+        final int[] states = new int[numNodes];
+        states[0] = dfa.getIntInitialState();
+
+        for (int n = 1; n < numNodes; n++) {
+            final int parentState = states[parents[n]];
+            states[n] = parentState == FullIntAbstraction.INVALID_STATE ?
+                    FullIntAbstraction.INVALID_STATE :
+                    dfa.getSuccessor(parentState, symbols[n]);
+        }
+
+        for (int w = low; w < high; w++) {
+            final int state = states[terminals[w - low]];
+            accepted[w] = state != FullIntAbstraction.INVALID_STATE && dfa.isAccepting(state);
+        }
+    }
+
+    private final class ChunkTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int low;
+        private final int high;
+
+        ChunkTask(int low, int high) {
+            this.low = low;
+            this.high = high;
+        }
+
+        @Override
+        protected void compute() {
+            if (high - low <= SEQUENTIAL_THRESHOLD) {
+                simulate(low, high);
+                return;
+            }
+
+            final int mid = (low + high) >>> 1;
+            invokeAll(new ChunkTask(low, mid), new ChunkTask(mid, high));
+        }
+    }
+}
@@ -15,7 +15,10 @@
  */
 package net.automatalib.util.automata.fsa;
 
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import net.automatalib.automata.concepts.InputAlphabetHolder;
 import net.automatalib.automata.fsa.DFA;
@@ -31,6 +34,7 @@ import net.automatalib.util.ts.copy.TSCopy;
 import net.automatalib.util.ts.traversal.TSTraversal;
 import net.automatalib.util.ts.traversal.TSTraversalMethod;
 import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
 
 /**
  * Operations on {@link DFA}s.
@@ -402,4 +406,42 @@ public final class DFAs {
     public static <S> boolean acceptsEmptyLanguage(DFA<S, ?> dfa) {
         return dfa.getStates().stream().noneMatch(dfa::isAccepting);
     }
+
+    /**
+     * Checks for all given words whether they are accepted by the given DFA. In contrast to invoking {@link
+     * DFA#accepts(Iterable)} for each word, the words are first arranged in a prefix tree, such that common prefixes of
+     * the words are simulated only once, and the simulation operates on the integer representation of states and input
+     * symbols.
+     *
+     * @param dfa
+     *         the DFA
+     * @param words
+     *         the words to check. Their symbols must be contained in the input alphabet of the DFA
+     * @param <I>
+     *         input symbol type
+     *
+     * @return a bit set, whose {@code i}-th bit is set iff the {@code i}-th word is accepted by the DFA
+     */
+    public static <I> BitSet acceptsAll(CompactDFA<I> dfa, List<? extends Word<? extends I>> words) {
+        return new BatchAcceptance<>(dfa, words).accepts();
+    }
+
+    /**
+     * Parallel variant of {@link #acceptsAll(CompactDFA, List)}. The words are split into chunks which are processed
+     * concurrently by the tasks of the given pool. Common prefixes are only shared among the words of a chunk.
+     *
+     * @param dfa
+     *         the DFA. It must not be modified during the check
+     * @param words
+     *         the words to check. Their symbols must be contained in the input alphabet of the DFA
+     * @param pool
+     *         the pool used for processing the chunks of words
+     * @param <I>
+     *         input symbol type
+     *
+     * @return a bit set, whose {@code i}-th bit is set iff the {@code i}-th word is accepted by the DFA
+     */
+    public static <I> BitSet acceptsAll(CompactDFA<I> dfa, List<? extends Word<? extends I>> words, ForkJoinPool pool) {
+        return new BatchAcceptance<>(dfa, words).accepts(pool);
+    }
 }
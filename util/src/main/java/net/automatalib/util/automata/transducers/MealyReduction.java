@@ -0,0 +1,135 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.transducers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import net.automatalib.automata.concepts.StateIDs;
+import net.automatalib.automata.transducers.MealyMachine;
+import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.util.automata.minimizer.paigetarjan.PaigeTarjanMinimization;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.Alphabets;
+
+/**
+ * Utility methods for reducing Mealy machines prior to verification, while preserving all properties that can be
+ * expressed over (a subset of) its inputs and its outputs.
+ * <p>
+ * Two reductions are applied:
+ * <ul>
+ * <li>Symmetry reduction on the inputs: inputs that are not distinguished (e.g. because they are not referenced by a
+ * property to check) and that behave identically in every state (i.e. have the same successor and output) are
+ * interchangeable. Only one representative of each such class is kept.</li>
+ * <li>Minimization: bisimilar states are merged (see {@link PaigeTarjanMinimization}, which supports partial Mealy
+ * machines).</li>
+ * </ul>
+ * The reduced Mealy machine is trace-equivalent to the original one w.r.t. the representative inputs. Hence, every
+ * (counter-)example found on the reduced machine is also an example of the original machine.
+ *
+ * @author frohme
+ */
+public final class MealyReduction {
+
+    private MealyReduction() {
+        throw new IllegalStateException("Constructor should never be invoked");
+    }
+
+    /**
+     * Reduces the given Mealy machine by restricting it to the representatives of symmetric inputs (see {@link
+     * #computeInputRepresentatives(MealyMachine, Collection, Predicate)}) and minimizing the result.
+     *
+     * @param mealy
+     *         the Mealy machine to reduce
+     * @param inputs
+     *         the inputs to consider
+     * @param distinguished
+     *         the predicate that determines the inputs which must not be merged with other inputs
+     * @param <I>
+     *         input symbol type
+     * @param <O>
+     *         output symbol type
+     *
+     * @return the reduced Mealy machine. Its input alphabet contains the representative inputs.
+     */
+    public static <I, O> CompactMealy<I, O> reduce(MealyMachine<?, I, ?, O> mealy,
+                                                   Collection<? extends I> inputs,
+                                                   Predicate<? super I> distinguished) {
+        final List<I> representatives = computeInputRepresentatives(mealy, inputs, distinguished);
+        final Alphabet<I> alphabet = Alphabets.fromList(representatives);
+        return PaigeTarjanMinimization.minimizeMealy(mealy, alphabet);
+    }
+
+    /**
+     * Computes the representatives of symmetric inputs. Two inputs are symmetric, if neither of them is {@code
+     * distinguished} and if they have the same successor and the same output (or are both undefined) in every state
+     * of the given Mealy machine. Distinguished inputs are always their own representative.
+     *
+     * @param mealy
+     *         the Mealy machine
+     * @param inputs
+     *         the inputs to consider
+     * @param distinguished
+     *         the predicate that determines the inputs which must not be merged with other inputs
+     * @param <S>
+     *         state type
+     * @param <I>
+     *         input symbol type
+     * @param <T>
+     *         transition type
+     * @param <O>
+     *         output symbol type
+     *
+     * @return the list of representatives (in the iteration order of {@code inputs})
+     */
+    public static <S, I, T, O> List<I> computeInputRepresentatives(MealyMachine<S, I, T, O> mealy,
+                                                                   Collection<? extends I> inputs,
+                                                                   Predicate<? super I> distinguished) {
+        final Collection<S> states = mealy.getStates();
+        final StateIDs<S> stateIDs = mealy.stateIDs();
+        final List<I> result = new ArrayList<>(inputs.size());
+        final Map<List<Object>, I> signatures = new HashMap<>();
+
+        for (I i : inputs) {
+            if (distinguished.test(i)) {
+                result.add(i);
+                continue;
+            }
+
+            final Object[] signature = new Object[2 * states.size()];
+            int idx = 0;
+            for (S s : states) {
+                final T t = mealy.getTransition(s, i);
+                if (t != null) {
+                    signature[idx] = stateIDs.getStateId(mealy.getSuccessor(t));
+                    signature[idx + 1] = mealy.getTransitionOutput(t);
+                }
+                idx += 2;
+            }
+
+            if (signatures.putIfAbsent(Arrays.asList(signature), i) == null) {
+                result.add(i);
+            }
+        }
+
+        return result;
+    }
+}
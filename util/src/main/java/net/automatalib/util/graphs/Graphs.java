@@ -18,6 +18,7 @@ package net.automatalib.util.graphs;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Predicate;
 
 import net.automatalib.commons.util.mappings.Mapping;
@@ -27,11 +28,11 @@ import net.automatalib.graphs.Graph;
 import net.automatalib.graphs.IndefiniteGraph;
 import net.automatalib.graphs.concepts.EdgeWeights;
 import net.automatalib.util.graphs.apsp.APSPResult;
-import net.automatalib.util.graphs.apsp.FloydWarshallAPSP;
+import net.automatalib.util.graphs.apsp.BlockedFloydWarshallAPSP;
+import net.automatalib.util.graphs.apsp.JohnsonAPSP;
 import net.automatalib.util.graphs.scc.SCCListener;
 import net.automatalib.util.graphs.scc.SCCs;
-import net.automatalib.util.graphs.scc.TarjanSCCVisitor;
-import net.automatalib.util.graphs.sssp.DijkstraSSSP;
+import net.automatalib.util.graphs.sssp.IntDijkstraSSSP;
 import net.automatalib.util.graphs.sssp.SSSPResult;
 
 public final class Graphs {
@@ -108,8 +109,10 @@ public final class Graphs {
     }
 
     /**
-     * Computes the shortest paths between all pairs of nodes in a graph, using the Floyd-Warshall dynamic programming
-     * algorithm. Note that the result is only correct if the graph contains no cycles with negative edge weight sums.
+     * Computes the shortest paths between all pairs of nodes in a graph. Depending on the density of the graph, either
+     * the (blocked) Floyd-Warshall dynamic programming algorithm or Johnson's algorithm (i.e. repeated Dijkstra
+     * searches) is used. Note that the result is only correct if the graph contains no cycles with negative edge weight
+     * sums.
      *
      * @param graph
      *         the graph
@@ -118,10 +121,59 @@ public final class Graphs {
      *
      * @return the all pairs shortest paths result
      *
-     * @see FloydWarshallAPSP
+     * @see BlockedFloydWarshallAPSP
+     * @see JohnsonAPSP
      */
     public static <N, E> APSPResult<N, E> findAPSP(Graph<N, E> graph, EdgeWeights<E> edgeWeights) {
-        return FloydWarshallAPSP.findAPSP(graph, edgeWeights);
+        if (preferJohnson(graph, edgeWeights)) {
+            return JohnsonAPSP.findAPSP(graph, edgeWeights);
+        }
+        return BlockedFloydWarshallAPSP.findAPSP(graph, edgeWeights);
+    }
+
+    /**
+     * Computes the shortest paths between all pairs of nodes in a graph in parallel. The algorithm is chosen as in
+     * {@link #findAPSP(Graph, EdgeWeights)}.
+     *
+     * @param graph
+     *         the graph
+     * @param edgeWeights
+     *         the edge weights
+     * @param pool
+     *         the pool used for the parallel computation
+     *
+     * @return the all pairs shortest paths result
+     *
+     * @see BlockedFloydWarshallAPSP
+     * @see JohnsonAPSP
+     */
+    public static <N, E> APSPResult<N, E> findAPSP(Graph<N, E> graph, EdgeWeights<E> edgeWeights, ForkJoinPool pool) {
+        if (preferJohnson(graph, edgeWeights)) {
+            return JohnsonAPSP.findAPSP(graph, edgeWeights, pool);
+        }
+        return BlockedFloydWarshallAPSP.findAPSP(graph, edgeWeights, pool);
+    }
+
+    /**
+     * Johnson's algorithm runs in O(n * (m + n) * log n), whereas the Floyd-Warshall algorithm runs in O(n^3).
+     * Johnson's algorithm is only chosen for graphs without negative edge weights, so that no re-weighting (and
+     * potential rounding errors) is involved.
+     */
+    private static <N, E> boolean preferJohnson(Graph<N, E> graph, EdgeWeights<E> edgeWeights) {
+        final long n = graph.size();
+        long m = 0;
+
+        for (N node : graph) {
+            for (E edge : graph.getOutgoingEdges(node)) {
+                if (edgeWeights.getEdgeWeight(edge) < 0) {
+                    return false;
+                }
+                m++;
+            }
+        }
+
+        final int log = Long.SIZE - Long.numberOfLeadingZeros(n);
+        return (m + n) * log < n * n;
     }
 
     /**
@@ -137,44 +189,101 @@ public final class Graphs {
      *
      * @return the single-source shortest paths result
      *
-     * @see DijkstraSSSP
+     * @see IntDijkstraSSSP
      */
     public static <N, E> SSSPResult<N, E> findSSSP(Graph<N, E> graph, N init, EdgeWeights<E> edgeWeights) {
-        return DijkstraSSSP.findSSSP(graph, init, edgeWeights);
+        return IntDijkstraSSSP.findSSSP(graph, init, edgeWeights);
+    }
+
+    /**
+     * Computes the shortest paths between each of the given source nodes and all other nodes in a graph, using
+     * Dijkstra's algorithm. The searches for the individual source nodes are performed in parallel. Note that the
+     * results are only correct if the graph contains no edges with negative weights.
+     *
+     * @param graph
+     *         the graph
+     * @param sources
+     *         the source nodes
+     * @param edgeWeights
+     *         the edge weights
+     * @param pool
+     *         the pool used for performing the searches
+     *
+     * @return the single-source shortest paths results, in the order of the given source nodes
+     *
+     * @see IntDijkstraSSSP
+     */
+    public static <N, E> List<SSSPResult<N, E>> findSSSPs(Graph<N, E> graph,
+                                                          Collection<? extends N> sources,
+                                                          EdgeWeights<E> edgeWeights,
+                                                          ForkJoinPool pool) {
+        return IntDijkstraSSSP.findSSSPs(graph, sources, edgeWeights, pool);
     }
 
     /**
      * Collects all strongly-connected components in a graph. The SCCs are returned as a list of lists.
      * <p>
-     * Tarjan's algorithm is used for realizing the SCC search.
+     * An iterative variant of Tarjan's algorithm is used for realizing the SCC search.
      *
      * @param graph
      *         the graph
      *
      * @return a list of all SCCs, each represented as a list of its nodes
      *
-     * @see TarjanSCCVisitor
      * @see SCCs
      */
     public static <N, E> List<List<N>> collectSCCs(Graph<N, E> graph) {
         return SCCs.collectSCCs(graph);
     }
 
+    /**
+     * Collects all strongly-connected components in a graph, using a parallel algorithm. The SCCs are returned as a
+     * list of lists.
+     *
+     * @param graph
+     *         the graph
+     * @param pool
+     *         the pool used for the parallel computation
+     *
+     * @return a list of all SCCs, each represented as a list of its nodes
+     *
+     * @see SCCs
+     */
+    public static <N, E> List<List<N>> collectSCCs(Graph<N, E> graph, ForkJoinPool pool) {
+        return SCCs.collectSCCs(graph, pool);
+    }
+
     /**
      * Find all strongly-connected components in a graph. When a new SCC is found, the {@link
      * SCCListener#foundSCC(java.util.Collection)} method is invoked. The listener object may hence not be null.
      * <p>
-     * Tarjan's algorithm is used for realizing the SCC search.
+     * An iterative variant of Tarjan's algorithm is used for realizing the SCC search.
      *
      * @param graph
      *         the graph
      * @param sccListener
      *         the SCC listener
      *
-     * @see TarjanSCCVisitor
      * @see SCCs
      */
     public static <N, E> void findSCCs(Graph<N, E> graph, SCCListener<N> sccListener) {
         SCCs.findSCCs(graph, sccListener);
     }
+
+    /**
+     * Find all strongly-connected components in a graph, using a parallel algorithm. When a new SCC is found, the
+     * {@link SCCListener#foundSCC(java.util.Collection)} method is invoked. The listener object may hence not be null.
+     *
+     * @param graph
+     *         the graph
+     * @param sccListener
+     *         the SCC listener
+     * @param pool
+     *         the pool used for the parallel computation
+     *
+     * @see SCCs
+     */
+    public static <N, E> void findSCCs(Graph<N, E> graph, SCCListener<N> sccListener, ForkJoinPool pool) {
+        SCCs.findSCCs(graph, sccListener, pool);
+    }
 }
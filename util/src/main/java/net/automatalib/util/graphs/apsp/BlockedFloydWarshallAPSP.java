@@ -0,0 +1,299 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.graphs.apsp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import net.automatalib.graphs.Graph;
+import net.automatalib.graphs.concepts.EdgeWeights;
+import net.automatalib.graphs.concepts.NodeIDs;
+import net.automatalib.util.graphs.Graphs;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A cache-friendly implementation of the Floyd-Warshall algorithm for the all pairs shortest paths problem.
+ * <p>
+ * In contrast to {@link FloydWarshallAPSP}, this implementation does not allocate an object per pair of nodes, but
+ * stores the distances and the intermediate nodes of the shortest paths in flat, primitive arrays. The matrix is
+ * processed in square tiles (blocks) of a fixed size, so that the working set of the innermost loops fits into the CPU
+ * caches. For every diagonal block, the tiles of the corresponding block row and block column and afterwards the
+ * remaining tiles are mutually independent and may be processed in parallel (see {@link #findAPSP(ForkJoinPool)}).
+ * <p>
+ * The result is the same as the one of {@link FloydWarshallAPSP}, i.e. self-loops are ignored and the distance of a
+ * node to itself is always {@link Graphs#INVALID_DISTANCE}. The shortest paths are reconstructed on demand from the
+ * outgoing edges of the graph (and the edge weights), which therefore must not be modified in the meantime.
+ *
+ * @param <N>
+ *         node class
+ * @param <E>
+ *         edge class
+ *
+ * @author frohme
+ */
+public class BlockedFloydWarshallAPSP<N, E> implements APSPResult<N, E> {
+
+    /**
+     * The default size of the tiles. A tile of 64 x 64 floats occupies 16KB, so that the three tiles involved in a
+     * single update fit into a typical L2 cache.
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 64;
+
+    private static final int DIRECT_EDGE = -1;
+    private static final int MAX_SIZE = (int) Math.sqrt(Integer.MAX_VALUE);
+
+    private final Graph<N, E> graph;
+    private final EdgeWeights<E> edgeWeights;
+    @NonNull
+    private final NodeIDs<N> ids;
+    private final int size;
+    private final int blockSize;
+    private final int numBlocks;
+    private final float[] dist;
+    private final int[] middle;
+
+    public BlockedFloydWarshallAPSP(Graph<N, E> graph, EdgeWeights<E> edgeWeights) {
+        this(graph, edgeWeights, DEFAULT_BLOCK_SIZE);
+    }
+
+    public BlockedFloydWarshallAPSP(Graph<N, E> graph, EdgeWeights<E> edgeWeights, int blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be positive");
+        }
+
+        this.graph = graph;
+        this.edgeWeights = edgeWeights;
+        this.ids = graph.nodeIDs();
+        this.size = graph.size();
+
+        if (size > MAX_SIZE) {
+            throw new IllegalArgumentException("Graph is too large for a distance matrix: " + size + " nodes");
+        }
+
+        this.blockSize = blockSize;
+        this.numBlocks = (size + blockSize - 1) / blockSize;
+        this.dist = new float[size * size];
+        this.middle = new int[size * size];
+
+        initialize();
+    }
+
+    private void initialize() {
+        Arrays.fill(dist, Float.POSITIVE_INFINITY);
+        Arrays.fill(middle, DIRECT_EDGE);
+
+        for (int i = 0; i < size; i++) {
+            final N src = ids.getNode(i);
+            final int row = i * size;
+
+            for (E edge : graph.getOutgoingEdges(src)) {
+                final int j = ids.getNodeId(graph.getTarget(edge));
+                if (j == i) {
+                    continue;
+                }
+
+                final float w = edgeWeights.getEdgeWeight(edge);
+                if (dist[row + j] > w) {
+                    dist[row + j] = w;
+                }
+            }
+        }
+    }
+
+    @NonNull
+    public static <N, E> APSPResult<N, E> findAPSP(Graph<N, E> graph, EdgeWeights<E> edgeWeights) {
+        BlockedFloydWarshallAPSP<N, E> fw = new BlockedFloydWarshallAPSP<>(graph, edgeWeights);
+        fw.findAPSP();
+        return fw;
+    }
+
+    @NonNull
+    public static <N, E> APSPResult<N, E> findAPSP(Graph<N, E> graph,
+                                                   EdgeWeights<E> edgeWeights,
+                                                   ForkJoinPool pool) {
+        BlockedFloydWarshallAPSP<N, E> fw = new BlockedFloydWarshallAPSP<>(graph, edgeWeights);
+        fw.findAPSP(pool);
+        return fw;
+    }
+
+    /**
+     * Computes the shortest paths sequentially. This method may only be invoked once.
+     */
+    public void findAPSP() {
+        for (int k = 0; k < numBlocks; k++) {
+            relax(k, k, k);
+
+            for (int b = 0; b < numBlocks; b++) {
+                if (b != k) {
+                    relax(k, k, b);
+                    relax(k, b, k);
+                }
+            }
+
+            for (int i = 0; i < numBlocks; i++) {
+                if (i != k) {
+                    relaxRow(k, i);
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes the shortest paths, processing the independent tiles of each phase in parallel. This method may only be
+     * invoked once.
+     *
+     * @param pool
+     *         the pool used for processing the tiles
+     */
+    public void findAPSP(ForkJoinPool pool) {
+        final List<ForkJoinTask<?>> tasks = new ArrayList<>(2 * numBlocks);
+
+        for (int k = 0; k < numBlocks; k++) {
+            final int kb = k;
+            relax(kb, kb, kb);
+
+            tasks.clear();
+            for (int b = 0; b < numBlocks; b++) {
+                if (b != kb) {
+                    final int bb = b;
+                    tasks.add(ForkJoinTask.adapt(() -> relax(kb, kb, bb)));
+                    tasks.add(ForkJoinTask.adapt(() -> relax(kb, bb, kb)));
+                }
+            }
+            invokeAll(pool, tasks);
+
+            tasks.clear();
+            for (int i = 0; i < numBlocks; i++) {
+                if (i != kb) {
+                    final int ib = i;
+                    tasks.add(ForkJoinTask.adapt(() -> relaxRow(kb, ib)));
+                }
+            }
+            invokeAll(pool, tasks);
+        }
+    }
+
+    private static void invokeAll(ForkJoinPool pool, List<ForkJoinTask<?>> tasks) {
+        if (!tasks.isEmpty()) {
+            pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+        }
+    }
+
+    private void relaxRow(int kBlock, int iBlock) {
+        for (int j = 0; j < numBlocks; j++) {
+            if (j != kBlock) {
+                relax(kBlock, iBlock, j);
+            }
+        }
+    }
+
+    /**
+     * Relaxes the tile ({@code iBlock}, {@code jBlock}) via all intermediate nodes of block {@code kBlock}.
+     */
+    private void relax(int kBlock, int iBlock, int jBlock) {
+        final int kStart = kBlock * blockSize, kEnd = Math.min(kStart + blockSize, size);
+        final int iStart = iBlock * blockSize, iEnd = Math.min(iStart + blockSize, size);
+        final int jStart = jBlock * blockSize, jEnd = Math.min(jStart + blockSize, size);
+
+        for (int k = kStart; k < kEnd; k++) {
+            final int kRow = k * size;
+            for (int i = iStart; i < iEnd; i++) {
+                final int iRow = i * size;
+                final float dik = dist[iRow + k];
+                if (dik == Float.POSITIVE_INFINITY) {
+                    continue;
+                }
+                for (int j = jStart; j < jEnd; j++) {
+                    final float total = dik + dist[kRow + j];
+                    // the distance of a node to itself is never updated (cf. FloydWarshallAPSP)
+                    if (total < dist[iRow + j] && j != i) {
+                        dist[iRow + j] = total;
+                        middle[iRow + j] = k;
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public float getShortestPathDistance(N src, N tgt) {
+        final float d = dist[ids.getNodeId(src) * size + ids.getNodeId(tgt)];
+        return d == Float.POSITIVE_INFINITY ? Graphs.INVALID_DISTANCE : d;
+    }
+
+    @Override
+    @Nullable
+    public List<E> getShortestPath(N src, N tgt) {
+        final int srcId = ids.getNodeId(src), tgtId = ids.getNodeId(tgt);
+
+        if (dist[srcId * size + tgtId] == Float.POSITIVE_INFINITY) {
+            return null;
+        }
+
+        final List<E> result = new ArrayList<>();
+
+        // in-order traversal of the (implicit) tree of intermediate nodes, using an explicit stack of node pairs
+        int[] stack = new int[2 * Integer.SIZE];
+        int top = 0;
+        stack[top++] = srcId;
+        stack[top++] = tgtId;
+
+        while (top > 0) {
+            final int to = stack[--top];
+            final int from = stack[--top];
+            final int mid = middle[from * size + to];
+
+            if (mid == DIRECT_EDGE) {
+                result.add(findEdge(from, to));
+            } else {
+                if (top + 4 > stack.length) {
+                    stack = Arrays.copyOf(stack, stack.length * 2);
+                }
+                stack[top++] = mid;
+                stack[top++] = to;
+                stack[top++] = from;
+                stack[top++] = mid;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the (first) edge of minimal weight between the given nodes.
+     */
+    private E findEdge(int srcId, int tgtId) {
+        final N tgt = ids.getNode(tgtId);
+        E result = null;
+        float best = Float.POSITIVE_INFINITY;
+
+        for (E edge : graph.getOutgoingEdges(ids.getNode(srcId))) {
+            if (tgt.equals(graph.getTarget(edge))) {
+                final float w = edgeWeights.getEdgeWeight(edge);
+                if (result == null || w < best) {
+                    result = edge;
+                    best = w;
+                }
+            }
+        }
+
+        return result;
+    }
+}
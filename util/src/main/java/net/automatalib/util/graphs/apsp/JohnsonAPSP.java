@@ -0,0 +1,329 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.graphs.apsp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import net.automatalib.graphs.Graph;
+import net.automatalib.graphs.concepts.EdgeWeights;
+import net.automatalib.graphs.concepts.NodeIDs;
+import net.automatalib.util.graphs.Graphs;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Implementation of Johnson's algorithm for the all pairs shortest paths problem, i.e. a (repeated) Dijkstra search
+ * from every node of the graph. For sparse graphs, this is asymptotically faster than the Floyd-Warshall algorithm (see
+ * {@link BlockedFloydWarshallAPSP}).
+ * <p>
+ * The graph is converted into a primitive adjacency structure once, and the searches for the individual source nodes
+ * are independent of each other, which allows to perform them in parallel (see {@link #findAPSP(ForkJoinPool)}). If the
+ * graph contains edges with negative weights, the edges are re-weighted using potentials computed by the Bellman-Ford
+ * algorithm first. Graphs with negative cycles are rejected.
+ * <p>
+ * For compatibility with {@link FloydWarshallAPSP}, self-loops are ignored and the distance of a node to itself is
+ * always {@link Graphs#INVALID_DISTANCE}.
+ *
+ * @param <N>
+ *         node class
+ * @param <E>
+ *         edge class
+ *
+ * @author frohme
+ */
+public class JohnsonAPSP<N, E> implements APSPResult<N, E> {
+
+    private static final int NO_EDGE = -1;
+    private static final int MAX_SIZE = (int) Math.sqrt(Integer.MAX_VALUE);
+    private static final int SOURCES_PER_TASK = 16;
+
+    @NonNull
+    private final NodeIDs<N> ids;
+    private final int size;
+
+    // adjacency structure: the outgoing edges of node i are stored at the indices [offsets[i], offsets[i + 1])
+    private final int[] offsets;
+    private final int[] targets;
+    private final float[] weights;
+    private final List<E> edges;
+    private final float[] potentials;
+
+    private final float[] dist;
+    private final int[] pred;
+
+    public JohnsonAPSP(Graph<N, E> graph, EdgeWeights<E> edgeWeights) {
+        this.ids = graph.nodeIDs();
+        this.size = graph.size();
+
+        if (size > MAX_SIZE) {
+            throw new IllegalArgumentException("Graph is too large for a distance matrix: " + size + " nodes");
+        }
+
+        this.offsets = new int[size + 1];
+        this.edges = new ArrayList<>();
+
+        for (int i = 0; i < size; i++) {
+            offsets[i] = edges.size();
+            for (E edge : graph.getOutgoingEdges(ids.getNode(i))) {
+                if (ids.getNodeId(graph.getTarget(edge)) != i) {
+                    edges.add(edge);
+                }
+            }
+        }
+        offsets[size] = edges.size();
+
+        this.targets = new int[edges.size()];
+        this.weights = new float[edges.size()];
+
+        boolean negative = false;
+        for (int e = 0; e < targets.length; e++) {
+            final E edge = edges.get(e);
+            targets[e] = ids.getNodeId(graph.getTarget(edge));
+            weights[e] = edgeWeights.getEdgeWeight(edge);
+            negative |= weights[e] < 0;
+        }
+
+        this.potentials = negative ? computePotentials() : null;
+        this.dist = new float[size * size];
+        this.pred = new int[size * size];
+    }
+
+    @NonNull
+    public static <N, E> APSPResult<N, E> findAPSP(Graph<N, E> graph, EdgeWeights<E> edgeWeights) {
+        JohnsonAPSP<N, E> johnson = new JohnsonAPSP<>(graph, edgeWeights);
+        johnson.findAPSP();
+        return johnson;
+    }
+
+    @NonNull
+    public static <N, E> APSPResult<N, E> findAPSP(Graph<N, E> graph,
+                                                   EdgeWeights<E> edgeWeights,
+                                                   ForkJoinPool pool) {
+        JohnsonAPSP<N, E> johnson = new JohnsonAPSP<>(graph, edgeWeights);
+        johnson.findAPSP(pool);
+        return johnson;
+    }
+
+    /**
+     * Computes the shortest paths sequentially. This method may only be invoked once.
+     */
+    public void findAPSP() {
+        searchRange(0, size);
+    }
+
+    /**
+     * Computes the shortest paths, performing the searches of (groups of) source nodes in parallel. This method may
+     * only be invoked once.
+     *
+     * @param pool
+     *         the pool used for the searches
+     */
+    public void findAPSP(ForkJoinPool pool) {
+        final Collection<ForkJoinTask<?>> tasks = new ArrayList<>(size / SOURCES_PER_TASK + 1);
+        for (int i = 0; i < size; i += SOURCES_PER_TASK) {
+            final int start = i, end = Math.min(i + SOURCES_PER_TASK, size);
+            tasks.add(ForkJoinTask.adapt(() -> searchRange(start, end)));
+        }
+        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+    }
+
+    /**
+     * Computes the node potentials for re-weighting the edges via the Bellman-Ford algorithm (starting from a virtual
+     * node that is connected to every node with weight 0).
+     */
+    private float[] computePotentials() {
+        final float[] h = new float[size];
+
+        for (int round = 0; round <= size; round++) {
+            boolean changed = false;
+            for (int i = 0; i < size; i++) {
+                for (int e = offsets[i]; e < offsets[i + 1]; e++) {
+                    final float candidate = h[i] + weights[e];
+                    if (candidate < h[targets[e]]) {
+                        h[targets[e]] = candidate;
+                        changed = true;
+                    }
+                }
+            }
+            if (!changed) {
+                return h;
+            }
+        }
+
+        throw new IllegalArgumentException("Graph contains a cycle with negative weight");
+    }
+
+    private float getWeight(int src, int edge) {
+        if (potentials == null) {
+            return weights[edge];
+        }
+        // the re-weighted weights are non-negative (up to rounding errors)
+        return Math.max(0f, weights[edge] + potentials[src] - potentials[targets[edge]]);
+    }
+
+    private void searchRange(int start, int end) {
+        // priority queue of (distance, node) pairs packed into longs, see #search(int, long[])
+        long[] heap = new long[Math.max(size, 1)];
+        for (int src = start; src < end; src++) {
+            heap = search(src, heap);
+        }
+    }
+
+    /**
+     * Performs a Dijkstra search from the given source node. Since all (re-weighted) distances are non-negative, the
+     * IEEE 754 bit representation of a distance is monotonic in its value. Hence, a queue entry is encoded as the
+     * distance bits in the upper half and the node in the lower half of a long, and the natural ordering of longs
+     * coincides with the ordering of the distances. Outdated entries are not removed from the queue, but skipped when
+     * extracted.
+     */
+    private long[] search(int src, long[] initialHeap) {
+        final int row = src * size;
+        long[] heap = initialHeap;
+        int heapSize = 0;
+
+        Arrays.fill(dist, row, row + size, Float.POSITIVE_INFINITY);
+        Arrays.fill(pred, row, row + size, NO_EDGE);
+
+        dist[row + src] = 0;
+        heap[heapSize++] = pack(0, src);
+
+        while (heapSize > 0) {
+            final long min = heap[0];
+            heapSize--;
+            if (heapSize > 0) {
+                siftDown(heap, heapSize, heap[heapSize]);
+            }
+
+            final int node = (int) min;
+            final float d = Float.intBitsToFloat((int) (min >>> Integer.SIZE));
+            if (d > dist[row + node]) {
+                continue;
+            }
+
+            for (int e = offsets[node]; e < offsets[node + 1]; e++) {
+                final int tgt = targets[e];
+                final float newDist = d + getWeight(node, e);
+                if (newDist < dist[row + tgt] && tgt != src) {
+                    dist[row + tgt] = newDist;
+                    pred[row + tgt] = e;
+                    if (heapSize == heap.length) {
+                        heap = Arrays.copyOf(heap, heap.length * 2);
+                    }
+                    siftUp(heap, heapSize++, pack(newDist, tgt));
+                }
+            }
+        }
+
+        // undo the re-weighting
+        if (potentials != null) {
+            for (int tgt = 0; tgt < size; tgt++) {
+                if (dist[row + tgt] != Float.POSITIVE_INFINITY) {
+                    dist[row + tgt] += potentials[tgt] - potentials[src];
+                }
+            }
+        }
+
+        // see FloydWarshallAPSP
+        dist[row + src] = Float.POSITIVE_INFINITY;
+
+        return heap;
+    }
+
+    private static long pack(float distance, int node) {
+        return ((long) Float.floatToIntBits(distance) << Integer.SIZE) | node;
+    }
+
+    private static void siftUp(long[] heap, int index, long value) {
+        int i = index;
+        while (i > 0) {
+            final int parent = (i - 1) >>> 1;
+            if (heap[parent] <= value) {
+                break;
+            }
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = value;
+    }
+
+    private static void siftDown(long[] heap, int heapSize, long value) {
+        int i = 0;
+        int child = 1;
+        while (child < heapSize) {
+            if (child + 1 < heapSize && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (value <= heap[child]) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+            child = 2 * i + 1;
+        }
+        heap[i] = value;
+    }
+
+    @Override
+    public float getShortestPathDistance(N src, N tgt) {
+        final float d = dist[ids.getNodeId(src) * size + ids.getNodeId(tgt)];
+        return d == Float.POSITIVE_INFINITY ? Graphs.INVALID_DISTANCE : d;
+    }
+
+    @Override
+    @Nullable
+    public List<E> getShortestPath(N src, N tgt) {
+        final int srcId = ids.getNodeId(src);
+        final int row = srcId * size;
+        int node = ids.getNodeId(tgt);
+
+        if (dist[row + node] == Float.POSITIVE_INFINITY) {
+            return null;
+        }
+
+        final List<E> result = new ArrayList<>();
+        while (node != srcId) {
+            final int edge = pred[row + node];
+            result.add(edges.get(edge));
+            node = findSource(edge);
+        }
+
+        Collections.reverse(result);
+
+        return result;
+    }
+
+    /**
+     * Returns the source node of the given edge (index) via a binary search on the offsets.
+     */
+    private int findSource(int edge) {
+        int low = 0, high = size - 1;
+        while (low < high) {
+            final int mid = (low + high + 1) >>> 1;
+            if (offsets[mid] <= edge) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,232 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.graphs.scc;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A parallel algorithm for finding strongly-connected components, based on the forward-backward (FB) algorithm by
+ * Fleischer, Hendrickson and Pinar with an initial trimming phase.
+ * <p>
+ * Nodes without (remaining) predecessors or successors form trivial components and are removed first. Afterwards, the
+ * remaining nodes are partitioned recursively: the nodes that are both forward- and backward-reachable from a pivot
+ * node form its component, and the forward-only, backward-only and remaining nodes constitute three independent
+ * sub-problems that are processed in parallel. Each sub-problem is identified by a unique color, so that the searches
+ * of concurrent sub-problems never interfere. Small sub-problems are processed sequentially by {@link PearceSCC}.
+ *
+ * @author frohme
+ */
+final class ForwardBackwardSCC {
+
+    private static final int TRIMMED = -1;
+    private static final int NO_COLOR = Integer.MIN_VALUE;
+    private static final int SEQUENTIAL_THRESHOLD = 4096;
+
+    private final IntAdjacency fwd;
+    private final IntAdjacency bwd;
+    private final int[] colors;
+    private final int[] components;
+    private final AtomicInteger numComponents;
+    private final AtomicInteger numColors;
+    private final PearceSCC sequential;
+
+    private ForwardBackwardSCC(IntAdjacency fwd, int[] components) {
+        this.fwd = fwd;
+        this.bwd = fwd.reverse();
+        this.colors = new int[fwd.size];
+        this.components = components;
+        this.numComponents = new AtomicInteger();
+        this.numColors = new AtomicInteger();
+        this.sequential = new PearceSCC(fwd, components, numComponents);
+    }
+
+    /**
+     * Computes the components of the nodes of the given graph.
+     *
+     * @param adj
+     *         the adjacency structure of the graph
+     * @param components
+     *         the array in which the component ids of the nodes are stored
+     * @param pool
+     *         the pool used for processing the sub-problems
+     *
+     * @return the number of components
+     */
+    static int compute(IntAdjacency adj, int[] components, ForkJoinPool pool) {
+        final ForwardBackwardSCC fb = new ForwardBackwardSCC(adj, components);
+        final int[] remaining = fb.trim();
+
+        if (remaining.length > 0) {
+            pool.invoke(fb.new Task(remaining, 0));
+        }
+
+        return fb.numComponents.get();
+    }
+
+    /**
+     * Iteratively removes all nodes without predecessors or successors (each forming a trivial component).
+     *
+     * @return the remaining nodes
+     */
+    private int[] trim() {
+        final int size = fwd.size;
+        final int[] inDegree = new int[size];
+        final int[] outDegree = new int[size];
+        final int[] queue = new int[size];
+        int head = 0, tail = 0;
+
+        for (int v = 0; v < size; v++) {
+            inDegree[v] = bwd.offsets[v + 1] - bwd.offsets[v];
+            outDegree[v] = fwd.offsets[v + 1] - fwd.offsets[v];
+            if (inDegree[v] == 0 || outDegree[v] == 0) {
+                colors[v] = TRIMMED;
+                queue[tail++] = v;
+            }
+        }
+
+        while (head < tail) {
+            final int v = queue[head++];
+            components[v] = numComponents.getAndIncrement();
+
+            for (int e = fwd.offsets[v]; e < fwd.offsets[v + 1]; e++) {
+                final int w = fwd.targets[e];
+                if (colors[w] != TRIMMED) {
+                    inDegree[w]--;
+                    if (inDegree[w] == 0) {
+                        colors[w] = TRIMMED;
+                        queue[tail++] = w;
+                    }
+                }
+            }
+            for (int e = bwd.offsets[v]; e < bwd.offsets[v + 1]; e++) {
+                final int w = bwd.targets[e];
+                if (colors[w] != TRIMMED) {
+                    outDegree[w]--;
+                    if (outDegree[w] == 0) {
+                        colors[w] = TRIMMED;
+                        queue[tail++] = w;
+                    }
+                }
+            }
+        }
+
+        final int[] remaining = new int[size - tail];
+        int idx = 0;
+        for (int v = 0; v < size; v++) {
+            if (colors[v] != TRIMMED) {
+                remaining[idx++] = v;
+            }
+        }
+        return remaining;
+    }
+
+    /**
+     * Marks all nodes reachable from the pivot (via nodes of color {@code from}) with color {@code to} and returns the
+     * number of marked nodes. Unless {@code alt} is {@link #NO_COLOR}, nodes of color {@code alt} are traversed as
+     * well and marked with color {@code altTo}.
+     */
+    private int search(IntAdjacency adj, int pivot, int[] queue, int from, int to, int alt, int altTo) {
+        int head = 0, tail = 0;
+
+        colors[pivot] = colors[pivot] == alt ? altTo : to;
+        queue[tail++] = pivot;
+
+        while (head < tail) {
+            final int v = queue[head++];
+            for (int e = adj.offsets[v]; e < adj.offsets[v + 1]; e++) {
+                final int w = adj.targets[e];
+                final int c = colors[w];
+                if (c == from) {
+                    colors[w] = to;
+                    queue[tail++] = w;
+                } else if (c == alt) {
+                    colors[w] = altTo;
+                    queue[tail++] = w;
+                }
+            }
+        }
+
+        return tail;
+    }
+
+    private final class Task extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int[] nodes;
+        private final int color;
+
+        Task(int[] nodes, int color) {
+            this.nodes = nodes;
+            this.color = color;
+        }
+
+        @Override
+        protected void compute() {
+            if (nodes.length < SEQUENTIAL_THRESHOLD) {
+                sequential.compute(nodes, colors, color);
+                return;
+            }
+
+            final int pivot = nodes[0];
+            final int fwdColor = numColors.incrementAndGet();
+            final int bwdColor = numColors.incrementAndGet();
+            final int sccColor = numColors.incrementAndGet();
+            final int[] queue = new int[nodes.length];
+
+            final int numFwd = search(fwd, pivot, queue, color, fwdColor, NO_COLOR, NO_COLOR);
+            // nodes that are forward- and backward-reachable form the component of the pivot
+            final int numBwd = search(bwd, pivot, queue, color, bwdColor, fwdColor, sccColor);
+
+            final int component = numComponents.getAndIncrement();
+            final int[] fwdNodes = new int[numFwd];
+            final int[] bwdNodes = new int[numBwd];
+            final int[] restNodes = new int[nodes.length];
+            int numFwdOnly = 0, numBwdOnly = 0, numRest = 0;
+
+            for (int v : nodes) {
+                final int c = colors[v];
+                if (c == sccColor) {
+                    components[v] = component;
+                } else if (c == fwdColor) {
+                    fwdNodes[numFwdOnly++] = v;
+                } else if (c == bwdColor) {
+                    bwdNodes[numBwdOnly++] = v;
+                } else {
+                    restNodes[numRest++] = v;
+                }
+            }
+
+            final int numTasks = (numFwdOnly > 0 ? 1 : 0) + (numBwdOnly > 0 ? 1 : 0) + (numRest > 0 ? 1 : 0);
+            final Task[] tasks = new Task[numTasks];
+            int t = 0;
+            if (numFwdOnly > 0) {
+                tasks[t++] = new Task(Arrays.copyOf(fwdNodes, numFwdOnly), fwdColor);
+            }
+            if (numBwdOnly > 0) {
+                tasks[t++] = new Task(Arrays.copyOf(bwdNodes, numBwdOnly), bwdColor);
+            }
+            if (numRest > 0) {
+                tasks[t] = new Task(Arrays.copyOf(restNodes, numRest), color);
+            }
+
+            invokeAll(tasks);
+        }
+    }
+}
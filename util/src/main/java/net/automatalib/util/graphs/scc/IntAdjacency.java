@@ -0,0 +1,106 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.graphs.scc;
+
+import java.util.Arrays;
+
+import net.automatalib.graphs.Graph;
+import net.automatalib.graphs.base.compact.CSRGraph;
+import net.automatalib.graphs.concepts.NodeIDs;
+
+/**
+ * A primitive (compressed sparse row) representation of the adjacency structure of a graph, operating on the {@link
+ * NodeIDs node ids} of the graph. The successors of node {@code i} are stored at the indices {@code [offsets[i],
+ * offsets[i + 1])} of the {@code targets} array.
+ *
+ * @author frohme
+ */
+final class IntAdjacency {
+
+    final int size;
+    final int[] offsets;
+    final int[] targets;
+
+    private IntAdjacency(int size, int[] offsets, int[] targets) {
+        this.size = size;
+        this.offsets = offsets;
+        this.targets = targets;
+    }
+
+    static <N, E> IntAdjacency of(Graph<N, E> graph, NodeIDs<N> ids) {
+        if (graph instanceof CSRGraph && ids == graph) {
+            return of((CSRGraph<?, ?>) graph);
+        }
+
+        final int size = graph.size();
+        final int[] offsets = new int[size + 1];
+        int[] targets = new int[size];
+        int numEdges = 0;
+
+        for (int i = 0; i < size; i++) {
+            offsets[i] = numEdges;
+            for (E edge : graph.getOutgoingEdges(ids.getNode(i))) {
+                if (numEdges == targets.length) {
+                    targets = Arrays.copyOf(targets, Math.max(targets.length * 2, 1));
+                }
+                targets[numEdges++] = ids.getNodeId(graph.getTarget(edge));
+            }
+        }
+        offsets[size] = numEdges;
+
+        return new IntAdjacency(size, offsets, Arrays.copyOf(targets, numEdges));
+    }
+
+    private static IntAdjacency of(CSRGraph<?, ?> graph) {
+        // the graph already is in CSR representation, hence only copy its (primitive) arrays
+        final int size = graph.size();
+        final int[] offsets = new int[size + 1];
+        final int[] targets = new int[graph.getNumEdges()];
+
+        for (int i = 0; i < size; i++) {
+            offsets[i + 1] = graph.getOutgoingEdgesEnd(i);
+        }
+        for (int e = 0; e < targets.length; e++) {
+            targets[e] = graph.getIntTarget(e);
+        }
+
+        return new IntAdjacency(size, offsets, targets);
+    }
+
+    /**
+     * Returns the adjacency structure of the graph with all edges reversed.
+     */
+    IntAdjacency reverse() {
+        final int[] revOffsets = new int[size + 1];
+        final int[] revTargets = new int[targets.length];
+
+        for (int t : targets) {
+            revOffsets[t + 1]++;
+        }
+        for (int i = 0; i < size; i++) {
+            revOffsets[i + 1] += revOffsets[i];
+        }
+
+        final int[] fill = Arrays.copyOf(revOffsets, size);
+        for (int i = 0; i < size; i++) {
+            for (int e = offsets[i]; e < offsets[i + 1]; e++) {
+                revTargets[fill[targets[e]]++] = i;
+            }
+        }
+
+        return new IntAdjacency(size, revOffsets, revTargets);
+    }
+}
@@ -0,0 +1,151 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.graphs.scc;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An iterative implementation of Pearce's variant of Tarjan's algorithm for finding strongly-connected components,
+ * operating on an {@link IntAdjacency}. In contrast to the {@link TarjanSCCVisitor}, the depth-first search uses an
+ * explicit stack (and hence does not overflow the call stack on large graphs) and stores its state in primitive arrays
+ * indexed by the node ids.
+ * <p>
+ * The search may be restricted to a subset of nodes (all having the same color), in which case edges leaving the
+ * subset are ignored. Searches on disjoint subsets may be performed concurrently, as they only access the (shared)
+ * arrays at the indices of their nodes.
+ *
+ * @author frohme
+ */
+final class PearceSCC {
+
+    private static final int DONE = Integer.MAX_VALUE;
+
+    private final IntAdjacency adj;
+    private final int[] components;
+    private final AtomicInteger numComponents;
+
+    private final int[] rindex;
+    private final int[] edgePos;
+    private final boolean[] root;
+
+    /**
+     * Constructor.
+     *
+     * @param adj
+     *         the adjacency structure of the graph
+     * @param components
+     *         the array in which the component ids of the nodes are stored
+     * @param numComponents
+     *         the counter for the component ids
+     */
+    PearceSCC(IntAdjacency adj, int[] components, AtomicInteger numComponents) {
+        this.adj = adj;
+        this.components = components;
+        this.numComponents = numComponents;
+        this.rindex = new int[adj.size];
+        this.edgePos = new int[adj.size];
+        this.root = new boolean[adj.size];
+    }
+
+    /**
+     * Computes the components of all nodes. The ids of the components are assigned in reverse topological order.
+     */
+    void computeAll() {
+        final int[] callStack = new int[adj.size];
+        final int[] sccStack = new int[adj.size];
+
+        for (int v = 0; v < adj.size; v++) {
+            if (rindex[v] == 0) {
+                visit(v, callStack, sccStack, null, 0);
+            }
+        }
+    }
+
+    /**
+     * Computes the components of the given nodes (which all have the given color), ignoring all other nodes.
+     */
+    void compute(int[] nodes, int[] colors, int color) {
+        final int[] callStack = new int[nodes.length];
+        final int[] sccStack = new int[nodes.length];
+
+        for (int v : nodes) {
+            if (rindex[v] == 0) {
+                visit(v, callStack, sccStack, colors, color);
+            }
+        }
+    }
+
+    private void visit(int start, int[] callStack, int[] sccStack, int[] colors, int color) {
+        final int[] offsets = adj.offsets;
+        final int[] targets = adj.targets;
+
+        int index = 1;
+        int callTop = 0;
+        int sccTop = 0;
+
+        rindex[start] = index++;
+        root[start] = true;
+        edgePos[start] = offsets[start];
+        callStack[callTop++] = start;
+
+        while (callTop > 0) {
+            final int v = callStack[callTop - 1];
+
+            if (edgePos[v] < offsets[v + 1]) {
+                final int w = targets[edgePos[v]++];
+
+                if (colors != null && colors[w] != color) {
+                    continue;
+                }
+
+                if (rindex[w] == 0) {
+                    rindex[w] = index++;
+                    root[w] = true;
+                    edgePos[w] = offsets[w];
+                    callStack[callTop++] = w;
+                } else if (rindex[w] < rindex[v]) {
+                    rindex[v] = rindex[w];
+                    root[v] = false;
+                }
+                continue;
+            }
+
+            // all successors of v have been processed
+            callTop--;
+
+            if (root[v]) {
+                final int component = numComponents.getAndIncrement();
+                while (sccTop > 0 && rindex[v] <= rindex[sccStack[sccTop - 1]]) {
+                    final int w = sccStack[--sccTop];
+                    rindex[w] = DONE;
+                    components[w] = component;
+                }
+                rindex[v] = DONE;
+                components[v] = component;
+            } else {
+                sccStack[sccTop++] = v;
+            }
+
+            if (callTop > 0) {
+                final int u = callStack[callTop - 1];
+                if (rindex[v] < rindex[u]) {
+                    rindex[u] = rindex[v];
+                    root[u] = false;
+                }
+            }
+        }
+    }
+}
@@ -15,10 +15,14 @@
  */
 package net.automatalib.util.graphs.scc;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import net.automatalib.graphs.Graph;
-import net.automatalib.util.graphs.traversal.GraphTraversal;
+import net.automatalib.graphs.concepts.NodeIDs;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 /**
@@ -31,16 +35,16 @@ public final class SCCs {
     private SCCs() {}
 
     /**
-     * Collects all strongly-connected components in a graph. The SCCs are returned as a list of lists.
+     * Collects all strongly-connected components in a graph. The SCCs are returned as a list of lists (in reverse
+     * topological order).
      * <p>
-     * Tarjan's algorithm is used for realizing the SCC search.
+     * An iterative variant of Tarjan's algorithm (due to Pearce) over the integer {@link Graph#nodeIDs() node ids} is
+     * used for realizing the SCC search.
      *
      * @param graph
      *         the graph
      *
      * @return a list of all SCCs, each represented as a list of its nodes
-     *
-     * @see TarjanSCCVisitor
      */
     @NonNull
     public static <N, E> List<List<N>> collectSCCs(Graph<N, E> graph) {
@@ -49,25 +53,98 @@ public final class SCCs {
         return coll.getSCCList();
     }
 
+    /**
+     * Collects all strongly-connected components in a graph, using a parallel algorithm. The SCCs are returned as a
+     * list of lists (in no particular order).
+     *
+     * @param graph
+     *         the graph. Its {@link Graph#nodeIDs() node ids} and its outgoing edges must support concurrent read
+     *         access
+     * @param pool
+     *         the pool used for the parallel computation
+     *
+     * @return a list of all SCCs, each represented as a list of its nodes
+     *
+     * @see #findSCCs(Graph, SCCListener, ForkJoinPool)
+     */
+    @NonNull
+    public static <N, E> List<List<N>> collectSCCs(Graph<N, E> graph, ForkJoinPool pool) {
+        SCCCollector<N> coll = new SCCCollector<>();
+        findSCCs(graph, coll, pool);
+        return coll.getSCCList();
+    }
+
     /**
      * Find all strongly-connected components in a graph. When a new SCC is found, the {@link
-     * SCCListener#foundSCC(java.util.Collection)} method is invoked. The listener object may hence not be null.
+     * SCCListener#foundSCC(java.util.Collection)} method is invoked. The listener object may hence not be null. The
+     * SCCs are reported in reverse topological order.
      * <p>
-     * Tarjan's algorithm is used for realizing the SCC search.
+     * An iterative variant of Tarjan's algorithm (due to Pearce) over the integer {@link Graph#nodeIDs() node ids} is
+     * used for realizing the SCC search. For a search based on the generic graph traversal, see {@link
+     * TarjanSCCVisitor}.
      *
      * @param graph
      *         the graph
      * @param listener
      *         the SCC listener
-     *
-     * @see TarjanSCCVisitor
      */
     public static <N, E> void findSCCs(Graph<N, E> graph, SCCListener<N> listener) {
-        TarjanSCCVisitor<N, E> vis = new TarjanSCCVisitor<>(graph, listener);
-        for (N node : graph) {
-            if (!vis.hasVisited(node)) {
-                GraphTraversal.depthFirst(graph, node, vis);
+        final NodeIDs<N> ids = graph.nodeIDs();
+        final IntAdjacency adj = IntAdjacency.of(graph, ids);
+        final int[] components = new int[adj.size];
+        final AtomicInteger numComponents = new AtomicInteger();
+
+        new PearceSCC(adj, components, numComponents).computeAll();
+        reportSCCs(ids, components, numComponents.get(), listener);
+    }
+
+    /**
+     * Find all strongly-connected components in a graph, using a parallel algorithm. When a new SCC is found, the
+     * {@link SCCListener#foundSCC(java.util.Collection)} method is invoked (by the calling thread, after all components
+     * have been computed). The SCCs are reported in no particular order.
+     * <p>
+     * After trivial components have been removed, the forward-backward algorithm is used for recursively partitioning
+     * the graph into independent sub-problems which are processed in parallel.
+     *
+     * @param graph
+     *         the graph. Its {@link Graph#nodeIDs() node ids} and its outgoing edges must support concurrent read
+     *         access
+     * @param listener
+     *         the SCC listener
+     * @param pool
+     *         the pool used for the parallel computation
+     */
+    public static <N, E> void findSCCs(Graph<N, E> graph, SCCListener<N> listener, ForkJoinPool pool) {
+        final NodeIDs<N> ids = graph.nodeIDs();
+        final IntAdjacency adj = IntAdjacency.of(graph, ids);
+        final int[] components = new int[adj.size];
+
+        final int numComponents = ForwardBackwardSCC.compute(adj, components, pool);
+        reportSCCs(ids, components, numComponents, listener);
+    }
+
+    private static <N> void reportSCCs(NodeIDs<N> ids, int[] components, int numComponents, SCCListener<N> listener) {
+        // group the nodes by their components (counting sort)
+        final int[] offsets = new int[numComponents + 1];
+        for (int c : components) {
+            offsets[c + 1]++;
+        }
+        for (int c = 0; c < numComponents; c++) {
+            offsets[c + 1] += offsets[c];
+        }
+
+        final int[] nodes = new int[components.length];
+        final int[] fill = Arrays.copyOf(offsets, numComponents);
+        for (int v = 0; v < components.length; v++) {
+            nodes[fill[components[v]]++] = v;
+        }
+
+        for (int c = 0; c < numComponents; c++) {
+            final List<N> scc = new ArrayList<>(offsets[c + 1] - offsets[c]);
+            for (int i = offsets[c]; i < offsets[c + 1]; i++) {
+                scc.add(ids.getNode(nodes[i]));
             }
+            listener.foundSCC(scc);
         }
     }
 
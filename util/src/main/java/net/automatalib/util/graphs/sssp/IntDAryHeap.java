@@ -0,0 +1,142 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.graphs.sssp;
+
+import java.util.Arrays;
+
+/**
+ * An indexed, d-ary min-heap of integer elements from a fixed range {@code [0, capacity)}. The priorities of the
+ * elements are not stored in the heap itself, but read from an external {@code float} array. The position of each
+ * element is tracked, so that decreasing the priority of an element (after updating the external array) does not
+ * require a search.
+ * <p>
+ * Compared to a binary heap, a d-ary heap (with d = 4 by default) has a smaller height and better memory locality,
+ * which speeds up the (frequent) decrease-key operations of Dijkstra's algorithm.
+ *
+ * @author frohme
+ */
+final class IntDAryHeap {
+
+    static final int DEFAULT_ARITY = 4;
+
+    private static final int ABSENT = -1;
+
+    private final int arity;
+    private final float[] keys;
+    private final int[] heap;
+    private final int[] positions;
+    private int size;
+
+    IntDAryHeap(float[] keys) {
+        this(keys, DEFAULT_ARITY);
+    }
+
+    IntDAryHeap(float[] keys, int arity) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("Arity must be at least 2");
+        }
+        this.arity = arity;
+        this.keys = keys;
+        this.heap = new int[keys.length];
+        this.positions = new int[keys.length];
+        Arrays.fill(positions, ABSENT);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    boolean contains(int element) {
+        return positions[element] != ABSENT;
+    }
+
+    /**
+     * Inserts the given element, whose priority has to be set in the external array before.
+     */
+    void insert(int element) {
+        siftUp(size++, element);
+    }
+
+    /**
+     * Restores the heap property after the priority of the given (contained) element has been decreased in the
+     * external array.
+     */
+    void decreaseKey(int element) {
+        siftUp(positions[element], element);
+    }
+
+    int extractMin() {
+        final int min = heap[0];
+        positions[min] = ABSENT;
+        size--;
+        if (size > 0) {
+            siftDown(heap[size]);
+        }
+        return min;
+    }
+
+    private void siftUp(int index, int element) {
+        final float key = keys[element];
+        int i = index;
+        while (i > 0) {
+            final int parent = (i - 1) / arity;
+            final int parentElem = heap[parent];
+            if (keys[parentElem] <= key) {
+                break;
+            }
+            heap[i] = parentElem;
+            positions[parentElem] = i;
+            i = parent;
+        }
+        heap[i] = element;
+        positions[element] = i;
+    }
+
+    private void siftDown(int element) {
+        final float key = keys[element];
+        int i = 0;
+
+        while (true) {
+            final int first = i * arity + 1;
+            if (first >= size) {
+                break;
+            }
+
+            final int last = Math.min(first + arity, size);
+            int minChild = first;
+            float minKey = keys[heap[first]];
+            for (int c = first + 1; c < last; c++) {
+                final float k = keys[heap[c]];
+                if (k < minKey) {
+                    minChild = c;
+                    minKey = k;
+                }
+            }
+
+            if (key <= minKey) {
+                break;
+            }
+
+            final int childElem = heap[minChild];
+            heap[i] = childElem;
+            positions[childElem] = i;
+            i = minChild;
+        }
+
+        heap[i] = element;
+        positions[element] = i;
+    }
+}
@@ -0,0 +1,317 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.graphs.sssp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import net.automatalib.graphs.Graph;
+import net.automatalib.graphs.base.compact.CSRGraph;
+import net.automatalib.graphs.concepts.EdgeWeights;
+import net.automatalib.graphs.concepts.NodeIDs;
+import net.automatalib.util.graphs.Graphs;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Implementation of Dijkstras algorithm for the single-source shortest path problem, which operates on the integer
+ * {@link NodeIDs node ids} of a graph.
+ * <p>
+ * In contrast to {@link DijkstraSSSP}, this implementation does not allocate a record per node, but stores the
+ * distances and predecessors in primitive arrays (indexed by node ids) and uses an indexed d-ary heap of node ids as
+ * its priority queue. The memory consumption of a search is therefore independent of the number of reached nodes, which
+ * makes this implementation suitable for (large) graphs whose nodes are (cheaply) identifiable by integers, e.g. the
+ * graph views of compact automata.
+ * <p>
+ * Multiple searches (for different source nodes) may be performed in parallel, see {@link #findSSSPs(Graph,
+ * Collection, EdgeWeights, ForkJoinPool)}.
+ *
+ * @param <N>
+ *         node class
+ * @param <E>
+ *         edge class
+ *
+ * @author frohme
+ */
+public class IntDijkstraSSSP<N, E> implements SSSPResult<N, E> {
+
+    private static final int NO_NODE = -1;
+
+    private final Graph<N, E> graph;
+    private final N init;
+    private final EdgeWeights<E> edgeWeights;
+    @NonNull
+    private final NodeIDs<N> ids;
+    private final float[] dist;
+    private final int[] pred;
+    private final Object[] reach;
+    // the edge weights of a CSR graph, indexed by edge ids (or null, if the graph is not a CSR graph)
+    private final float[] csrWeights;
+    private boolean searched;
+
+    /**
+     * Constructor.
+     *
+     * @param graph
+     *         the graph in which to search for shortest paths
+     * @param init
+     *         the initial node
+     * @param edgeWeights
+     *         the edge weights
+     */
+    public IntDijkstraSSSP(Graph<N, E> graph, N init, EdgeWeights<E> edgeWeights) {
+        this(graph, graph.nodeIDs(), init, edgeWeights);
+    }
+
+    private IntDijkstraSSSP(Graph<N, E> graph, NodeIDs<N> ids, N init, EdgeWeights<E> edgeWeights) {
+        this(graph, ids, init, edgeWeights, computeCSRWeights(graph, ids, edgeWeights));
+    }
+
+    private IntDijkstraSSSP(Graph<N, E> graph,
+                            NodeIDs<N> ids,
+                            N init,
+                            EdgeWeights<E> edgeWeights,
+                            float[] csrWeights) {
+        this.graph = graph;
+        this.init = init;
+        this.edgeWeights = edgeWeights;
+        this.ids = ids;
+        this.csrWeights = csrWeights;
+
+        final int size = graph.size();
+        this.dist = new float[size];
+        this.pred = new int[size];
+        this.reach = new Object[size];
+    }
+
+    /**
+     * Search for the shortest paths from a single source node in a graph.
+     *
+     * @param graph
+     *         the graph in which to perform the search
+     * @param init
+     *         the initial (source) node
+     * @param edgeWeights
+     *         the edge weights
+     *
+     * @return the single-source shortest path results
+     */
+    @NonNull
+    public static <N, E> SSSPResult<N, E> findSSSP(Graph<N, E> graph, N init, EdgeWeights<E> edgeWeights) {
+        IntDijkstraSSSP<N, E> dijkstra = new IntDijkstraSSSP<>(graph, init, edgeWeights);
+        dijkstra.findSSSP();
+        return dijkstra;
+    }
+
+    /**
+     * Search for the shortest paths from each of the given source nodes in a graph. The individual searches are
+     * performed in parallel by the tasks of the given pool.
+     *
+     * @param graph
+     *         the graph in which to perform the search. Its {@link Graph#nodeIDs() node ids} and its outgoing edges
+     *         must support concurrent read access
+     * @param sources
+     *         the source nodes
+     * @param edgeWeights
+     *         the edge weights. Must support concurrent read access
+     * @param pool
+     *         the pool used for performing the searches
+     *
+     * @return the single-source shortest path results, in the order of the given source nodes
+     */
+    @NonNull
+    public static <N, E> List<SSSPResult<N, E>> findSSSPs(Graph<N, E> graph,
+                                                          Collection<? extends N> sources,
+                                                          EdgeWeights<E> edgeWeights,
+                                                          ForkJoinPool pool) {
+        final NodeIDs<N> ids = graph.nodeIDs();
+        final float[] csrWeights = computeCSRWeights(graph, ids, edgeWeights);
+        final List<SSSPResult<N, E>> result = new ArrayList<>(sources.size());
+        final List<ForkJoinTask<?>> tasks = new ArrayList<>(sources.size());
+
+        for (N source : sources) {
+            final IntDijkstraSSSP<N, E> dijkstra =
+                    new IntDijkstraSSSP<>(graph, ids, source, edgeWeights, csrWeights);
+            result.add(dijkstra);
+            tasks.add(ForkJoinTask.adapt(() -> dijkstra.findSSSP()));
+        }
+
+        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+
+        return result;
+    }
+
+    /**
+     * Start the search. This method may only be invoked once.
+     */
+    public void findSSSP() {
+        if (searched) {
+            throw new IllegalStateException("Search has already been performed!");
+        }
+        searched = true;
+
+        Arrays.fill(dist, Float.POSITIVE_INFINITY);
+        Arrays.fill(pred, NO_NODE);
+
+        final int initId = ids.getNodeId(init);
+        final IntDAryHeap pq = new IntDAryHeap(dist);
+
+        dist[initId] = 0.0f;
+        pq.insert(initId);
+
+        // CSR graphs are scanned directly on their primitive edge arrays
+        final CSRGraph<?, ?> csr = csrWeights == null ? null : (CSRGraph<?, ?>) graph;
+
+        while (!pq.isEmpty()) {
+            // Remove node with minimum distance
+            final int nodeId = pq.extractMin();
+            final float d = dist[nodeId];
+
+            // edge scanning
+            if (csr != null) {
+                final int end = csr.getOutgoingEdgesEnd(nodeId);
+                for (int e = csr.getOutgoingEdgesBegin(nodeId); e < end; e++) {
+                    final int tgtId = csr.getIntTarget(e);
+                    if (relax(pq, nodeId, d + csrWeights[e], tgtId)) {
+                        // edges are only boxed when they are recorded as reaching edges
+                        reach[tgtId] = Integer.valueOf(e);
+                    }
+                }
+            } else {
+                for (E edge : graph.getOutgoingEdges(ids.getNode(nodeId))) {
+                    final int tgtId = ids.getNodeId(graph.getTarget(edge));
+                    if (relax(pq, nodeId, d + edgeWeights.getEdgeWeight(edge), tgtId)) {
+                        reach[tgtId] = edge;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Updates the distance of the given target node, if the given distance improves it.
+     *
+     * @return {@code true} if the distance of the target node has been updated, {@code false} otherwise
+     */
+    private boolean relax(IntDAryHeap pq, int nodeId, float newDist, int tgtId) {
+        if (newDist < dist[tgtId]) {
+            final boolean visited = dist[tgtId] != Float.POSITIVE_INFINITY;
+            dist[tgtId] = newDist;
+            pred[tgtId] = nodeId;
+
+            if (!visited) {
+                pq.insert(tgtId);
+            } else if (pq.contains(tgtId)) {
+                pq.decreaseKey(tgtId);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Looks up the weights of all edges of the given graph, if it is a {@link CSRGraph} whose node ids are used. The
+     * weights are looked up once per graph and shared by all searches on it, so that relaxing an edge does not box it.
+     *
+     * @return the edge weights indexed by edge ids, or {@code null} if the given graph is not a {@link CSRGraph}
+     */
+    private static <N, E> float[] computeCSRWeights(Graph<N, E> graph, NodeIDs<N> ids, EdgeWeights<E> edgeWeights) {
+        if (!(graph instanceof CSRGraph) || ids != graph) {
+            return null;
+        }
+
+        final int numEdges = ((CSRGraph<?, ?>) graph).getNumEdges();
+        final float[] weights = new float[numEdges];
+
+        for (int e = 0; e < numEdges; e++) {
+            @SuppressWarnings("unchecked")
+            final E edge = (E) Integer.valueOf(e);
+            weights[e] = edgeWeights.getEdgeWeight(edge);
+        }
+
+        return weights;
+    }
+
+    @Override
+    public N getInitialNode() {
+        return init;
+    }
+
+    @Override
+    public float getShortestPathDistance(N target) {
+        return getShortestPathDistance(ids.getNodeId(target));
+    }
+
+    /**
+     * Retrieves the length of the shortest path from the initial node to the node with the given id.
+     *
+     * @param targetId
+     *         the id of the target node
+     *
+     * @return the length of the shortest path from the initial node to the given target node, or {@link
+     * Graphs#INVALID_DISTANCE} if there exists no such path.
+     */
+    public float getShortestPathDistance(int targetId) {
+        final float d = dist[targetId];
+        return d == Float.POSITIVE_INFINITY ? Graphs.INVALID_DISTANCE : d;
+    }
+
+    /**
+     * Retrieves the id of the predecessor of the node with the given id on the shortest path from the initial node.
+     *
+     * @param targetId
+     *         the id of the target node
+     *
+     * @return the id of the predecessor node, or {@code -1} if the target node is the initial node or not reachable.
+     */
+    public int getPredecessorId(int targetId) {
+        return pred[targetId];
+    }
+
+    @Override
+    @Nullable
+    public List<E> getShortestPath(N target) {
+        int node = ids.getNodeId(target);
+        if (dist[node] == Float.POSITIVE_INFINITY) {
+            return null;
+        }
+
+        final List<E> result = new ArrayList<>();
+        while (pred[node] != NO_NODE) {
+            result.add(getReachingEdge(node));
+            node = pred[node];
+        }
+
+        Collections.reverse(result);
+        return result;
+    }
+
+    @Override
+    @Nullable
+    public E getShortestPathEdge(N target) {
+        return getReachingEdge(ids.getNodeId(target));
+    }
+
+    @SuppressWarnings("unchecked")
+    private E getReachingEdge(int nodeId) {
+        return (E) reach[nodeId];
+    }
+}
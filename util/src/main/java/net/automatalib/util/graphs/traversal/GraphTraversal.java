@@ -21,6 +21,7 @@ import java.util.Collections;
 import java.util.Deque;
 import java.util.Iterator;
 import java.util.Queue;
+import java.util.concurrent.ForkJoinPool;
 
 import net.automatalib.commons.util.Holder;
 import net.automatalib.graphs.IndefiniteGraph;
@@ -284,6 +285,45 @@ public final class GraphTraversal {
         return breadthFirst(graph, -1, Collections.singleton(initialNode), visitor);
     }
 
+    /**
+     * Traverses the given graph in a parallel, level-synchronous breadth-first fashion: the nodes of each BFS level
+     * are explored concurrently by the tasks of the given pool, and the next level consists of all nodes that have
+     * been discovered (i.e. for which the visitor returned {@link GraphTraversalAction#EXPLORE}) for the first time.
+     * <p>
+     * In contrast to {@link #breadthFirst(IndefiniteGraph, int, Collection, GraphTraversalVisitor)}, every node is
+     * explored at most once, which is tracked by a concurrent visited set. Apart from the BFS levels, no order of the
+     * visitor callbacks is guaranteed, and the callbacks may be invoked concurrently. This method is therefore suited
+     * for order-independent analyses (e.g. reachability) of graphs with expensive successor computations.
+     *
+     * @param graph
+     *         the graph to traverse. Its outgoing edges (and for finite graphs, its {@link
+     *         net.automatalib.graphs.Graph#nodeIDs() node ids}) must support concurrent read access
+     * @param limit
+     *         the maximum number of nodes to explore, or a negative value for no limit
+     * @param initialNodes
+     *         the nodes from which to start the traversal
+     * @param visitor
+     *         the visitor. Must support concurrent invocations
+     * @param pool
+     *         the pool used for exploring the nodes of each level
+     *
+     * @return {@code false} if the traversal was aborted due to reaching the limit, {@code true} otherwise
+     */
+    public static <N, E, D> boolean breadthFirst(IndefiniteGraph<N, E> graph,
+                                                 int limit,
+                                                 Collection<? extends N> initialNodes,
+                                                 GraphTraversalVisitor<N, E, D> visitor,
+                                                 ForkJoinPool pool) {
+        return new ParallelBreadthFirst<>(graph, limit, visitor).traverse(initialNodes, pool);
+    }
+
+    public static <N, E, D> boolean breadthFirst(IndefiniteGraph<N, E> graph,
+                                                 Collection<? extends N> initialNodes,
+                                                 GraphTraversalVisitor<N, E, D> visitor,
+                                                 ForkJoinPool pool) {
+        return breadthFirst(graph, -1, initialNodes, visitor, pool);
+    }
+
     public static <N, E, D> boolean dfs(IndefiniteGraph<N, E> graph,
                                         N initialNode,
                                         DFSVisitor<? super N, ? super E, D> visitor) {
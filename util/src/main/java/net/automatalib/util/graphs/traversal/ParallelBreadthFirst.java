@@ -0,0 +1,194 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.graphs.traversal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import net.automatalib.commons.util.Holder;
+import net.automatalib.commons.util.concurrent.AtomicBitSet;
+import net.automatalib.graphs.Graph;
+import net.automatalib.graphs.IndefiniteGraph;
+import net.automatalib.graphs.concepts.NodeIDs;
+
+/**
+ * A parallel, level-synchronous breadth-first traversal of a graph. All nodes of the current frontier are expanded
+ * concurrently by the tasks of a {@link ForkJoinPool}, and the next frontier consists of all newly discovered nodes.
+ * <p>
+ * Discovered nodes are tracked in a concurrent visited set, such that every node is explored at most once. For
+ * {@link Graph finite graphs}, the visited set is an {@link AtomicBitSet} over the {@link Graph#nodeIDs() node ids},
+ * for other graphs a concurrent hash set is used.
+ *
+ * @param <N>
+ *         node type
+ * @param <E>
+ *         edge type
+ * @param <D>
+ *         user data type
+ *
+ * @author frohme
+ */
+final class ParallelBreadthFirst<N, E, D> {
+
+    private static final int SEQUENTIAL_THRESHOLD = 32;
+
+    private final IndefiniteGraph<N, E> graph;
+    private final int limit;
+    private final GraphTraversalVisitor<N, E, D> vis;
+    private final Predicate<N> markVisited;
+    private final AtomicInteger nodeCount;
+    private volatile boolean complete;
+    private volatile boolean aborted;
+
+    ParallelBreadthFirst(IndefiniteGraph<N, E> graph, int limit, GraphTraversalVisitor<N, E, D> vis) {
+        this.graph = graph;
+        this.limit = limit;
+        this.vis = vis;
+        this.markVisited = createVisitedSet(graph);
+        this.nodeCount = new AtomicInteger();
+        this.complete = true;
+    }
+
+    private static <N> Predicate<N> createVisitedSet(IndefiniteGraph<N, ?> graph) {
+        if (graph instanceof Graph) {
+            final Graph<N, ?> finiteGraph = (Graph<N, ?>) graph;
+            final NodeIDs<N> ids = finiteGraph.nodeIDs();
+            final AtomicBitSet visited = new AtomicBitSet(finiteGraph.size());
+            return n -> visited.set(ids.getNodeId(n));
+        }
+
+        final Set<N> visited = ConcurrentHashMap.newKeySet();
+        return visited::add;
+    }
+
+    boolean traverse(Collection<? extends N> initialNodes, ForkJoinPool pool) {
+        List<BFRecord<N, D>> frontier = new ArrayList<>();
+        final Holder<D> dataHolder = new Holder<>();
+
+        for (N init : initialNodes) {
+            dataHolder.value = null;
+            GraphTraversalAction act = vis.processInitial(init, dataHolder);
+
+            switch (act) {
+                case IGNORE:
+                case ABORT_NODE:
+                    continue;
+                case ABORT_TRAVERSAL:
+                    return complete;
+                case EXPLORE:
+                    discover(frontier, init, dataHolder.value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown action " + act);
+            }
+        }
+
+        while (!frontier.isEmpty() && !aborted) {
+            frontier = pool.invoke(new LevelTask(frontier, 0, frontier.size()));
+        }
+
+        return complete;
+    }
+
+    private void discover(List<BFRecord<N, D>> nextFrontier, N node, D data) {
+        if (markVisited.test(node)) {
+            if (limit < 0 || nodeCount.getAndIncrement() < limit) {
+                nextFrontier.add(new BFRecord<>(node, data));
+            } else {
+                complete = false;
+            }
+        }
+    }
+
+    private List<BFRecord<N, D>> expand(List<BFRecord<N, D>> frontier, int low, int high) {
+        final List<BFRecord<N, D>> nextFrontier = new ArrayList<>();
+        final Holder<D> dataHolder = new Holder<>();
+
+        bfs_loop:
+        for (int i = low; i < high && !aborted; i++) {
+            final BFRecord<N, D> current = frontier.get(i);
+            final N currNode = current.node;
+            final D currData = current.data;
+
+            if (!vis.startExploration(currNode, currData)) {
+                continue;
+            }
+
+            for (E edge : graph.getOutgoingEdges(currNode)) {
+                N tgtNode = graph.getTarget(edge);
+
+                dataHolder.value = null;
+                GraphTraversalAction act = vis.processEdge(currNode, currData, edge, tgtNode, dataHolder);
+
+                switch (act) {
+                    case IGNORE:
+                        continue;
+                    case ABORT_NODE:
+                        continue bfs_loop;
+                    case ABORT_TRAVERSAL:
+                        aborted = true;
+                        return nextFrontier;
+                    case EXPLORE:
+                        discover(nextFrontier, tgtNode, dataHolder.value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown action " + act);
+                }
+            }
+
+            vis.finishExploration(currNode, currData);
+        }
+
+        return nextFrontier;
+    }
+
+    private final class LevelTask extends RecursiveTask<List<BFRecord<N, D>>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<BFRecord<N, D>> frontier;
+        private final int low;
+        private final int high;
+
+        LevelTask(List<BFRecord<N, D>> frontier, int low, int high) {
+            this.frontier = frontier;
+            this.low = low;
+            this.high = high;
+        }
+
+        @Override
+        protected List<BFRecord<N, D>> compute() {
+            if (high - low <= SEQUENTIAL_THRESHOLD) {
+                return expand(frontier, low, high);
+            }
+
+            final int mid = (low + high) >>> 1;
+            final LevelTask left = new LevelTask(frontier, low, mid);
+            left.fork();
+            final List<BFRecord<N, D>> result = new LevelTask(frontier, mid, high).compute();
+            final List<BFRecord<N, D>> leftResult = left.join();
+            leftResult.addAll(result);
+            return leftResult;
+        }
+    }
+}
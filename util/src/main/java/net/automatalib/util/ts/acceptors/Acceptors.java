@@ -18,6 +18,7 @@ package net.automatalib.util.ts.acceptors;
 import net.automatalib.commons.util.mappings.Mapping;
 import net.automatalib.ts.acceptors.AcceptorTS;
 import net.automatalib.ts.acceptors.DeterministicAcceptorTS;
+import net.automatalib.words.Alphabet;
 
 public final class Acceptors {
 
@@ -36,6 +37,14 @@ public final class Acceptors {
         return new DetAcceptorComposition<>(ts1, ts2, combiner);
     }
 
+    public static <S1, S2, I, TS1 extends DeterministicAcceptorTS<S1, I>, TS2 extends DeterministicAcceptorTS<S2, I>> MemoizingDetAcceptorComposition<S1, S2, I, TS1, TS2> combineMemoized(
+            TS1 ts1,
+            TS2 ts2,
+            Alphabet<I> alphabet,
+            AcceptanceCombiner combiner) {
+        return new MemoizingDetAcceptorComposition<>(ts1, ts2, alphabet, combiner);
+    }
+
     public static <S1, S2, I, TS1 extends DeterministicAcceptorTS<S1, I>, TS2 extends DeterministicAcceptorTS<S2, I>> DetAcceptorComposition<S1, S2, I, TS1, TS2> or(
             TS1 ts1,
             TS2 ts2) {
@@ -0,0 +1,106 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.ts.acceptors;
+
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.ts.acceptors.DeterministicAcceptorTS;
+import net.automatalib.ts.comp.MemoizingDTSComposition;
+import net.automatalib.words.Alphabet;
+
+/**
+ * A memoizing variant of {@link DetAcceptorComposition}, which assigns dense integer ids to the discovered product
+ * states and caches their successors (see {@link MemoizingDTSComposition}). As for {@link DetAcceptorComposition}, the
+ * composition is partial, i.e. a product state may contain {@code null} as a component state if the respective
+ * acceptor has no transition for an input. Such components are considered to be rejecting.
+ * <p>
+ * The transitions of this composition coincide with the ids of the successor states (as for {@link CompactDFA}s).
+ *
+ * @param <S1>
+ *         state type of the first acceptor
+ * @param <S2>
+ *         state type of the second acceptor
+ * @param <I>
+ *         input symbol type
+ * @param <A1>
+ *         type of the first acceptor
+ * @param <A2>
+ *         type of the second acceptor
+ *
+ * @author frohme
+ */
+public class MemoizingDetAcceptorComposition<S1, S2, I, A1 extends DeterministicAcceptorTS<S1, I>, A2 extends DeterministicAcceptorTS<S2, I>>
+        extends MemoizingDTSComposition<S1, S2, I, S1, S2, A1, A2> implements DeterministicAcceptorTS<Integer, I> {
+
+    private final AcceptanceCombiner combiner;
+
+    public MemoizingDetAcceptorComposition(A1 ts1, A2 ts2, Alphabet<I> alphabet, AcceptanceCombiner combiner) {
+        super(ts1, ts2, alphabet, true);
+        this.combiner = combiner;
+    }
+
+    @Override
+    public Integer getTransition(Integer state, I input) {
+        final int succ = getIntSuccessor(state, alphabet.getSymbolIndex(input));
+        return succ < 0 ? null : succ;
+    }
+
+    @Override
+    public Integer getSuccessor(Integer transition) {
+        return transition;
+    }
+
+    @Override
+    public boolean isAccepting(Integer state) {
+        return isAccepting(state.intValue());
+    }
+
+    public boolean isAccepting(int state) {
+        final S1 s1 = getFirstState(state);
+        final S2 s2 = getSecondState(state);
+        final boolean acc1 = (s1 != null) && ts1.isAccepting(s1);
+        final boolean acc2 = (s2 != null) && ts2.isAccepting(s2);
+        return combiner.combine(acc1, acc2);
+    }
+
+    /**
+     * Materializes this composition, i.e. {@link #explore() explores} all reachable product states and copies the
+     * resulting successor table into a {@link CompactDFA}. The states of the returned DFA coincide with the ids of the
+     * product states.
+     *
+     * @return the materialized composition
+     */
+    public CompactDFA<I> toCompactDFA() {
+        final int size = explore();
+        final CompactDFA<I> result = new CompactDFA<>(alphabet, size);
+
+        for (int state = 0; state < size; state++) {
+            result.addIntState(isAccepting(state));
+        }
+
+        result.setInitialState(getIntInitialState());
+
+        for (int state = 0; state < size; state++) {
+            for (int input = 0; input < numInputs; input++) {
+                final int succ = getIntSuccessor(state, input);
+                if (succ >= 0) {
+                    result.setTransition(state, input, succ);
+                }
+            }
+        }
+
+        return result;
+    }
+}
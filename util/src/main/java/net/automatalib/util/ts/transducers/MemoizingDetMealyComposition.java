@@ -0,0 +1,110 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.ts.transducers;
+
+import java.util.Arrays;
+
+import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.commons.util.Pair;
+import net.automatalib.ts.comp.MemoizingDTSComposition;
+import net.automatalib.ts.output.MealyTransitionSystem;
+import net.automatalib.words.Alphabet;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A memoizing variant of {@link DetMealyComposition}, which assigns dense integer ids to the discovered product states
+ * and caches their successors (see {@link MemoizingDTSComposition}). Additionally, the (combined) output of each
+ * product transition is computed at most once and cached as well.
+ *
+ * @param <S1>
+ *         state type of the first Mealy system
+ * @param <S2>
+ *         state type of the second Mealy system
+ * @param <I>
+ *         input symbol type
+ * @param <T1>
+ *         transition type of the first Mealy system
+ * @param <T2>
+ *         transition type of the second Mealy system
+ * @param <O1>
+ *         output symbol type of the first Mealy system
+ * @param <O2>
+ *         output symbol type of the second Mealy system
+ * @param <A1>
+ *         type of the first Mealy system
+ * @param <A2>
+ *         type of the second Mealy system
+ *
+ * @author frohme
+ */
+public class MemoizingDetMealyComposition<S1, S2, I, T1, T2, O1, O2, A1 extends MealyTransitionSystem<S1, I, T1, O1>, A2 extends MealyTransitionSystem<S2, I, T2, O2>>
+        extends MemoizingDTSComposition<S1, S2, I, T1, T2, A1, A2>
+        implements MealyTransitionSystem<Integer, I, Integer, Pair<O1, O2>> {
+
+    private Object[] outputs;
+
+    public MemoizingDetMealyComposition(A1 ts1, A2 ts2, Alphabet<I> alphabet) {
+        super(ts1, ts2, alphabet, true);
+        this.outputs = new Object[numInputs];
+    }
+
+    @Nullable
+    @Override
+    @SuppressWarnings("unchecked")
+    public Pair<O1, O2> getTransitionOutput(Integer transition) {
+        return (Pair<O1, O2>) outputs[transition];
+    }
+
+    @Override
+    protected void transitionComputed(int transition, T1 t1, T2 t2) {
+        if (transition >= outputs.length) {
+            outputs = Arrays.copyOf(outputs, Math.max(transition + 1, 2 * outputs.length));
+        }
+
+        final O1 firstOutput = t1 == null ? null : ts1.getTransitionOutput(t1);
+        final O2 secondOutput = t2 == null ? null : ts2.getTransitionOutput(t2);
+        outputs[transition] = Pair.of(firstOutput, secondOutput);
+    }
+
+    /**
+     * Materializes this composition, i.e. {@link #explore() explores} all reachable product states and copies the
+     * resulting successor and output tables into a {@link CompactMealy}. The states of the returned Mealy machine
+     * coincide with the ids of the product states.
+     *
+     * @return the materialized composition
+     */
+    public CompactMealy<I, Pair<O1, O2>> toCompactMealy() {
+        final int size = explore();
+        final CompactMealy<I, Pair<O1, O2>> result = new CompactMealy<>(alphabet, size);
+
+        for (int state = 0; state < size; state++) {
+            result.addIntState(null);
+        }
+
+        result.setInitialState(getIntInitialState());
+
+        for (int state = 0; state < size; state++) {
+            for (int input = 0; input < numInputs; input++) {
+                final int succ = getIntSuccessor(state, input);
+                if (succ >= 0) {
+                    result.setTransition(state, input, succ, getTransitionOutput(state * numInputs + input));
+                }
+            }
+        }
+
+        return result;
+    }
+}
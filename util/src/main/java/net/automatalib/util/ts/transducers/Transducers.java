@@ -16,6 +16,7 @@
 package net.automatalib.util.ts.transducers;
 
 import net.automatalib.ts.output.MealyTransitionSystem;
+import net.automatalib.words.Alphabet;
 
 public final class Transducers {
 
@@ -26,4 +27,11 @@ public final class Transducers {
             TS2 ts2) {
         return new DetMealyComposition<>(ts1, ts2);
     }
+
+    public static <S1, S2, I, T1, T2, O1, O2, TS1 extends MealyTransitionSystem<S1, I, T1, O1>, TS2 extends MealyTransitionSystem<S2, I, T2, O2>> MemoizingDetMealyComposition<S1, S2, I, T1, T2, O1, O2, TS1, TS2> combineMemoized(
+            TS1 ts1,
+            TS2 ts2,
+            Alphabet<I> alphabet) {
+        return new MemoizingDetMealyComposition<>(ts1, ts2, alphabet);
+    }
 }
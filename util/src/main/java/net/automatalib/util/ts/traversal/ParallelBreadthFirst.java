@@ -0,0 +1,203 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.ts.traversal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import net.automatalib.automata.concepts.StateIDs;
+import net.automatalib.automata.simple.SimpleAutomaton;
+import net.automatalib.commons.util.Holder;
+import net.automatalib.commons.util.concurrent.AtomicBitSet;
+import net.automatalib.ts.TransitionSystem;
+
+/**
+ * A parallel, level-synchronous breadth-first traversal of a transition system. All states of the current frontier are
+ * expanded concurrently by the tasks of a {@link ForkJoinPool}, and the next frontier consists of all newly discovered
+ * states.
+ * <p>
+ * Discovered states are tracked in a concurrent visited set, such that every state is explored at most once. For
+ * {@link SimpleAutomaton (finite) automata}, the visited set is an {@link AtomicBitSet} over the {@link
+ * SimpleAutomaton#stateIDs() state ids}, for other transition systems (e.g. lazily computed products) a concurrent
+ * hash set is used.
+ *
+ * @param <S>
+ *         state type
+ * @param <I>
+ *         input symbol type
+ * @param <T>
+ *         transition type
+ * @param <D>
+ *         user data type
+ *
+ * @author frohme
+ */
+final class ParallelBreadthFirst<S, I, T, D> {
+
+    private static final int SEQUENTIAL_THRESHOLD = 32;
+
+    private final TransitionSystem<S, ? super I, T> ts;
+    private final int limit;
+    private final Collection<? extends I> inputs;
+    private final TSTraversalVisitor<S, I, T, D> vis;
+    private final Predicate<S> markVisited;
+    private final AtomicInteger stateCount;
+    private volatile boolean complete;
+    private volatile boolean aborted;
+
+    ParallelBreadthFirst(TransitionSystem<S, ? super I, T> ts,
+                         int limit,
+                         Collection<? extends I> inputs,
+                         TSTraversalVisitor<S, I, T, D> vis) {
+        this.ts = ts;
+        this.limit = limit;
+        this.inputs = inputs;
+        this.vis = vis;
+        this.markVisited = createVisitedSet(ts);
+        this.stateCount = new AtomicInteger();
+        this.complete = true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <S> Predicate<S> createVisitedSet(TransitionSystem<S, ?, ?> ts) {
+        if (ts instanceof SimpleAutomaton) {
+            final SimpleAutomaton<S, ?> automaton = (SimpleAutomaton<S, ?>) ts;
+            final StateIDs<S> ids = automaton.stateIDs();
+            final AtomicBitSet visited = new AtomicBitSet(automaton.size());
+            return s -> visited.set(ids.getStateId(s));
+        }
+
+        final Set<S> visited = ConcurrentHashMap.newKeySet();
+        return visited::add;
+    }
+
+    boolean traverse(ForkJoinPool pool) {
+        List<BFSRecord<S, D>> frontier = new ArrayList<>();
+        final Holder<D> dataHolder = new Holder<>();
+
+        for (S initS : ts.getInitialStates()) {
+            dataHolder.value = null;
+            TSTraversalAction act = vis.processInitial(initS, dataHolder);
+            switch (act) {
+                case ABORT_TRAVERSAL:
+                    return complete;
+                case EXPLORE:
+                    discover(frontier, initS, dataHolder.value);
+                    break;
+                default: // case ABORT_INPUT: case ABORT_STATE: case IGNORE:
+            }
+        }
+
+        while (!frontier.isEmpty() && !aborted) {
+            frontier = pool.invoke(new LevelTask(frontier, 0, frontier.size()));
+        }
+
+        return complete;
+    }
+
+    private void discover(List<BFSRecord<S, D>> nextFrontier, S state, D data) {
+        if (markVisited.test(state)) {
+            if (limit < 0 || stateCount.getAndIncrement() < limit) {
+                nextFrontier.add(new BFSRecord<>(state, data));
+            } else {
+                complete = false;
+            }
+        }
+    }
+
+    private List<BFSRecord<S, D>> expand(List<BFSRecord<S, D>> frontier, int low, int high) {
+        final List<BFSRecord<S, D>> nextFrontier = new ArrayList<>();
+        final Holder<D> dataHolder = new Holder<>();
+
+        for (int i = low; i < high && !aborted; i++) {
+            final BFSRecord<S, D> current = frontier.get(i);
+            final S state = current.state;
+            final D data = current.data;
+
+            if (!vis.startExploration(state, data)) {
+                continue;
+            }
+
+            inputs_loop:
+            for (I input : inputs) {
+                Collection<T> transitions = ts.getTransitions(state, input);
+
+                for (T trans : transitions) {
+                    S succ = ts.getSuccessor(trans);
+
+                    dataHolder.value = null;
+                    TSTraversalAction act = vis.processTransition(state, data, input, trans, succ, dataHolder);
+
+                    switch (act) {
+                        case ABORT_INPUT:
+                            continue inputs_loop;
+                        case ABORT_STATE:
+                            break inputs_loop;
+                        case ABORT_TRAVERSAL:
+                            aborted = true;
+                            return nextFrontier;
+                        case EXPLORE:
+                            discover(nextFrontier, succ, dataHolder.value);
+                            break;
+                        case IGNORE:
+                            break;
+                        default:
+                            throw new IllegalStateException("Unknown action " + act);
+                    }
+                }
+            }
+        }
+
+        return nextFrontier;
+    }
+
+    private final class LevelTask extends RecursiveTask<List<BFSRecord<S, D>>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<BFSRecord<S, D>> frontier;
+        private final int low;
+        private final int high;
+
+        LevelTask(List<BFSRecord<S, D>> frontier, int low, int high) {
+            this.frontier = frontier;
+            this.low = low;
+            this.high = high;
+        }
+
+        @Override
+        protected List<BFSRecord<S, D>> compute() {
+            if (high - low <= SEQUENTIAL_THRESHOLD) {
+                return expand(frontier, low, high);
+            }
+
+            final int mid = (low + high) >>> 1;
+            final LevelTask left = new LevelTask(frontier, low, mid);
+            left.fork();
+            final List<BFSRecord<S, D>> result = new LevelTask(frontier, mid, high).compute();
+            final List<BFSRecord<S, D>> leftResult = left.join();
+            leftResult.addAll(result);
+            return leftResult;
+        }
+    }
+}
@@ -18,6 +18,7 @@ package net.automatalib.util.ts.traversal;
 import java.util.ArrayDeque;
 import java.util.Collection;
 import java.util.Deque;
+import java.util.concurrent.ForkJoinPool;
 
 import net.automatalib.commons.util.Holder;
 import net.automatalib.ts.TransitionSystem;
@@ -222,6 +223,46 @@ public final class TSTraversal {
         return complete;
     }
 
+    /**
+     * Traverses the given transition system in a parallel, level-synchronous breadth-first fashion: the states of each
+     * BFS level are explored concurrently by the tasks of the given pool, and the next level consists of all states
+     * that have been discovered (i.e. for which the visitor returned {@link TSTraversalAction#EXPLORE}) for the first
+     * time.
+     * <p>
+     * In contrast to {@link #breadthFirst(TransitionSystem, int, Collection, TSTraversalVisitor)}, every state is
+     * explored at most once, which is tracked by a concurrent visited set. Apart from the BFS levels, no order of the
+     * visitor callbacks is guaranteed, and the callbacks may be invoked concurrently. This method is therefore suited
+     * for order-independent analyses (e.g. reachability) of transition systems with expensive successor computations,
+     * such as (lazy) products of transition systems.
+     *
+     * @param ts
+     *         the transition system. Its successor computation must support concurrent invocations
+     * @param limit
+     *         the maximum number of states to explore, or a negative value for no limit
+     * @param inputs
+     *         the input alphabet
+     * @param vis
+     *         the visitor. Must support concurrent invocations
+     * @param pool
+     *         the pool used for exploring the states of each level
+     *
+     * @return {@code false} if the traversal was aborted due to reaching the limit, {@code true} otherwise
+     */
+    public static <S, I, T, D> boolean breadthFirst(TransitionSystem<S, ? super I, T> ts,
+                                                    int limit,
+                                                    Collection<? extends I> inputs,
+                                                    TSTraversalVisitor<S, I, T, D> vis,
+                                                    ForkJoinPool pool) {
+        return new ParallelBreadthFirst<>(ts, limit, inputs, vis).traverse(pool);
+    }
+
+    public static <S, I, T, D> boolean breadthFirst(TransitionSystem<S, ? super I, T> ts,
+                                                    Collection<? extends I> inputs,
+                                                    TSTraversalVisitor<S, I, T, D> vis,
+                                                    ForkJoinPool pool) {
+        return breadthFirst(ts, NO_LIMIT, inputs, vis, pool);
+    }
+
     public static <S, I, T, D> boolean traverse(TraversalOrder order,
                                                 TransitionSystem<S, ? super I, T> ts,
                                                 Collection<? extends I> inputs,
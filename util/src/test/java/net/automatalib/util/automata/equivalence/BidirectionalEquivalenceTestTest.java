@@ -0,0 +1,280 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.equivalence;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Random;
+
+import net.automatalib.automata.UniversalDeterministicAutomaton;
+import net.automatalib.automata.concepts.Output;
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.automata.transducers.impl.compact.CompactMealyTransition;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.automata.concepts.StateIDs;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author frohme
+ */
+public class BidirectionalEquivalenceTestTest {
+
+    private static final int AUTOMATON_SIZE = 200;
+    private static final int NUM_MUTATIONS = 20;
+
+    private final Alphabet<Integer> inputs = Alphabets.integers(0, 3);
+    private final Alphabet<Character> outputs = Alphabets.characters('a', 'c');
+
+    @Test
+    public void testDFA() {
+        final Random random = new Random(42);
+
+        for (int i = 0; i < NUM_MUTATIONS; i++) {
+            final long seed = random.nextLong();
+            final CompactDFA<Integer> dfa1 = RandomAutomata.randomDFA(new Random(seed), AUTOMATON_SIZE, inputs, false);
+            final CompactDFA<Integer> dfa2 = RandomAutomata.randomDFA(new Random(seed), AUTOMATON_SIZE, inputs, false);
+
+            checkWord(dfa1, dfa2, true);
+
+            // a single changed acceptance or transition yields a nearly equivalent automaton
+            final int state = random.nextInt(AUTOMATON_SIZE);
+            if (random.nextBoolean()) {
+                dfa2.setAccepting(state, !dfa2.isAccepting(state));
+            } else {
+                dfa2.setTransition(state, random.nextInt(inputs.size()), random.nextInt(AUTOMATON_SIZE));
+            }
+
+            checkWord(dfa1, dfa2, false);
+        }
+
+        // unrelated automata
+        final CompactDFA<Integer> dfa1 = RandomAutomata.randomDFA(random, AUTOMATON_SIZE, inputs, false);
+        final CompactDFA<Integer> dfa2 = RandomAutomata.randomDFA(random, AUTOMATON_SIZE / 2, inputs, false);
+        checkWord(dfa1, dfa2, false);
+    }
+
+    @Test
+    public void testPartialDFA() {
+        final Random random = new Random(42);
+
+        for (int i = 0; i < NUM_MUTATIONS; i++) {
+            final long seed = random.nextLong();
+            final CompactDFA<Integer> dfa1 = RandomAutomata.randomDFA(new Random(seed), AUTOMATON_SIZE, inputs, false);
+            final CompactDFA<Integer> dfa2 = RandomAutomata.randomDFA(new Random(seed), AUTOMATON_SIZE, inputs, false);
+
+            // differences in definedness close to the initial state, and further differences deeper in the automaton
+            dfa2.removeAllTransitions(dfa2.getInitialState(), inputs.getSymbol(random.nextInt(inputs.size())));
+            for (int j = 0; j < 5; j++) {
+                final int state = random.nextInt(AUTOMATON_SIZE);
+                dfa2.setAccepting(state, !dfa2.isAccepting(state));
+            }
+
+            final Word<Integer> expected = DeterministicEquivalenceTest.findSeparatingWordLarge(dfa1, dfa2, inputs);
+            final Word<Integer> actual = BidirectionalEquivalenceTest.findShortestSeparatingWord(dfa1, dfa2, inputs);
+
+            Assert.assertNotNull(expected);
+            Assert.assertNotNull(actual);
+            Assert.assertEquals(actual.length(), expected.length());
+
+            // the word either leads to an undefined transition in exactly one automaton or to different acceptance
+            final Integer s1 = dfa1.getState(actual);
+            final Integer s2 = dfa2.getState(actual);
+            Assert.assertTrue(s1 == null ^ s2 == null || dfa1.isAccepting(s1) != dfa2.isAccepting(s2));
+        }
+    }
+
+    @Test
+    public void testMealy() {
+        final Random random = new Random(42);
+
+        for (int i = 0; i < NUM_MUTATIONS; i++) {
+            final long seed = random.nextLong();
+            final CompactMealy<Integer, Character> mealy1 =
+                    RandomAutomata.randomMealy(new Random(seed), AUTOMATON_SIZE, inputs, outputs, false);
+            final CompactMealy<Integer, Character> mealy2 =
+                    RandomAutomata.randomMealy(new Random(seed), AUTOMATON_SIZE, inputs, outputs, false);
+
+            checkWord(mealy1, mealy2, true);
+
+            final int state = random.nextInt(AUTOMATON_SIZE);
+            final Integer input = inputs.getSymbol(random.nextInt(inputs.size()));
+            final CompactMealyTransition<Character> trans = mealy2.getTransition(state, input);
+            final Integer succ = trans.getSuccId();
+            final Character output = trans.getOutput();
+
+            switch (random.nextInt(3)) {
+                case 0:
+                    mealy2.setTransition(state, input, mealy2.createTransition(succ, Character.valueOf('x')));
+                    break;
+                case 1:
+                    final Integer newSucc = random.nextInt(AUTOMATON_SIZE);
+                    mealy2.setTransition(state, input, mealy2.createTransition(newSucc, output));
+                    break;
+                default:
+                    // partial machines differ in the definedness of transitions
+                    mealy2.removeAllTransitions(state, input);
+            }
+
+            checkWord(mealy1, mealy2, false);
+        }
+    }
+
+    @Test
+    public void testStateAndTransitionProperties() {
+        final Alphabet<Character> alphabet = Alphabets.characters('a', 'b');
+
+        // a chain 0 -b-> 1 -b-> 2 with a-self-loops, whose last state is marked only in the first automaton
+        final CompactMealy<Character, Character> mealy1 = new CompactMealy<>(alphabet);
+        final CompactMealy<Character, Character> mealy2 = new CompactMealy<>(alphabet);
+
+        for (CompactMealy<Character, Character> m : Arrays.asList(mealy1, mealy2)) {
+            m.addInitialState();
+            m.addState();
+            m.addState();
+
+            for (int s = 0; s < 3; s++) {
+                m.addTransition(s, 'a', s, 'x');
+                m.addTransition(s, 'b', Math.min(s + 1, 2), 'x');
+            }
+        }
+
+        // the output of 'a' at the initial state differs as well
+        mealy2.setTransition(0, (Character) 'a', mealy2.createTransition(0, Character.valueOf('y')));
+
+        final MarkedMealy<Character> m1 = new MarkedMealy<>(mealy1, new boolean[] {false, false, true});
+        final MarkedMealy<Character> m2 = new MarkedMealy<>(mealy2, new boolean[] {false, false, false});
+
+        Assert.assertEquals(DeterministicEquivalenceTest.findSeparatingWordLarge(m1, m2, alphabet),
+                            Word.fromSymbols('a'));
+        Assert.assertEquals(BidirectionalEquivalenceTest.findShortestSeparatingWord(m1, m2, alphabet),
+                            Word.fromSymbols('a'));
+
+        // random automata with mutations of both kinds of properties
+        final Random random = new Random(42);
+
+        for (int i = 0; i < NUM_MUTATIONS; i++) {
+            final long seed = random.nextLong();
+            final CompactMealy<Integer, Character> r1 =
+                    RandomAutomata.randomMealy(new Random(seed), AUTOMATON_SIZE, inputs, outputs, false);
+            final CompactMealy<Integer, Character> r2 =
+                    RandomAutomata.randomMealy(new Random(seed), AUTOMATON_SIZE, inputs, outputs, false);
+            final boolean[] marks1 = new boolean[AUTOMATON_SIZE];
+            final boolean[] marks2 = new boolean[AUTOMATON_SIZE];
+
+            for (int j = 0; j < 5; j++) {
+                final int state = random.nextInt(AUTOMATON_SIZE);
+                marks2[state] = !marks2[state];
+            }
+            final int state = random.nextInt(AUTOMATON_SIZE);
+            final Integer input = inputs.getSymbol(random.nextInt(inputs.size()));
+            final CompactMealyTransition<Character> trans = r2.getTransition(state, input);
+            r2.setTransition(state, input, r2.createTransition(trans.getSuccId(), Character.valueOf('x')));
+
+            final MarkedMealy<Integer> a1 = new MarkedMealy<>(r1, marks1);
+            final MarkedMealy<Integer> a2 = new MarkedMealy<>(r2, marks2);
+
+            final Word<Integer> expected = DeterministicEquivalenceTest.findSeparatingWordLarge(a1, a2, inputs);
+            final Word<Integer> actual = BidirectionalEquivalenceTest.findShortestSeparatingWord(a1, a2, inputs);
+
+            if (expected == null) {
+                Assert.assertNull(actual);
+            } else {
+                Assert.assertNotNull(actual);
+                Assert.assertEquals(actual.length(), expected.length());
+            }
+        }
+    }
+
+    private <A extends UniversalDeterministicAutomaton<?, Integer, ?, ?, ?> & Output<Integer, ?>> void checkWord(A a1,
+                                                                                                          A a2,
+                                                                                                          boolean equivalent) {
+        final UniversalDeterministicAutomaton<?, Integer, ?, ?, ?> m1 = a1;
+        final UniversalDeterministicAutomaton<?, Integer, ?, ?, ?> m2 = a2;
+
+        final Word<Integer> expected = DeterministicEquivalenceTest.findSeparatingWordLarge(m1, m2, inputs);
+        final Word<Integer> actual = BidirectionalEquivalenceTest.findShortestSeparatingWord(m1, m2, inputs);
+
+        if (equivalent) {
+            Assert.assertNull(expected);
+            Assert.assertNull(actual);
+            return;
+        }
+
+        // mutations may not be reachable
+        if (expected == null) {
+            Assert.assertNull(actual);
+        } else {
+            Assert.assertNotNull(actual);
+            Assert.assertEquals(actual.length(), expected.length());
+            Assert.assertNotEquals(a1.computeOutput(actual), a2.computeOutput(actual));
+        }
+    }
+
+    /**
+     * A view on a Mealy machine, which additionally marks some of its states.
+     */
+    private static final class MarkedMealy<I> implements
+            UniversalDeterministicAutomaton<Integer, I, CompactMealyTransition<Character>, Boolean, Character> {
+
+        private final CompactMealy<I, Character> mealy;
+        private final boolean[] marks;
+
+        MarkedMealy(CompactMealy<I, Character> mealy, boolean[] marks) {
+            this.mealy = mealy;
+            this.marks = marks;
+        }
+
+        @Override
+        public Collection<Integer> getStates() {
+            return mealy.getStates();
+        }
+
+        @Override
+        public StateIDs<Integer> stateIDs() {
+            return mealy.stateIDs();
+        }
+
+        @Override
+        public Integer getInitialState() {
+            return mealy.getInitialState();
+        }
+
+        @Override
+        public CompactMealyTransition<Character> getTransition(Integer state, I input) {
+            return mealy.getTransition(state, input);
+        }
+
+        @Override
+        public Integer getSuccessor(CompactMealyTransition<Character> transition) {
+            return mealy.getSuccessor(transition);
+        }
+
+        @Override
+        public Boolean getStateProperty(Integer state) {
+            return marks[state];
+        }
+
+        @Override
+        public Character getTransitionProperty(CompactMealyTransition<Character> transition) {
+            return mealy.getTransitionProperty(transition);
+        }
+    }
+}
@@ -0,0 +1,232 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.equivalence;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import com.google.common.hash.Funnel;
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.automata.transducers.impl.compact.CompactMealyTransition;
+import net.automatalib.util.automata.Automata;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author frohme
+ */
+public class CanonicalFormsTest {
+
+    private static final int SIZE = 30;
+
+    private final Alphabet<Integer> alphabet = Alphabets.integers(0, 2);
+
+    @Test
+    public void testDFA() {
+        final Random random = new Random(42);
+        final CompactDFA<Integer> dfa = RandomAutomata.randomDFA(random, SIZE, alphabet, false);
+        final CompactDFA<Integer> doubled = doubleDFA(dfa);
+
+        Assert.assertTrue(Automata.testEquivalence(dfa, doubled, alphabet));
+
+        final CompactDFA<Integer> canonical1 = CanonicalForms.canonicalize(dfa, alphabet, new CompactDFA.Creator<>());
+        final CompactDFA<Integer> canonical2 =
+                CanonicalForms.canonicalize(doubled, alphabet, new CompactDFA.Creator<>());
+
+        Assert.assertEquals(canonical1.size(), canonical2.size());
+        Assert.assertEquals(canonical1.getIntInitialState(), 0);
+        Assert.assertEquals(canonical2.getIntInitialState(), 0);
+
+        for (int s = 0; s < canonical1.size(); s++) {
+            Assert.assertEquals(canonical1.isAccepting(s), canonical2.isAccepting(s));
+            for (int i = 0; i < alphabet.size(); i++) {
+                Assert.assertEquals(canonical1.getSuccessor(s, i), canonical2.getSuccessor(s, i));
+            }
+        }
+
+        final Fingerprint fingerprint = CanonicalForms.fingerprint(dfa, alphabet);
+        Assert.assertEquals(CanonicalForms.fingerprint(doubled, alphabet), fingerprint);
+        Assert.assertEquals(CanonicalForms.fingerprint(canonical1, alphabet), fingerprint);
+        Assert.assertEquals(fingerprint.toString().length(), 32);
+
+        // changing the language changes the fingerprint
+        canonical2.setAccepting(0, !canonical2.isAccepting(0));
+        Assert.assertNotEquals(CanonicalForms.fingerprint(canonical2, alphabet), fingerprint);
+        canonical2.setAccepting(0, !canonical2.isAccepting(0));
+
+        // undefined transitions are distinguished from defined ones
+        canonical2.removeAllTransitions(canonical2.getInitialState(), Integer.valueOf(0));
+        Assert.assertNotEquals(CanonicalForms.fingerprint(canonical2, alphabet), fingerprint);
+    }
+
+    @Test
+    public void testMealy() {
+        final Random random = new Random(1337);
+        final CompactMealy<Integer, String> mealy =
+                RandomAutomata.randomMealy(random, SIZE, alphabet, Arrays.asList("x", "y"), false);
+        final CompactMealy<Integer, String> doubled = doubleMealy(mealy);
+
+        final Fingerprint fingerprint = CanonicalForms.fingerprint(mealy, alphabet);
+        Assert.assertEquals(CanonicalForms.fingerprint(doubled, alphabet), fingerprint);
+
+        final CompactMealy<Integer, String> canonical =
+                CanonicalForms.canonicalize(mealy, alphabet, new CompactMealy.Creator<>());
+        Assert.assertTrue(Automata.testEquivalence(mealy, canonical, alphabet));
+        Assert.assertEquals(CanonicalForms.fingerprint(canonical, alphabet), fingerprint);
+
+        // changing an output changes the fingerprint
+        final CompactMealyTransition<String> trans = canonical.getTransition(0, 0);
+        final String output = canonical.getTransitionOutput(trans);
+        canonical.setTransition(0, 0, canonical.getIntSuccessor(trans), "x".equals(output) ? "y" : "x");
+        Assert.assertNotEquals(CanonicalForms.fingerprint(canonical, alphabet), fingerprint);
+    }
+
+    @Test
+    public void testParallel() {
+        final Random random = new Random(42);
+        final CompactDFA<Integer> dfa1 = RandomAutomata.randomDFA(random, SIZE, alphabet);
+        final CompactDFA<Integer> dfa2 = RandomAutomata.randomDFA(random, SIZE, alphabet);
+        final CompactDFA<Integer> dfa3 = RandomAutomata.randomDFA(random, SIZE, alphabet);
+
+        final List<CompactDFA<Integer>> automata =
+                Arrays.asList(dfa1, doubleDFA(dfa1), dfa2, doubleDFA(dfa3), dfa3, doubleDFA(dfa2), dfa1, dfa3, dfa2);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            final List<Fingerprint> fingerprints = CanonicalForms.fingerprints(automata, alphabet, pool);
+            Assert.assertEquals(fingerprints.size(), automata.size());
+            for (int i = 0; i < automata.size(); i++) {
+                Assert.assertEquals(fingerprints.get(i), CanonicalForms.fingerprint(automata.get(i), alphabet));
+            }
+
+            Assert.assertEquals(CanonicalForms.deduplicate(automata, alphabet, pool),
+                                Arrays.asList(dfa1, dfa2, automata.get(3)));
+            Assert.assertEquals(CanonicalForms.deduplicate(Collections.<CompactDFA<Integer>>emptyList(),
+                                                           alphabet,
+                                                           pool), Collections.emptyList());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testCollidingProperties() {
+        // the hash codes of both outputs coincide
+        Assert.assertEquals("Aa".hashCode(), "BB".hashCode());
+
+        final CompactMealy<Integer, String> mealy1 = singleStateMealy("Aa");
+        final CompactMealy<Integer, String> mealy2 = singleStateMealy("BB");
+        final CompactMealy<Integer, String> mealy3 = singleStateMealy("Aa");
+        final List<CompactMealy<Integer, String>> automata = Arrays.asList(mealy1, mealy2, mealy3);
+
+        Assert.assertNotEquals(CanonicalForms.fingerprint(mealy1, alphabet),
+                               CanonicalForms.fingerprint(mealy2, alphabet));
+
+        // a funnel that ignores all properties makes the fingerprints collide
+        final Funnel<Object> ignoring = (from, into) -> {};
+        Assert.assertEquals(CanonicalForms.fingerprint(mealy1, alphabet, ignoring, ignoring),
+                            CanonicalForms.fingerprint(mealy2, alphabet, ignoring, ignoring));
+
+        final ForkJoinPool pool = new ForkJoinPool(2);
+
+        try {
+            Assert.assertEquals(CanonicalForms.deduplicate(automata, alphabet, pool), Arrays.asList(mealy1, mealy2));
+            // colliding fingerprints must not drop inequivalent automata
+            Assert.assertEquals(CanonicalForms.deduplicate(automata, alphabet, ignoring, ignoring, pool),
+                                Arrays.asList(mealy1, mealy2));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private CompactMealy<Integer, String> singleStateMealy(String output) {
+        final CompactMealy<Integer, String> result = new CompactMealy<>(alphabet);
+        final int init = result.addIntInitialState();
+
+        for (int i = 0; i < alphabet.size(); i++) {
+            result.setTransition(init, i, init, output);
+        }
+
+        return result;
+    }
+
+    /**
+     * Creates an equivalent DFA with twice the number of states (and a reversed numbering of the states). State
+     * {@code (s, b)} of the result corresponds to state {@code s} of the given DFA, and the bit {@code b} is flipped on
+     * every transition labeled with the first input symbol.
+     */
+    private CompactDFA<Integer> doubleDFA(CompactDFA<Integer> dfa) {
+        final int n = dfa.size();
+        final CompactDFA<Integer> result = new CompactDFA<>(alphabet, 2 * n);
+
+        for (int s = 0; s < 2 * n; s++) {
+            result.addIntState(dfa.isAccepting(toOriginal(s, n)));
+        }
+        result.setInitialState(toDoubled(dfa.getIntInitialState(), 0, n));
+
+        for (int s = 0; s < 2 * n; s++) {
+            final int bit = s / n;
+            for (int i = 0; i < alphabet.size(); i++) {
+                final int succ = dfa.getSuccessor(s % n, i);
+                if (succ >= 0) {
+                    result.setTransition(toDoubled(s % n, bit, n), i, toDoubled(succ, i == 0 ? 1 - bit : bit, n));
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private CompactMealy<Integer, String> doubleMealy(CompactMealy<Integer, String> mealy) {
+        final int n = mealy.size();
+        final CompactMealy<Integer, String> result = new CompactMealy<>(alphabet, 2 * n);
+
+        for (int s = 0; s < 2 * n; s++) {
+            result.addIntState(null);
+        }
+        result.setInitialState(toDoubled(mealy.getIntInitialState(), 0, n));
+
+        for (int s = 0; s < 2 * n; s++) {
+            final int bit = s / n;
+            for (int i = 0; i < alphabet.size(); i++) {
+                final CompactMealyTransition<String> trans = mealy.getTransition(s % n, i);
+                final int succ = mealy.getIntSuccessor(trans);
+                final String out = mealy.getTransitionOutput(trans);
+                result.setTransition(toDoubled(s % n, bit, n), i, toDoubled(succ, i == 0 ? 1 - bit : bit, n), out);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Maps the (original) state {@code s} and bit {@code b} to the reversely numbered state of the doubled automaton.
+     */
+    private static int toDoubled(int s, int b, int n) {
+        return 2 * n - 1 - (b * n + s);
+    }
+
+    private static int toOriginal(int doubled, int n) {
+        return (2 * n - 1 - doubled) % n;
+    }
+}
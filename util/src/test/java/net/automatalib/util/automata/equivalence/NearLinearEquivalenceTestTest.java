@@ -17,6 +17,7 @@ package net.automatalib.util.automata.equivalence;
 
 import java.util.HashSet;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 import net.automatalib.automata.fsa.impl.compact.CompactDFA;
 import net.automatalib.util.automata.random.RandomAutomata;
@@ -105,6 +106,53 @@ public class NearLinearEquivalenceTestTest {
         Assert.assertNotEquals(DFA_1.computeOutput(sepWord), DFA_2.computeOutput(sepWord));
     }
 
+    @Test
+    public void testParallel() {
+        final ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            Assert.assertNull(NearLinearEquivalenceTest.findSeparatingWord(DFA_1, DFA_1, ALPHABET, pool));
+            Assert.assertNull(NearLinearEquivalenceTest.findSeparatingWord(DFA_1, DFA_1_PARTIAL, ALPHABET, true, pool));
+
+            Word<Integer> sepWord = NearLinearEquivalenceTest.findSeparatingWord(DFA_1, DFA_1_PARTIAL, ALPHABET, pool);
+            Assert.assertNotNull(sepWord);
+            checkPartialTrace(DFA_1_PARTIAL, sepWord);
+
+            sepWord = NearLinearEquivalenceTest.findSeparatingWord(DFA_1, DFA_2, new HashSet<>(ALPHABET), pool);
+            Assert.assertNotNull(sepWord);
+            Assert.assertNotEquals(DFA_1.computeOutput(sepWord), DFA_2.computeOutput(sepWord));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testParallelLarge() {
+        final Random r = new Random(42);
+        final CompactDFA<Integer> dfa = RandomAutomata.randomDFA(r, 5000, ALPHABET, false);
+        final CompactDFA<Integer> copy = new CompactDFA<>(dfa);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            Assert.assertNull(NearLinearEquivalenceTest.findSeparatingWord(dfa, copy, ALPHABET, pool));
+
+            for (int i = 0; i < 10; i++) {
+                final int state = r.nextInt(copy.size());
+                copy.setAccepting(state, !copy.isAccepting(state));
+
+                final Word<Integer> expected = NearLinearEquivalenceTest.findSeparatingWord(dfa, copy, ALPHABET);
+                final Word<Integer> actual = NearLinearEquivalenceTest.findSeparatingWord(dfa, copy, ALPHABET, pool);
+
+                Assert.assertEquals(actual == null, expected == null);
+                if (actual != null) {
+                    Assert.assertNotEquals(dfa.computeOutput(actual), copy.computeOutput(actual));
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
     private static <I> void checkPartialTrace(CompactDFA<I> dfa, Word<I> trace) {
 
         Integer iter = dfa.getInitialState();
@@ -15,10 +15,20 @@
  */
 package net.automatalib.util.automata.fsa;
 
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
 import net.automatalib.automata.fsa.DFA;
 import net.automatalib.automata.fsa.impl.compact.CompactDFA;
 import net.automatalib.util.automata.Automata;
+import net.automatalib.util.automata.random.RandomAutomata;
 import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.WordBuilder;
 import net.automatalib.words.impl.Alphabets;
 import org.testng.Assert;
 import org.testng.annotations.BeforeClass;
@@ -133,6 +143,43 @@ public class DFAsTest {
         Assert.assertTrue(DFAs.isPrefixClosed(forVector(false, false, false, false), testAlphabet));
     }
 
+    @Test
+    public void testAcceptsAll() {
+        final Random random = new Random(42);
+        final Alphabet<Character> alphabet = Alphabets.characters('a', 'c');
+        final CompactDFA<Character> dfa = RandomAutomata.randomDFA(random, 20, alphabet);
+
+        // make the DFA partial
+        dfa.removeAllTransitions(dfa.getInitialState(), Character.valueOf('c'));
+
+        final List<Word<Character>> words = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            final WordBuilder<Character> wb = new WordBuilder<>();
+            final int length = random.nextInt(15);
+            for (int j = 0; j < length; j++) {
+                wb.append(alphabet.getSymbol(random.nextInt(alphabet.size())));
+            }
+            words.add(wb.toWord());
+        }
+
+        final BitSet expected = new BitSet();
+        for (int i = 0; i < words.size(); i++) {
+            if (dfa.accepts(words.get(i))) {
+                expected.set(i);
+            }
+        }
+
+        Assert.assertEquals(DFAs.acceptsAll(dfa, words), expected);
+        Assert.assertTrue(DFAs.acceptsAll(dfa, Collections.emptyList()).isEmpty());
+
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Assert.assertEquals(DFAs.acceptsAll(dfa, words, pool), expected);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
     @Test
     public void testAcceptsEmptyLanguage() {
         Assert.assertTrue(DFAs.acceptsEmptyLanguage(forVector(false)));
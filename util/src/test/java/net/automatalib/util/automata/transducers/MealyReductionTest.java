@@ -0,0 +1,109 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.automata.transducers;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+
+import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.WordBuilder;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author frohme
+ */
+public class MealyReductionTest {
+
+    private static final int SIZE = 4;
+
+    private final Alphabet<Character> alphabet = Alphabets.characters('a', 'd');
+
+    /**
+     * Creates a cyclic Mealy machine, in which the inputs 'a', 'b' and 'c' behave identically and in which all states
+     * of the same parity are equivalent.
+     */
+    private CompactMealy<Character, String> buildMealy() {
+        final CompactMealy<Character, String> mealy = new CompactMealy<>(alphabet);
+
+        mealy.addInitialState();
+        for (int i = 1; i < SIZE; i++) {
+            mealy.addState();
+        }
+
+        for (int i = 0; i < SIZE; i++) {
+            final String out = i % 2 == 0 ? "x" : "z";
+            mealy.addTransition(i, 'a', (i + 1) % SIZE, out);
+            mealy.addTransition(i, 'b', (i + 1) % SIZE, out);
+            mealy.addTransition(i, 'c', (i + 1) % SIZE, out);
+            if (i % 2 == 0) {
+                mealy.addTransition(i, 'd', i, "y");
+            }
+        }
+
+        return mealy;
+    }
+
+    @Test
+    public void testRepresentatives() {
+        final CompactMealy<Character, String> mealy = buildMealy();
+
+        Assert.assertEquals(MealyReduction.computeInputRepresentatives(mealy, alphabet, i -> false),
+                            Arrays.asList('a', 'd'));
+        Assert.assertEquals(MealyReduction.computeInputRepresentatives(mealy, alphabet, i -> i == 'b'),
+                            Arrays.asList('a', 'b', 'd'));
+
+        // 'd' is undefined in some states, and thus differs from 'a'
+        Assert.assertEquals(MealyReduction.computeInputRepresentatives(mealy, Arrays.asList('d', 'a'), i -> false),
+                            Arrays.asList('d', 'a'));
+        Assert.assertEquals(MealyReduction.computeInputRepresentatives(mealy, Collections.emptyList(), i -> false),
+                            Collections.emptyList());
+    }
+
+    @Test
+    public void testReduce() {
+        final CompactMealy<Character, String> mealy = buildMealy();
+        final CompactMealy<Character, String> reduced = MealyReduction.reduce(mealy, alphabet, i -> i == 'c');
+
+        Assert.assertEquals(reduced.size(), 2);
+        Assert.assertEquals(reduced.getInputAlphabet(), Arrays.asList('a', 'c', 'd'));
+
+        // the reduced machine is trace-equivalent w.r.t. the remaining inputs
+        checkTraces(mealy, reduced, reduced.getInputAlphabet(), Word.epsilon(), 5);
+    }
+
+    private static void checkTraces(CompactMealy<Character, String> original,
+                                    CompactMealy<Character, String> reduced,
+                                    Collection<Character> inputs,
+                                    Word<Character> prefix,
+                                    int depth) {
+        final WordBuilder<String> expected = new WordBuilder<>();
+        final WordBuilder<String> actual = new WordBuilder<>();
+
+        Assert.assertEquals(reduced.trace(prefix, actual), original.trace(prefix, expected));
+        Assert.assertEquals(actual.toWord(), expected.toWord());
+
+        if (depth > 0) {
+            for (Character i : inputs) {
+                checkTraces(original, reduced, inputs, prefix.append(i), depth - 1);
+            }
+        }
+    }
+}
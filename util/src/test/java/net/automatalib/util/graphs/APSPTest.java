@@ -17,11 +17,16 @@ package net.automatalib.util.graphs;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 import net.automatalib.graphs.base.compact.CompactEdge;
 import net.automatalib.graphs.base.compact.CompactSimpleGraph;
 import net.automatalib.graphs.concepts.EdgeWeights;
 import net.automatalib.util.graphs.apsp.APSPResult;
+import net.automatalib.util.graphs.apsp.BlockedFloydWarshallAPSP;
+import net.automatalib.util.graphs.apsp.FloydWarshallAPSP;
+import net.automatalib.util.graphs.apsp.JohnsonAPSP;
 import net.automatalib.util.graphs.concepts.PropertyEdgeWeights;
 import org.testng.Assert;
 import org.testng.annotations.BeforeClass;
@@ -30,6 +35,8 @@ import org.testng.annotations.Test;
 @Test
 public class APSPTest {
 
+    private static final float EPSILON = 1e-3f;
+
     Integer n0, n1, n2, n3, n4;
     private CompactSimpleGraph<Float> graph;
     private EdgeWeights<CompactEdge<Float>> weights;
@@ -59,8 +66,113 @@ public class APSPTest {
 
     @Test
     public void testAPSP() {
-        APSPResult<Integer, CompactEdge<Float>> apsp = Graphs.findAPSP(graph, weights);
+        checkAPSP(Graphs.findAPSP(graph, weights));
+        checkAPSP(Graphs.findAPSP(graph, weights, ForkJoinPool.commonPool()));
+    }
+
+    @Test
+    public void testFloydWarshall() {
+        checkAPSP(FloydWarshallAPSP.findAPSP(graph, weights));
+    }
+
+    @Test
+    public void testBlockedFloydWarshall() {
+        for (int blockSize = 1; blockSize <= graph.size() + 1; blockSize++) {
+            final BlockedFloydWarshallAPSP<Integer, CompactEdge<Float>> seq =
+                    new BlockedFloydWarshallAPSP<>(graph, weights, blockSize);
+            seq.findAPSP();
+            checkAPSP(seq);
+
+            final BlockedFloydWarshallAPSP<Integer, CompactEdge<Float>> par =
+                    new BlockedFloydWarshallAPSP<>(graph, weights, blockSize);
+            par.findAPSP(ForkJoinPool.commonPool());
+            checkAPSP(par);
+        }
+    }
+
+    @Test
+    public void testJohnson() {
+        checkAPSP(JohnsonAPSP.findAPSP(graph, weights));
+        checkAPSP(JohnsonAPSP.findAPSP(graph, weights, ForkJoinPool.commonPool()));
+    }
+
+    @Test
+    public void testRandomGraphs() {
+        final Random random = new Random(42);
+
+        // sparse graph with non-negative weights
+        checkRandomGraph(randomGraph(random, 150, 600, false));
+        // dense graph with non-negative weights
+        checkRandomGraph(randomGraph(random, 100, 5000, false));
+        // acyclic graph with negative weights
+        checkRandomGraph(randomGraph(random, 120, 800, true));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testJohnsonNegativeCycle() {
+        final CompactSimpleGraph<Float> g = new CompactSimpleGraph<>();
+        final Integer a = g.addNode(), b = g.addNode();
+        g.connect(a, b, Float.valueOf(1.0f));
+        g.connect(b, a, Float.valueOf(-2.0f));
+
+        JohnsonAPSP.findAPSP(g, new PropertyEdgeWeights<>(g));
+    }
+
+    private static CompactSimpleGraph<Float> randomGraph(Random random, int size, int numEdges, boolean acyclic) {
+        final CompactSimpleGraph<Float> g = new CompactSimpleGraph<>();
+        for (int i = 0; i < size; i++) {
+            g.addNode();
+        }
+        for (int i = 0; i < numEdges; i++) {
+            final int src = random.nextInt(size), tgt = random.nextInt(size);
+            if (acyclic) {
+                g.connect(Math.min(src, tgt), Math.max(src, tgt), Float.valueOf(random.nextInt(20) - 10.0f));
+            } else {
+                g.connect(src, tgt, Float.valueOf(random.nextInt(10)));
+            }
+        }
+        return g;
+    }
+
+    private static void checkRandomGraph(CompactSimpleGraph<Float> g) {
+        final EdgeWeights<CompactEdge<Float>> ew = new PropertyEdgeWeights<>(g);
+        final APSPResult<Integer, CompactEdge<Float>> expected = FloydWarshallAPSP.findAPSP(g, ew);
+
+        final BlockedFloydWarshallAPSP<Integer, CompactEdge<Float>> blocked =
+                new BlockedFloydWarshallAPSP<>(g, ew, 16);
+        blocked.findAPSP(ForkJoinPool.commonPool());
+
+        final List<APSPResult<Integer, CompactEdge<Float>>> results =
+                Arrays.asList(blocked, JohnsonAPSP.findAPSP(g, ew, ForkJoinPool.commonPool()), Graphs.findAPSP(g, ew));
+
+        for (APSPResult<Integer, CompactEdge<Float>> actual : results) {
+            for (Integer src : g) {
+                for (Integer tgt : g) {
+                    final float dist = expected.getShortestPathDistance(src, tgt);
+                    Assert.assertEquals(actual.getShortestPathDistance(src, tgt), dist, EPSILON);
+
+                    final List<CompactEdge<Float>> path = actual.getShortestPath(src, tgt);
+                    if (dist == Graphs.INVALID_DISTANCE) {
+                        Assert.assertNull(path);
+                        continue;
+                    }
+
+                    Assert.assertNotNull(path);
+                    float sum = 0;
+                    Integer node = src;
+                    for (CompactEdge<Float> e : path) {
+                        Assert.assertTrue(g.getOutgoingEdges(node).contains(e));
+                        sum += ew.getEdgeWeight(e);
+                        node = g.getTarget(e);
+                    }
+                    Assert.assertEquals(node, tgt);
+                    Assert.assertEquals(sum, dist, EPSILON);
+                }
+            }
+        }
+    }
 
+    private void checkAPSP(APSPResult<Integer, CompactEdge<Float>> apsp) {
         assertSPDist(apsp, n0, n1, 2.3f); // n0 -> n1
         assertSPNodes(apsp, n0, n1, n0, n1);
         assertSPDist(apsp, n0, n2, 5.3f); // n0 -> n1 -> n2
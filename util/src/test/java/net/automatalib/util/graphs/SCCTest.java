@@ -15,12 +15,20 @@
  */
 package net.automatalib.util.graphs;
 
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 import com.google.common.collect.Sets;
+import net.automatalib.graphs.base.compact.CompactEdge;
 import net.automatalib.graphs.base.compact.CompactSimpleGraph;
+import net.automatalib.util.graphs.scc.SCCCollector;
+import net.automatalib.util.graphs.scc.TarjanSCCVisitor;
+import net.automatalib.util.graphs.traversal.GraphTraversal;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -279,7 +287,101 @@ public class SCCTest {
         Assert.assertEquals(computedSCCs, expectedSCCs);
     }
 
+    @Test
+    public void testRandomGraphs() {
+        final Random random = new Random(42);
+
+        // sparse graphs with many trivial and some large components
+        checkRandomGraph(randomGraph(random, 20000, 25000));
+        checkRandomGraph(randomGraph(random, 20000, 40000));
+        // dense graph with a giant component
+        checkRandomGraph(randomGraph(random, 10000, 100000));
+    }
+
+    @Test
+    public void testLongPaths() {
+        final int size = 200000;
+        final CompactSimpleGraph<Void> cycle = new CompactSimpleGraph<>();
+        final CompactSimpleGraph<Void> chain = new CompactSimpleGraph<>();
+
+        for (int i = 0; i < size; i++) {
+            cycle.addNode();
+            chain.addNode();
+        }
+        for (int i = 0; i < size; i++) {
+            cycle.connect(i, (i + 1) % size);
+            if (i + 1 < size) {
+                chain.connect(i, i + 1);
+            }
+        }
+
+        // the iterative implementations must not overflow the call stack
+        Assert.assertEquals(Graphs.collectSCCs(cycle).size(), 1);
+        Assert.assertEquals(Graphs.collectSCCs(cycle, ForkJoinPool.commonPool()).size(), 1);
+
+        // a chain consists of trivial components, which are reported in reverse topological order
+        final List<List<Integer>> sccs = Graphs.collectSCCs(chain);
+        Assert.assertEquals(sccs.size(), size);
+        for (int i = 0; i < size; i++) {
+            Assert.assertEquals(sccs.get(i), Collections.singletonList(size - 1 - i));
+        }
+        Assert.assertEquals(Graphs.collectSCCs(chain, ForkJoinPool.commonPool()).size(), size);
+    }
+
+    private static CompactSimpleGraph<Void> randomGraph(Random random, int size, int numEdges) {
+        final CompactSimpleGraph<Void> graph = new CompactSimpleGraph<>();
+        for (int i = 0; i < size; i++) {
+            graph.addNode();
+        }
+        for (int i = 0; i < numEdges; i++) {
+            graph.connect(random.nextInt(size), random.nextInt(size));
+        }
+        return graph;
+    }
+
+    private void checkRandomGraph(CompactSimpleGraph<Void> graph) {
+        // reference: the traversal-based implementation
+        final SCCCollector<Integer> collector = new SCCCollector<>();
+        final TarjanSCCVisitor<Integer, CompactEdge<Void>> vis = new TarjanSCCVisitor<>(graph, collector);
+        for (Integer node : graph) {
+            if (!vis.hasVisited(node)) {
+                GraphTraversal.depthFirst(graph, node, vis);
+            }
+        }
+
+        final Set<Set<Integer>> expected =
+                collector.getSCCList().stream().map(HashSet::new).collect(Collectors.toSet());
+
+        Assert.assertEquals(computeSCCs(graph), expected);
+        checkTopologicalOrder(graph, Graphs.collectSCCs(graph));
+
+        // the frozen graph has the same nodes and edge order, hence the components have to be reported identically
+        Assert.assertEquals(Graphs.collectSCCs(graph.freeze()), Graphs.collectSCCs(graph));
+    }
+
+    private static void checkTopologicalOrder(CompactSimpleGraph<Void> graph, List<List<Integer>> sccs) {
+        final int[] index = new int[graph.size()];
+        for (int i = 0; i < sccs.size(); i++) {
+            for (Integer node : sccs.get(i)) {
+                index[node] = i;
+            }
+        }
+        for (Integer node : graph) {
+            for (CompactEdge<Void> edge : graph.getOutgoingEdges(node)) {
+                Assert.assertTrue(index[graph.getTarget(edge)] <= index[node]);
+            }
+        }
+    }
+
     private Set<Set<Integer>> computeSCCs(CompactSimpleGraph<Void> graph) {
-        return Graphs.collectSCCs(graph).stream().map(HashSet::new).collect(Collectors.toSet());
+        final Set<Set<Integer>> sequential =
+                Graphs.collectSCCs(graph).stream().map(HashSet::new).collect(Collectors.toSet());
+        final Set<Set<Integer>> parallel = Graphs.collectSCCs(graph, ForkJoinPool.commonPool())
+                                                 .stream()
+                                                 .map(HashSet::new)
+                                                 .collect(Collectors.toSet());
+
+        Assert.assertEquals(parallel, sequential);
+        return sequential;
     }
 }
@@ -16,12 +16,18 @@
 package net.automatalib.util.graphs;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
+import net.automatalib.graphs.base.compact.CSRGraph;
 import net.automatalib.graphs.base.compact.CompactEdge;
 import net.automatalib.graphs.base.compact.CompactSimpleGraph;
 import net.automatalib.graphs.concepts.EdgeWeights;
 import net.automatalib.util.graphs.concepts.PropertyEdgeWeights;
+import net.automatalib.util.graphs.sssp.DijkstraSSSP;
+import net.automatalib.util.graphs.sssp.IntDijkstraSSSP;
 import net.automatalib.util.graphs.sssp.SSSPResult;
 import org.testng.Assert;
 import org.testng.annotations.BeforeClass;
@@ -30,6 +36,8 @@ import org.testng.annotations.Test;
 @Test
 public class SSSPTest {
 
+    private static final float EPSILON = 1e-3f;
+
     Integer n0, n1, n2, n3, n4, n5;
     private CompactSimpleGraph<Float> graph;
     private EdgeWeights<CompactEdge<Float>> weights;
@@ -61,8 +69,91 @@ public class SSSPTest {
 
     @Test
     public void testSSSP() {
-        SSSPResult<Integer, CompactEdge<Float>> sssp = Graphs.findSSSP(graph, n0, weights);
+        checkSSSP(Graphs.findSSSP(graph, n0, weights));
+        checkSSSP(DijkstraSSSP.findSSSP(graph, n0, weights));
+        checkSSSP(IntDijkstraSSSP.findSSSP(graph, n0, weights));
+        checkSSSP(Graphs.findSSSPs(graph, Arrays.asList(n0, n0), weights, ForkJoinPool.commonPool()).get(1));
+    }
+
+    @Test
+    public void testInitialNode() {
+        final SSSPResult<Integer, CompactEdge<Float>> sssp = Graphs.findSSSP(graph, n5, weights);
+
+        Assert.assertEquals(sssp.getInitialNode(), n5);
+        Assert.assertEquals(sssp.getShortestPathDistance(n5), 0.0f);
+        Assert.assertEquals(sssp.getShortestPath(n5), Collections.emptyList());
+        Assert.assertNull(sssp.getShortestPathEdge(n5));
+        Assert.assertNull(sssp.getShortestPath(n0));
+        Assert.assertNull(sssp.getShortestPathEdge(n0));
+    }
+
+    @Test
+    public void testRandomGraph() {
+        final Random random = new Random(42);
+        final CompactSimpleGraph<Float> g = new CompactSimpleGraph<>();
+        final int size = 500;
+
+        for (int i = 0; i < size; i++) {
+            g.addNode();
+        }
+        for (int i = 0; i < 4 * size; i++) {
+            g.connect(random.nextInt(size), random.nextInt(size), Float.valueOf(random.nextInt(100) / 10.0f));
+        }
+
+        final EdgeWeights<CompactEdge<Float>> ew = new PropertyEdgeWeights<>(g);
+        final List<Integer> sources = Arrays.asList(0, 17, 42, 123, 499);
+        final List<SSSPResult<Integer, CompactEdge<Float>>> results =
+                Graphs.findSSSPs(g, sources, ew, ForkJoinPool.commonPool());
+
+        Assert.assertEquals(results.size(), sources.size());
+
+        for (int i = 0; i < sources.size(); i++) {
+            final SSSPResult<Integer, CompactEdge<Float>> expected = DijkstraSSSP.findSSSP(g, sources.get(i), ew);
+            final SSSPResult<Integer, CompactEdge<Float>> actual = results.get(i);
+
+            Assert.assertEquals(actual.getInitialNode(), sources.get(i));
+
+            for (Integer tgt : g) {
+                final float dist = expected.getShortestPathDistance(tgt);
+                Assert.assertEquals(actual.getShortestPathDistance(tgt), dist);
+
+                final List<CompactEdge<Float>> path = actual.getShortestPath(tgt);
+                if (dist == Graphs.INVALID_DISTANCE) {
+                    Assert.assertNull(path);
+                } else {
+                    Assert.assertNotNull(path);
+                    final List<Integer> nodes = Graphs.toNodeList(path, g, sources.get(i));
+                    Assert.assertEquals(nodes.get(nodes.size() - 1), tgt);
+
+                    float sum = 0;
+                    for (CompactEdge<Float> e : path) {
+                        sum += ew.getEdgeWeight(e);
+                    }
+                    Assert.assertEquals(sum, dist, EPSILON);
+                }
+            }
+        }
+
+        // the same searches on the frozen graph, whose edges are identified by their indices
+        final CSRGraph<Void, Float> frozen = g.freeze();
+        final EdgeWeights<Integer> frozenEw = new PropertyEdgeWeights<>(frozen);
+
+        for (int i = 0; i < sources.size(); i++) {
+            final SSSPResult<Integer, Integer> actual = Graphs.findSSSP(frozen, sources.get(i), frozenEw);
+
+            for (Integer tgt : frozen) {
+                Assert.assertEquals(actual.getShortestPathDistance(tgt), results.get(i).getShortestPathDistance(tgt));
+
+                final List<Integer> path = actual.getShortestPath(tgt);
+                if (path != null) {
+                    final List<Integer> nodes = Graphs.toNodeList(path, frozen, sources.get(i));
+                    Assert.assertEquals(nodes.get(nodes.size() - 1), tgt);
+                }
+            }
+        }
+    }
 
+    private void checkSSSP(SSSPResult<Integer, CompactEdge<Float>> sssp) {
         assertSPDist(sssp, n1, 2.3f); // n0 -> n1
         assertSPNodes(sssp, n1, n0, n1);
         assertSPDist(sssp, n2, 5.3f); // n0 -> n1 -> n2
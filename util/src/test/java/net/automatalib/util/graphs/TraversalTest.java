@@ -17,17 +17,23 @@ package net.automatalib.util.graphs;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 import com.google.common.collect.Streams;
 import net.automatalib.automata.fsa.impl.compact.CompactDFA;
 import net.automatalib.automata.graphs.TransitionEdge;
 import net.automatalib.commons.util.Holder;
+import net.automatalib.graphs.IndefiniteGraph;
 import net.automatalib.graphs.MutableGraph;
 import net.automatalib.graphs.UniversalGraph;
-import net.automatalib.graphs.base.compact.CompactEdge;
+import net.automatalib.graphs.base.compact.CSRGraph;
 import net.automatalib.graphs.base.compact.CompactSimpleGraph;
 import net.automatalib.util.automata.random.RandomAutomata;
 import net.automatalib.util.graphs.traversal.DefaultGraphTraversalVisitor;
@@ -129,28 +135,120 @@ public class TraversalTest {
                                Arrays.asList('1', 'a', '2', 'b', '3', 'c', '4', 'd', '5', 'e'));
     }
 
+    @Test
+    public void testFrozenTraversal() {
+        final CSRGraph<Void, Character> frozen = tree.freeze();
+        checkVisitedNodesOrder(TraversalOrder.DEPTH_FIRST,
+                               frozen,
+                               Arrays.asList('1', '2', '3', '4', '5', 'a', 'b', 'c', 'd', 'e'));
+        checkVisitedNodesOrder(TraversalOrder.BREADTH_FIRST,
+                               frozen,
+                               Arrays.asList('1', 'a', '2', 'b', '3', 'c', '4', 'd', '5', 'e'));
+    }
+
+    @Test
+    public void testParallelBFTraversal() {
+        final Map<Integer, Integer> sequential = new ConcurrentHashMap<>();
+        final Map<Integer, Integer> parallel = new ConcurrentHashMap<>();
+        final Map<Integer, Integer> indefinite = new ConcurrentHashMap<>();
+        final Collection<Integer> init = Collections.singleton(automaton.getInitialState());
+
+        // a view that hides the node ids of the graph
+        final IndefiniteGraph<Integer, TransitionEdge<Integer, Integer>> indefiniteView =
+                new IndefiniteGraph<Integer, TransitionEdge<Integer, Integer>>() {
+
+                    @Override
+                    public Collection<TransitionEdge<Integer, Integer>> getOutgoingEdges(Integer node) {
+                        return graph.getOutgoingEdges(node);
+                    }
+
+                    @Override
+                    public Integer getTarget(TransitionEdge<Integer, Integer> edge) {
+                        return graph.getTarget(edge);
+                    }
+                };
+
+        Assert.assertTrue(GraphTraversal.breadthFirst(graph, init, new DepthVisitor<>(sequential)));
+        Assert.assertTrue(GraphTraversal.breadthFirst(graph,
+                                                      init,
+                                                      new DepthVisitor<>(parallel),
+                                                      ForkJoinPool.commonPool()));
+        Assert.assertTrue(GraphTraversal.breadthFirst(indefiniteView,
+                                                      init,
+                                                      new DepthVisitor<>(indefinite),
+                                                      ForkJoinPool.commonPool()));
+
+        // the parallel traversal is level-synchronous, hence every node is discovered at its BFS depth
+        Assert.assertEquals(parallel, sequential);
+        Assert.assertEquals(indefinite, sequential);
+
+        final Map<Integer, Integer> limited = new ConcurrentHashMap<>();
+        Assert.assertFalse(GraphTraversal.breadthFirst(tree.freeze(),
+                                                       3,
+                                                       Collections.singleton(0),
+                                                       new DepthVisitor<>(limited),
+                                                       ForkJoinPool.commonPool()));
+        Assert.assertEquals(limited.size(), 3);
+    }
+
     private void checkVisitedNodesOrder(TraversalOrder order, List<Character> expectedOrder) {
+        checkVisitedNodesOrder(order, tree, expectedOrder);
+    }
+
+    private static <E> void checkVisitedNodesOrder(TraversalOrder order,
+                                                   UniversalGraph<Integer, E, ?, Character> graph,
+                                                   List<Character> expectedOrder) {
         final List<Character> visitedNodes = new ArrayList<>();
 
-        GraphTraversal.traverse(order,
-                                tree,
-                                tree.getNode(0),
-                                new DefaultGraphTraversalVisitor<Integer, CompactEdge<Character>, Object>() {
-
-                                    @Override
-                                    public GraphTraversalAction processEdge(Integer srcNode,
-                                                                            Object srcData,
-                                                                            CompactEdge<Character> edge,
-                                                                            Integer tgtNode,
-                                                                            Holder<Object> outData) {
-                                        visitedNodes.add(edge.getProperty());
-                                        return super.processEdge(srcNode, srcData, edge, tgtNode, outData);
-                                    }
-                                });
+        GraphTraversal.traverse(order, graph, 0, new DefaultGraphTraversalVisitor<Integer, E, Object>() {
+
+            @Override
+            public GraphTraversalAction processEdge(Integer srcNode,
+                                                    Object srcData,
+                                                    E edge,
+                                                    Integer tgtNode,
+                                                    Holder<Object> outData) {
+                visitedNodes.add(graph.getEdgeProperty(edge));
+                return super.processEdge(srcNode, srcData, edge, tgtNode, outData);
+            }
+        });
 
         Assert.assertEquals(expectedOrder, visitedNodes);
     }
 
+    /**
+     * Records the BFS depth of every explored node.
+     */
+    private static class DepthVisitor<N, E> extends DefaultGraphTraversalVisitor<N, E, Integer> {
+
+        private final Map<N, Integer> depths;
+
+        DepthVisitor(Map<N, Integer> depths) {
+            this.depths = depths;
+        }
+
+        @Override
+        public GraphTraversalAction processInitial(N initialNode, Holder<Integer> outData) {
+            outData.value = 0;
+            return GraphTraversalAction.EXPLORE;
+        }
+
+        @Override
+        public boolean startExploration(N node, Integer data) {
+            return depths.putIfAbsent(node, data) == null;
+        }
+
+        @Override
+        public GraphTraversalAction processEdge(N srcNode,
+                                                Integer srcData,
+                                                E edge,
+                                                N tgtNode,
+                                                Holder<Integer> outData) {
+            outData.value = srcData + 1;
+            return GraphTraversalAction.EXPLORE;
+        }
+    }
+
     private <S, I, T> List<Word<I>> collectPathInputs(Iterable<Path<S, TransitionEdge<I, T>>> paths) {
         return Streams.stream(paths)
                       .map(Path::edgeList)
@@ -0,0 +1,110 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.ts.acceptors;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.ts.acceptors.DeterministicAcceptorTS;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author frohme
+ */
+public class MemoizingDetAcceptorCompositionTest {
+
+    private static final int DEPTH = 5;
+
+    private final Alphabet<Integer> alphabet = Alphabets.integers(0, 2);
+
+    @Test
+    public void testComposition() {
+        final Random random = new Random(42);
+        final CompactDFA<Integer> dfa1 = RandomAutomata.randomDFA(random, 10, alphabet);
+        final CompactDFA<Integer> dfa2 = RandomAutomata.randomDFA(random, 10, alphabet);
+
+        // make the first DFA partial
+        dfa1.removeAllTransitions(dfa1.getInitialState(), Integer.valueOf(1));
+
+        for (AcceptanceCombiner combiner : Arrays.asList(AcceptanceCombiner.AND,
+                                                          AcceptanceCombiner.OR,
+                                                          AcceptanceCombiner.XOR,
+                                                          AcceptanceCombiner.EQUIV,
+                                                          AcceptanceCombiner.IMPL)) {
+            final DetAcceptorComposition<Integer, Integer, Integer, CompactDFA<Integer>, CompactDFA<Integer>>
+                    expected = Acceptors.combine(dfa1, dfa2, combiner);
+            final MemoizingDetAcceptorComposition<Integer, Integer, Integer, CompactDFA<Integer>, CompactDFA<Integer>>
+                    actual = Acceptors.combineMemoized(dfa1, dfa2, alphabet, combiner);
+
+            checkComposition(expected, actual, Word.epsilon(), DEPTH);
+
+            // repeated traversals must not discover new states
+            final int size = actual.size();
+            checkComposition(expected, actual, Word.epsilon(), DEPTH);
+            Assert.assertEquals(actual.size(), size);
+
+            final CompactDFA<Integer> materialized = actual.toCompactDFA();
+            Assert.assertEquals(materialized.size(), actual.size());
+            checkComposition(expected, materialized, Word.epsilon(), DEPTH);
+        }
+    }
+
+    @Test
+    public void testExplore() {
+        final Random random = new Random(1337);
+        final CompactDFA<Integer> dfa1 = RandomAutomata.randomDFA(random, 20, alphabet);
+        final CompactDFA<Integer> dfa2 = RandomAutomata.randomDFA(random, 20, alphabet);
+
+        final MemoizingDetAcceptorComposition<Integer, Integer, Integer, CompactDFA<Integer>, CompactDFA<Integer>>
+                composition = Acceptors.combineMemoized(dfa1, dfa2, alphabet, AcceptanceCombiner.AND);
+
+        Assert.assertEquals(composition.size(), 1);
+
+        final int size = composition.explore();
+        Assert.assertEquals(size, composition.size());
+        Assert.assertTrue(size <= dfa1.size() * dfa2.size());
+
+        // ids are dense and the component states are distinct
+        for (int i = 0; i < size; i++) {
+            Assert.assertEquals(composition.stateIDs().getState(i).intValue(), i);
+            for (int j = 0; j < i; j++) {
+                Assert.assertFalse(composition.getFirstState(i).equals(composition.getFirstState(j)) &&
+                                   composition.getSecondState(i).equals(composition.getSecondState(j)));
+            }
+        }
+
+        Assert.assertEquals(composition.explore(), size);
+    }
+
+    private static <S> void checkComposition(DetAcceptorComposition<?, ?, Integer, ?, ?> expected,
+                                             DeterministicAcceptorTS<S, Integer> actual,
+                                             Word<Integer> word,
+                                             int depth) {
+        Assert.assertEquals(actual.accepts(word), expected.accepts(word), word.toString());
+
+        if (depth > 0) {
+            for (int i = 0; i < 3; i++) {
+                checkComposition(expected, actual, word.append(i), depth - 1);
+            }
+        }
+    }
+}
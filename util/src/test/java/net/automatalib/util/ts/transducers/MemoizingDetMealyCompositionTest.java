@@ -0,0 +1,85 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.ts.transducers;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import net.automatalib.automata.transducers.impl.compact.CompactMealy;
+import net.automatalib.commons.util.Pair;
+import net.automatalib.ts.output.MealyTransitionSystem;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.WordBuilder;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author frohme
+ */
+public class MemoizingDetMealyCompositionTest {
+
+    private static final int DEPTH = 5;
+
+    private final Alphabet<Character> alphabet = Alphabets.characters('a', 'c');
+
+    @Test
+    public void testComposition() {
+        final Random random = new Random(42);
+        final CompactMealy<Character, Integer> mealy1 =
+                RandomAutomata.randomMealy(random, 10, alphabet, Arrays.asList(0, 1, 2));
+        final CompactMealy<Character, String> mealy2 =
+                RandomAutomata.randomMealy(random, 10, alphabet, Arrays.asList("x", "y"));
+
+        // make the second machine partial
+        mealy2.removeAllTransitions(mealy2.getInitialState(), Character.valueOf('b'));
+
+        final DetMealyComposition<Integer, Integer, Character, ?, ?, Integer, String, ?, ?> expected =
+                Transducers.combine(mealy1, mealy2);
+        final MemoizingDetMealyComposition<Integer, Integer, Character, ?, ?, Integer, String, ?, ?> actual =
+                Transducers.combineMemoized(mealy1, mealy2, alphabet);
+
+        checkComposition(expected, actual, Word.epsilon(), DEPTH);
+
+        // repeated traversals must not discover new states
+        final int size = actual.size();
+        checkComposition(expected, actual, Word.epsilon(), DEPTH);
+        Assert.assertEquals(actual.size(), size);
+
+        final CompactMealy<Character, Pair<Integer, String>> materialized = actual.toCompactMealy();
+        Assert.assertEquals(materialized.size(), actual.explore());
+        checkComposition(expected, materialized, Word.epsilon(), DEPTH);
+    }
+
+    private static void checkComposition(MealyTransitionSystem<?, Character, ?, Pair<Integer, String>> expected,
+                                         MealyTransitionSystem<?, Character, ?, Pair<Integer, String>> actual,
+                                         Word<Character> word,
+                                         int depth) {
+        final WordBuilder<Pair<Integer, String>> expectedOutput = new WordBuilder<>();
+        final WordBuilder<Pair<Integer, String>> actualOutput = new WordBuilder<>();
+
+        Assert.assertEquals(actual.trace(word, actualOutput), expected.trace(word, expectedOutput));
+        Assert.assertEquals(actualOutput.toWord(), expectedOutput.toWord());
+
+        if (depth > 0) {
+            for (Character i : Arrays.asList('a', 'b', 'c')) {
+                checkComposition(expected, actual, word.append(i), depth - 1);
+            }
+        }
+    }
+}
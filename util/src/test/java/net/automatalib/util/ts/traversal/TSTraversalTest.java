@@ -0,0 +1,129 @@
+/* Copyright (C) 2013-2019 TU Dortmund
+ * This file is part of AutomataLib, http://www.automatalib.net/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.automatalib.util.ts.traversal;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+import net.automatalib.automata.fsa.impl.compact.CompactDFA;
+import net.automatalib.commons.util.Holder;
+import net.automatalib.commons.util.Pair;
+import net.automatalib.ts.TransitionSystem;
+import net.automatalib.ts.comp.TSCompositions;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author frohme
+ */
+public class TSTraversalTest {
+
+    private static final Alphabet<Integer> ALPHABET = Alphabets.integers(0, 2);
+
+    @Test
+    public void testParallelBreadthFirst() {
+        final Random random = new Random(42);
+        final CompactDFA<Integer> dfa = RandomAutomata.randomDFA(random, 500, ALPHABET, false);
+
+        final Map<Integer, Integer> depths = checkParallelBreadthFirst(dfa);
+        Assert.assertTrue(depths.size() > 1);
+    }
+
+    @Test
+    public void testParallelBreadthFirstProduct() {
+        final Random random = new Random(42);
+        final CompactDFA<Integer> dfa1 = RandomAutomata.randomDFA(random, 50, ALPHABET, false);
+        final CompactDFA<Integer> dfa2 = RandomAutomata.randomDFA(random, 40, ALPHABET, false);
+
+        // the states of the product are not identifiable by integers
+        final Map<Pair<Integer, Integer>, Integer> depths =
+                checkParallelBreadthFirst(TSCompositions.compose(dfa1, dfa2));
+        Assert.assertTrue(depths.size() > dfa1.size());
+    }
+
+    @Test
+    public void testParallelBreadthFirstLimitAndAbort() {
+        final Random random = new Random(42);
+        final CompactDFA<Integer> dfa = RandomAutomata.randomDFA(random, 500, ALPHABET, false);
+
+        final DepthVisitor<Integer, Integer> limited = new DepthVisitor<>();
+        Assert.assertFalse(TSTraversal.breadthFirst(dfa, 10, ALPHABET, limited, ForkJoinPool.commonPool()));
+        Assert.assertEquals(limited.depths.size(), 10);
+
+        final DepthVisitor<Integer, Integer> aborting = new DepthVisitor<Integer, Integer>() {
+
+            @Override
+            public TSTraversalAction processTransition(Integer source,
+                                                       Integer srcData,
+                                                       Integer input,
+                                                       Integer transition,
+                                                       Integer succ,
+                                                       Holder<Integer> outData) {
+                return TSTraversalAction.ABORT_TRAVERSAL;
+            }
+        };
+        Assert.assertTrue(TSTraversal.breadthFirst(dfa, ALPHABET, aborting, ForkJoinPool.commonPool()));
+        Assert.assertEquals(aborting.depths.size(), 1);
+    }
+
+    private static <S, T> Map<S, Integer> checkParallelBreadthFirst(TransitionSystem<S, Integer, T> ts) {
+        final DepthVisitor<S, T> sequential = new DepthVisitor<>();
+        final DepthVisitor<S, T> parallel = new DepthVisitor<>();
+
+        Assert.assertTrue(TSTraversal.breadthFirst(ts, ALPHABET, sequential));
+        Assert.assertTrue(TSTraversal.breadthFirst(ts, ALPHABET, parallel, ForkJoinPool.commonPool()));
+
+        // the parallel traversal is level-synchronous, hence every state is discovered at its BFS depth
+        Assert.assertEquals(parallel.depths, sequential.depths);
+
+        return parallel.depths;
+    }
+
+    /**
+     * Records the BFS depth of every explored state.
+     */
+    private static class DepthVisitor<S, T> implements TSTraversalVisitor<S, Integer, T, Integer> {
+
+        final Map<S, Integer> depths = new ConcurrentHashMap<>();
+
+        @Override
+        public TSTraversalAction processInitial(S state, Holder<Integer> outData) {
+            outData.value = 0;
+            return TSTraversalAction.EXPLORE;
+        }
+
+        @Override
+        public boolean startExploration(S state, Integer data) {
+            return depths.putIfAbsent(state, data) == null;
+        }
+
+        @Override
+        public TSTraversalAction processTransition(S source,
+                                                   Integer srcData,
+                                                   Integer input,
+                                                   T transition,
+                                                   S succ,
+                                                   Holder<Integer> outData) {
+            outData.value = srcData + 1;
+            return TSTraversalAction.EXPLORE;
+        }
+    }
+}